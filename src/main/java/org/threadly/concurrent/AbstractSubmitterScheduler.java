@@ -39,6 +39,11 @@ public abstract class AbstractSubmitterScheduler extends AbstractSubmitterExecut
     doSchedule(task, delayInMs);
   }
 
+  @Override
+  public void scheduleAtFixedRate(Runnable task, long initialDelay, long period) {
+    scheduleAtFixedRate(task, initialDelay, period, null);
+  }
+
   @Override
   public ListenableFuture<?> submitScheduled(Runnable task, long delayInMs) {
     return submitScheduled(task, null, delayInMs);
@@ -0,0 +1,22 @@
+package org.threadly.concurrent;
+
+/**
+ * <p>Policy used by {@link RetryingSubmitter} to decide if a failed task should be attempted 
+ * again, and how long to wait before that next attempt.</p>
+ * 
+ * @author jent - Mike Jensen
+ * @since 2.5.0
+ */
+public interface BackoffPolicy {
+  /**
+   * Called after each failed attempt to get the delay before the next attempt.  If a 
+   * negative value is returned no further attempts will be made, and the last failure will 
+   * be provided as the final outcome.
+   * 
+   * @param failedAttempts quantity of attempts which have failed so far, will be at least one
+   * @param elapsedInMs time in milliseconds since the first attempt started
+   * @param lastFailure failure thrown from the most recent attempt
+   * @return delay in milliseconds before the next attempt, or negative to stop retrying
+   */
+  public long getRetryDelay(int failedAttempts, long elapsedInMs, Throwable lastFailure);
+}
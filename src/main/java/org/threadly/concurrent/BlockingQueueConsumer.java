@@ -18,6 +18,10 @@ import org.threadly.util.ExceptionUtils;
  * <p>Another way to look at it, this class provides the thread to handle blocking when consuming 
  * from a BlockingQueue.</p>
  * 
+ * <p>By default the consumer blocks as soon as the queue is empty.  For latency sensitive 
+ * consumers an {@link IdleStrategy} can be provided at construction, so that the consumer 
+ * thread spins, yields, or parks while polling the queue before it blocks.</p>
+ * 
  * <p>Keep in mind that this class in no way attempts to solve the problem if the program is 
  * producing faster than the consumer accepts.  In those conditions the queue will still continue to 
  * grow, and consume memory.</p>
@@ -36,6 +40,7 @@ public class BlockingQueueConsumer<T> {
   
   protected final BlockingQueue<? extends T> queue;
   protected final ConsumerAcceptor<? super T> acceptor;
+  protected final IdleStrategy idleStrategy;
   protected volatile boolean started;
   protected volatile boolean stopped;
   protected volatile Thread runningThread;
@@ -49,11 +54,29 @@ public class BlockingQueueConsumer<T> {
    */
   public BlockingQueueConsumer(BlockingQueue<? extends T> queue,
                                ConsumerAcceptor<? super T> acceptor) {
+    this(queue, acceptor, IdleStrategy.BLOCK);
+  }
+  
+  /**
+   * Constructs a new consumer, with a provided queue to consume from, 
+   * an acceptor to accept items, and a strategy for how to wait when 
+   * the queue is empty.
+   * 
+   * @param queue queue to consume from
+   * @param acceptor acceptor to provide consumed items to
+   * @param idleStrategy strategy for waiting when the queue is empty
+   * @since 2.5.0
+   */
+  public BlockingQueueConsumer(BlockingQueue<? extends T> queue,
+                               ConsumerAcceptor<? super T> acceptor, 
+                               IdleStrategy idleStrategy) {
     ArgumentVerifier.assertNotNull(queue, "queue");
     ArgumentVerifier.assertNotNull(acceptor, "acceptor");
+    ArgumentVerifier.assertNotNull(idleStrategy, "idleStrategy");
     
     this.queue = queue;
     this.acceptor = acceptor;
+    this.idleStrategy = idleStrategy;
     started = false;
     stopped = false;
     runningThread = null;
@@ -148,7 +171,23 @@ public class BlockingQueueConsumer<T> {
    * @throws InterruptedException thrown if thread is interrupted while blocking for next item
    */
   protected T getNext() throws InterruptedException {
-    return queue.take();
+    if (idleStrategy.blocksImmediately()) {
+      return queue.take();
+    }
+    
+    long idleCount = 0;
+    while (true) {
+      T next = queue.poll();
+      if (next != null) {
+        return next;
+      } else if (Thread.interrupted()) {
+        // stop interrupts the thread, which we won't see while polling
+        throw new InterruptedException();
+      } else if (! idleStrategy.idle(idleCount++)) {
+        // idle strategy is exhausted, block till there is something to consume
+        return queue.take();
+      }
+    }
   }
   
   /**
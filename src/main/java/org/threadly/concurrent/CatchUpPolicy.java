@@ -0,0 +1,64 @@
+package org.threadly.concurrent;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Policy for how a task scheduled at a fixed rate should handle executions which were
+ * missed.  Executions may be missed because the task ran longer than its period, or because
+ * the scheduler was too busy to start the task on time.</p>
+ *
+ * <p>No matter the policy, executions of a fixed rate task will never run concurrently.  And
+ * the schedule is always calculated from the original start time, so the rate does not drift
+ * with the runtime of the task.</p>
+ *
+ * @author jent - Mike Jensen
+ * @since 2.5.0
+ */
+public enum CatchUpPolicy {
+  /**
+   * Every missed execution will be run, back to back, until the task has caught up with its
+   * schedule.  This matches the behavior of
+   * {@link ScheduledExecutorService#scheduleAtFixedRate(Runnable, long, long, TimeUnit)}.
+   */
+  RunAll,
+  /**
+   * Missed executions are dropped, the next execution will be at the next point in the
+   * schedule which has not yet passed.
+   */
+  SkipMissed,
+  /**
+   * All missed executions are coalesced into a single execution which will run as soon as
+   * possible, after which the task will resume at its regular schedule.
+   */
+  Coalesce;
+
+  /**
+   * Calculates the next time a fixed rate task should run.  The result may be in the past if
+   * the task should run again immediately.
+   *
+   * @param previousRunTime time the previous execution was scheduled to run at
+   * @param period period in milliseconds between executions, must be greater than zero
+   * @param now current time in milliseconds
+   * @return time in milliseconds the next execution should run at
+   */
+  public long getNextRunTime(long previousRunTime, long period, long now) {
+    long nextRunTime = previousRunTime + period;
+    if (nextRunTime >= now) {
+      return nextRunTime;
+    }
+
+    switch (this) {
+      case RunAll:
+        return nextRunTime;
+      case SkipMissed:
+        // next point in the schedule which is not in the past
+        return previousRunTime + (((now - previousRunTime + period - 1) / period) * period);
+      case Coalesce:
+        // last point in the schedule which has passed
+        return previousRunTime + (((now - previousRunTime) / period) * period);
+      default:
+        throw new UnsupportedOperationException();
+    }
+  }
+}
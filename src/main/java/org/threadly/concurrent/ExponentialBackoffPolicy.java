@@ -0,0 +1,102 @@
+package org.threadly.concurrent;
+
+import java.util.Random;
+
+import org.threadly.util.ArgumentVerifier;
+
+/**
+ * <p>A {@link BackoffPolicy} where the delay between attempts grows by a constant multiplier 
+ * after each failure, up to a maximum delay.  A multiplier of {@code 1} provides a fixed 
+ * delay between attempts.</p>
+ * 
+ * <p>Optionally jitter can be applied, which randomly reduces each delay by up to the given 
+ * fraction.  This helps prevent many tasks which failed at the same time from all retrying 
+ * at the same time.</p>
+ * 
+ * <p>Retries will stop once either the maximum number of attempts have been made, or the next 
+ * attempt would start after the maximum duration since the first attempt.</p>
+ * 
+ * @author jent - Mike Jensen
+ * @since 2.5.0
+ */
+public class ExponentialBackoffPolicy implements BackoffPolicy {
+  protected final long initialDelayInMs;
+  protected final double multiplier;
+  protected final long maxDelayInMs;
+  protected final int maxAttempts;
+  protected final long maxDurationInMs;
+  protected final double jitterFactor;
+  private final Random random;
+  
+  /**
+   * Constructs a new policy which will retry up to the provided number of attempts, with no 
+   * limit to the delay between attempts, and no jitter.
+   * 
+   * @param initialDelayInMs delay in milliseconds after the first failure
+   * @param multiplier amount to multiply the delay by after each failure, must be at least 1
+   * @param maxAttempts maximum quantity of attempts, including the first attempt
+   */
+  public ExponentialBackoffPolicy(long initialDelayInMs, double multiplier, int maxAttempts) {
+    this(initialDelayInMs, multiplier, Long.MAX_VALUE, maxAttempts, Long.MAX_VALUE, 0);
+  }
+  
+  /**
+   * Constructs a new policy.
+   * 
+   * @param initialDelayInMs delay in milliseconds after the first failure
+   * @param multiplier amount to multiply the delay by after each failure, must be at least 1
+   * @param maxDelayInMs maximum delay in milliseconds between attempts
+   * @param maxAttempts maximum quantity of attempts, including the first attempt
+   * @param maxDurationInMs maximum time in milliseconds after the first attempt to start a retry
+   * @param jitterFactor fraction (between 0 and 1) each delay may be randomly reduced by
+   */
+  public ExponentialBackoffPolicy(long initialDelayInMs, double multiplier, long maxDelayInMs, 
+                                  int maxAttempts, long maxDurationInMs, double jitterFactor) {
+    ArgumentVerifier.assertNotNegative(initialDelayInMs, "initialDelayInMs");
+    if (multiplier < 1) {
+      throw new IllegalArgumentException("multiplier must be >= 1: " + multiplier);
+    }
+    ArgumentVerifier.assertNotNegative(maxDelayInMs, "maxDelayInMs");
+    ArgumentVerifier.assertGreaterThanZero(maxAttempts, "maxAttempts");
+    ArgumentVerifier.assertNotNegative(maxDurationInMs, "maxDurationInMs");
+    if (jitterFactor < 0 || jitterFactor > 1) {
+      throw new IllegalArgumentException("jitterFactor must be between 0 and 1: " + jitterFactor);
+    }
+    
+    this.initialDelayInMs = initialDelayInMs;
+    this.multiplier = multiplier;
+    this.maxDelayInMs = maxDelayInMs;
+    this.maxAttempts = maxAttempts;
+    this.maxDurationInMs = maxDurationInMs;
+    this.jitterFactor = jitterFactor;
+    if (jitterFactor > 0) {
+      random = new Random();
+    } else {
+      random = null;
+    }
+  }
+
+  @Override
+  public long getRetryDelay(int failedAttempts, long elapsedInMs, Throwable lastFailure) {
+    if (failedAttempts >= maxAttempts) {
+      return -1;
+    }
+    
+    double delay = initialDelayInMs * Math.pow(multiplier, failedAttempts - 1);
+    long result;
+    if (delay >= maxDelayInMs) {
+      result = maxDelayInMs;
+    } else {
+      result = (long)delay;
+    }
+    if (random != null && result > 0) {
+      result -= (long)(result * jitterFactor * random.nextDouble());
+    }
+    
+    if (maxDurationInMs != Long.MAX_VALUE && elapsedInMs + result > maxDurationInMs) {
+      return -1;
+    } else {
+      return result;
+    }
+  }
+}
@@ -0,0 +1,70 @@
+package org.threadly.concurrent;
+
+import org.threadly.util.ArgumentVerifier;
+
+/**
+ * <p>Tracks the schedule for a task which runs at a fixed rate.  Rather than rescheduling from 
+ * when the task finished, each run time is calculated from the previous scheduled run time, 
+ * using the {@link CatchUpPolicy} to decide how to handle missed executions.  This is shared 
+ * by the fixed rate task containers in the schedulers, limiters and wrappers.</p>
+ * 
+ * <p>This is not thread safe, it is expected that it is only updated once each execution of 
+ * the task has completed.</p>
+ * 
+ * @author jent - Mike Jensen
+ * @since 2.5.0
+ */
+public class FixedRateSchedule {
+  protected final long period;
+  protected final CatchUpPolicy catchUpPolicy;
+  private long nextRunTime;
+  
+  /**
+   * Constructs a new {@link FixedRateSchedule}.
+   * 
+   * @param firstRunTime time in milliseconds the first execution is scheduled to run at
+   * @param period period in milliseconds between executions, must be greater than zero
+   * @param catchUpPolicy policy for handling missed executions
+   */
+  public FixedRateSchedule(long firstRunTime, long period, CatchUpPolicy catchUpPolicy) {
+    ArgumentVerifier.assertGreaterThanZero(period, "period");
+    ArgumentVerifier.assertNotNull(catchUpPolicy, "catchUpPolicy");
+    
+    this.period = period;
+    this.catchUpPolicy = catchUpPolicy;
+    this.nextRunTime = firstRunTime;
+  }
+  
+  /**
+   * Returns the time the next execution is scheduled to run at.
+   * 
+   * @return time in milliseconds of the next execution
+   */
+  public long getNextRunTime() {
+    return nextRunTime;
+  }
+  
+  /**
+   * Advances the schedule past the execution which just completed.  The result may be in the 
+   * past if the task should run again immediately.
+   * 
+   * @param now current time in milliseconds
+   * @return time in milliseconds the next execution should run at
+   */
+  public long updateNextRunTime(long now) {
+    nextRunTime = catchUpPolicy.getNextRunTime(nextRunTime, period, now);
+    
+    return nextRunTime;
+  }
+  
+  /**
+   * Advances the schedule past the execution which just completed, and returns the delay 
+   * until the next execution should run.
+   * 
+   * @param now current time in milliseconds
+   * @return delay in milliseconds till the next execution, will not be negative
+   */
+  public long updateNextDelay(long now) {
+    return Math.max(0, updateNextRunTime(now) - now);
+  }
+}
@@ -0,0 +1,127 @@
+package org.threadly.concurrent;
+
+import java.util.concurrent.locks.LockSupport;
+
+import org.threadly.util.ArgumentVerifier;
+
+/**
+ * <p>Strategy for how a consuming thread should wait once it finds no work available, before
+ * it falls back to blocking.  Blocking (for example in a monitor wait, or
+ * {@link java.util.concurrent.BlockingQueue#take()}) consumes no CPU, but every new item then
+ * requires the operating system to wake the thread back up.  For latency critical consumers
+ * it can be better to keep checking for work for a period of time first.</p>
+ *
+ * <p>Once idle the strategy progresses through three phases.  First it will busy spin for the
+ * configured number of checks.  Then it will yield the thread between checks for the
+ * configured number of checks.  Finally if a maximum park time is provided it will park the
+ * thread between checks, starting with a short park and doubling each check until the maximum
+ * park time is reached.  If no park time is provided, the consumer will instead block once the
+ * spin and yield checks are exhausted.</p>
+ *
+ * <p>For example {@code new IdleStrategy(100, 100, 1000 * 1000)} would spin for 100 checks,
+ * yield for 100 checks, then park for up to one millisecond between checks and never block.
+ * {@link #BLOCK} will block as soon as no work is found, {@link #BUSY_SPIN} will never stop
+ * spinning, and {@link #BUSY_YIELD} will never stop yielding.</p>
+ *
+ * @author jent - Mike Jensen
+ * @since 2.5.0
+ */
+public class IdleStrategy {
+  /**
+   * Strategy which blocks as soon as no work is available.  This is the default behavior.
+   */
+  public static final IdleStrategy BLOCK = new IdleStrategy(0, 0, 0);
+  /**
+   * Strategy which never stops checking for work.  This provides the lowest latency, but will
+   * consume an entire CPU core while idle.
+   */
+  public static final IdleStrategy BUSY_SPIN = new IdleStrategy(Long.MAX_VALUE, 0, 0);
+  /**
+   * Strategy which never stops checking for work, but yields the thread between checks.  This
+   * allows other threads to run, but will still show as busy while idle.
+   */
+  public static final IdleStrategy BUSY_YIELD = new IdleStrategy(0, Long.MAX_VALUE, 0);
+  protected static final long MIN_PARK_NANOS = 1000;
+  private static final int MAX_PARK_SHIFT = 30;
+
+  protected final long spinCount;
+  protected final long yieldCount;
+  protected final long maxParkNanos;
+
+  /**
+   * Constructs a new {@link IdleStrategy}.
+   *
+   * @param spinCount number of checks to busy spin for before yielding
+   * @param yieldCount number of checks to yield for before parking or blocking
+   * @param maxParkNanos maximum time in nanoseconds to park between checks, or zero to block
+   */
+  public IdleStrategy(long spinCount, long yieldCount, long maxParkNanos) {
+    ArgumentVerifier.assertNotNegative(spinCount, "spinCount");
+    ArgumentVerifier.assertNotNegative(yieldCount, "yieldCount");
+    ArgumentVerifier.assertNotNegative(maxParkNanos, "maxParkNanos");
+
+    this.spinCount = spinCount;
+    this.yieldCount = yieldCount;
+    this.maxParkNanos = maxParkNanos;
+  }
+
+  /**
+   * Checks if this strategy will block as soon as there is no work.  If so callers can avoid
+   * checking for work without blocking entirely.
+   *
+   * @return true if the consumer should immediately block when idle
+   */
+  public boolean blocksImmediately() {
+    return spinCount == 0 && yieldCount == 0 && maxParkNanos == 0;
+  }
+
+  /**
+   * Checks if this strategy may park the consuming thread.  If so producers may want to
+   * unpark the consumer when new work is added, so it does not need to wait for the park to
+   * time out.
+   *
+   * @return true if the consuming thread may be parked
+   */
+  public boolean mayPark() {
+    return maxParkNanos > 0;
+  }
+
+  /**
+   * Checks if this strategy may return false from {@link #idle(long)}, requiring the consumer
+   * to block.  If so producers must signal the consumer when new work is added.
+   *
+   * @return true if the consumer may need to block when idle
+   */
+  public boolean mayBlock() {
+    return maxParkNanos == 0 && spinCount != Long.MAX_VALUE && yieldCount != Long.MAX_VALUE;
+  }
+
+  /**
+   * Invoked each time the consumer checks for work and finds none.  This will wait as
+   * appropriate for the current phase, and then return if the consumer should check for work
+   * again.  Once this returns false the consumer should block till work is available, and
+   * reset its idle count once work is found.
+   *
+   * @param idleCount number of consecutive checks which have found no work, starting at zero
+   * @return true to check for work again, false if the consumer should block
+   */
+  public boolean idle(long idleCount) {
+    if (idleCount < spinCount) {
+      // busy spin, nothing to do but check again
+      return true;
+    }
+    idleCount -= spinCount;
+    if (idleCount < yieldCount) {
+      Thread.yield();
+      return true;
+    }
+    idleCount -= yieldCount;
+    if (maxParkNanos > 0) {
+      int shift = (int)Math.min(idleCount, MAX_PARK_SHIFT);
+      LockSupport.parkNanos(this, Math.min(maxParkNanos, MIN_PARK_NANOS << shift));
+      return true;
+    } else {
+      return false;
+    }
+  }
+}
@@ -4,10 +4,12 @@ import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.TimeUnit;
 
 import org.threadly.concurrent.collections.ConcurrentArrayList;
 import org.threadly.util.ArgumentVerifier;
+import org.threadly.util.ExceptionUtils;
 import org.threadly.util.ListUtils;
 
 /**
@@ -22,6 +24,22 @@ import org.threadly.util.ListUtils;
  * tasks will block (possibly forever).  The call to .tick() will not unblock till there 
  * is no more work for the scheduler to currently handle.</p>
  * 
+ * <p>Tasks which are provided without a delay (for example from .execute() or .submit()) are 
+ * added to a lock free queue, rather than being inserted into the sorted queue of delayed 
+ * tasks.  These are run in the order they were provided, in batches between checking for 
+ * ready delayed tasks.  Because of this, a task without a delay may run before a delayed 
+ * task which became ready slightly before it was provided.</p>
+ * 
+ * <p>This scheduler can also be driven from an existing event loop (for example one waiting 
+ * on a {@link java.nio.channels.Selector}).  The loop can call {@link #tickNonBlocking()}, 
+ * then wait on its own IO for at most {@link #getDelayTillNextTask()}, and provide a 
+ * wakeup task with {@link #setWakeupTask(Runnable)} so that it is woken up when a task 
+ * which needs to run sooner is added from another thread.</p>
+ * 
+ * <p>By default only one thread may call .tick() at a time.  If constructed to allow 
+ * parallel ticks, each ready task is claimed by a single .tick() call before it is run, 
+ * allowing any number of threads to drain the scheduler at the same time.</p>
+ * 
  * @author jent - Mike Jensen
  * @since 2.0.0
  */
@@ -29,11 +47,16 @@ public class NoThreadScheduler extends AbstractSubmitterScheduler
                                implements SchedulerServiceInterface {
   protected static final int QUEUE_FRONT_PADDING = 0;
   protected static final int QUEUE_REAR_PADDING = 2;
+  protected static final int EXECUTE_QUEUE_BATCH_SIZE = 32;
   
   protected final boolean tickBlocksTillAvailable;
+  protected final boolean allowParallelTicks;
   protected final ConcurrentArrayList<TaskContainer> taskQueue;
+  protected final ConcurrentLinkedQueue<Runnable> executeQueue;
   protected final ClockWrapper clockWrapper;
   private volatile boolean cancelTick;  
+  private volatile Runnable wakeupTask;
+  private volatile int blockedTickCount;  // only modified while holding taskQueue modification lock
   
   /**
    * Constructs a new {@link NoThreadScheduler} scheduler.
@@ -41,11 +64,49 @@ public class NoThreadScheduler extends AbstractSubmitterScheduler
    * @param tickBlocksTillAvailable true if calls to .tick() should block till there is something to run
    */
   public NoThreadScheduler(boolean tickBlocksTillAvailable) {
+    this(tickBlocksTillAvailable, false);
+  }
+  
+  /**
+   * Constructs a new {@link NoThreadScheduler} scheduler.  If parallel ticks are allowed, 
+   * tasks will be claimed atomically before being run, so that multiple threads can call 
+   * .tick() at the same time without any task being run more than once.  This adds a small 
+   * amount of locking overhead for each task run, so it should only be enabled if it is needed.
+   * 
+   * @param tickBlocksTillAvailable true if calls to .tick() should block till there is something to run
+   * @param allowParallelTicks true if multiple threads may call .tick() concurrently
+   * @since 2.5.0
+   */
+  public NoThreadScheduler(boolean tickBlocksTillAvailable, boolean allowParallelTicks) {
     this.tickBlocksTillAvailable = tickBlocksTillAvailable;
+    this.allowParallelTicks = allowParallelTicks;
     taskQueue = new ConcurrentArrayList<TaskContainer>(QUEUE_FRONT_PADDING, 
                                                        QUEUE_REAR_PADDING);
+    executeQueue = new ConcurrentLinkedQueue<Runnable>();
     clockWrapper = new ClockWrapper();
     cancelTick = false;
+    wakeupTask = null;
+    blockedTickCount = 0;
+  }
+  
+  /**
+   * Sets a task to be invoked when a task is added which will need to run before any other 
+   * task currently in the scheduler.  This is useful when .tick() is called from an event 
+   * loop which is blocked on something other than this scheduler.  For example if the loop 
+   * is waiting in {@link java.nio.channels.Selector#select(long)}, the wakeup task could 
+   * invoke {@link java.nio.channels.Selector#wakeup()}.
+   * 
+   * Since tasks without a delay are added without locking, every task added without a delay 
+   * will invoke the wakeup task.  The wakeup task is invoked on the thread adding the task, 
+   * after it has been added.  It 
+   * should be quick and non-blocking.  Any exceptions thrown will be provided to 
+   * {@link ExceptionUtils#handleException(Throwable)}.
+   * 
+   * @param wakeupTask task to invoke when a new earliest task is added, or null to unset
+   * @since 2.5.0
+   */
+  public void setWakeupTask(Runnable wakeupTask) {
+    this.wakeupTask = wakeupTask;
   }
 
   /**
@@ -92,11 +153,12 @@ public class NoThreadScheduler extends AbstractSubmitterScheduler
   
   /**
    * Progresses tasks for the current time.  This will block as it runs
-   * as many scheduled or waiting tasks as possible.  It is CRITICAL that 
-   * only one thread at a time calls the .tick() function.  While this class 
-   * is in general thread safe, if multiple threads call .tick() at the same 
-   * time, it is possible a given task may run more than once.  In order to 
-   * maintain high performance, threadly does not guard against this condition.
+   * as many scheduled or waiting tasks as possible.  Unless constructed to 
+   * allow parallel ticks, it is CRITICAL that only one thread at a time calls 
+   * the .tick() function.  While this class is in general thread safe, if 
+   * multiple threads call .tick() at the same time, it is possible a given 
+   * task may run more than once.  In order to maintain high performance, by 
+   * default threadly does not guard against this condition.
    * 
    * Depending on how this class was constructed, this may or may not block 
    * if there are no tasks to run yet.
@@ -105,25 +167,76 @@ public class NoThreadScheduler extends AbstractSubmitterScheduler
    * tick call.  Any tasks past that task will not run till the next call to 
    * tick.  So it is important that the implementor handle those exceptions.  
    * 
-   * This call is NOT thread safe, calling tick in parallel could cause the 
-   * same task to be run multiple times in parallel.
+   * Unless parallel ticks are allowed this call is NOT thread safe, calling 
+   * tick in parallel could cause the same task to be run multiple times in 
+   * parallel.  If parallel ticks are allowed, each task will only be run by one 
+   * of the ticking threads, and a recurring task will never run concurrently with 
+   * itself.
    * 
    * @return quantity of tasks run during this tick invocation
    * @throws InterruptedException thrown if thread is interrupted waiting for task to run
    *           (this can only throw if constructed with a true to allow blocking)
    */
   public int tick() throws InterruptedException {
+    return tick(tickBlocksTillAvailable);
+  }
+  
+  /**
+   * Progresses tasks for the current time, never blocking if there are no tasks ready to 
+   * run.  This behaves the same as .tick() on a scheduler constructed to not block, 
+   * regardless of how this scheduler was constructed.  This is intended to be used with 
+   * {@link #getDelayTillNextTask()} when .tick() is called from an event loop which does its 
+   * own waiting.
+   * 
+   * @return quantity of tasks run during this tick invocation
+   * @since 2.5.0
+   */
+  public int tickNonBlocking() {
+    try {
+      return tick(false);
+    } catch (InterruptedException e) {
+      // should not be possible since we are not blocking
+      Thread.currentThread().interrupt();
+      throw ExceptionUtils.makeRuntime(e);
+    }
+  }
+  
+  private int tick(boolean blockTillAvailable) throws InterruptedException {
     int tasks = 0;
     while (true) {  // will break from loop at bottom
-      TaskContainer nextTask;
-      while ((nextTask = getNextReadyTask()) != null && ! cancelTick) {
-        tasks++;
+      boolean ranTask;
+      do {
+        ranTask = false;
         
-        // call will remove task from queue, or reposition as necessary
-        nextTask.runTask();
-      }
+        // run a batch of tasks which were added without a delay
+        Runnable executeTask;
+        int batchCount = 0;
+        while (batchCount < EXECUTE_QUEUE_BATCH_SIZE && ! cancelTick && 
+               (executeTask = executeQueue.poll()) != null) {
+          tasks++;
+          batchCount++;
+          ranTask = true;
+          
+          executeTask.run();
+        }
+        
+        // then check for a single delayed task which is ready
+        TaskContainer nextTask;
+        if (! cancelTick && 
+            (nextTask = (allowParallelTicks ? claimNextReadyTask() : getNextReadyTask())) != null) {
+          if (! allowParallelTicks) {
+            // no other .tick() can claim this task, but it must still be seen as running
+            nextTask.running = true;
+          }
+          tasks++;
+          ranTask = true;
+          
+          // call will remove task from queue, or reposition as necessary
+          nextTask.runTask();
+        }
+      } while (ranTask && ! cancelTick);
       
-      if (tickBlocksTillAvailable && tasks == 0) {
+      if (blockTillAvailable && tasks == 0) {
         synchronized (taskQueue.getModificationLock()) {
           /* we must check the cancelTick once we have the lock 
            * since that is when the .notify() would happen.
@@ -131,14 +244,25 @@ public class NoThreadScheduler extends AbstractSubmitterScheduler
           if (cancelTick) {
             break;
           }
-          nextTask = taskQueue.peekFirst();
-          if (nextTask == null) {
-            taskQueue.getModificationLock().wait();
-          } else {
-            long nextTaskDelay = nextTask.getDelay(TimeUnit.MILLISECONDS);
-            if (nextTaskDelay > 0) {
-              taskQueue.getModificationLock().wait(nextTaskDelay);
+          /* Must increment before checking the execute queue.  Tasks are added to the execute 
+           * queue without locking, and only notify if they see a blocked tick after adding.
+           */
+          blockedTickCount++;
+          try {
+            if (executeQueue.isEmpty()) {
+              // tasks running in other .tick() calls can not be waited on
+              TaskContainer nextTask = getFirstUnclaimedTask();
+              if (nextTask == null) {
+                taskQueue.getModificationLock().wait();
+              } else {
+                long nextTaskDelay = nextTask.getDelay(TimeUnit.MILLISECONDS);
+                if (nextTaskDelay > 0) {
+                  taskQueue.getModificationLock().wait(nextTaskDelay);
+                }
+              }
             }
+          } finally {
+            blockedTickCount--;
           }
         }
       } else {
@@ -159,7 +283,37 @@ public class NoThreadScheduler extends AbstractSubmitterScheduler
 
   @Override
   protected void doSchedule(Runnable task, long delayInMillis) {
-    add(new OneTimeTask(task, delayInMillis));
+    if (delayInMillis == 0) {
+      addToExecuteQueue(task);
+    } else {
+      add(new OneTimeTask(task, delayInMillis));
+    }
+  }
+  
+  /**
+   * Adds a task which is ready to run immediately.  This avoids the locking and sorted 
+   * insertion needed for delayed tasks, only locking to notify if a .tick() call is 
+   * currently blocked waiting for tasks.
+   * 
+   * @param task task to be run on the next .tick() call
+   */
+  protected void addToExecuteQueue(Runnable task) {
+    executeQueue.offer(task);
+    
+    if (blockedTickCount > 0) {
+      synchronized (taskQueue.getModificationLock()) {
+        taskQueue.getModificationLock().notifyAll();
+      }
+    }
+    
+    Runnable wakeupTask = this.wakeupTask;
+    if (wakeupTask != null) {
+      try {
+        wakeupTask.run();
+      } catch (Throwable t) {
+        ExceptionUtils.handleException(t);
+      }
+    }
   }
 
   @Override
@@ -172,8 +326,23 @@ public class NoThreadScheduler extends AbstractSubmitterScheduler
     
     add(new RecurringTask(task, initialDelay, recurringDelay));
   }
+
+  @Override
+  public void scheduleAtFixedRate(Runnable task, long initialDelay, long period, 
+                                  CatchUpPolicy catchUpPolicy) {
+    ArgumentVerifier.assertNotNull(task, "task");
+    ArgumentVerifier.assertNotNegative(initialDelay, "initialDelay");
+    ArgumentVerifier.assertGreaterThanZero(period, "period");
+    if (catchUpPolicy == null) {
+      catchUpPolicy = CatchUpPolicy.RunAll;
+    }
+    
+    add(new FixedRateTask(task, initialDelay, period, catchUpPolicy));
+  }
   
   protected void add(TaskContainer runnable) {
+    Runnable wakeupTask = this.wakeupTask;
+    boolean wakeup;
     synchronized (taskQueue.getModificationLock()) {
       startInsertion();
       try {
@@ -187,12 +356,34 @@ public class NoThreadScheduler extends AbstractSubmitterScheduler
         endInsertion();
       }
       
+      // only need to wakeup if this task will run before any already known to the waiter
+      wakeup = wakeupTask != null && getFirstUnclaimedTask() == runnable;
+      
       taskQueue.getModificationLock().notifyAll();
     }
+    
+    if (wakeup) {
+      try {
+        wakeupTask.run();
+      } catch (Throwable t) {
+        ExceptionUtils.handleException(t);
+      }
+    }
   }
   
   @Override
   public boolean remove(Runnable task) {
+    Iterator<Runnable> it = executeQueue.iterator();
+    while (it.hasNext()) {
+      Runnable r = it.next();
+      if (ContainerHelper.isContained(r, task)) {
+        // remove by instance so we only succeed if a .tick() has not already taken the task
+        if (executeQueue.remove(r)) {
+          return true;
+        }
+      }
+    }
+    
     synchronized (taskQueue.getModificationLock()) {
       return ContainerHelper.remove(taskQueue, task);
     }
@@ -200,6 +391,17 @@ public class NoThreadScheduler extends AbstractSubmitterScheduler
   
   @Override
   public boolean remove(Callable<?> task) {
+    Iterator<Runnable> it = executeQueue.iterator();
+    while (it.hasNext()) {
+      Runnable r = it.next();
+      if (ContainerHelper.isContained(r, task)) {
+        // remove by instance so we only succeed if a .tick() has not already taken the task
+        if (executeQueue.remove(r)) {
+          return true;
+        }
+      }
+    }
+    
     synchronized (taskQueue.getModificationLock()) {
       return ContainerHelper.remove(taskQueue, task);
     }
@@ -230,6 +432,70 @@ public class NoThreadScheduler extends AbstractSubmitterScheduler
     }
   }
   
+  /**
+   * Atomically claims the next task which is ready to be run.  The returned task will be 
+   * marked as running, so no other parallel .tick() call will be able to claim it till it 
+   * has completed (and been repositioned if it is a recurring task).
+   * 
+   * @return next ready task which is now claimed, or null if there are none
+   */
+  protected TaskContainer claimNextReadyTask() {
+    synchronized (taskQueue.getModificationLock()) {
+      TaskContainer nextTask = getFirstUnclaimedTask();
+      if (nextTask != null && nextTask.getDelay(TimeUnit.MILLISECONDS) <= 0) {
+        nextTask.running = true;
+        return nextTask;
+      } else {
+        return null;
+      }
+    }
+  }
+  
+  /**
+   * Finds the first task in the queue which is not currently running.  Since tasks are only 
+   * claimed while holding the modification lock, this must be called while holding the 
+   * lock for the result to be stable.
+   * 
+   * @return first task which is not running, or null if there are none
+   */
+  private TaskContainer getFirstUnclaimedTask() {
+    Iterator<TaskContainer> it = taskQueue.iterator();
+    while (it.hasNext()) {
+      TaskContainer tc = it.next();
+      if (! tc.running) {
+        return tc;
+      }
+    }
+    
+    return null;
+  }
+  
+  /**
+   * Returns the delay in milliseconds till the next task is ready to run.  If a task is 
+   * already ready to run this will return zero.  If there are no tasks this will return 
+   * {@link Long#MAX_VALUE}.  Tasks currently running in a .tick() call are not considered.  
+   * 
+   * This is intended for event loops which need to know how long they can wait before 
+   * calling .tick() again.  If tasks may be added from other threads while waiting, a 
+   * wakeup task should be set with {@link #setWakeupTask(Runnable)}.
+   * 
+   * @return milliseconds till the next task is ready to run
+   * @since 2.5.0
+   */
+  public long getDelayTillNextTask() {
+    if (! executeQueue.isEmpty()) {
+      return 0;
+    }
+    synchronized (taskQueue.getModificationLock()) {
+      TaskContainer nextTask = getFirstUnclaimedTask();
+      if (nextTask == null) {
+        return Long.MAX_VALUE;
+      } else {
+        return Math.max(0, nextTask.getDelay(TimeUnit.MILLISECONDS));
+      }
+    }
+  }
+  
   /**
    * Checks if there are tasks ready to be run on the scheduler.  Generally this is called from 
    * the same thread that would call .tick() (but does not have to be).  If .tick() is not 
@@ -240,16 +506,13 @@ public class NoThreadScheduler extends AbstractSubmitterScheduler
    * @return true if there are task waiting to run.
    */
   public boolean hasTaskReadyToRun() {
+    if (! executeQueue.isEmpty()) {
+      return true;
+    }
     synchronized (taskQueue.getModificationLock()) {
-      TaskContainer nextTask = getNextReadyTask();
-      if (nextTask == null) {
-        return false;
-      } else if (nextTask.running && taskQueue.size() == 1) {
-        // only one task should be running at a time, so if the size is > 1 then we know we have task to run
-        return false;
-      } else {
-        return true;
-      }
+      // running tasks are not counted, and may be ahead of tasks which are ready
+      TaskContainer nextTask = getFirstUnclaimedTask();
+      return nextTask != null && nextTask.getDelay(TimeUnit.MILLISECONDS) <= 0;
     }
   }
   
@@ -264,6 +527,11 @@ public class NoThreadScheduler extends AbstractSubmitterScheduler
     synchronized (taskQueue.getModificationLock()) {
       List<Runnable> result = new ArrayList<Runnable>(taskQueue.size());
       
+      Runnable executeTask;
+      while ((executeTask = executeQueue.poll()) != null) {
+        result.add(executeTask);
+      }
+      
       Iterator<TaskContainer> it = taskQueue.iterator();
       while (it.hasNext()) {
         TaskContainer tc = it.next();
@@ -299,14 +567,16 @@ public class NoThreadScheduler extends AbstractSubmitterScheduler
       return runnable;
     }
     
+    /**
+     * Runs the task, the task must have already been marked as running.  Once complete 
+     * {@link #runComplete()} is responsible for unsetting the running flag.
+     */
     protected void runTask() {
-      running = true;
       prepareForRun();
       try {
         runnable.run();
       } finally {
         runComplete();
-        running = false;
       }
     }
     
@@ -317,7 +587,8 @@ public class NoThreadScheduler extends AbstractSubmitterScheduler
     protected abstract void prepareForRun();
     
     /**
-     * Called after the task completes, weather an exception was thrown or it exited normally.
+     * Called after the task completes, weather an exception was thrown or it exited normally.  
+     * This must unset the running flag, once it is safe for the task to be claimed again.
      */
     protected abstract void runComplete();
     
@@ -360,7 +631,8 @@ public class NoThreadScheduler extends AbstractSubmitterScheduler
     
     @Override
     protected void runComplete() {
-      // nothing done for single execution tasks
+      // already removed from the queue, so nothing can claim this task again
+      running = false;
     }
 
     @Override
@@ -379,7 +651,7 @@ public class NoThreadScheduler extends AbstractSubmitterScheduler
   protected class RecurringTask extends TaskContainer {
     private final long initialDelay;
     private final long recurringDelay;
-    private long nextRunTime;
+    protected long nextRunTime;
     
     public RecurringTask(Runnable runnable, long initialDelay, long recurringDelay) {
       super(runnable);
@@ -402,6 +674,14 @@ public class NoThreadScheduler extends AbstractSubmitterScheduler
     @Override
     public void runComplete() {
       synchronized (taskQueue.getModificationLock()) {
+        /* parallel ticks only claim while holding the lock, so it is safe to unset running 
+         * before we reposition.  Doing it here, rather than after, ensures that a blocked 
+         * .tick() which is woken up can run this task.
+         */
+        running = false;
+        if (allowParallelTicks) {
+          taskQueue.getModificationLock().notifyAll();
+        }
         startInsertion();
         try {
           // almost certainly will be the first item in the queue
@@ -410,16 +690,28 @@ public class NoThreadScheduler extends AbstractSubmitterScheduler
             // task was removed from queue, do not re-insert
             return;
           }
-          int insertionIndex = ListUtils.getInsertionEndIndex(taskQueue, recurringDelay, true);
+          long nextDelay = getNextDelay();
+          int insertionIndex = ListUtils.getInsertionEndIndex(taskQueue, nextDelay, true);
           
           taskQueue.reposition(currentIndex, insertionIndex);
           
-          nextRunTime = nowInMillis() + recurringDelay;
+          nextRunTime = nowInMillis() + nextDelay;
         } finally {
           endInsertion();
         }
       }
     }
+    
+    /**
+     * Called after the task has completed to find the delay till the next execution.  This 
+     * is only invoked between start and end insertion, so the current time is stable.  By 
+     * default this is the recurring delay.
+     * 
+     * @return delay in milliseconds till the task should run again
+     */
+    protected long getNextDelay() {
+      return recurringDelay;
+    }
 
     @Override
     public long getDelay(TimeUnit timeUnit) {
@@ -427,4 +719,40 @@ public class NoThreadScheduler extends AbstractSubmitterScheduler
                               TimeUnit.MILLISECONDS);
     }
   }
+  
+  /**
+   * <p>Container for runnables which run at a fixed rate, following a 
+   * {@link FixedRateSchedule}.</p>
+   * 
+   * @author jent - Mike Jensen
+   * @since 2.5.0
+   */
+  protected class FixedRateTask extends RecurringTask {
+    private final long period;
+    private final CatchUpPolicy catchUpPolicy;
+    private FixedRateSchedule schedule;  // set once added, when the first run time is known
+    
+    public FixedRateTask(Runnable runnable, long initialDelay, long period, 
+                         CatchUpPolicy catchUpPolicy) {
+      super(runnable, initialDelay, period);
+      
+      this.period = period;
+      this.catchUpPolicy = catchUpPolicy;
+      this.schedule = null;
+    }
+    
+    @Override
+    protected void setInitialDelay() {
+      super.setInitialDelay();
+      
+      schedule = new FixedRateSchedule(nextRunTime, period, catchUpPolicy);
+    }
+    
+    @Override
+    protected long getNextDelay() {
+      long now = nowInMillis();
+      // may be negative while catching up, so missed runs keep their place in the queue
+      return schedule.updateNextRunTime(now) - now;
+    }
+  }
 }
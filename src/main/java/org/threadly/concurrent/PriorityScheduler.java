@@ -621,7 +621,8 @@ public class PriorityScheduler extends AbstractSubmitterScheduler
       throw new IllegalArgumentException("A sub pool should be smaller than the parent pool");
     }
     
-    return new PrioritySchedulerLimiter(this, maxConcurrency, subPoolName);
+    return new PrioritySchedulerLimiter(this, maxConcurrency, subPoolName, 
+                                        maxWaitForLowPriorityInMs);
   }
   
   /**
@@ -803,6 +804,28 @@ public class PriorityScheduler extends AbstractSubmitterScheduler
 
     addToQueue(new RecurringTaskWrapper(task, priority, initialDelay, recurringDelay));
   }
+
+  @Override
+  public void scheduleAtFixedRate(Runnable task, long initialDelay, long period, 
+                                  CatchUpPolicy catchUpPolicy) {
+    scheduleAtFixedRate(task, initialDelay, period, catchUpPolicy, defaultPriority);
+  }
+
+  @Override
+  public void scheduleAtFixedRate(Runnable task, long initialDelay, long period, 
+                                  CatchUpPolicy catchUpPolicy, TaskPriority priority) {
+    ArgumentVerifier.assertNotNull(task, "task");
+    ArgumentVerifier.assertNotNegative(initialDelay, "initialDelay");
+    ArgumentVerifier.assertGreaterThanZero(period, "period");
+    if (catchUpPolicy == null) {
+      catchUpPolicy = CatchUpPolicy.RunAll;
+    }
+    if (priority == null) {
+      priority = defaultPriority;
+    }
+
+    addToQueue(new FixedRateTaskWrapper(task, priority, initialDelay, period, catchUpPolicy));
+  }
   
   /**
    * Adds the ready TaskWrapper to the correct queue.  Using the priority specified in the 
@@ -1333,7 +1356,7 @@ public class PriorityScheduler extends AbstractSubmitterScheduler
     private final long recurringDelay;
     //private volatile long maxExpectedRuntime;
     private volatile boolean executing;
-    private long nextRunTime;
+    protected long nextRunTime;
     
     protected RecurringTaskWrapper(Runnable task, TaskPriority priority, 
                                    long initialDelay, long recurringDelay) {
@@ -1396,11 +1419,19 @@ public class PriorityScheduler extends AbstractSubmitterScheduler
       }
     }
     
+    /**
+     * Called after the task has completed to set the time for the next execution.  By default 
+     * the next execution will be the recurring delay from now.
+     */
+    protected void updateNextRunTime() {
+      nextRunTime = Clock.accurateTimeMillis() + recurringDelay;
+    }
+    
     /**
      * After the task has completed, this will reschedule the task to run again.
      */
     private void reschedule() {
-      nextRunTime = Clock.accurateTimeMillis() + recurringDelay;
+      updateNextRunTime();
       
       // now that nextRunTime has been set, resort the queue
       switch (priority) {
@@ -1470,6 +1501,29 @@ public class PriorityScheduler extends AbstractSubmitterScheduler
     }
   }
   
+  /**
+   * <p>Wrapper for tasks which run at a fixed rate, following a {@link FixedRateSchedule}.</p>
+   * 
+   * @author jent - Mike Jensen
+   * @since 2.5.0
+   */
+  protected class FixedRateTaskWrapper extends RecurringTaskWrapper {
+    private final FixedRateSchedule schedule;
+    
+    protected FixedRateTaskWrapper(Runnable task, TaskPriority priority, 
+                                   long initialDelay, long period, 
+                                   CatchUpPolicy catchUpPolicy) {
+      super(task, priority, initialDelay, period);
+      
+      this.schedule = new FixedRateSchedule(nextRunTime, period, catchUpPolicy);
+    }
+    
+    @Override
+    protected void updateNextRunTime() {
+      nextRunTime = schedule.updateNextRunTime(Clock.accurateTimeMillis());
+    }
+  }
+  
   /**
    * <p>Runnable to be run after tasks already ready to execute.  That way this can be 
    * submitted with a .execute(Runnable) to ensure that the shutdown is fair for tasks 
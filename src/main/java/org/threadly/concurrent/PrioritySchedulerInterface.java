@@ -130,6 +130,20 @@ public interface PrioritySchedulerInterface extends SchedulerServiceInterface {
   public void scheduleWithFixedDelay(Runnable task, long initialDelay,
                                      long recurringDelay, TaskPriority priority);
   
+  /**
+   * Schedule a task to run at a fixed rate and a provided priority.  Executions are 
+   * scheduled from the initial start time, so the rate does not drift with the runtime of 
+   * the task.  Executions will never run concurrently.
+   * 
+   * @param task runnable to be executed
+   * @param initialDelay delay in milliseconds until first run
+   * @param period period in milliseconds between the start of each execution
+   * @param catchUpPolicy policy for handling missed executions, null to run all missed executions
+   * @param priority priority for task to run at
+   */
+  public void scheduleAtFixedRate(Runnable task, long initialDelay, long period, 
+                                  CatchUpPolicy catchUpPolicy, TaskPriority priority);
+  
   /**
    * Get the default priority for the scheduler.
    * 
@@ -3,6 +3,7 @@ package org.threadly.concurrent;
 import java.util.List;
 import java.util.concurrent.Callable;
 
+import org.threadly.concurrent.PriorityScheduler.FixedRateTaskWrapper;
 import org.threadly.concurrent.PriorityScheduler.OneTimeTaskWrapper;
 import org.threadly.concurrent.PriorityScheduler.RecurringTaskWrapper;
 import org.threadly.concurrent.future.ListenableFutureTask;
@@ -15,8 +16,7 @@ import org.threadly.concurrent.future.ScheduledFutureDelegate;
  * {@link java.util.concurrent.ScheduledExecutorService} (AKA the 
  * {@link java.util.concurrent.ScheduledThreadPoolExecutor} 
  * interface). It does make some performance sacrifices to adhere to this interface, but those
- * are pretty minimal.  The largest compromise in here is easily scheduleAtFixedRate (which you should 
- * read the javadocs for if you need).</p>
+ * are pretty minimal.</p>
  * 
  * @author jent - Mike Jensen
  * @since 2.2.0 (existed since 1.0.0 as PriorityScheduledExecutorServiceWrapper)
@@ -103,4 +103,22 @@ public class PrioritySchedulerServiceWrapper extends AbstractExecutorServiceWrap
     
     return new ScheduledFutureDelegate<Object>(taskFuture, rtw);
   }
+
+  @Override
+  protected ListenableScheduledFuture<?> scheduleAtFixedRate(Runnable command,
+                                                             long initialDelayInMillis,
+                                                             long periodInMillis) {
+    // wrap the task to ensure the correct behavior on exceptions
+    command = new ThrowableHandlingRecurringRunnable(scheduler, command);
+    
+    ListenableRunnableFuture<Object> taskFuture = new ListenableFutureTask<Object>(true, command);
+    FixedRateTaskWrapper frtw = scheduler.new FixedRateTaskWrapper(taskFuture, 
+                                                                   scheduler.getDefaultPriority(), 
+                                                                   initialDelayInMillis, 
+                                                                   periodInMillis, 
+                                                                   CatchUpPolicy.RunAll);
+    scheduler.addToQueue(frtw);
+    
+    return new ScheduledFutureDelegate<Object>(taskFuture, frtw);
+  }
 }
@@ -446,6 +446,19 @@ public class PrioritySchedulerStatisticTracker extends PriorityScheduledExecutor
     super.scheduleWithFixedDelay(wrap(task, priority, true), 
                                  initialDelay, recurringDelay, priority);
   }
+
+  @Override
+  public void scheduleAtFixedRate(Runnable task, long initialDelay, long period, 
+                                  CatchUpPolicy catchUpPolicy) {
+    scheduleAtFixedRate(task, initialDelay, period, catchUpPolicy, defaultPriority);
+  }
+
+  @Override
+  public void scheduleAtFixedRate(Runnable task, long initialDelay, long period, 
+                                  CatchUpPolicy catchUpPolicy, TaskPriority priority) {
+    super.scheduleAtFixedRate(wrap(task, priority, true), 
+                              initialDelay, period, catchUpPolicy, priority);
+  }
   
   /**
    * This reports the rolling average of time that tasks for this 
@@ -135,6 +135,23 @@ public class PrioritySchedulerWrapper implements PrioritySchedulerInterface {
     scheduler.scheduleWithFixedDelay(task, initialDelay, recurringDelay, priority);
   }
 
+  @Override
+  public void scheduleAtFixedRate(Runnable task, long initialDelay, long period) {
+    scheduler.scheduleAtFixedRate(task, initialDelay, period, null, defaultPriority);
+  }
+
+  @Override
+  public void scheduleAtFixedRate(Runnable task, long initialDelay, long period, 
+                                  CatchUpPolicy catchUpPolicy) {
+    scheduler.scheduleAtFixedRate(task, initialDelay, period, catchUpPolicy, defaultPriority);
+  }
+
+  @Override
+  public void scheduleAtFixedRate(Runnable task, long initialDelay, long period, 
+                                  CatchUpPolicy catchUpPolicy, TaskPriority priority) {
+    scheduler.scheduleAtFixedRate(task, initialDelay, period, catchUpPolicy, priority);
+  }
+
   @Override
   public boolean isShutdown() {
     return scheduler.isShutdown();
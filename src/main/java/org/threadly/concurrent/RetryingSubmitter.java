@@ -0,0 +1,144 @@
+package org.threadly.concurrent;
+
+import java.util.concurrent.Callable;
+
+import org.threadly.concurrent.future.ListenableFuture;
+import org.threadly.concurrent.future.SettableListenableFuture;
+import org.threadly.util.ArgumentVerifier;
+import org.threadly.util.Clock;
+
+/**
+ * <p>Submits tasks which will be attempted again if they fail.  Rather than blocking a 
+ * thread while waiting to retry, each retry is scheduled on the provided 
+ * {@link SimpleSchedulerInterface}.  So no thread is ever held while waiting for the next 
+ * attempt.</p>
+ * 
+ * <p>The {@link BackoffPolicy} decides if a failed attempt should be retried, and how long to 
+ * wait before that attempt.  The returned future will only complete once an attempt succeeds, 
+ * or the policy indicates that no more attempts should be made.  In which case the failure 
+ * from the last attempt will be provided.</p>
+ * 
+ * @author jent - Mike Jensen
+ * @since 2.5.0
+ */
+public class RetryingSubmitter {
+  protected final SimpleSchedulerInterface scheduler;
+  protected final BackoffPolicy defaultPolicy;
+  
+  /**
+   * Constructs a new submitter which will require a {@link BackoffPolicy} to be provided with 
+   * each task.
+   * 
+   * @param scheduler scheduler to run attempts on
+   */
+  public RetryingSubmitter(SimpleSchedulerInterface scheduler) {
+    this(scheduler, null);
+  }
+  
+  /**
+   * Constructs a new submitter with a policy to be used when none is provided with the task.
+   * 
+   * @param scheduler scheduler to run attempts on
+   * @param defaultPolicy policy for tasks submitted without a policy, or {@code null} for none
+   */
+  public RetryingSubmitter(SimpleSchedulerInterface scheduler, BackoffPolicy defaultPolicy) {
+    ArgumentVerifier.assertNotNull(scheduler, "scheduler");
+    
+    this.scheduler = scheduler;
+    this.defaultPolicy = defaultPolicy;
+  }
+  
+  /**
+   * Submits a task to be retried according to the default policy.
+   * 
+   * @param <T> type of result returned from the task
+   * @param task callable to be attempted
+   * @return future which will complete with the final outcome of the task
+   */
+  public <T> ListenableFuture<T> submit(Callable<T> task) {
+    if (defaultPolicy == null) {
+      throw new IllegalStateException("No default policy provided");
+    }
+    
+    return submit(task, defaultPolicy);
+  }
+  
+  /**
+   * Submits a task to be retried according to the provided policy.  The first attempt will be 
+   * executed immediately on the scheduler.
+   * 
+   * @param <T> type of result returned from the task
+   * @param task callable to be attempted
+   * @param policy policy to decide when and if to retry the task
+   * @return future which will complete with the final outcome of the task
+   */
+  public <T> ListenableFuture<T> submit(Callable<T> task, BackoffPolicy policy) {
+    ArgumentVerifier.assertNotNull(task, "task");
+    ArgumentVerifier.assertNotNull(policy, "policy");
+    
+    RetryTask<T> rt = new RetryTask<T>(task, policy);
+    
+    scheduler.execute(rt);
+    
+    return rt.future;
+  }
+  
+  /**
+   * <p>Runs a single attempt of the task, and then either completes the future or schedules 
+   * itself for the next attempt.  Attempts never run concurrently, so the attempt state is 
+   * only modified by one thread at a time.</p>
+   * 
+   * @author jent - Mike Jensen
+   * @since 2.5.0
+   * @param <T> type of result returned from the task
+   */
+  protected class RetryTask<T> implements Runnable {
+    protected final Callable<T> task;
+    protected final BackoffPolicy policy;
+    protected final SettableListenableFuture<T> future;
+    private volatile int failedAttempts;
+    private volatile long startTime;
+    
+    protected RetryTask(Callable<T> task, BackoffPolicy policy) {
+      this.task = task;
+      this.policy = policy;
+      this.future = new SettableListenableFuture<T>();
+      failedAttempts = 0;
+      startTime = -1;
+    }
+    
+    @Override
+    public void run() {
+      if (startTime < 0) {
+        startTime = Clock.accurateTimeMillis();
+      }
+      
+      T result;
+      try {
+        result = task.call();
+      } catch (Throwable t) {
+        long delay;
+        try {
+          delay = policy.getRetryDelay(++failedAttempts, 
+                                       Clock.accurateTimeMillis() - startTime, t);
+        } catch (Throwable policyFailure) {
+          future.setFailure(policyFailure);
+          return;
+        }
+        if (delay < 0) {
+          future.setFailure(t);
+        } else {
+          try {
+            scheduler.schedule(this, delay);
+          } catch (Throwable scheduleFailure) {
+            // likely the scheduler was shutdown, so we can not retry
+            future.setFailure(scheduleFailure);
+          }
+        }
+        return;
+      }
+      
+      future.setResult(result);
+    }
+  }
+}
@@ -4,6 +4,7 @@ import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
 import org.threadly.util.ArgumentVerifier;
+import org.threadly.util.Clock;
 
 /**
  * <p>This is a wrapper for the {@link java.util.concurrent.ScheduledThreadPoolExecutor}
@@ -42,4 +43,57 @@ public class ScheduledExecutorServiceWrapper extends AbstractSubmitterScheduler
                                      initialDelay, recurringDelay, 
                                      TimeUnit.MILLISECONDS);
   }
+
+  /**
+   * For {@link CatchUpPolicy#RunAll} this will use the native fixed rate scheduling of the 
+   * wrapped {@link ScheduledExecutorService}.  For other policies the task will be scheduled 
+   * for a single execution at a time, calculating the next run time after each execution.
+   */
+  @Override
+  public void scheduleAtFixedRate(Runnable task, long initialDelay, long period, 
+                                  CatchUpPolicy catchUpPolicy) {
+    ArgumentVerifier.assertNotNull(task, "task");
+    ArgumentVerifier.assertNotNegative(initialDelay, "initialDelay");
+    ArgumentVerifier.assertGreaterThanZero(period, "period");
+    
+    if (catchUpPolicy == null || catchUpPolicy == CatchUpPolicy.RunAll) {
+      scheduler.scheduleAtFixedRate(new ThrowableSuppressingRunnable(task), 
+                                    initialDelay, period, TimeUnit.MILLISECONDS);
+    } else {
+      FixedRateRunnable frr = new FixedRateRunnable(task, period, catchUpPolicy, 
+                                                    Clock.accurateTimeMillis() + initialDelay);
+      scheduler.schedule(frr, initialDelay, TimeUnit.MILLISECONDS);
+    }
+  }
+  
+  /**
+   * <p>Runnable which schedules itself for the next execution after the wrapped task has 
+   * completed.  Used for catch up policies which the wrapped 
+   * {@link ScheduledExecutorService} can not provide natively.</p>
+   * 
+   * @author jent - Mike Jensen
+   * @since 2.5.0
+   */
+  protected class FixedRateRunnable extends ThrowableSuppressingRunnable {
+    private final FixedRateSchedule schedule;
+    
+    protected FixedRateRunnable(Runnable task, long period, 
+                                CatchUpPolicy catchUpPolicy, long firstRunTime) {
+      super(task);
+      
+      this.schedule = new FixedRateSchedule(firstRunTime, period, catchUpPolicy);
+    }
+    
+    @Override
+    public void run() {
+      try {
+        super.run();
+      } finally {
+        long nextDelay = schedule.updateNextDelay(Clock.accurateTimeMillis());
+        if (! scheduler.isShutdown()) {
+          scheduler.schedule(this, nextDelay, TimeUnit.MILLISECONDS);
+        }
+      }
+    }
+  }
 }
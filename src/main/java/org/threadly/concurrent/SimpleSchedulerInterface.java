@@ -35,4 +35,38 @@ public interface SimpleSchedulerInterface extends Executor {
   public void scheduleWithFixedDelay(Runnable task, 
                                      long initialDelay, 
                                      long recurringDelay);
+  
+  /**
+   * Schedule a task to run at a fixed rate.  Unlike 
+   * {@link #scheduleWithFixedDelay(Runnable, long, long)} executions are scheduled from the 
+   * initial start time, so the rate does not drift with the runtime of the task.  If an 
+   * execution runs longer than the period, subsequent executions will start late, but will 
+   * not run concurrently.  Late executions are all run until the task has caught up (see 
+   * {@link CatchUpPolicy#RunAll}).
+   * 
+   * Similar to {@link #scheduleWithFixedDelay(Runnable, long, long)} if the task throws an 
+   * exception, subsequent executions are NOT suppressed or prevented.
+   * 
+   * @param task runnable to be executed
+   * @param initialDelay delay in milliseconds until first run
+   * @param period period in milliseconds between the start of each execution
+   */
+  public void scheduleAtFixedRate(Runnable task, long initialDelay, long period);
+  
+  /**
+   * Schedule a task to run at a fixed rate, with a provided policy for how to handle 
+   * executions which have been missed.  Executions are scheduled from the initial start 
+   * time, so the rate does not drift with the runtime of the task.  Executions will never 
+   * run concurrently.
+   * 
+   * Similar to {@link #scheduleWithFixedDelay(Runnable, long, long)} if the task throws an 
+   * exception, subsequent executions are NOT suppressed or prevented.
+   * 
+   * @param task runnable to be executed
+   * @param initialDelay delay in milliseconds until first run
+   * @param period period in milliseconds between the start of each execution
+   * @param catchUpPolicy policy for handling missed executions, null to run all missed executions
+   */
+  public void scheduleAtFixedRate(Runnable task, long initialDelay, long period, 
+                                  CatchUpPolicy catchUpPolicy);
 }
@@ -5,6 +5,7 @@ import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
 
 import org.threadly.util.ArgumentVerifier;
 import org.threadly.util.ExceptionUtils;
@@ -14,12 +15,21 @@ import org.threadly.util.ExceptionUtils;
  * This is designed to be a lighter weight option to the {@link PriorityScheduler}, for 
  * when multiple threads are either not needed, or not desired.<p>
  * 
+ * <p>Tasks executed without a delay are provided to the scheduler thread through a lock free 
+ * queue, so many threads can provide tasks without contending on the lock used for delayed 
+ * tasks.<p>
+ * 
+ * <p>By default the scheduler thread blocks as soon as there are no tasks ready to run.  For 
+ * latency sensitive uses an {@link IdleStrategy} can be provided at construction, so that the 
+ * thread spins, yields, or parks before blocking.<p>
+ * 
  * @author jent - Mike Jensen
  * @since 2.0.0
  */
 public class SingleThreadScheduler extends AbstractSubmitterScheduler
                                    implements SchedulerServiceInterface {
   protected final ThreadFactory threadFactory;
+  protected final IdleStrategy idleStrategy;
   protected final AtomicReference<SchedulerManager> sManager;
   
   /**
@@ -49,10 +59,24 @@ public class SingleThreadScheduler extends AbstractSubmitterScheduler
    * @param threadFactory factory to make thread for scheduler
    */
   public SingleThreadScheduler(ThreadFactory threadFactory) {
+    this(threadFactory, IdleStrategy.BLOCK);
+  }
+  
+  /**
+   * Constructs a new {@link SingleThreadScheduler}.  No threads will start until 
+   * the first task is provided.
+   * 
+   * @param threadFactory factory to make thread for scheduler
+   * @param idleStrategy strategy for how the scheduler thread waits when there are no tasks to run
+   * @since 2.5.0
+   */
+  public SingleThreadScheduler(ThreadFactory threadFactory, IdleStrategy idleStrategy) {
     ArgumentVerifier.assertNotNull(threadFactory, "threadFactory");
+    ArgumentVerifier.assertNotNull(idleStrategy, "idleStrategy");
     
     sManager = new AtomicReference<SchedulerManager>(null);
     this.threadFactory = threadFactory;
+    this.idleStrategy = idleStrategy;
   }
   
   /**
@@ -66,7 +90,7 @@ public class SingleThreadScheduler extends AbstractSubmitterScheduler
     // we lazily construct and start the manager
     SchedulerManager result = sManager.get();
     if (result == null) {
-      result = new SchedulerManager(threadFactory);
+      result = new SchedulerManager(threadFactory, idleStrategy);
       if (sManager.compareAndSet(null, result)) {
         // we are the one and only, so start now
         result.start();
@@ -91,7 +115,7 @@ public class SingleThreadScheduler extends AbstractSubmitterScheduler
   private List<Runnable> shutdown(boolean stopImmediately) {
     SchedulerManager sm = sManager.get();
     if (sm == null) {
-      sm = new SchedulerManager(threadFactory);
+      sm = new SchedulerManager(threadFactory, idleStrategy);
       if (! sManager.compareAndSet(null, sm)) {
         sm = sManager.get();
       }
@@ -156,6 +180,12 @@ public class SingleThreadScheduler extends AbstractSubmitterScheduler
                                      long recurringDelay) {
     getScheduler().scheduleWithFixedDelay(task, initialDelay, recurringDelay);
   }
+
+  @Override
+  public void scheduleAtFixedRate(Runnable task, long initialDelay, long period, 
+                                  CatchUpPolicy catchUpPolicy) {
+    getScheduler().scheduleAtFixedRate(task, initialDelay, period, catchUpPolicy);
+  }
   
   /**
    * <p>This class contains the thread and instance of {@link NoThreadScheduler} 
@@ -169,14 +199,29 @@ public class SingleThreadScheduler extends AbstractSubmitterScheduler
   protected static class SchedulerManager implements Runnable {
     protected final NoThreadScheduler scheduler;
     protected final Thread execThread;
+    protected final IdleStrategy idleStrategy;
     private final Object startStopLock;
     private boolean started;  // locked around startStopLock
     private volatile boolean shutdownStarted;
     private volatile boolean shutdownFinished;
     
     protected SchedulerManager(ThreadFactory threadFactory) {
+      this(threadFactory, IdleStrategy.BLOCK);
+    }
+    
+    protected SchedulerManager(ThreadFactory threadFactory, IdleStrategy idleStrategy) {
       scheduler = new NoThreadScheduler(true);  // true so we wont tight loop in the run
       execThread = threadFactory.newThread(this);
+      this.idleStrategy = idleStrategy;
+      if (idleStrategy.mayPark()) {
+        // unpark so new tasks don't have to wait for the park to time out
+        scheduler.setWakeupTask(new Runnable() {
+          @Override
+          public void run() {
+            LockSupport.unpark(execThread);
+          }
+        });
+      }
       startStopLock = new Object();
       started = false;
       shutdownStarted = false;
@@ -224,14 +269,16 @@ public class SingleThreadScheduler extends AbstractSubmitterScheduler
               return finishShutdown();
             } else {
               /* add to the end of the ready to execute queue a task which 
-               * will finish the shutdown of the scheduler. 
+               * will finish the shutdown of the scheduler.  This is added as a delayed 
+               * task so that it is ordered after any delayed tasks which are ready now.
                */
-              scheduler.execute(new Runnable() {
+              scheduler.add(scheduler.new OneTimeTask(new Runnable() {
                 @Override
                 public void run() {
+                  runExecuteQueue();
                   finishShutdown();
                 }
-              });
+              }, 0));
             }
           }
         }
@@ -240,6 +287,22 @@ public class SingleThreadScheduler extends AbstractSubmitterScheduler
       return Collections.emptyList();
     }
     
+    /**
+     * Runs any tasks which were executed without a delay and are still waiting in the 
+     * scheduler's execute queue.  Since those tasks are not ordered with delayed tasks, this 
+     * ensures they run before a graceful shutdown finishes.
+     */
+    private void runExecuteQueue() {
+      Runnable task;
+      while ((task = scheduler.executeQueue.poll()) != null) {
+        try {
+          task.run();
+        } catch (Throwable t) {
+          ExceptionUtils.handleException(t);
+        }
+      }
+    }
+    
     /**
      * Finishes shutdown process, and clears any tasks that remain in the queue.
      * 
@@ -254,9 +317,19 @@ public class SingleThreadScheduler extends AbstractSubmitterScheduler
     
     @Override
     public void run() {
+      boolean blockImmediately = idleStrategy.blocksImmediately();
+      long idleCount = 0;
       while (! shutdownFinished) {
         try {
-          scheduler.tick();
+          if (blockImmediately) {
+            scheduler.tick();
+          } else if (scheduler.tickNonBlocking() > 0) {
+            idleCount = 0;
+          } else if (! idleStrategy.idle(idleCount++)) {
+            // idle strategy is exhausted, block till there is something to run
+            scheduler.tick();
+            idleCount = 0;
+          }
         } catch (InterruptedException e) {
           // reset interrupted status
           Thread.interrupted();
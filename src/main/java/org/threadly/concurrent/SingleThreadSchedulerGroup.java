@@ -0,0 +1,323 @@
+package org.threadly.concurrent;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.threadly.util.ArgumentVerifier;
+
+/**
+ * <p>A group of {@link SingleThreadScheduler} instances, each owning a single thread.  This is
+ * useful for sharding work so that state for a given shard is only ever accessed from one
+ * thread, without needing to construct and manage each scheduler by hand.</p>
+ *
+ * <p>Each member of the group is exposed as a {@link SubmitterSchedulerInterface}.  A member
+ * can be selected by index, by key (so that all tasks for the same key run on the same
+ * thread), or by which member currently has the fewest queued tasks.</p>
+ *
+ * <p>Threads are constructed from the provided {@link ThreadFactory}.  If threads need to be
+ * configured in a specific way (for example pinned to a set of CPUs), that can be done by the
+ * factory.  Like {@link SingleThreadScheduler}, each thread is not started until the first
+ * task is provided to its member.</p>
+ *
+ * @author jent - Mike Jensen
+ * @since 2.5.0
+ */
+public class SingleThreadSchedulerGroup {
+  protected final GroupMember[] members;
+  private final AtomicInteger nextLeastLoadedStart;
+
+  /**
+   * Constructs a new {@link SingleThreadSchedulerGroup}.  This defaults to using daemon
+   * threads for the schedulers.
+   *
+   * @param schedulerCount number of schedulers (and thus threads) in the group
+   */
+  public SingleThreadSchedulerGroup(int schedulerCount) {
+    this(schedulerCount,
+         new ConfigurableThreadFactory(SingleThreadSchedulerGroup.class.getSimpleName() + "-",
+                                       true, true, Thread.NORM_PRIORITY, null, null));
+  }
+
+  /**
+   * Constructs a new {@link SingleThreadSchedulerGroup}.
+   *
+   * @param schedulerCount number of schedulers (and thus threads) in the group
+   * @param threadFactory factory to make threads for the schedulers
+   */
+  public SingleThreadSchedulerGroup(int schedulerCount, ThreadFactory threadFactory) {
+    ArgumentVerifier.assertGreaterThanZero(schedulerCount, "schedulerCount");
+    ArgumentVerifier.assertNotNull(threadFactory, "threadFactory");
+
+    members = new GroupMember[schedulerCount];
+    for (int i = 0; i < schedulerCount; i++) {
+      members[i] = new GroupMember(new SingleThreadScheduler(threadFactory));
+    }
+    nextLeastLoadedStart = new AtomicInteger(0);
+  }
+
+  /**
+   * Returns the number of schedulers in this group.
+   *
+   * @return quantity of schedulers in the group
+   */
+  public int getSchedulerCount() {
+    return members.length;
+  }
+
+  /**
+   * Returns the scheduler at the provided index in the group.
+   *
+   * @param index index of the scheduler, from zero to {@link #getSchedulerCount()} - 1
+   * @return scheduler at that index
+   */
+  public SubmitterSchedulerInterface getScheduler(int index) {
+    if (index < 0 || index >= members.length) {
+      throw new IllegalArgumentException("index must be >= 0 and < " + members.length);
+    }
+
+    return members[index];
+  }
+
+  /**
+   * Returns the scheduler which tasks for the provided key should run on.  The same key will
+   * always return the same scheduler, so all tasks for that key will run on the same thread.
+   *
+   * @param threadKey object key where hashCode will be used to determine execution thread
+   * @return scheduler for the provided key
+   */
+  public SubmitterSchedulerInterface getSchedulerForKey(Object threadKey) {
+    ArgumentVerifier.assertNotNull(threadKey, "threadKey");
+
+    int hash = threadKey.hashCode();
+    // spread the high bits so keys with similar hash codes are distributed
+    hash ^= (hash >>> 16);
+
+    return members[Math.abs(hash % members.length)];
+  }
+
+  /**
+   * Returns the scheduler which currently has the fewest queued tasks.  Since tasks are
+   * being added and run concurrently, this is only an estimate at the time of the call.  If
+   * multiple schedulers are equally loaded, the returned scheduler will rotate between them.
+   *
+   * @return scheduler with the fewest queued tasks
+   */
+  public SubmitterSchedulerInterface getLeastLoadedScheduler() {
+    int start = Math.abs(nextLeastLoadedStart.getAndIncrement() % members.length);
+    GroupMember result = members[start];
+    int resultQueueSize = result.queuedTaskCount.get();
+    for (int i = 1; i < members.length && resultQueueSize > 0; i++) {
+      GroupMember member = members[(start + i) % members.length];
+      int queueSize = member.queuedTaskCount.get();
+      if (queueSize < resultQueueSize) {
+        result = member;
+        resultQueueSize = queueSize;
+      }
+    }
+
+    return result;
+  }
+
+  /**
+   * Returns the number of one time tasks which have been provided to the scheduler at the
+   * provided index, but have not completed yet.  Recurring tasks are not included.
+   *
+   * @param index index of the scheduler
+   * @return quantity of tasks queued or running on that scheduler
+   */
+  public int getQueuedTaskCount(int index) {
+    getScheduler(index);  // verify index
+
+    return members[index].queuedTaskCount.get();
+  }
+
+  /**
+   * Returns the number of one time tasks which have been provided to the group, but have not
+   * completed yet.  Recurring tasks are not included.
+   *
+   * @return quantity of tasks queued or running across all schedulers
+   */
+  public int getQueuedTaskCount() {
+    int result = 0;
+    for (int i = 0; i < members.length; i++) {
+      result += members[i].queuedTaskCount.get();
+    }
+    return result;
+  }
+
+  /**
+   * Returns the number of task executions which have completed on the scheduler at the
+   * provided index.  Each run of a recurring task is included.
+   *
+   * @param index index of the scheduler
+   * @return quantity of task executions completed on that scheduler
+   */
+  public long getCompletedTaskCount(int index) {
+    getScheduler(index);  // verify index
+
+    return members[index].completedTaskCount.get();
+  }
+
+  /**
+   * Returns the number of task executions which have completed across all the schedulers in
+   * the group.  Each run of a recurring task is included.
+   *
+   * @return quantity of task executions completed across all schedulers
+   */
+  public long getCompletedTaskCount() {
+    long result = 0;
+    for (int i = 0; i < members.length; i++) {
+      result += members[i].completedTaskCount.get();
+    }
+    return result;
+  }
+
+  /**
+   * Stops any new tasks from being submitted to any scheduler in the group.  Tasks which have
+   * already been submitted, or scheduled and have elapsed their delay, will still run.  This
+   * call will not block waiting for the schedulers to finish.
+   */
+  public void shutdown() {
+    for (int i = 0; i < members.length; i++) {
+      members[i].scheduler.shutdown();
+    }
+  }
+
+  /**
+   * Stops any new tasks from being submitted to any scheduler in the group, and prevents
+   * tasks waiting for execution from being run.  Tasks which are currently running will be
+   * allowed to finish.
+   *
+   * @return list of tasks which were waiting to run in any of the schedulers
+   */
+  public List<Runnable> shutdownNow() {
+    List<Runnable> result = new ArrayList<Runnable>();
+    for (int i = 0; i < members.length; i++) {
+      Iterator<Runnable> it = members[i].scheduler.shutdownNow().iterator();
+      while (it.hasNext()) {
+        Runnable r = it.next();
+        if (r instanceof CountingRunnable) {
+          CountingRunnable cr = (CountingRunnable)r;
+          cr.taskDropped();
+          result.add(cr.getContainedRunnable());
+        } else {
+          result.add(r);
+        }
+      }
+    }
+
+    return result;
+  }
+
+  /**
+   * Checks if the group has been shutdown.  Since the schedulers are shutdown one at a time, 
+   * this will only return true once every scheduler in the group has been shutdown.
+   *
+   * @return true if shutdown or shutdownNow has been invoked
+   */
+  public boolean isShutdown() {
+    for (int i = 0; i < members.length; i++) {
+      if (! members[i].scheduler.isShutdown()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * <p>A single scheduler within the group.  This tracks tasks provided to and completed by
+   * the scheduler, which is used for load aware placement and statistics.</p>
+   *
+   * @author jent - Mike Jensen
+   * @since 2.5.0
+   */
+  protected static class GroupMember extends AbstractSubmitterScheduler {
+    protected final SingleThreadScheduler scheduler;
+    protected final AtomicInteger queuedTaskCount;
+    protected final AtomicLong completedTaskCount;
+
+    protected GroupMember(SingleThreadScheduler scheduler) {
+      this.scheduler = scheduler;
+      this.queuedTaskCount = new AtomicInteger(0);
+      this.completedTaskCount = new AtomicLong(0);
+    }
+
+    @Override
+    protected void doSchedule(Runnable task, long delayInMillis) {
+      queuedTaskCount.incrementAndGet();
+      try {
+        scheduler.schedule(new CountingRunnable(task, this, true), delayInMillis);
+      } catch (RuntimeException e) {
+        queuedTaskCount.decrementAndGet();
+        throw e;
+      }
+    }
+
+    @Override
+    public void scheduleWithFixedDelay(Runnable task, long initialDelay, long recurringDelay) {
+      ArgumentVerifier.assertNotNull(task, "task");
+
+      scheduler.scheduleWithFixedDelay(new CountingRunnable(task, this, false),
+                                       initialDelay, recurringDelay);
+    }
+
+    @Override
+    public void scheduleAtFixedRate(Runnable task, long initialDelay, long period,
+                                    CatchUpPolicy catchUpPolicy) {
+      ArgumentVerifier.assertNotNull(task, "task");
+
+      scheduler.scheduleAtFixedRate(new CountingRunnable(task, this, false),
+                                    initialDelay, period, catchUpPolicy);
+    }
+  }
+
+  /**
+   * <p>Wrapper for tasks provided to a {@link GroupMember} so that completions can be
+   * counted.</p>
+   *
+   * @author jent - Mike Jensen
+   * @since 2.5.0
+   */
+  protected static class CountingRunnable implements RunnableContainerInterface, Runnable {
+    private final Runnable task;
+    private final GroupMember member;
+    private final boolean oneTimeTask;
+
+    protected CountingRunnable(Runnable task, GroupMember member, boolean oneTimeTask) {
+      this.task = task;
+      this.member = member;
+      this.oneTimeTask = oneTimeTask;
+    }
+
+    @Override
+    public void run() {
+      try {
+        task.run();
+      } finally {
+        if (oneTimeTask) {
+          member.queuedTaskCount.decrementAndGet();
+        }
+        member.completedTaskCount.incrementAndGet();
+      }
+    }
+
+    /**
+     * Invoked when the task was removed from the scheduler and will never run.  Only one time 
+     * tasks are counted as queued, so recurring tasks do not change the queued count.
+     */
+    protected void taskDropped() {
+      if (oneTimeTask) {
+        member.queuedTaskCount.decrementAndGet();
+      }
+    }
+
+    @Override
+    public Runnable getContainedRunnable() {
+      return task;
+    }
+  }
+}
@@ -3,7 +3,6 @@ package org.threadly.concurrent;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.Callable;
-import java.util.concurrent.TimeUnit;
 
 import org.threadly.concurrent.SingleThreadScheduler.SchedulerManager;
 import org.threadly.concurrent.future.ListenableFutureTask;
@@ -15,8 +14,7 @@ import org.threadly.concurrent.future.ScheduledFutureDelegate;
  * {@link java.util.concurrent.ScheduledExecutorService} (AKA the 
  * {@link java.util.concurrent.ScheduledThreadPoolExecutor} 
  * interface). It does make some performance sacrifices to adhere to this interface, but those
- * are pretty minimal.  The largest compromise in here is easily scheduleAtFixedRate (which you should 
- * read the javadocs for if you need).</p>
+ * are pretty minimal.</p>
  * 
  * @author jent - Mike Jensen
  * @since 2.0.0
@@ -104,14 +102,20 @@ public class SingleThreadSchedulerServiceWrapper extends AbstractExecutorService
     return new ScheduledFutureDelegate<Object>(lft, ott);
   }
 
-  /**
-   * Not implemented for the {@link SingleThreadSchedulerServiceWrapper}.  
-   * Will always throw an UnsupportedOperationException.
-   */
   @Override
-  public ListenableScheduledFuture<?> scheduleAtFixedRate(Runnable task,
-                                                          long initialDelay, long period,
-                                                          TimeUnit unit) {
-    throw new UnsupportedOperationException();
+  protected ListenableScheduledFuture<?> scheduleAtFixedRate(Runnable task,
+                                                             long initialDelayInMillis,
+                                                             long periodInMillis) {
+    // wrap the task to ensure the correct behavior on exceptions
+    task = new ThrowableHandlingRecurringRunnable(scheduler, task);
+    
+    ListenableFutureTask<Object> lft = new ListenableFutureTask<Object>(true, task);
+    NoThreadScheduler nts = scheduler.getScheduler();
+    NoThreadScheduler.FixedRateTask frt = nts.new FixedRateTask(lft, initialDelayInMillis, 
+                                                                periodInMillis, 
+                                                                CatchUpPolicy.RunAll);
+    nts.add(frt);
+    
+    return new ScheduledFutureDelegate<Object>(lft, frt);
   }
 }
@@ -0,0 +1,293 @@
+package org.threadly.concurrent;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.threadly.concurrent.future.CancelableSettableListenableFuture;
+import org.threadly.concurrent.future.ListenableFuture;
+import org.threadly.concurrent.future.ListenableFutureTask;
+import org.threadly.util.ArgumentVerifier;
+
+/**
+ * <p>Groups a set of child tasks so that they can be run as a single unit of work on any
+ * {@link SubmitterExecutorInterface}.  Children are added to the group, and then once started
+ * a single {@link ListenableFuture} is provided which will complete with the results of all
+ * the children, in the order they were added.</p>
+ *
+ * <p>If any child fails, the group will fail with that child's failure and all remaining
+ * children will be canceled.  Likewise canceling the group future, or the group exceeding its
+ * timeout, will cancel any children which have not completed yet.</p>
+ *
+ * <p>Children are not submitted individually.  Instead at most {@code maxConcurrency} workers
+ * are submitted to the executor, and each worker runs children until there are none left.
+ * This both limits how many children may run concurrently, and reduces the number of
+ * submissions for large groups.</p>
+ *
+ * <p>A {@link TaskGroup} may only be started once.</p>
+ *
+ * @author jent - Mike Jensen
+ * @since 2.5.0
+ * @param <T> type of result returned from the children
+ */
+public class TaskGroup<T> {
+  protected final SubmitterExecutorInterface executor;
+  protected final int maxConcurrency;
+  protected final boolean interruptOnFailure;
+  private final List<ListenableFutureTask<T>> children;
+  private volatile GroupFuture groupFuture;
+
+  /**
+   * Constructs a new group which will run as many children concurrently as there are
+   * children.  Canceled children will not be interrupted.
+   *
+   * @param executor executor to run children on
+   */
+  public TaskGroup(SubmitterExecutorInterface executor) {
+    this(executor, Integer.MAX_VALUE, false);
+  }
+
+  /**
+   * Constructs a new group which will run at most the provided number of children
+   * concurrently.  Canceled children will not be interrupted.
+   *
+   * @param executor executor to run children on
+   * @param maxConcurrency maximum number of children to run concurrently
+   */
+  public TaskGroup(SubmitterExecutorInterface executor, int maxConcurrency) {
+    this(executor, maxConcurrency, false);
+  }
+
+  /**
+   * Constructs a new group which will run at most the provided number of children
+   * concurrently.
+   *
+   * @param executor executor to run children on
+   * @param maxConcurrency maximum number of children to run concurrently
+   * @param interruptOnFailure {@code true} to interrupt running children canceled due to a failure or timeout
+   */
+  public TaskGroup(SubmitterExecutorInterface executor, int maxConcurrency,
+                   boolean interruptOnFailure) {
+    ArgumentVerifier.assertNotNull(executor, "executor");
+    ArgumentVerifier.assertGreaterThanZero(maxConcurrency, "maxConcurrency");
+
+    this.executor = executor;
+    this.maxConcurrency = maxConcurrency;
+    this.interruptOnFailure = interruptOnFailure;
+    this.children = new ArrayList<ListenableFutureTask<T>>();
+    this.groupFuture = null;
+  }
+
+  /**
+   * Adds a child to the group.  The result of the runnable will be the provided result.
+   *
+   * @param task runnable to be run as part of the group
+   * @param result result to provide for this child
+   */
+  public void add(Runnable task, T result) {
+    ArgumentVerifier.assertNotNull(task, "task");
+
+    add(new ListenableFutureTask<T>(false, task, result));
+  }
+
+  /**
+   * Adds a child to the group.
+   *
+   * @param task callable to be run as part of the group
+   */
+  public void add(Callable<T> task) {
+    ArgumentVerifier.assertNotNull(task, "task");
+
+    add(new ListenableFutureTask<T>(false, task));
+  }
+
+  private void add(ListenableFutureTask<T> child) {
+    synchronized (children) {
+      if (groupFuture != null) {
+        throw new IllegalStateException("Group already started");
+      }
+
+      children.add(child);
+    }
+  }
+
+  /**
+   * Returns how many children have been added to this group.
+   *
+   * @return number of children in the group
+   */
+  public int getChildCount() {
+    synchronized (children) {
+      return children.size();
+    }
+  }
+
+  /**
+   * Starts running the children on the executor.  No more children may be added once started.
+   *
+   * @return future which will complete with the children results in the order they were added
+   */
+  public ListenableFuture<List<T>> start() {
+    synchronized (children) {
+      if (groupFuture != null) {
+        throw new IllegalStateException("Group already started");
+      }
+
+      groupFuture = new GroupFuture();
+    }
+
+    int workerCount = Math.min(maxConcurrency, children.size());
+    if (workerCount == 0) {
+      groupFuture.handleResult(new ArrayList<T>(0));
+    } else {
+      Worker worker = new Worker(groupFuture);
+      for (int i = 0; i < workerCount; i++) {
+        executor.execute(worker);
+      }
+    }
+
+    return groupFuture;
+  }
+
+  /**
+   * Starts running the children on the executor.  If all the children have not completed
+   * within the provided timeout, the returned future will fail with a
+   * {@link TimeoutException} and any remaining children will be canceled.  The returned 
+   * future is the group future, so canceling it will still cancel any remaining children.
+   *
+   * @param timeoutInMs time in milliseconds for the group to complete
+   * @param timeoutScheduler scheduler to use for checking the timeout
+   * @return future which will complete with the children results in the order they were added
+   */
+  public ListenableFuture<List<T>> start(long timeoutInMs,
+                                         final SimpleSchedulerInterface timeoutScheduler) {
+    ArgumentVerifier.assertNotNegative(timeoutInMs, "timeoutInMs");
+    ArgumentVerifier.assertNotNull(timeoutScheduler, "timeoutScheduler");
+
+    start();
+    final GroupFuture group = groupFuture;
+    if (! group.isDone()) {
+      final Runnable timeoutTask = new Runnable() {
+        @Override
+        public void run() {
+          group.childFailed(new TimeoutException("Group did not complete within timeout"));
+        }
+      };
+      timeoutScheduler.schedule(timeoutTask, timeoutInMs);
+      if (timeoutScheduler instanceof SchedulerServiceInterface) {
+        // avoid holding the group in the scheduler once it has completed
+        group.addListener(new Runnable() {
+          @Override
+          public void run() {
+            ((SchedulerServiceInterface)timeoutScheduler).remove(timeoutTask);
+          }
+        });
+      }
+    }
+
+    return group;
+  }
+
+  /**
+   * <p>Future for the group, canceling this future will cancel all children which have not
+   * completed yet.</p>
+   *
+   * @author jent - Mike Jensen
+   * @since 2.5.0
+   */
+  private class GroupFuture extends CancelableSettableListenableFuture<List<T>> {
+    private final AtomicInteger nextChild = new AtomicInteger(0);
+    private final AtomicInteger remainingChildren = new AtomicInteger(children.size());
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+      if (super.cancel(mayInterruptIfRunning)) {
+        cancelChildren(mayInterruptIfRunning);
+        return true;
+      } else {
+        return false;
+      }
+    }
+
+    private void childFailed(Throwable failure) {
+      if (trySetFailure(failure)) {
+        cancelChildren(interruptOnFailure);
+      }
+    }
+
+    private void childSucceeded() {
+      if (remainingChildren.decrementAndGet() == 0) {
+        List<T> results = new ArrayList<T>(children.size());
+        try {
+          Iterator<ListenableFutureTask<T>> it = children.iterator();
+          while (it.hasNext()) {
+            results.add(it.next().get());
+          }
+          trySetResult(results);
+        } catch (InterruptedException e) {
+          // should not be possible, all children are done
+          Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+          // should not be possible, all children succeeded
+          childFailed(e.getCause());
+        }
+      }
+    }
+
+    private void cancelChildren(boolean mayInterruptIfRunning) {
+      Iterator<ListenableFutureTask<T>> it = children.iterator();
+      while (it.hasNext()) {
+        it.next().cancel(mayInterruptIfRunning);
+      }
+    }
+  }
+
+  /**
+   * <p>Runnable submitted to the executor which runs children until there are none left, or
+   * the group has completed.</p>
+   *
+   * @author jent - Mike Jensen
+   * @since 2.5.0
+   */
+  private class Worker implements Runnable {
+    private final GroupFuture group;
+
+    private Worker(GroupFuture group) {
+      this.group = group;
+    }
+
+    @Override
+    public void run() {
+      int childCount = children.size();
+      while (! group.isDone()) {
+        int index = group.nextChild.getAndIncrement();
+        if (index >= childCount) {
+          return;
+        }
+
+        ListenableFutureTask<T> child = children.get(index);
+        child.run();
+        try {
+          child.get();
+          group.childSucceeded();
+        } catch (CancellationException e) {
+          // group was canceled or failed, don't let an interrupt for the child leak to other tasks
+          Thread.interrupted();
+          return;
+        } catch (InterruptedException e) {
+          // should not be possible, child is done
+          Thread.currentThread().interrupt();
+          return;
+        } catch (ExecutionException e) {
+          group.childFailed(e.getCause());
+          return;
+        }
+      }
+    }
+  }
+}
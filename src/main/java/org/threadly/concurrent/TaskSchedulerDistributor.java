@@ -7,6 +7,7 @@ import org.threadly.concurrent.future.ListenableFutureTask;
 import org.threadly.concurrent.future.ListenableRunnableFuture;
 import org.threadly.concurrent.lock.StripedLock;
 import org.threadly.util.ArgumentVerifier;
+import org.threadly.util.Clock;
 
 /**
  * <p>This is a class which is more full featured than {@link TaskExecutorDistributor}, 
@@ -270,6 +271,54 @@ public class TaskSchedulerDistributor extends TaskExecutorDistributor {
                        initialDelay);
   }
 
+  /**
+   * Schedule a task to run at a fixed rate.  Executions are scheduled from the initial 
+   * start time, so the rate does not drift with the runtime of the task.  This task will not 
+   * run concurrently based off the thread key.  Missed executions will all be run until the 
+   * task has caught up with its schedule.
+   * 
+   * @param threadKey object key where hashCode will be used to determine execution thread
+   * @param task Task to be executed.
+   * @param initialDelay Delay in milliseconds until first run.
+   * @param period Period in milliseconds between the start of each execution.
+   */
+  public void scheduleTaskAtFixedRate(Object threadKey, 
+                                      Runnable task, 
+                                      long initialDelay, 
+                                      long period) {
+    scheduleTaskAtFixedRate(threadKey, task, initialDelay, period, null);
+  }
+  
+  /**
+   * Schedule a task to run at a fixed rate.  Executions are scheduled from the initial 
+   * start time, so the rate does not drift with the runtime of the task.  This task will not 
+   * run concurrently based off the thread key.
+   * 
+   * @param threadKey object key where hashCode will be used to determine execution thread
+   * @param task Task to be executed.
+   * @param initialDelay Delay in milliseconds until first run.
+   * @param period Period in milliseconds between the start of each execution.
+   * @param catchUpPolicy Policy for handling missed executions, null to run all missed executions.
+   */
+  public void scheduleTaskAtFixedRate(Object threadKey, 
+                                      Runnable task, 
+                                      long initialDelay, 
+                                      long period, 
+                                      CatchUpPolicy catchUpPolicy) {
+    ArgumentVerifier.assertNotNull(threadKey, "threadKey");
+    ArgumentVerifier.assertNotNull(task, "task");
+    ArgumentVerifier.assertNotNegative(initialDelay, "initialDelay");
+    ArgumentVerifier.assertGreaterThanZero(period, "period");
+    if (catchUpPolicy == null) {
+      catchUpPolicy = CatchUpPolicy.RunAll;
+    }
+    
+    scheduler.schedule(new AddTask(threadKey, 
+                                   new FixedRateTask(threadKey, task, period, catchUpPolicy, 
+                                                     Clock.accurateTimeMillis() + initialDelay)), 
+                       initialDelay);
+  }
+
   /**
    * Schedule a task with a given delay.  There is a slight 
    * increase in load when using submitScheduled over schedule.  So 
@@ -402,9 +451,19 @@ public class TaskSchedulerDistributor extends TaskExecutorDistributor {
       try {
         task.run();
       } finally {
-        scheduler.schedule(new AddTask(key, this), recurringDelay);
+        scheduler.schedule(new AddTask(key, this), getNextDelay());
       }
     }
+    
+    /**
+     * Called after the task has completed to find the delay till the next execution.  By 
+     * default this is the recurring delay.
+     * 
+     * @return delay in milliseconds till the task should run again
+     */
+    protected long getNextDelay() {
+      return recurringDelay;
+    }
 
     @Override
     public Runnable getContainedRunnable() {
@@ -412,6 +471,28 @@ public class TaskSchedulerDistributor extends TaskExecutorDistributor {
     }
   }
   
+  /**
+   * <p>Task container which runs at a fixed rate, following a {@link FixedRateSchedule}.</p>
+   * 
+   * @author jent - Mike Jensen
+   * @since 2.5.0
+   */
+  protected class FixedRateTask extends RecrringTask {
+    private final FixedRateSchedule schedule;
+    
+    protected FixedRateTask(Object key, Runnable task, long period, 
+                            CatchUpPolicy catchUpPolicy, long firstRunTime) {
+      super(key, task, period);
+      
+      this.schedule = new FixedRateSchedule(firstRunTime, period, catchUpPolicy);
+    }
+    
+    @Override
+    protected long getNextDelay() {
+      return schedule.updateNextDelay(Clock.accurateTimeMillis());
+    }
+  }
+  
   /**
    * <p>Simple simple scheduler implementation that runs all 
    * executions and scheduling on a given key.</p>
@@ -438,6 +519,20 @@ public class TaskSchedulerDistributor extends TaskExecutorDistributor {
                                                                recurringDelay);
     }
 
+    @Override
+    public void scheduleAtFixedRate(Runnable task, long initialDelay, long period) {
+      TaskSchedulerDistributor.this.scheduleTaskAtFixedRate(threadKey, task, 
+                                                            initialDelay, period);
+    }
+
+    @Override
+    public void scheduleAtFixedRate(Runnable task, long initialDelay, long period, 
+                                    CatchUpPolicy catchUpPolicy) {
+      TaskSchedulerDistributor.this.scheduleTaskAtFixedRate(threadKey, task, 
+                                                            initialDelay, period, 
+                                                            catchUpPolicy);
+    }
+
     @Override
     public ListenableFuture<?> submitScheduled(Runnable task, long delayInMs) {
       return submitScheduled(task, null, delayInMs);
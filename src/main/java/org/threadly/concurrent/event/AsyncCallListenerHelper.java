@@ -2,6 +2,8 @@ package org.threadly.concurrent.event;
 
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.Executor;
 
 import org.threadly.util.ArgumentVerifier;
@@ -41,6 +43,15 @@ import org.threadly.util.ArgumentVerifier;
  * key, or by using the {@link org.threadly.concurrent.limiter.ExecutorLimiter} with a limit 
  * of one, or an instance of the {@link org.threadly.concurrent.SingleThreadScheduler}).</p>
  * 
+ * <p>Alternatively this can be constructed to batch calls.  In that case each .call() 
+ * invocation is only queued, and a single task on the executor delivers all queued calls to 
+ * the listeners in the order they were invoked.  A new task is only submitted to the executor 
+ * once the previous task has drained the queue, so at high call rates many calls are 
+ * delivered per executor submission, and calls are never delivered concurrently or out of 
+ * order (even with a multi-threaded executor).  Batching can additionally conflate calls, so 
+ * that for each function only the arguments from the most recent queued call are delivered.  
+ * This is useful for listeners which only care about the latest state.</p>
+ * 
  * @author jent - Mike Jensen
  * @since 2.2.0
  * @param <T> Interface for listeners to implement and called into with
@@ -60,7 +71,26 @@ public class AsyncCallListenerHelper<T> extends ListenerHelper<T> {
     return new AsyncCallListenerHelper(listenerInterface, executor);
   }
   
+  /**
+   * This static function allows for quick and easy construction of the 
+   * {@link AsyncCallListenerHelper}.  It is equivalent to the normal constructor, but 
+   * requires less code to do that construction.
+   * 
+   * @since 2.5.0
+   * @param listenerInterface Interface that listeners need to implement
+   * @param executor Executor that .call() invocations will occur on
+   * @param batchCalls {@code true} to queue calls and deliver them in batches from a single task
+   * @param conflateCalls {@code true} to only deliver the latest queued call for each function
+   * @return New instance of the {@link AsyncCallListenerHelper}
+   */
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  public static <T> AsyncCallListenerHelper<T> build(Class<? super T> listenerInterface, Executor executor, 
+                                                     boolean batchCalls, boolean conflateCalls) {
+    return new AsyncCallListenerHelper(listenerInterface, executor, batchCalls, conflateCalls);
+  }
+  
   protected final Executor executor;
+  protected final CallQueue callQueue;
 
   /**
    * Constructs a new {@link AsyncCallListenerHelper} that will handle listeners 
@@ -72,11 +102,40 @@ public class AsyncCallListenerHelper<T> extends ListenerHelper<T> {
    * @param executor Executor that .call() invocations of listeners provided without an executor will occur on
    */
   public AsyncCallListenerHelper(Class<? super T> listenerInterface, Executor executor) {
+    this(listenerInterface, executor, false, false);
+  }
+
+  /**
+   * Constructs a new {@link AsyncCallListenerHelper} that will handle listeners 
+   * with the provided interface.  The provided class MUST be an interface.  All 
+   * .call() invocations will occur on the provided executor, but listeners may 
+   * run on different executors if they are added with their respective executors.
+   * 
+   * If calls are batched, .call() invocations are queued and delivered in order from a 
+   * single task on the executor.  If calls are also conflated, only the most recently 
+   * queued arguments for each function will be delivered.  Conflating requires batching.
+   * 
+   * @since 2.5.0
+   * @param listenerInterface Interface that listeners need to implement
+   * @param executor Executor that .call() invocations of listeners provided without an executor will occur on
+   * @param batchCalls {@code true} to queue calls and deliver them in batches from a single task
+   * @param conflateCalls {@code true} to only deliver the latest queued call for each function
+   */
+  public AsyncCallListenerHelper(Class<? super T> listenerInterface, Executor executor, 
+                                 boolean batchCalls, boolean conflateCalls) {
     super(listenerInterface);
 
     ArgumentVerifier.assertNotNull(executor, "executor");
+    if (conflateCalls && ! batchCalls) {
+      throw new IllegalArgumentException("Calls can only be conflated when batched");
+    }
     
     this.executor = executor;
+    if (batchCalls) {
+      callQueue = new CallQueue(conflateCalls);
+    } else {
+      callQueue = null;
+    }
   }
   
   @SuppressWarnings("unchecked")
@@ -99,15 +158,90 @@ public class AsyncCallListenerHelper<T> extends ListenerHelper<T> {
     public Object invoke(Object proxy, final Method method, final Object[] args) {
       verifyValidMethod(method);
       
-      executor.execute(new Runnable() {
-        @Override
-        public void run() {
-          callListeners(method, args);
-        }
-      });
+      if (callQueue != null) {
+        callQueue.add(method, args);
+      } else {
+        executor.execute(new Runnable() {
+          @Override
+          public void run() {
+            callListeners(method, args);
+          }
+        });
+      }
       
       // always returns null
       return null;
     }
   }
+  
+  /**
+   * <p>Queue of calls waiting to be delivered to listeners.  At most one instance of this 
+   * task will be on the executor at any time, and it will run until the queue is empty.</p>
+   * 
+   * @author jent - Mike Jensen
+   * @since 2.5.0
+   */
+  protected class CallQueue extends SerialDrainQueue<Object> {
+    private final Object[] noArgs = new Object[0];
+    private final ListenerCaller caller;
+    private final boolean conflateCalls;
+    private final ConcurrentMap<Method, Object[]> latestArgs;
+    
+    protected CallQueue(boolean conflateCalls) {
+      super(AsyncCallListenerHelper.this.executor);
+      
+      this.caller = new ListenerCaller();
+      this.conflateCalls = conflateCalls;
+      if (conflateCalls) {
+        latestArgs = new ConcurrentHashMap<Method, Object[]>();
+      } else {
+        latestArgs = null;
+      }
+    }
+    
+    /**
+     * Queues a call to be delivered, and ensures the queue will be drained.
+     * 
+     * @param method function to invoke on the listeners
+     * @param args arguments for the function
+     */
+    protected void add(Method method, Object[] args) {
+      if (conflateCalls) {
+        // only queue the method if there was not already a call pending for it
+        if (latestArgs.put(method, args == null ? noArgs : args) == null) {
+          enqueue(method);
+        }
+      } else {
+        enqueue(new QueuedCall(method, args));
+      }
+    }
+    
+    @Override
+    protected void process(Object next) {
+      // QueuedCall, or Method when conflating
+      if (conflateCalls) {
+        Method method = (Method)next;
+        caller.callListeners(method, latestArgs.remove(method));
+      } else {
+        QueuedCall call = (QueuedCall)next;
+        caller.callListeners(call.method, call.args);
+      }
+    }
+  }
+  
+  /**
+   * <p>A single call which is waiting to be delivered to listeners.</p>
+   * 
+   * @author jent - Mike Jensen
+   * @since 2.5.0
+   */
+  private static class QueuedCall {
+    private final Method method;
+    private final Object[] args;
+    
+    private QueuedCall(Method method, Object[] args) {
+      this.method = method;
+      this.args = args;
+    }
+  }
 }
@@ -0,0 +1,19 @@
+package org.threadly.concurrent.event;
+
+/**
+ * <p>Policy for how a {@link RingBufferEventBus} should handle publishing an event when the 
+ * slowest consumer has fallen a full buffer behind.</p>
+ * 
+ * @author jent - Mike Jensen
+ * @since 2.5.0
+ */
+public enum BackpressurePolicy {
+  /**
+   * The publishing thread will wait until the slowest consumer has made room for the event.
+   */
+  Block, 
+  /**
+   * The event will not be published, and will be counted as dropped.
+   */
+  Drop;
+}
@@ -2,7 +2,7 @@ package org.threadly.concurrent.event;
 
 import java.util.concurrent.Executor;
 
-import org.threadly.concurrent.TaskExecutorDistributor;
+import org.threadly.util.ArgumentVerifier;
 
 /**
  * <p>This class ensures that listener execution will never happen on the thread that 
@@ -14,9 +14,10 @@ import org.threadly.concurrent.TaskExecutorDistributor;
  * provided Executor will NOT be overridden, and instead it will be used for the listeners 
  * execution.</p>
  * 
- * <p>Internally this class uses the {@link TaskExecutorDistributor}, using the listener as 
- * the execution key, to ensure that any single listener will NEVER execute concurrently with 
- * itself.</p>
+ * <p>Internally each listener is given its own serial mailbox on the provided executor, to 
+ * ensure that any single listener will NEVER execute concurrently with itself, and that calls 
+ * to a listener are executed in order.  If a listener is removed and added again while its 
+ * mailbox is still draining, the same mailbox will be used.</p>
  * 
  * <p>In general, this implementation is most efficient when there are few listeners, but the 
  * listeners are high complexity, or take a long time to execute.  If you have few listeners 
@@ -47,7 +48,8 @@ public class DefaultExecutorListenerHelper<T> extends ListenerHelper<T> {
     return new DefaultExecutorListenerHelper(listenerInterface, executor);
   }
   
-  protected final TaskExecutorDistributor taskDistributor;
+  protected final Executor executor;
+  protected final ListenerMailboxRegistry mailboxes;
 
   /**
    * Constructs a new {@link DefaultExecutorListenerHelper} that will handle listeners 
@@ -60,15 +62,44 @@ public class DefaultExecutorListenerHelper<T> extends ListenerHelper<T> {
   public DefaultExecutorListenerHelper(Class<? super T> listenerInterface, Executor executor) {
     super(listenerInterface);
     
-    taskDistributor = new TaskExecutorDistributor(executor);
+    ArgumentVerifier.assertNotNull(executor, "executor");
+    
+    this.executor = executor;
+    this.mailboxes = new ListenerMailboxRegistry(executor);
   }
   
   @Override
   public void addListener(T listener, Executor executor) {
-    if (executor == null) {
-      executor = taskDistributor.getSubmitterForKey(listener);
-    }
+    ArgumentVerifier.assertNotNull(listener, "listener");
     
-    super.addListener(listener, executor);
+    synchronized (mailboxes) {
+      if (executor == null) {
+        executor = mailboxes.register(listener);
+      } else {
+        mailboxes.unregister(listener);
+      }
+      
+      super.addListener(listener, executor);
+    }
+  }
+  
+  @Override
+  public boolean removeListener(T listener) {
+    synchronized (mailboxes) {
+      if (super.removeListener(listener)) {
+        mailboxes.unregister(listener);
+        return true;
+      } else {
+        return false;
+      }
+    }
+  }
+  
+  @Override
+  public void clearListeners() {
+    synchronized (mailboxes) {
+      super.clearListeners();
+      mailboxes.unregisterAll();
+    }
   }
 }
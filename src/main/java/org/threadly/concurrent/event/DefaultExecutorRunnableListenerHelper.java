@@ -1,8 +1,10 @@
 package org.threadly.concurrent.event;
 
+import java.util.Iterator;
 import java.util.concurrent.Executor;
 
-import org.threadly.concurrent.TaskExecutorDistributor;
+import org.threadly.concurrent.ContainerHelper;
+import org.threadly.util.ArgumentVerifier;
 
 /**
  * <p>This class ensures that listener execution will never happen on the thread that 
@@ -14,9 +16,10 @@ import org.threadly.concurrent.TaskExecutorDistributor;
  * provided with an executor, that provided Executor will NOT be overridden, and instead 
  * it will be used for the listeners execution.</p>
  * 
- * <p>Internally this class uses the {@link TaskExecutorDistributor}, using the listener as 
- * the execution key, to ensure that any single listener will NEVER execute concurrently with 
- * itself.</p>
+ * <p>Internally each listener is given its own serial mailbox on the provided executor, to 
+ * ensure that any single listener will NEVER execute concurrently with itself, and that calls 
+ * to a listener are executed in order.  If a listener is removed and added again while its 
+ * mailbox is still draining, the same mailbox will be used.</p>
  * 
  * <p>In general, this implementation is most efficient when there are few listeners, but the 
  * listeners are high complexity, or take a long time to execute.  If you have few listeners 
@@ -32,7 +35,8 @@ import org.threadly.concurrent.TaskExecutorDistributor;
  * @since 2.2.0
  */
 public class DefaultExecutorRunnableListenerHelper extends RunnableListenerHelper {
-  protected final TaskExecutorDistributor taskDistributor;
+  protected final Executor executor;
+  protected final ListenerMailboxRegistry mailboxes;
   
   /**
    * Constructs a new {@link DefaultExecutorRunnableListenerHelper}.  If any listeners 
@@ -44,15 +48,71 @@ public class DefaultExecutorRunnableListenerHelper extends RunnableListenerHelpe
   public DefaultExecutorRunnableListenerHelper(boolean callListenersOnce, Executor executor) {
     super(callListenersOnce);
     
-    taskDistributor = new TaskExecutorDistributor(executor);
+    ArgumentVerifier.assertNotNull(executor, "executor");
+    
+    this.executor = executor;
+    this.mailboxes = new ListenerMailboxRegistry(executor);
+  }
+  
+  @Override
+  protected void doCallListeners() {
+    super.doCallListeners();
+    
+    if (callOnce) {
+      // listeners are no longer held once called
+      mailboxes.unregisterAll();
+    }
   }
   
   @Override
   public void addListener(Runnable listener, Executor executor) {
+    ArgumentVerifier.assertNotNull(listener, "listener");
+    
     if (executor == null) {
-      executor = taskDistributor.getSubmitterForKey(listener);
+      synchronized (mailboxes) {
+        super.addListener(listener, mailboxes.register(listener));
+        
+        if (done) {
+          // listener was provided to the mailbox immediately rather than being held
+          mailboxes.unregister(listener);
+        }
+      }
+    } else {
+      mailboxes.unregister(listener);
+      
+      // provided executor may run the listener, so must be done outside of the lock
+      super.addListener(listener, executor);
+    }
+  }
+  
+  @Override
+  public boolean removeListener(Runnable listener) {
+    synchronized (mailboxes) {
+      // listener may be contained in the registered listener, which is what the mailbox is for
+      Runnable registeredListener = null;
+      Iterator<Runnable> it = getListenerMap().keySet().iterator();
+      while (it.hasNext()) {
+        Runnable r = it.next();
+        if (ContainerHelper.isContained(r, listener)) {
+          registeredListener = r;
+          break;
+        }
+      }
+      
+      if (registeredListener != null && super.removeListener(listener)) {
+        mailboxes.unregister(registeredListener);
+        return true;
+      } else {
+        return false;
+      }
+    }
+  }
+  
+  @Override
+  public void clearListeners() {
+    synchronized (mailboxes) {
+      super.clearListeners();
+      mailboxes.unregisterAll();
     }
-    
-    super.addListener(listener, executor);
   }
 }
@@ -0,0 +1,25 @@
+package org.threadly.concurrent.event;
+
+/**
+ * <p>Consumer of events published to a {@link RingBufferEventBus}.  Each consumer will be 
+ * provided every published event, in the order they were published.</p>
+ * 
+ * <p>The provided event instance is reused once all consumers have moved past it, so 
+ * consumers must copy out any values they wish to retain after returning.</p>
+ * 
+ * @author jent - Mike Jensen
+ * @since 2.5.0
+ * @param <E> type of event
+ */
+public interface EventConsumer<E> {
+  /**
+   * Invoked for each event published to the bus.  Any exceptions thrown will be provided to 
+   * {@link org.threadly.util.ExceptionUtils#handleException(Throwable)}, and the consumer 
+   * will continue with the next event.
+   * 
+   * @param event event which was published
+   * @param sequence sequence number of the event
+   * @param endOfBatch {@code true} if this is the last event currently available
+   */
+  public void handleEvent(E event, long sequence, boolean endOfBatch);
+}
@@ -0,0 +1,19 @@
+package org.threadly.concurrent.event;
+
+/**
+ * <p>Constructs the event instances which are stored in a {@link RingBufferEventBus}.  
+ * Events are only constructed once, when the bus is constructed, and then reused for every 
+ * event published in that slot.</p>
+ * 
+ * @author jent - Mike Jensen
+ * @since 2.5.0
+ * @param <E> type of event
+ */
+public interface EventFactory<E> {
+  /**
+   * Constructs a new event instance to be stored in the ring.
+   * 
+   * @return a new mutable event instance
+   */
+  public E newInstance();
+}
@@ -0,0 +1,81 @@
+package org.threadly.concurrent.event;
+
+import java.util.concurrent.Executor;
+
+/**
+ * <p>Factory for constructing a dispatcher which calls directly into listeners.  By default
+ * {@link ListenerHelper} provides a {@link java.lang.reflect.Proxy} from .call(), which
+ * requires every event to be dispatched reflectively (including boxing any primitive
+ * arguments into an array).  By providing a factory, the dispatcher can instead be a normal
+ * implementation of the listener interface, which for every function simply iterates over
+ * {@link ListenerHelper#getListeners()} and invokes the same function on each listener.
+ * Listeners which are added with an {@link Executor} are also wrapped by the factory, so that
+ * no call needs to be dispatched reflectively.</p>
+ *
+ * <p>For example:</p>
+ * <pre>{@code
+ * new ListenerDispatcherFactory<TickListener>() {
+ *   public TickListener makeDispatcher(final ListenerHelper<TickListener> helper) {
+ *     return new TickListener() {
+ *       public void onTick(long price) {
+ *         List<TickListener> listeners = helper.getListeners();
+ *         for (int i = 0; i < listeners.size(); i++) {
+ *           try {
+ *             listeners.get(i).onTick(price);
+ *           } catch (Throwable t) {
+ *             ExceptionUtils.handleException(t);
+ *           }
+ *         }
+ *       }
+ *     };
+ *   }
+ *
+ *   public TickListener makeExecutorListener(final TickListener listener,
+ *                                            final Executor executor) {
+ *     return new TickListener() {
+ *       public void onTick(final long price) {
+ *         executor.execute(new Runnable() {
+ *           public void run() {
+ *             listener.onTick(price);
+ *           }
+ *         });
+ *       }
+ *     };
+ *   }
+ * }
+ * }</pre>
+ *
+ * <p>Like the default proxy, the dispatcher should handle exceptions from each listener so
+ * that a single failing listener does not prevent the remaining listeners from being
+ * called.</p>
+ *
+ * @author jent - Mike Jensen
+ * @since 2.5.0
+ * @param <T> Interface for listeners to implement and called into with
+ */
+public interface ListenerDispatcherFactory<T> {
+  /**
+   * Constructs the dispatcher to be returned from {@link ListenerHelper#call()}.  This is
+   * only invoked once, during construction of the {@link ListenerHelper}.  The dispatcher
+   * is expected to invoke the called function on every listener returned from
+   * {@link ListenerHelper#getListeners()} at the time of the call.
+   *
+   * @param helper helper which the dispatcher will get listeners from
+   * @return Implementation of the listener interface which will call listeners
+   */
+  public T makeDispatcher(ListenerHelper<T> helper);
+
+  /**
+   * Constructs an implementation of the listener interface which will call the provided
+   * listener on the provided executor.  This is invoked by
+   * {@link ListenerHelper#getListeners()} for each listener which was added with an
+   * {@link Executor}, the result is cached until listeners are added or removed.  For every
+   * function the implementation should provide a task to the executor which invokes the same
+   * function on the listener.
+   *
+   * @param listener listener to be called on the executor
+   * @param executor executor to call the listener on
+   * @return Implementation of the listener interface which will call the listener on the executor
+   */
+  public T makeExecutorListener(T listener, Executor executor);
+}
@@ -4,8 +4,11 @@ import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.concurrent.Executor;
@@ -24,6 +27,17 @@ import org.threadly.util.ExceptionUtils;
  * more efficient and flexible for listeners of that type.  It also has a cleaner and 
  * easier to use interface.</p>
  * 
+ * <p>By default listeners are called through a {@link Proxy}, which dispatches each call 
+ * reflectively.  For listeners which are called frequently a {@link ListenerDispatcherFactory} 
+ * can be provided at construction so that .call() returns a plain implementation of the 
+ * interface which invokes listeners directly.</p>
+ * 
+ * <p>Listeners are stored in an immutable map which is replaced as listeners are added or 
+ * removed.  Calling listeners only reads the current map, so no lock is held while listeners 
+ * are running (or being provided to their executor).  This allows listeners to be called 
+ * concurrently from multiple threads, without blocking threads adding or removing 
+ * listeners.</p>
+ * 
  * @author jent - Mike Jensen
  * @since 2.2.0
  * @param <T> Interface for listeners to implement and called into with
@@ -42,9 +56,28 @@ public class ListenerHelper<T> {
     return new ListenerHelper(listenerInterface);
   }
   
+  /**
+   * This static function allows for quick and easy construction of the 
+   * {@link ListenerHelper} with a {@link ListenerDispatcherFactory}.  It is equivalent to 
+   * {@link #ListenerHelper(Class, ListenerDispatcherFactory)}, but requires less code to do 
+   * that construction.
+   * 
+   * @since 2.5.0
+   * @param listenerInterface Interface that listeners need to implement
+   * @param dispatcherFactory Factory to construct the instance returned from .call()
+   * @return New instance of the {@link ListenerHelper}
+   */
+  public static <T> ListenerHelper<T> buildWithDispatcher(Class<? super T> listenerInterface, 
+                                                          ListenerDispatcherFactory<T> dispatcherFactory) {
+    return new ListenerHelper<T>(listenerInterface, dispatcherFactory);
+  }
+  
   protected final T proxyInstance;
   protected final Object listenersLock;
-  protected Map<T, Executor> listeners;
+  protected volatile Map<T, Executor> listeners; // never modified, replaced while holding listenersLock
+  private final Class<? super T> listenerInterface;
+  private final ListenerDispatcherFactory<T> dispatcherFactory;
+  private volatile ListenerSnapshot<T> listenerSnapshot;
   
   /**
    * Constructs a new {@link ListenerHelper} that will handle listeners with 
@@ -53,13 +86,45 @@ public class ListenerHelper<T> {
    * @param listenerInterface Interface that listeners need to implement
    */
   public ListenerHelper(Class<? super T> listenerInterface) {
+    verifyListenerInterface(listenerInterface);
+    
+    this.listenerInterface = listenerInterface;
+    this.dispatcherFactory = null;
+    listenerSnapshot = null;
+    proxyInstance = getProxyInstance(listenerInterface);
+    listenersLock = new Object();
+  }
+  
+  /**
+   * Constructs a new {@link ListenerHelper} that will handle listeners with the provided 
+   * interface.  The provided class MUST be an interface.  Rather than using a reflective 
+   * {@link Proxy}, the provided factory will be used to construct the instance returned from 
+   * .call().
+   * 
+   * @since 2.5.0
+   * @param listenerInterface Interface that listeners need to implement
+   * @param dispatcherFactory Factory to construct the instance returned from .call()
+   */
+  public ListenerHelper(Class<? super T> listenerInterface, 
+                        ListenerDispatcherFactory<T> dispatcherFactory) {
+    verifyListenerInterface(listenerInterface);
+    ArgumentVerifier.assertNotNull(dispatcherFactory, "dispatcherFactory");
+    
+    this.listenerInterface = listenerInterface;
+    this.dispatcherFactory = dispatcherFactory;
+    listenerSnapshot = null;
+    listenersLock = new Object();
+    proxyInstance = dispatcherFactory.makeDispatcher(this);
+    if (proxyInstance == null) {
+      throw new IllegalArgumentException("dispatcherFactory must provide a dispatcher");
+    }
+  }
+  
+  private static void verifyListenerInterface(Class<?> listenerInterface) {
     ArgumentVerifier.assertNotNull(listenerInterface, "listenerInterface");
     if (! listenerInterface.isInterface()) {
       throw new IllegalArgumentException("listenerInterface must be an interface");
     }
-    
-    proxyInstance = getProxyInstance(listenerInterface);
-    listenersLock = new Object();
   }
   
   /**
@@ -124,22 +189,16 @@ public class ListenerHelper<T> {
   public void addListener(T listener, Executor executor) {
     ArgumentVerifier.assertNotNull(listener, "listener");
     
-    boolean addingFromCallingThread = Thread.holdsLock(listenersLock);
     synchronized (listenersLock) {
-      if (addingFromCallingThread) {
-        // we must create a new instance of listeners to prevent a ConcurrentModificationException
-        // we know at this point that listeners can not be null
-        Map<T, Executor> newListeners = new HashMap<T, Executor>(listeners.size() + 1);
-        newListeners.putAll(listeners);
-        newListeners.put(listener, executor);
-        
-        listeners = newListeners;
+      Map<T, Executor> newListeners;
+      if (listeners == null) {
+        newListeners = new HashMap<T, Executor>(4);
       } else {
-        if (listeners == null) {
-          listeners = new HashMap<T, Executor>();
-        }
-        listeners.put(listener, executor);
+        newListeners = new HashMap<T, Executor>(listeners);
       }
+      newListeners.put(listener, executor);
+      
+      listeners = newListeners;
     }
   }
 
@@ -150,15 +209,18 @@ public class ListenerHelper<T> {
    * @return true if the listener was removed
    */
   public boolean removeListener(T listener) {
-    boolean removingFromCallingThread = Thread.holdsLock(listenersLock);
     synchronized (listenersLock) {
       if (listeners == null) {
         return false;
       } else if (listeners.containsKey(listener)) {
-        if (removingFromCallingThread) {
-          listeners = new HashMap<T, Executor>(listeners);
+        if (listeners.size() == 1) {
+          listeners = null;
+        } else {
+          Map<T, Executor> newListeners = new HashMap<T, Executor>(listeners);
+          newListeners.remove(listener);
+          
+          listeners = newListeners;
         }
-        listeners.remove(listener);
         return true;
       } else {
         return false;
@@ -182,9 +244,90 @@ public class ListenerHelper<T> {
    * @return number of listeners registered to be called
    */
   public int registeredListenerCount() {
-    synchronized (listenersLock) {
-      return listeners == null ? 0 : listeners.size();
+    Map<T, Executor> currentListeners = listeners;
+    return currentListeners == null ? 0 : currentListeners.size();
+  }
+  
+  /**
+   * Returns the listeners which should be invoked for a call.  This is intended to be used 
+   * by dispatchers constructed from a {@link ListenerDispatcherFactory}.  The returned list 
+   * is an immutable snapshot which is cached until listeners are added or removed, so 
+   * iterating it by index does not allocate or lock.
+   * 
+   * Listeners which were added with an {@link Executor} are represented in the list by a 
+   * wrapper which will execute the call to the listener on its executor.  If this helper was 
+   * constructed with a {@link ListenerDispatcherFactory} that wrapper is provided by 
+   * {@link ListenerDispatcherFactory#makeExecutorListener(Object, Executor)}, otherwise it is a 
+   * reflective {@link Proxy}.
+   * 
+   * @since 2.5.0
+   * @return List of listeners to be called
+   */
+  public List<T> getListeners() {
+    Map<T, Executor> currentListeners = listeners;
+    ListenerSnapshot<T> snapshot = listenerSnapshot;
+    if (snapshot != null && snapshot.source == currentListeners) {
+      return snapshot.listeners;
+    }
+    
+    List<T> result;
+    if (currentListeners == null) {
+      result = Collections.emptyList();
+    } else {
+      List<T> newSnapshot = new ArrayList<T>(currentListeners.size());
+      Iterator<Entry<T, Executor>> it = currentListeners.entrySet().iterator();
+      while (it.hasNext()) {
+        Entry<T, Executor> listener = it.next();
+        if (listener.getValue() != null) {
+          newSnapshot.add(makeExecutorListener(listener.getKey(), listener.getValue()));
+        } else {
+          newSnapshot.add(listener.getKey());
+        }
+      }
+      result = Collections.unmodifiableList(newSnapshot);
     }
+    // may race with other threads building a snapshot, but it is always validated against the source
+    listenerSnapshot = new ListenerSnapshot<T>(currentListeners, result);
+    
+    return result;
+  }
+  
+  /**
+   * Constructs an implementation of the listener interface which will call the provided 
+   * listener on the provided executor.
+   * 
+   * @param listener Listener to be called
+   * @param executor Executor to call listener on
+   * @return Implementation of listener interface to call listener on the executor
+   */
+  @SuppressWarnings("unchecked")
+  private T makeExecutorListener(final T listener, final Executor executor) {
+    if (dispatcherFactory != null) {
+      T result = dispatcherFactory.makeExecutorListener(listener, executor);
+      if (result == null) {
+        throw new IllegalStateException("dispatcherFactory must provide an executor listener");
+      }
+      return result;
+    }
+    
+    return (T) Proxy.newProxyInstance(listenerInterface.getClassLoader(), 
+                                      new Class<?>[] { listenerInterface }, 
+                                      new ListenerCaller() {
+      @Override
+      public Object invoke(Object proxy, final Method method, final Object[] args) {
+        verifyValidMethod(method);
+        
+        executor.execute(new Runnable() {
+          @Override
+          public void run() {
+            callListener(listener, method, args);
+          }
+        });
+        
+        // always returns null
+        return null;
+      }
+    });
   }
   
   /**
@@ -212,21 +355,20 @@ public class ListenerHelper<T> {
     }
     
     protected void callListeners(final Method method, final Object[] args) {
-      synchronized (listenersLock) {
-        if (listeners != null) {
-          Iterator<Entry<T, Executor>> it = listeners.entrySet().iterator();
-          while (it.hasNext()) {
-            final Entry<T, Executor> listener = it.next();
-            if (listener.getValue() != null) {
-              listener.getValue().execute(new Runnable() {
-                @Override
-                public void run() {
-                  callListener(listener.getKey(), method, args);
-                }
-              });
-            } else {
-              callListener(listener.getKey(), method, args);
-            }
+      Map<T, Executor> currentListeners = listeners;
+      if (currentListeners != null) {
+        Iterator<Entry<T, Executor>> it = currentListeners.entrySet().iterator();
+        while (it.hasNext()) {
+          final Entry<T, Executor> listener = it.next();
+          if (listener.getValue() != null) {
+            listener.getValue().execute(new Runnable() {
+              @Override
+              public void run() {
+                callListener(listener.getKey(), method, args);
+              }
+            });
+          } else {
+            callListener(listener.getKey(), method, args);
           }
         }
       }
@@ -245,4 +387,22 @@ public class ListenerHelper<T> {
       }
     }
   }
+  
+  /**
+   * <p>Cached list of listeners for dispatchers, along with the map it was built from so 
+   * that it can be verified to still be current.</p>
+   * 
+   * @author jent - Mike Jensen
+   * @since 2.5.0
+   * @param <T> Interface for listeners to implement and called into with
+   */
+  private static class ListenerSnapshot<T> {
+    private final Map<T, Executor> source;
+    private final List<T> listeners;
+    
+    private ListenerSnapshot(Map<T, Executor> source, List<T> listeners) {
+      this.source = source;
+      this.listeners = listeners;
+    }
+  }
 }
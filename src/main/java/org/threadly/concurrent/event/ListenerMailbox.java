@@ -0,0 +1,81 @@
+package org.threadly.concurrent.event;
+
+import java.util.concurrent.Executor;
+
+import org.threadly.util.ArgumentVerifier;
+
+/**
+ * <p>Serial mailbox which is attached to a single listener registration.  Tasks provided to 
+ * this executor are queued, and a single drain task is run on the parent executor while the 
+ * queue is not empty.  This ensures tasks are executed in order, and never concurrently, 
+ * even if the parent executor is multi-threaded.</p>
+ * 
+ * <p>Since the mailbox is held directly by the registration, there is no need to look up a 
+ * worker by key for each call.  Submitting a task only requires adding it to the queue, and 
+ * a single compare and set to see if a drain task needs to be started.</p>
+ * 
+ * <p>If constructed from a {@link ListenerMailboxRegistry}, the registry will be informed 
+ * each time the mailbox finishes draining, so that the mailbox can be released once its 
+ * listener is no longer registered.  A released mailbox is closed, and any tasks provided to 
+ * it afterwards (for example from a listener snapshot read before it was released) are 
+ * forwarded to the registry's current mailbox for the listener.</p>
+ * 
+ * @author jent - Mike Jensen
+ * @since 2.5.0
+ */
+class ListenerMailbox extends SerialDrainQueue<Runnable> implements Executor {
+  protected final ListenerMailboxRegistry registry;
+  protected final Object listener;
+  protected boolean registered;  // guarded by registry
+  
+  /**
+   * Constructs a new mailbox which will drain on the provided executor.
+   * 
+   * @param executor executor to run the drain task on
+   */
+  protected ListenerMailbox(Executor executor) {
+    this(executor, null, null);
+  }
+  
+  /**
+   * Constructs a new mailbox which will drain on the provided executor, and inform the 
+   * provided registry once draining completes.
+   * 
+   * @param executor executor to run the drain task on
+   * @param registry registry which holds this mailbox, or null
+   * @param listener listener this mailbox was constructed for, or null
+   */
+  protected ListenerMailbox(Executor executor, ListenerMailboxRegistry registry, Object listener) {
+    super(executor);
+    
+    this.registry = registry;
+    this.listener = listener;
+    this.registered = false;
+  }
+  
+  @Override
+  public void execute(Runnable task) {
+    ArgumentVerifier.assertNotNull(task, "task");
+    
+    enqueue(task);
+  }
+  
+  @Override
+  protected void closedEnqueue(Runnable task) {
+    registry.getMailbox(listener).execute(task);
+  }
+  
+  @Override
+  protected void process(Runnable task) {
+    task.run();
+  }
+  
+  @Override
+  public void run() {
+    super.run();
+    
+    if (registry != null) {
+      registry.mailboxDrained(this);
+    }
+  }
+}
@@ -0,0 +1,129 @@
+package org.threadly.concurrent.event;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+import org.threadly.util.ArgumentVerifier;
+
+/**
+ * <p>Holds the {@link ListenerMailbox} for each listener, keyed by listener equality (the 
+ * same way the listener helpers key their listeners).  A mailbox is held as long as its 
+ * listener is registered, or it still has tasks to drain.  If a listener is removed and added 
+ * again while its mailbox is still draining, the same mailbox will be reused.  Once released 
+ * a mailbox is closed, so any task provided to it later is forwarded to the current mailbox 
+ * for the listener.  This ensures a listener will never run concurrently with itself, even 
+ * across registrations.</p>
+ * 
+ * <p>Helpers should synchronize on the registry while modifying their listeners, so that the 
+ * registered state of a mailbox stays consistent with the helper's listeners.</p>
+ * 
+ * @author jent - Mike Jensen
+ * @since 2.5.0
+ */
+class ListenerMailboxRegistry {
+  protected final Executor executor;
+  private final Map<Object, ListenerMailbox> mailboxes;  // guarded by this
+  
+  /**
+   * Constructs a new registry which will construct mailboxes that drain on the provided 
+   * executor.
+   * 
+   * @param executor executor for mailboxes to drain on
+   */
+  protected ListenerMailboxRegistry(Executor executor) {
+    ArgumentVerifier.assertNotNull(executor, "executor");
+    
+    this.executor = executor;
+    this.mailboxes = new HashMap<Object, ListenerMailbox>();
+  }
+  
+  /**
+   * Returns the mailbox for the provided listener, marking it as registered.  If the 
+   * listener already has a mailbox (registered, or still draining) it will be returned, 
+   * otherwise a new one is constructed.  Since mailboxes are keyed by equality, equal 
+   * listeners will share a mailbox.
+   * 
+   * @param listener listener to get a mailbox for
+   * @return mailbox to execute the listener on
+   */
+  protected synchronized ListenerMailbox register(Object listener) {
+    ListenerMailbox result = getMailbox(listener);
+    result.registered = true;
+    
+    return result;
+  }
+  
+  /**
+   * Marks the mailbox for the provided listener as no longer registered.  The mailbox will be 
+   * released once it has finished draining.
+   * 
+   * @param listener listener which is no longer registered
+   */
+  protected synchronized void unregister(Object listener) {
+    ListenerMailbox mailbox = mailboxes.get(listener);
+    if (mailbox != null) {
+      mailbox.registered = false;
+      if (mailbox.tryClose()) {
+        mailboxes.remove(listener);
+      }
+    }
+  }
+  
+  /**
+   * Returns the current mailbox for the provided listener, without changing its registered 
+   * state.  If the listener has no mailbox, an unregistered one is constructed, which will be 
+   * released once it has drained.  This is used to forward tasks provided to a mailbox after 
+   * it has been released.
+   * 
+   * @param listener listener to get a mailbox for
+   * @return mailbox to execute the listener on
+   */
+  protected synchronized ListenerMailbox getMailbox(Object listener) {
+    ListenerMailbox result = mailboxes.get(listener);
+    if (result == null) {
+      result = new ListenerMailbox(executor, this, listener);
+      mailboxes.put(listener, result);
+    }
+    
+    return result;
+  }
+  
+  /**
+   * Marks all mailboxes as no longer registered.  Mailboxes will be released once they have 
+   * finished draining.
+   */
+  protected synchronized void unregisterAll() {
+    Iterator<ListenerMailbox> it = mailboxes.values().iterator();
+    while (it.hasNext()) {
+      ListenerMailbox mailbox = it.next();
+      mailbox.registered = false;
+      if (mailbox.tryClose()) {
+        it.remove();
+      }
+    }
+  }
+  
+  /**
+   * Invoked by a mailbox once it has finished draining.  If its listener is no longer 
+   * registered the mailbox is released.
+   * 
+   * @param mailbox mailbox which finished draining
+   */
+  protected synchronized void mailboxDrained(ListenerMailbox mailbox) {
+    if (! mailbox.registered && mailboxes.get(mailbox.listener) == mailbox && 
+        mailbox.tryClose()) {
+      mailboxes.remove(mailbox.listener);
+    }
+  }
+  
+  /**
+   * Returns how many mailboxes are currently held.  This is primarily for testing.
+   * 
+   * @return quantity of mailboxes held
+   */
+  protected synchronized int getMailboxCount() {
+    return mailboxes.size();
+  }
+}
@@ -0,0 +1,300 @@
+package org.threadly.concurrent.event;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.threadly.concurrent.IdleStrategy;
+import org.threadly.concurrent.SubmitterExecutorInterface;
+import org.threadly.util.ArgumentVerifier;
+import org.threadly.util.ExceptionUtils;
+
+/**
+ * <p>Event bus for streaming events at a high rate from a single producer to multiple
+ * consumers.  Events are stored in a preallocated ring of mutable event instances, so
+ * publishing an event does not allocate, and memory is bounded by the ring size.  Each
+ * consumer tracks its own sequence in the ring, and receives every published event in
+ * order.</p>
+ *
+ * <p>Events are published in three steps.  First claim a sequence with {@link #next()}, then
+ * populate the event returned from {@link #get(long)} for that sequence, and finally make it
+ * visible to consumers with {@link #publish(long)}.  Only a single thread may publish
+ * events at a time.</p>
+ *
+ * <p>Consumers must be added before the bus is started.  Once started each consumer runs as
+ * a long running task on the provided executor, so the executor must have a thread available
+ * for each consumer.  How consumers wait for new events is controlled by the
+ * {@link IdleStrategy}, once it has been exhausted a consumer will park until the producer
+ * signals that a new event is published.  If the slowest consumer falls a full ring behind the producer, the
+ * {@link BackpressurePolicy} decides if the producer will wait, or drop the event.</p>
+ *
+ * @author jent - Mike Jensen
+ * @since 2.5.0
+ * @param <E> type of event
+ */
+public class RingBufferEventBus<E> {
+  protected static final long PARK_TIME_NANOS = 1000L * 1000 * 10; // safety in case signal is missed
+
+  protected final Object[] events;
+  protected final int indexMask;
+  protected final IdleStrategy idleStrategy;
+  protected final boolean signalConsumers;
+  protected final BackpressurePolicy backpressurePolicy;
+  private final List<ConsumerRunner<E>> consumers;
+  private final AtomicLong cursor;
+  private volatile ConsumerRunner<?>[] runningConsumers;
+  private volatile boolean stopped;
+  private volatile long droppedEventCount;
+  private long nextSequence;  // only accessed by publishing thread
+  private long cachedGatingSequence;  // only accessed by publishing thread
+
+  /**
+   * Constructs a new {@link RingBufferEventBus}.  The buffer size must be a power of two.
+   *
+   * @param bufferSize number of events which can be stored in the ring
+   * @param eventFactory factory to construct the event instances
+   * @param idleStrategy strategy for how consumers wait for new events
+   * @param backpressurePolicy policy for publishing when the ring is full
+   */
+  public RingBufferEventBus(int bufferSize, EventFactory<? extends E> eventFactory,
+                            IdleStrategy idleStrategy, BackpressurePolicy backpressurePolicy) {
+    ArgumentVerifier.assertGreaterThanZero(bufferSize, "bufferSize");
+    if (Integer.bitCount(bufferSize) != 1) {
+      throw new IllegalArgumentException("bufferSize must be a power of two");
+    }
+    ArgumentVerifier.assertNotNull(eventFactory, "eventFactory");
+    ArgumentVerifier.assertNotNull(idleStrategy, "idleStrategy");
+    ArgumentVerifier.assertNotNull(backpressurePolicy, "backpressurePolicy");
+
+    this.events = new Object[bufferSize];
+    for (int i = 0; i < bufferSize; i++) {
+      events[i] = eventFactory.newInstance();
+    }
+    this.indexMask = bufferSize - 1;
+    this.idleStrategy = idleStrategy;
+    this.signalConsumers = idleStrategy.mayBlock();
+    this.backpressurePolicy = backpressurePolicy;
+    this.consumers = new ArrayList<ConsumerRunner<E>>();
+    this.cursor = new AtomicLong(-1);
+    this.runningConsumers = null;
+    this.stopped = false;
+    this.droppedEventCount = 0;
+    this.nextSequence = -1;
+    this.cachedGatingSequence = -1;
+  }
+
+  /**
+   * Adds a consumer which will be provided all events published after the bus is started.
+   * Consumers can only be added before the bus is started.
+   *
+   * @param consumer consumer to be provided events
+   */
+  public void addConsumer(EventConsumer<? super E> consumer) {
+    ArgumentVerifier.assertNotNull(consumer, "consumer");
+
+    synchronized (consumers) {
+      if (runningConsumers != null) {
+        throw new IllegalStateException("Already started");
+      }
+
+      consumers.add(new ConsumerRunner<E>(this, consumer));
+    }
+  }
+
+  /**
+   * Starts all the added consumers on the provided executor.  Each consumer will occupy a
+   * thread until the bus is stopped.
+   *
+   * @param executor executor to run consumers on
+   */
+  public void start(SubmitterExecutorInterface executor) {
+    ArgumentVerifier.assertNotNull(executor, "executor");
+
+    ConsumerRunner<?>[] toStart;
+    synchronized (consumers) {
+      if (runningConsumers != null) {
+        throw new IllegalStateException("Already started");
+      } else if (consumers.isEmpty()) {
+        throw new IllegalStateException("No consumers added");
+      }
+
+      toStart = consumers.toArray(new ConsumerRunner<?>[consumers.size()]);
+      runningConsumers = toStart;
+    }
+
+    for (int i = 0; i < toStart.length; i++) {
+      executor.execute(toStart[i]);
+    }
+  }
+
+  /**
+   * Stops the consumers.  Consumers will finish handling any events which have already been
+   * published, and then return their threads to the executor.  No more events may be
+   * published once stopped.
+   */
+  public void stop() {
+    stopped = true;
+
+    ConsumerRunner<?>[] currentConsumers = runningConsumers;
+    if (currentConsumers != null) {
+      for (int i = 0; i < currentConsumers.length; i++) {
+        currentConsumers[i].signal();
+      }
+    }
+  }
+
+  /**
+   * Returns how many events were not published because the ring was full.  This will
+   * always be zero if the {@link BackpressurePolicy} is to block.
+   *
+   * @return number of dropped events
+   */
+  public long getDroppedEventCount() {
+    return droppedEventCount;
+  }
+
+  /**
+   * Claims the next sequence in the ring to be published.  If the slowest consumer is a full
+   * ring behind, this will either block till space is available, or return {@code -1} if the
+   * backpressure policy is to drop events.  Once a sequence is claimed, it must be published
+   * with {@link #publish(long)}.
+   *
+   * @return sequence which can be populated and published, or {@code -1} if the event was dropped
+   */
+  public long next() {
+    ConsumerRunner<?>[] currentConsumers = runningConsumers;
+    if (currentConsumers == null) {
+      throw new IllegalStateException("Not started");
+    } else if (stopped) {
+      throw new IllegalStateException("Stopped");
+    }
+
+    long next = nextSequence + 1;
+    long wrapPoint = next - events.length;
+    if (wrapPoint > cachedGatingSequence) {
+      long minSequence = minimumSequence(currentConsumers);
+      while (wrapPoint > minSequence) {
+        if (backpressurePolicy == BackpressurePolicy.Drop) {
+          droppedEventCount++;
+          return -1;
+        } else if (stopped) {
+          throw new IllegalStateException("Stopped");
+        }
+
+        LockSupport.parkNanos(1);
+        minSequence = minimumSequence(currentConsumers);
+      }
+      cachedGatingSequence = minSequence;
+    }
+
+    nextSequence = next;
+    return next;
+  }
+
+  /**
+   * Returns the event stored for a given sequence.  After claiming a sequence from
+   * {@link #next()} this should be used to get the event to populate.
+   *
+   * @param sequence sequence of the event
+   * @return event instance stored for that sequence
+   */
+  @SuppressWarnings("unchecked")
+  public E get(long sequence) {
+    return (E)events[(int)(sequence & indexMask)];
+  }
+
+  /**
+   * Makes the event at the provided sequence visible to consumers.  Sequences must be
+   * published in the order they were claimed.
+   *
+   * @param sequence sequence returned from {@link #next()}
+   */
+  public void publish(long sequence) {
+    cursor.set(sequence);
+
+    if (signalConsumers) {
+      ConsumerRunner<?>[] currentConsumers = runningConsumers;
+      for (int i = 0; i < currentConsumers.length; i++) {
+        currentConsumers[i].signal();
+      }
+    }
+  }
+
+  private static long minimumSequence(ConsumerRunner<?>[] consumers) {
+    long result = Long.MAX_VALUE;
+    for (int i = 0; i < consumers.length; i++) {
+      long sequence = consumers[i].sequence.get();
+      if (sequence < result) {
+        result = sequence;
+      }
+    }
+    return result;
+  }
+
+  /**
+   * <p>Task which runs a single consumer, providing it every published event until the bus
+   * is stopped.</p>
+   *
+   * @author jent - Mike Jensen
+   * @since 2.5.0
+   */
+  private static class ConsumerRunner<E> implements Runnable {
+    private final RingBufferEventBus<E> bus;
+    private final EventConsumer<? super E> consumer;
+    private final AtomicLong sequence;
+    private volatile Thread parkedThread;
+
+    private ConsumerRunner(RingBufferEventBus<E> bus, EventConsumer<? super E> consumer) {
+      this.bus = bus;
+      this.consumer = consumer;
+      this.sequence = new AtomicLong(-1);
+      this.parkedThread = null;
+    }
+
+    private void signal() {
+      Thread t = parkedThread;
+      if (t != null) {
+        LockSupport.unpark(t);
+      }
+    }
+
+    @Override
+    public void run() {
+      long nextSequence = sequence.get() + 1;
+      long idleCount = 0;
+      while (true) {
+        long available = bus.cursor.get();
+        if (available >= nextSequence) {
+          while (nextSequence <= available) {
+            try {
+              consumer.handleEvent(bus.get(nextSequence), nextSequence, nextSequence == available);
+            } catch (Throwable t) {
+              ExceptionUtils.handleException(t);
+            }
+            nextSequence++;
+          }
+          // allow the producer to reuse these slots
+          sequence.lazySet(available);
+          idleCount = 0;
+        } else if (bus.stopped || Thread.currentThread().isInterrupted()) {
+          // interrupted likely means the executor is shutting down
+          return;
+        } else {
+          if (! bus.idleStrategy.idle(idleCount++)) {
+            waitForEvent(nextSequence);
+          }
+        }
+      }
+    }
+
+    private void waitForEvent(long nextSequence) {
+      parkedThread = Thread.currentThread();
+      // check again after setting the thread so that a publish can not be missed
+      if (bus.cursor.get() < nextSequence && ! bus.stopped) {
+        LockSupport.parkNanos(this, PARK_TIME_NANOS);
+      }
+      parkedThread = null;
+    }
+  }
+}
@@ -1,11 +1,9 @@
 package org.threadly.concurrent.event;
 
-import java.util.HashMap;
-import java.util.Iterator;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.concurrent.Executor;
-import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.threadly.concurrent.ContainerHelper;
 import org.threadly.util.ArgumentVerifier;
@@ -21,14 +19,28 @@ import org.threadly.util.ExceptionUtils;
  * {@link ListenerHelper} allows you to create similar designs while using any any 
  * interface to call back on.</p>
  * 
+ * <p>Storage is optimized for the common case of zero or one listener.  A single listener 
+ * is stored inline, and an array is only allocated once a second listener is added.  No lock 
+ * object is allocated either, synchronization is done on this instance.</p>
+ * 
+ * <p>Listeners are stored as an immutable snapshot which is replaced as listeners are added 
+ * or removed.  Calling listeners only reads the current snapshot, so the lock is never held 
+ * while listeners are running (or being provided to their executor).  This allows listeners 
+ * to be called concurrently from multiple threads, without blocking threads adding or 
+ * removing listeners.</p>
+ * 
  * @author jent - Mike Jensen
  * @since 2.2.0 (existed since 1.1.0 as org.threadly.concurrent.ListenerHelper)
  */
 public class RunnableListenerHelper {
   protected final Object listenersLock;
   protected final boolean callOnce;
-  protected final AtomicBoolean done;
-  protected Map<Runnable, Executor> listeners;
+  protected volatile boolean done;
+  /* Immutable snapshot of the listeners, only replaced while holding listenersLock.  Either 
+   * null (no listeners), a Runnable (a single listener without an executor), a 
+   * ListenerEntry (a single listener with an executor), or a ListenerEntry[].
+   */
+  private volatile Object listeners;
   
   /**
    * Constructs a new {@link RunnableListenerHelper}.  This can call listeners 
@@ -37,9 +49,9 @@ public class RunnableListenerHelper {
    * @param callListenersOnce true if listeners should only be called once
    */
   public RunnableListenerHelper(boolean callListenersOnce) {
-    this.listenersLock = new Object();
+    this.listenersLock = this;
     this.callOnce = callListenersOnce;
-    this.done = new AtomicBoolean(false);
+    this.done = false;
     this.listeners = null;
   }
   
@@ -70,8 +82,14 @@ public class RunnableListenerHelper {
    * done to true so that newly added listeners will be executed immediately.
    */
   protected void verifyCanCallListeners() {
-    if (callOnce && ! done.compareAndSet(false, true)) {
-      throw new IllegalStateException("Already called listeners");
+    if (callOnce) {
+      synchronized (listenersLock) {
+        if (done) {
+          throw new IllegalStateException("Already called listeners");
+        }
+        
+        done = true;
+      }
     }
   }
   
@@ -82,20 +100,28 @@ public class RunnableListenerHelper {
    * avoid breaking logic around construction with call listeners once design).
    */
   protected void doCallListeners() {
-    synchronized (listenersLock) {
-      if (listeners == null) {
-        return;
-      }
-      
-      Iterator<Entry<Runnable, Executor>> it = listeners.entrySet().iterator();
-      while (it.hasNext()) {
-        Entry<Runnable, Executor> listener = it.next();
-        runListener(listener.getKey(), listener.getValue(), false);
-      }
-      
-      if (callOnce) {
+    Object currentListeners;
+    if (callOnce) {
+      synchronized (listenersLock) {
+        currentListeners = listeners;
         listeners = null;
       }
+    } else {
+      currentListeners = listeners;
+    }
+    
+    if (currentListeners == null) {
+      return;
+    } else if (currentListeners instanceof Runnable) {
+      runListener((Runnable)currentListeners, null, false);
+    } else if (currentListeners instanceof ListenerEntry) {
+      ListenerEntry entry = (ListenerEntry)currentListeners;
+      runListener(entry.listener, entry.executor, false);
+    } else {
+      ListenerEntry[] entries = (ListenerEntry[])currentListeners;
+      for (int i = 0; i < entries.length; i++) {
+        runListener(entries[i].listener, entries[i].executor, false);
+      }
     }
   }
   
@@ -149,28 +175,68 @@ public class RunnableListenerHelper {
   public void addListener(Runnable listener, Executor executor) {
     ArgumentVerifier.assertNotNull(listener, "listener");
     
-    boolean addingFromCallingThread = Thread.holdsLock(listenersLock);
     synchronized (listenersLock) {
       // done should only be set to true if we are only calling listeners once
-      if (done.get()) {
-        runListener(listener, executor, true);
-      } else {
-        if (addingFromCallingThread) {
-          // we must create a new instance of listeners to prevent a ConcurrentModificationException
-          // we know at this point that listeners can not be null
-          Map<Runnable, Executor> newListeners = new HashMap<Runnable, Executor>(listeners.size() + 1);
-          newListeners.putAll(listeners);
-          newListeners.put(listener, executor);
-          
-          listeners = newListeners;
-        } else {
-          if (listeners == null) {
-            listeners = new HashMap<Runnable, Executor>();
-          }
-          listeners.put(listener, executor);
+      if (! done) {
+        listeners = addToSnapshot(listeners, listener, executor);
+        return;
+      }
+    }
+    
+    // run outside of the lock
+    runListener(listener, executor, true);
+  }
+  
+  /**
+   * Constructs a new snapshot which contains the provided listener.  If the listener is 
+   * already contained, its executor will be replaced.
+   * 
+   * @param currentListeners current snapshot of listeners
+   * @param listener listener to add
+   * @param executor executor for the listener, or null
+   * @return new snapshot to store
+   */
+  private static Object addToSnapshot(Object currentListeners, 
+                                      Runnable listener, Executor executor) {
+    ListenerEntry[] entries = toEntries(currentListeners);
+    if (entries.length == 0) {
+      return executor == null ? listener : new ListenerEntry(listener, executor);
+    }
+    
+    for (int i = 0; i < entries.length; i++) {
+      if (entries[i].listener.equals(listener)) {
+        if (entries.length == 1) {
+          return executor == null ? listener : new ListenerEntry(listener, executor);
         }
+        ListenerEntry[] newEntries = entries.clone();
+        newEntries[i] = new ListenerEntry(listener, executor);
+        return newEntries;
       }
     }
+    
+    ListenerEntry[] newEntries = new ListenerEntry[entries.length + 1];
+    System.arraycopy(entries, 0, newEntries, 0, entries.length);
+    newEntries[entries.length] = new ListenerEntry(listener, executor);
+    return newEntries;
+  }
+  
+  /**
+   * Converts a snapshot into an array of entries.  This is only used when modifying the 
+   * listeners, and thus may allocate.
+   * 
+   * @param currentListeners current snapshot of listeners
+   * @return array of entries, which must not be modified
+   */
+  private static ListenerEntry[] toEntries(Object currentListeners) {
+    if (currentListeners == null) {
+      return new ListenerEntry[0];
+    } else if (currentListeners instanceof Runnable) {
+      return new ListenerEntry[] { new ListenerEntry((Runnable)currentListeners, null) };
+    } else if (currentListeners instanceof ListenerEntry) {
+      return new ListenerEntry[] { (ListenerEntry)currentListeners };
+    } else {
+      return (ListenerEntry[])currentListeners;
+    }
   }
   
   /**
@@ -180,24 +246,22 @@ public class RunnableListenerHelper {
    * @return true if the listener was removed
    */
   public boolean removeListener(Runnable listener) {
-    boolean removingFromCallingThread = Thread.holdsLock(listenersLock);
     synchronized (listenersLock) {
-      if (listeners == null) {
-        return false;
-      }
-      
-      if (removingFromCallingThread) {
-        listeners = new HashMap<Runnable, Executor>(listeners);
-      }
-      /* For large listener counts it would be cheaper to 
-       * check containsKey and call remove, but I would like 
-       * to continue to support the container interfaces 
-       * as much as possible.
-       */
-      Iterator<Runnable> it = listeners.keySet().iterator();
-      while (it.hasNext()) {
-        if (ContainerHelper.isContained(it.next(), listener)) {
-          it.remove();
+      ListenerEntry[] entries = toEntries(listeners);
+      for (int i = 0; i < entries.length; i++) {
+        // check contained to continue to support the container interfaces
+        if (ContainerHelper.isContained(entries[i].listener, listener)) {
+          if (entries.length == 1) {
+            listeners = null;
+          } else if (entries.length == 2) {
+            ListenerEntry remaining = entries[i == 0 ? 1 : 0];
+            listeners = remaining.executor == null ? remaining.listener : remaining;
+          } else {
+            ListenerEntry[] newEntries = new ListenerEntry[entries.length - 1];
+            System.arraycopy(entries, 0, newEntries, 0, i);
+            System.arraycopy(entries, i + 1, newEntries, i, entries.length - i - 1);
+            listeners = newEntries;
+          }
           return true;
         }
       }
@@ -224,8 +288,55 @@ public class RunnableListenerHelper {
    * @return number of listeners registered to be called
    */
   public int registeredListenerCount() {
-    synchronized (listenersLock) {
-      return listeners == null ? 0 : listeners.size();
+    Object currentListeners = listeners;
+    if (currentListeners == null) {
+      return 0;
+    } else if (currentListeners instanceof ListenerEntry[]) {
+      return ((ListenerEntry[])currentListeners).length;
+    } else {
+      return 1;
+    }
+  }
+  
+  /**
+   * Returns a map of the currently registered listeners to the executor they will be called 
+   * on (null if they will be called on the thread invoking {@link #callListeners()}).  The map 
+   * iterates in the order listeners were added.  This replaces the protected 
+   * {@code listeners} map which existed prior to 2.5.0.  Since listeners are now stored in an 
+   * immutable snapshot, the returned map is a copy which can not be modified, use 
+   * {@link #addListener(Runnable, Executor)} and {@link #removeListener(Runnable)} to modify 
+   * the listeners.
+   * 
+   * @return unmodifiable map of listeners to their executor, never null
+   * @since 2.5.0
+   */
+  protected Map<Runnable, Executor> getListenerMap() {
+    ListenerEntry[] entries = toEntries(listeners);
+    if (entries.length == 0) {
+      return Collections.emptyMap();
+    }
+    
+    Map<Runnable, Executor> result = new LinkedHashMap<Runnable, Executor>(entries.length * 2);
+    for (int i = 0; i < entries.length; i++) {
+      result.put(entries[i].listener, entries[i].executor);
+    }
+    
+    return Collections.unmodifiableMap(result);
+  }
+  
+  /**
+   * <p>Immutable pair of a listener and the executor it should be called on.</p>
+   * 
+   * @author jent - Mike Jensen
+   * @since 2.5.0
+   */
+  private static class ListenerEntry {
+    private final Runnable listener;
+    private final Executor executor;
+    
+    private ListenerEntry(Runnable listener, Executor executor) {
+      this.listener = listener;
+      this.executor = executor;
     }
   }
 }
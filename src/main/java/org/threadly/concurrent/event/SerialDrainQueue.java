@@ -0,0 +1,149 @@
+package org.threadly.concurrent.event;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.threadly.util.ArgumentVerifier;
+import org.threadly.util.ExceptionUtils;
+
+/**
+ * <p>Queue of items which are processed serially on an executor.  At most one instance of 
+ * this task will be on the executor at any time, and it will run until the queue is empty. 
+ * This ensures items are processed in order, and never concurrently, even if the executor is 
+ * multi-threaded.</p>
+ * 
+ * <p>Adding an item only requires adding it to a concurrent queue, and a single compare and 
+ * set to see if a drain task needs to be started.</p>
+ * 
+ * <p>An idle queue may be closed with {@link #tryClose()}, after which it will never drain 
+ * again.  Any items added after that point (for example by a thread which obtained a 
+ * reference before it was closed) are instead provided to {@link #closedEnqueue(Object)}.</p>
+ * 
+ * @author jent - Mike Jensen
+ * @since 2.5.0
+ * @param <E> Type of item to be queued for processing
+ */
+abstract class SerialDrainQueue<E> implements Runnable {
+  private static final int IDLE = 0;
+  private static final int DRAIN_SCHEDULED = 1;
+  private static final int CLOSED = 2;
+  
+  protected final Executor executor;
+  private final Queue<E> queue;
+  private final AtomicInteger state;
+  
+  /**
+   * Constructs a new queue which will drain on the provided executor.
+   * 
+   * @param executor executor to run the drain task on
+   */
+  protected SerialDrainQueue(Executor executor) {
+    ArgumentVerifier.assertNotNull(executor, "executor");
+    
+    this.executor = executor;
+    this.queue = new ConcurrentLinkedQueue<E>();
+    this.state = new AtomicInteger(IDLE);
+  }
+  
+  /**
+   * Queues an item to be processed, and ensures the queue will be drained.  If the queue has 
+   * been closed the item will instead be provided to {@link #closedEnqueue(Object)}.
+   * 
+   * @param item item to be provided to {@link #process(Object)}
+   */
+  protected void enqueue(E item) {
+    queue.add(item);
+    while (true) {
+      int currentState = state.get();
+      if (currentState == DRAIN_SCHEDULED) {
+        return;
+      } else if (currentState == CLOSED) {
+        drainClosed();
+        return;
+      } else if (state.compareAndSet(IDLE, DRAIN_SCHEDULED)) {
+        try {
+          executor.execute(this);
+        } catch (RuntimeException e) {
+          state.set(IDLE);
+          throw e;
+        }
+        return;
+      }
+    }
+  }
+  
+  /**
+   * Checks if there is no drain task running or scheduled, and nothing waiting in the queue.
+   * 
+   * @return true if the queue is idle
+   */
+  protected boolean isIdle() {
+    return state.get() == IDLE && queue.isEmpty();
+  }
+  
+  /**
+   * Attempts to close the queue so that it will never drain again.  This will only succeed 
+   * if the queue is idle.  Once closed any items added will be provided to 
+   * {@link #closedEnqueue(Object)} by the thread adding them, this thread will never invoke 
+   * {@link #closedEnqueue(Object)}, so it is safe to call while holding a lock.
+   * 
+   * @return true if the queue is now closed
+   */
+  protected boolean tryClose() {
+    return queue.isEmpty() && state.compareAndSet(IDLE, CLOSED);
+  }
+  
+  private void drainClosed() {
+    E item;
+    while ((item = queue.poll()) != null) {
+      closedEnqueue(item);
+    }
+  }
+  
+  /**
+   * Invoked for items added after the queue has been closed.  By default this throws an 
+   * {@link IllegalStateException}, queues which may be closed must override this.
+   * 
+   * @param item item which was added after closing
+   */
+  protected void closedEnqueue(E item) {
+    throw new IllegalStateException("Queue closed");
+  }
+  
+  /**
+   * Invoked on the executor for each item in the order they were queued.  This will never be 
+   * invoked concurrently.
+   * 
+   * @param item item to be processed
+   */
+  protected abstract void process(E item);
+  
+  @Override
+  public void run() {
+    while (true) {
+      E item;
+      while ((item = queue.poll()) != null) {
+        try {
+          process(item);
+        } catch (Throwable t) {
+          // must continue draining, otherwise no new task would be submitted
+          ExceptionUtils.handleException(t);
+        }
+      }
+      
+      state.set(IDLE);
+      // check if an item was queued after we finished polling, but before we unset the flag
+      if (queue.isEmpty()) {
+        return;
+      } else if (! state.compareAndSet(IDLE, DRAIN_SCHEDULED)) {
+        if (state.get() == CLOSED) {
+          // closed before we could drain again, the adding thread may have seen us scheduled
+          drainClosed();
+        }
+        return;
+      }
+    }
+  }
+}
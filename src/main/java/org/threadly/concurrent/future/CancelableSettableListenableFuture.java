@@ -0,0 +1,84 @@
+package org.threadly.concurrent.future;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Future;
+
+/**
+ * <p>A {@link LockFreeSettableListenableFuture} which can be canceled, and which is intended to
+ * bridge a future from another asynchronous library into a {@link ListenableFuture}.  Since
+ * this is a {@link FutureCallback} it can be provided directly as the completion callback of
+ * the other library, so no additional future or listener needs to be allocated to adapt it.
+ * Completion happens inline on the thread which provides the result, and listeners added
+ * without an executor will be invoked on that same thread.</p>
+ *
+ * <p>If a source future is provided at construction, canceling this future will also cancel
+ * the source.  If the source reports a {@link CancellationException} as its failure, this
+ * future will be marked as canceled as well.  Unlike {@link LockFreeSettableListenableFuture},
+ * providing a result or failure after this future has completed (for example because it was
+ * canceled) is silently ignored rather than throwing an exception back in to the other
+ * library.</p>
+ *
+ * @author jent - Mike Jensen
+ * @since 2.5.0
+ * @param <T> type of returned object
+ */
+public class CancelableSettableListenableFuture<T> extends LockFreeSettableListenableFuture<T> {
+  protected final Future<?> sourceFuture;
+
+  /**
+   * Constructs a new {@link CancelableSettableListenableFuture} which does not forward
+   * cancellation to any other future.
+   */
+  public CancelableSettableListenableFuture() {
+    this(null);
+  }
+
+  /**
+   * Constructs a new {@link CancelableSettableListenableFuture} which will cancel the provided
+   * future if this future is canceled.
+   *
+   * @param sourceFuture future to cancel when this is canceled, or {@code null} for none
+   */
+  public CancelableSettableListenableFuture(Future<?> sourceFuture) {
+    this.sourceFuture = sourceFuture;
+  }
+
+  /**
+   * Provides the result to this future.  If this future is already done the result will be
+   * ignored.
+   *
+   * @param result Result object to provide to the future to be returned from .get() call
+   */
+  @Override
+  public void handleResult(T result) {
+    trySetResult(result);
+  }
+
+  /**
+   * Provides the failure to this future.  If the failure is a {@link CancellationException}
+   * this future will be marked as canceled.  If this future is already done the failure will
+   * be ignored.
+   *
+   * @param t exception to be provided as the cause from the ExecutionException thrown from .get() call
+   */
+  @Override
+  public void handleFailure(Throwable t) {
+    if (t instanceof CancellationException) {
+      trySetCanceled();
+    } else {
+      trySetFailure(t);
+    }
+  }
+
+  @Override
+  public boolean cancel(boolean mayInterruptIfRunning) {
+    if (trySetCanceled()) {
+      if (sourceFuture != null) {
+        sourceFuture.cancel(mayInterruptIfRunning);
+      }
+      return true;
+    } else {
+      return false;
+    }
+  }
+}
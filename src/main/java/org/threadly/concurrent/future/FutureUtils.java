@@ -1,17 +1,32 @@
 package org.threadly.concurrent.future;
 
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListSet;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executor;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 
+import org.threadly.concurrent.SchedulerServiceInterface;
+import org.threadly.concurrent.SimpleSchedulerInterface;
 import org.threadly.concurrent.collections.ConcurrentArrayList;
 import org.threadly.util.ArgumentVerifier;
+import org.threadly.util.Clock;
 
 /**
  * <p>A collection of small utilities for handling futures.</p>
@@ -20,6 +35,13 @@ import org.threadly.util.ArgumentVerifier;
  * @since 1.0.0
  */
 public class FutureUtils {
+  private static final AtomicLong TIMEOUT_SEQUENCE = new AtomicLong(0);
+  // timers only weakly reference their scheduler, so they are removed once the scheduler is collected
+  private static final ConcurrentMap<SchedulerKey, TimeoutTimer> TIMEOUT_TIMERS = 
+      new ConcurrentHashMap<SchedulerKey, TimeoutTimer>();
+  private static final ReferenceQueue<SimpleSchedulerInterface> COLLECTED_SCHEDULERS = 
+      new ReferenceQueue<SimpleSchedulerInterface>();
+  
   /**
    * Adds a callback to a given future to be called once the future completes.
    * Please see addListener in {@link ListenableFuture} to understand more about 
@@ -145,6 +167,24 @@ public class FutureUtils {
     return new EmptyFutureCollection(futures);
   }
   
+  /**
+   * An alternative to {@link #makeCompleteFuture(Iterable)} which can optionally allow the 
+   * returned future to be canceled.  If {@code propagateCancel} is {@code true}, canceling 
+   * the returned future will cancel all of the provided futures (forwarding the 
+   * {@code mayInterruptIfRunning} argument).  This allows work to be stopped once the 
+   * combined result is no longer needed.
+   * 
+   * @since 2.5.0
+   * 
+   * @param futures Collection of futures that must finish before returned future is satisfied
+   * @param propagateCancel {@code true} to cancel provided futures when returned future is canceled
+   * @return ListenableFuture which will be done once all futures provided are done
+   */
+  public static ListenableFuture<?> makeCompleteFuture(Iterable<? extends ListenableFuture<?>> futures, 
+                                                       boolean propagateCancel) {
+    return new EmptyFutureCollection(futures, propagateCancel);
+  }
+  
   /**
    * This call is similar to makeCompleteFuture in that it will immediately provide a 
    * future that can not be canceled, and will not be satisfied till all provided 
@@ -164,6 +204,25 @@ public class FutureUtils {
     return new AllFutureCollection<T>(futures);
   }
   
+  /**
+   * An alternative to {@link #makeCompleteListFuture(Iterable)} which can optionally allow 
+   * the returned future to be canceled.  If {@code propagateCancel} is {@code true}, 
+   * canceling the returned future will cancel all of the provided futures (forwarding the 
+   * {@code mayInterruptIfRunning} argument).
+   * 
+   * @since 2.5.0
+   * 
+   * @param <T> type of result returned from the futures
+   * @param futures Structure of futures to iterate over
+   * @param propagateCancel {@code true} to cancel provided futures when returned future is canceled
+   * @return ListenableFuture which will be done once all futures provided are done
+   */
+  public static <T> ListenableFuture<List<ListenableFuture<? extends T>>> 
+      makeCompleteListFuture(Iterable<? extends ListenableFuture<? extends T>> futures, 
+                             boolean propagateCancel) {
+    return new AllFutureCollection<T>(futures, propagateCancel);
+  }
+  
   /**
    * This call is similar to makeCompleteFuture in that it will immediately provide a 
    * future that can not be canceled, and will not be satisfied till all provided 
@@ -184,6 +243,25 @@ public class FutureUtils {
     return new SuccessFutureCollection<T>(futures);
   }
   
+  /**
+   * An alternative to {@link #makeSuccessListFuture(Iterable)} which can optionally allow 
+   * the returned future to be canceled.  If {@code propagateCancel} is {@code true}, 
+   * canceling the returned future will cancel all of the provided futures (forwarding the 
+   * {@code mayInterruptIfRunning} argument).
+   * 
+   * @since 2.5.0
+   * 
+   * @param <T> type of result returned from the futures
+   * @param futures Structure of futures to iterate over
+   * @param propagateCancel {@code true} to cancel provided futures when returned future is canceled
+   * @return ListenableFuture which will be done once all futures provided are done
+   */
+  public static <T> ListenableFuture<List<ListenableFuture<? extends T>>> 
+      makeSuccessListFuture(Iterable<? extends ListenableFuture<? extends T>> futures, 
+                            boolean propagateCancel) {
+    return new SuccessFutureCollection<T>(futures, propagateCancel);
+  }
+  
   /**
    * This call is similar to makeCompleteFuture in that it will immediately provide a 
    * future that can not be canceled, and will not be satisfied till all provided 
@@ -204,6 +282,79 @@ public class FutureUtils {
     return new FailureFutureCollection<T>(futures);
   }
   
+  /**
+   * An alternative to {@link #makeFailureListFuture(Iterable)} which can optionally allow 
+   * the returned future to be canceled.  If {@code propagateCancel} is {@code true}, 
+   * canceling the returned future will cancel all of the provided futures (forwarding the 
+   * {@code mayInterruptIfRunning} argument).
+   * 
+   * @since 2.5.0
+   * 
+   * @param <T> type of result returned from the futures
+   * @param futures Structure of futures to iterate over
+   * @param propagateCancel {@code true} to cancel provided futures when returned future is canceled
+   * @return ListenableFuture which will be done once all futures provided are done
+   */
+  public static <T> ListenableFuture<List<ListenableFuture<? extends T>>> 
+      makeFailureListFuture(Iterable<? extends ListenableFuture<? extends T>> futures, 
+                            boolean propagateCancel) {
+    return new FailureFutureCollection<T>(futures, propagateCancel);
+  }
+  
+  /**
+   * Provides a future which will be satisfied once all the provided futures complete 
+   * successfully, or will fail as soon as any of the provided futures fail (or are 
+   * canceled).  Once a failure occurs, all other provided futures will be canceled so that 
+   * they stop consuming resources.  The failure provided from the returned future will be the 
+   * failure from the first future which failed.
+   * 
+   * Canceling the returned future will also cancel all of the provided futures.
+   * 
+   * This future provides a list of the completed futures as the result.  The order of this 
+   * list is NOT deterministic.
+   * 
+   * @since 2.5.0
+   * 
+   * @param <T> type of result returned from the futures
+   * @param futures Structure of futures to iterate over
+   * @param interruptOnFailure {@code true} to interrupt futures which are canceled due to a failure
+   * @return ListenableFuture which will be done once all futures succeed, or any future fails
+   */
+  public static <T> ListenableFuture<List<ListenableFuture<? extends T>>> 
+      makeFailFastListFuture(Iterable<? extends ListenableFuture<? extends T>> futures, 
+                             boolean interruptOnFailure) {
+    return new FailFastFutureCollection<T>(futures, interruptOnFailure);
+  }
+  
+  /**
+   * Provides a future which will be satisfied as soon as the requested quantity of the 
+   * provided futures have completed successfully.  Once satisfied, all remaining provided 
+   * futures will be canceled so that they stop consuming resources.  If once all provided 
+   * futures have completed there were not enough successes, the returned future will fail 
+   * with the last failure which occurred.
+   * 
+   * Canceling the returned future will also cancel all of the provided futures.
+   * 
+   * This future provides a list of the first futures to complete successfully as the result.  
+   * The list will have exactly {@code successCount} futures, and the order is NOT 
+   * deterministic.
+   * 
+   * @since 2.5.0
+   * 
+   * @param <T> type of result returned from the futures
+   * @param futures Structure of futures to iterate over
+   * @param successCount quantity of successful futures required, must be greater than zero
+   * @param interruptRemaining {@code true} to interrupt futures which are canceled once satisfied
+   * @return ListenableFuture which will be done once enough futures have succeeded
+   */
+  public static <T> ListenableFuture<List<ListenableFuture<? extends T>>> 
+      makeFirstSuccessesListFuture(Iterable<? extends ListenableFuture<? extends T>> futures, 
+                                   int successCount, boolean interruptRemaining) {
+    ArgumentVerifier.assertGreaterThanZero(successCount, "successCount");
+    
+    return new FirstSuccessesFutureCollection<T>(futures, successCount, interruptRemaining);
+  }
+  
   /**
    * Constructs a {@link ListenableFuture} that has already had the 
    * provided result given to it.  Thus the resulting future can not 
@@ -235,10 +386,375 @@ public class FutureUtils {
     return new ImmediateFailureListenableFuture<T>(failure);
   }
   
+  /**
+   * Transforms the result of a future once it completes successfully.  The transformer will 
+   * be invoked on the thread which completes the source future (or this thread if the source 
+   * future is already done).  If the source future fails, the returned future will fail with 
+   * the same cause, and the transformer will not be invoked.
+   * 
+   * If the source future is already done, the transformation is done immediately and an 
+   * already completed future is returned.
+   * 
+   * @since 2.5.0
+   * 
+   * @param <T> type of result from the source future
+   * @param <R> type of result from the returned future
+   * @param source future to transform the result of
+   * @param transformer transformer to convert the result
+   * @return future which will complete with the transformed result
+   */
+  public static <T, R> ListenableFuture<R> map(ListenableFuture<? extends T> source, 
+                                               Transformer<? super T, ? extends R> transformer) {
+    return map(source, transformer, null);
+  }
+  
+  /**
+   * Transforms the result of a future once it completes successfully.  If the source future 
+   * fails, the returned future will fail with the same cause, and the transformer will not 
+   * be invoked.
+   * 
+   * @since 2.5.0
+   * 
+   * @param <T> type of result from the source future
+   * @param <R> type of result from the returned future
+   * @param source future to transform the result of
+   * @param transformer transformer to convert the result
+   * @param executor executor to invoke transformer on, or null to invoke on completing thread
+   * @return future which will complete with the transformed result
+   */
+  public static <T, R> ListenableFuture<R> map(ListenableFuture<? extends T> source, 
+                                               Transformer<? super T, ? extends R> transformer, 
+                                               Executor executor) {
+    ArgumentVerifier.assertNotNull(source, "source");
+    ArgumentVerifier.assertNotNull(transformer, "transformer");
+    
+    if (executor == null && source.isDone()) {
+      T result;
+      try {
+        result = getDoneResult(source);
+      } catch (ExecutionException e) {
+        return new ImmediateFailureListenableFuture<R>(e.getCause());
+      }
+      try {
+        return new ImmediateResultListenableFuture<R>(transformer.transform(result));
+      } catch (Throwable t) {
+        return new ImmediateFailureListenableFuture<R>(t);
+      }
+    }
+    
+    MapFuture<T, R> result = new MapFuture<T, R>(source, transformer);
+    source.addListener(result, executor);
+    return result;
+  }
+  
+  /**
+   * Transforms the result of a future into another future once it completes successfully.  
+   * The returned future will complete once the future provided from the transformer 
+   * completes.  The transformer will be invoked on the thread which completes the source 
+   * future (or this thread if the source future is already done).  If the source future 
+   * fails, the returned future will fail with the same cause.
+   * 
+   * If the source future is already done, the future from the transformer will be returned 
+   * directly.
+   * 
+   * @since 2.5.0
+   * 
+   * @param <T> type of result from the source future
+   * @param <R> type of result from the returned future
+   * @param source future to transform the result of
+   * @param transformer transformer to produce the next future
+   * @return future which will complete with the result of the transformed future
+   */
+  public static <T, R> ListenableFuture<R> flatMap(ListenableFuture<? extends T> source, 
+                                                   Transformer<? super T, ? extends ListenableFuture<R>> transformer) {
+    return flatMap(source, transformer, null);
+  }
+  
+  /**
+   * Transforms the result of a future into another future once it completes successfully.  
+   * The returned future will complete once the future provided from the transformer 
+   * completes.  If the source future fails, the returned future will fail with the same 
+   * cause.
+   * 
+   * @since 2.5.0
+   * 
+   * @param <T> type of result from the source future
+   * @param <R> type of result from the returned future
+   * @param source future to transform the result of
+   * @param transformer transformer to produce the next future
+   * @param executor executor to invoke transformer on, or null to invoke on completing thread
+   * @return future which will complete with the result of the transformed future
+   */
+  public static <T, R> ListenableFuture<R> flatMap(ListenableFuture<? extends T> source, 
+                                                   Transformer<? super T, ? extends ListenableFuture<R>> transformer, 
+                                                   Executor executor) {
+    ArgumentVerifier.assertNotNull(source, "source");
+    ArgumentVerifier.assertNotNull(transformer, "transformer");
+    
+    if (executor == null && source.isDone()) {
+      T result;
+      try {
+        result = getDoneResult(source);
+      } catch (ExecutionException e) {
+        return new ImmediateFailureListenableFuture<R>(e.getCause());
+      }
+      try {
+        ListenableFuture<R> next = transformer.transform(result);
+        if (next == null) {
+          return new ImmediateFailureListenableFuture<R>(new NullPointerException("Transformer provided null future"));
+        }
+        return next;
+      } catch (Throwable t) {
+        return new ImmediateFailureListenableFuture<R>(t);
+      }
+    }
+    
+    FlatMapFuture<T, R> result = new FlatMapFuture<T, R>(source, transformer);
+    source.addListener(result, executor);
+    return result;
+  }
+  
+  /**
+   * Transforms the failure of a future into a result.  If the source future completes 
+   * successfully, the returned future will complete with the same result.  If the source 
+   * future fails (or is canceled) the transformer will be provided the cause, and the 
+   * returned future will complete with the result from the transformer.  The transformer 
+   * will be invoked on the thread which completes the source future (or this thread if the 
+   * source future is already done).
+   * 
+   * @since 2.5.0
+   * 
+   * @param <T> type of result from the futures
+   * @param source future to handle failures from
+   * @param transformer transformer to convert the failure into a result
+   * @return future which will complete with the result, or the transformed failure
+   */
+  public static <T> ListenableFuture<T> transformFailure(ListenableFuture<? extends T> source, 
+                                                         Transformer<? super Throwable, ? extends T> transformer) {
+    return transformFailure(source, transformer, null);
+  }
+  
+  /**
+   * Transforms the failure of a future into a result.  If the source future completes 
+   * successfully, the returned future will complete with the same result.  If the source 
+   * future fails (or is canceled) the transformer will be provided the cause, and the 
+   * returned future will complete with the result from the transformer.
+   * 
+   * @since 2.5.0
+   * 
+   * @param <T> type of result from the futures
+   * @param source future to handle failures from
+   * @param transformer transformer to convert the failure into a result
+   * @param executor executor to invoke transformer on, or null to invoke on completing thread
+   * @return future which will complete with the result, or the transformed failure
+   */
+  public static <T> ListenableFuture<T> transformFailure(ListenableFuture<? extends T> source, 
+                                                         Transformer<? super Throwable, ? extends T> transformer, 
+                                                         Executor executor) {
+    ArgumentVerifier.assertNotNull(source, "source");
+    ArgumentVerifier.assertNotNull(transformer, "transformer");
+    
+    if (executor == null && source.isDone()) {
+      try {
+        return new ImmediateResultListenableFuture<T>(getDoneResult(source));
+      } catch (ExecutionException e) {
+        try {
+          return new ImmediateResultListenableFuture<T>(transformer.transform(e.getCause()));
+        } catch (Throwable t) {
+          return new ImmediateFailureListenableFuture<T>(t);
+        }
+      }
+    }
+    
+    TransformFailureFuture<T> result = new TransformFailureFuture<T>(source, transformer);
+    source.addListener(result, executor);
+    return result;
+  }
+  
+  /**
+   * Runs a task once a future completes successfully.  The returned future will complete 
+   * with the result of the source future once the task has finished.  If the source future 
+   * fails, the task will not be run and the returned future will fail with the same cause.  
+   * If the task throws an exception the returned future will fail with that exception.  The 
+   * task will be run on the thread which completes the source future (or this thread if the 
+   * source future is already done).
+   * 
+   * @since 2.5.0
+   * 
+   * @param <T> type of result from the futures
+   * @param source future to wait for completion of
+   * @param task task to run once the source future completes
+   * @return future which will complete once the task has run
+   */
+  public static <T> ListenableFuture<T> thenRun(ListenableFuture<? extends T> source, Runnable task) {
+    return thenRun(source, task, null);
+  }
+  
+  /**
+   * Runs a task once a future completes successfully.  The returned future will complete 
+   * with the result of the source future once the task has finished.  If the source future 
+   * fails, the task will not be run and the returned future will fail with the same cause.  
+   * If the task throws an exception the returned future will fail with that exception.
+   * 
+   * @since 2.5.0
+   * 
+   * @param <T> type of result from the futures
+   * @param source future to wait for completion of
+   * @param task task to run once the source future completes
+   * @param executor executor to run task on, or null to run on completing thread
+   * @return future which will complete once the task has run
+   */
+  public static <T> ListenableFuture<T> thenRun(ListenableFuture<? extends T> source, Runnable task, 
+                                                Executor executor) {
+    ArgumentVerifier.assertNotNull(source, "source");
+    ArgumentVerifier.assertNotNull(task, "task");
+    
+    if (executor == null && source.isDone()) {
+      T result;
+      try {
+        result = getDoneResult(source);
+      } catch (ExecutionException e) {
+        return new ImmediateFailureListenableFuture<T>(e.getCause());
+      }
+      try {
+        task.run();
+      } catch (Throwable t) {
+        return new ImmediateFailureListenableFuture<T>(t);
+      }
+      return new ImmediateResultListenableFuture<T>(result);
+    }
+    
+    ThenRunFuture<T> result = new ThenRunFuture<T>(source, task);
+    source.addListener(result, executor);
+    return result;
+  }
+  
+  /**
+   * Provides a future which will fail with a {@link TimeoutException} if the provided future 
+   * does not complete within the given timeout.  If the timeout is reached, the provided 
+   * future will also be canceled (without interrupting).  Otherwise the returned future will 
+   * complete with the same result or failure as the provided future.
+   * 
+   * Timeouts are tracked in a single structure per scheduler, and are removed as soon as the 
+   * provided future completes.  So no matter how many futures are bounded, the scheduler only 
+   * needs to run a single task at the time of the next timeout.  If a new timeout is earlier 
+   * than any pending timeout, the previously scheduled task is removed from the scheduler if 
+   * it is a {@link SchedulerServiceInterface}, otherwise it will do nothing once run.
+   * 
+   * If the provided future is already done it will be returned directly.
+   * 
+   * @since 2.5.0
+   * 
+   * @param <T> type of result from the future
+   * @param future future to bound with a timeout
+   * @param timeoutInMs time in milliseconds to wait for the future to complete
+   * @param scheduler scheduler to use for checking timeouts
+   * @return future which will complete with the provided future, or fail on timeout
+   */
+  public static <T> ListenableFuture<T> withTimeout(ListenableFuture<T> future, long timeoutInMs, 
+                                                    SimpleSchedulerInterface scheduler) {
+    return withTimeout(future, timeoutInMs, scheduler, false);
+  }
+  
+  /**
+   * Provides a future which will fail with a {@link TimeoutException} if the provided future 
+   * does not complete within the given timeout.  If the timeout is reached, the provided 
+   * future will also be canceled.  Otherwise the returned future will complete with the same 
+   * result or failure as the provided future.
+   * 
+   * Timeouts are tracked in a single structure per scheduler, and are removed as soon as the 
+   * provided future completes.  So no matter how many futures are bounded, the scheduler only 
+   * needs to run a single task at the time of the next timeout.
+   * 
+   * If the provided future is already done it will be returned directly.
+   * 
+   * @since 2.5.0
+   * 
+   * @param <T> type of result from the future
+   * @param future future to bound with a timeout
+   * @param timeoutInMs time in milliseconds to wait for the future to complete
+   * @param scheduler scheduler to use for checking timeouts
+   * @param interruptOnTimeout {@code true} to interrupt the provided future when canceled on timeout
+   * @return future which will complete with the provided future, or fail on timeout
+   */
+  public static <T> ListenableFuture<T> withTimeout(ListenableFuture<T> future, long timeoutInMs, 
+                                                    SimpleSchedulerInterface scheduler, 
+                                                    boolean interruptOnTimeout) {
+    ArgumentVerifier.assertNotNull(future, "future");
+    ArgumentVerifier.assertNotNegative(timeoutInMs, "timeoutInMs");
+    ArgumentVerifier.assertNotNull(scheduler, "scheduler");
+    
+    if (future.isDone()) {
+      return future;
+    }
+    
+    TimeoutTimer timer = getTimeoutTimer(scheduler);
+    TimeoutFuture<T> result = new TimeoutFuture<T>(future, timer, 
+                                                   Clock.accurateTimeMillis() + timeoutInMs, 
+                                                   interruptOnTimeout);
+    timer.add(result, scheduler);
+    future.addListener(result);
+    
+    return result;
+  }
+  
+  /**
+   * Returns the {@link TimeoutTimer} for the provided scheduler, constructing one if this is 
+   * the first timeout for the scheduler.  Once a timer exists this does not lock.
+   * 
+   * @param scheduler scheduler to get the timer for
+   * @return timer for tracking timeouts on the scheduler
+   */
+  private static TimeoutTimer getTimeoutTimer(SimpleSchedulerInterface scheduler) {
+    TimeoutTimer timer = TIMEOUT_TIMERS.get(new SchedulerKey(scheduler, null));
+    if (timer == null) {
+      // remove timers for schedulers which have been garbage collected
+      Reference<? extends SimpleSchedulerInterface> collectedKey;
+      while ((collectedKey = COLLECTED_SCHEDULERS.poll()) != null) {
+        TIMEOUT_TIMERS.remove(collectedKey);
+      }
+      
+      SchedulerKey key = new SchedulerKey(scheduler, COLLECTED_SCHEDULERS);
+      timer = new TimeoutTimer(key);
+      TimeoutTimer existingTimer = TIMEOUT_TIMERS.putIfAbsent(key, timer);
+      if (existingTimer != null) {
+        timer = existingTimer;
+      }
+    }
+    
+    return timer;
+  }
+  
+  /**
+   * Gets the result from a future which is known to already be done.  If the future was 
+   * canceled, the {@link CancellationException} will be provided as the cause of the thrown 
+   * {@link ExecutionException}.
+   * 
+   * @param <T> type of result from the future
+   * @param future future which is already done
+   * @return result of the future
+   * @throws ExecutionException thrown if the future failed or was canceled
+   */
+  private static <T> T getDoneResult(Future<? extends T> future) throws ExecutionException {
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      // should not be possible since the future is already done
+      Thread.currentThread().interrupt();
+      throw new ExecutionException(e);
+    } catch (CancellationException e) {
+      throw new ExecutionException(e);
+    }
+  }
+  
   /**
    * <p>A future implementation that will return a List of futures as the result.  The 
    * future will not be satisfied till all provided futures have completed.</p>
    * 
+   * <p>If constructed to propagate cancels, calls to cancel this future will be forwarded 
+   * to all provided futures.  Implementations may also complete early, at which point 
+   * they can cancel any futures which are still running.</p>
+   * 
    * @author jent - Mike Jensn
    * @since 1.2.0
    * @param <T> type of result returned from the futures
@@ -246,37 +762,138 @@ public class FutureUtils {
   protected abstract static class FutureCollection<T> 
       extends SettableListenableFuture<List<ListenableFuture<? extends T>>> {
     protected final AtomicInteger remainingResult;
+    protected final boolean propagateCancel;
     private final AtomicReference<List<ListenableFuture<? extends T>>> buildingResult;
+    private final AtomicBoolean completed;
+    private volatile List<ListenableFuture<? extends T>> futures;
+    private volatile boolean canceled;
     
     protected FutureCollection(Iterable<? extends ListenableFuture<? extends T>> source) {
+      this(false);
+      
+      addFutures(source);
+    }
+    
+    /**
+     * Constructs a new collection which has not yet been provided any futures.  Once the 
+     * extending class has finished construction, {@link #addFutures(Iterable)} must be 
+     * invoked.
+     * 
+     * @since 2.5.0
+     * @param propagateCancel {@code true} to forward cancel calls to the provided futures
+     */
+    protected FutureCollection(boolean propagateCancel) {
       remainingResult = new AtomicInteger(0); // may go negative if results finish before all are added
+      this.propagateCancel = propagateCancel;
       buildingResult = new AtomicReference<List<ListenableFuture<? extends T>>>(null);
+      completed = new AtomicBoolean(false);
+      futures = null;
+      canceled = false;
+    }
+    
+    /**
+     * Adds the futures to be watched by this collection.  This must only be invoked once.
+     * 
+     * @since 2.5.0
+     * @param source futures to watch for completion
+     */
+    protected void addFutures(Iterable<? extends ListenableFuture<? extends T>> source) {
+      boolean inspectImmediately = inspectsFuturesImmediately();
+      if (source != null && (propagateCancel || (! inspectImmediately && inspectsFutures()))) {
+        // store all futures before adding listeners so that they can be canceled at any point
+        List<ListenableFuture<? extends T>> futureList;
+        if (source instanceof Collection) {
+          futureList = new ArrayList<ListenableFuture<? extends T>>(((Collection<?>)source).size());
+        } else {
+          futureList = new ArrayList<ListenableFuture<? extends T>>();
+        }
+        Iterator<? extends ListenableFuture<? extends T>> it = source.iterator();
+        while (it.hasNext()) {
+          futureList.add(it.next());
+        }
+        futures = futureList;
+        source = futureList;
+      }
       
       int expectedResultCount = 0;
       if (source != null) {
+        // unless futures must be inspected as they complete, a single listener can be shared
+        Runnable doneListener = inspectImmediately ? null : new FutureDoneListener();
         Iterator<? extends ListenableFuture<? extends T>> it = source.iterator();
         while (it.hasNext()) {
           expectedResultCount++;
           
           final ListenableFuture<? extends T> f = it.next();
-          f.addListener(new Runnable() {
-            @Override
-            public void run() {
-              handleFutureDone(f);
-              
-              // all futures are now done
-              if (remainingResult.decrementAndGet() == 0) {
-                setResult(getFinalResultList());
+          if (inspectImmediately) {
+            f.addListener(new Runnable() {
+              @Override
+              public void run() {
+                handleFutureDone(f);
+                
+                futureDone();
               }
-            }
-          });
+            });
+          } else {
+            f.addListener(doneListener);
+          }
         }
       }
       
       // we need to verify that all futures have not already completed
       if (remainingResult.addAndGet(expectedResultCount) == 0) {
-        setResult(getFinalResultList());
+        allFuturesDone();
+      }
+    }
+    
+    /**
+     * Indicates if {@link #handleFutureDone(ListenableFuture)} needs to be invoked for the 
+     * provided futures.  If {@code false} the provided futures will not be retained (unless 
+     * needed to propagate cancels), and only the count of completed futures is tracked.
+     * 
+     * @since 2.5.0
+     * @return {@code true} if the completed futures need to be inspected
+     */
+    protected boolean inspectsFutures() {
+      return true;
+    }
+    
+    /**
+     * Indicates if {@link #handleFutureDone(ListenableFuture)} must be invoked as each 
+     * provided future completes.  If {@code false}, it will instead be invoked for each 
+     * future once all provided futures have completed, which allows a single listener to be 
+     * shared across all the provided futures.  Implementations which may complete before all 
+     * futures have completed must return {@code true}.
+     * 
+     * @since 2.5.0
+     * @return {@code true} if futures must be inspected as they complete
+     */
+    protected boolean inspectsFuturesImmediately() {
+      return false;
+    }
+    
+    /**
+     * Invoked each time a provided future completes.
+     */
+    private void futureDone() {
+      if (remainingResult.decrementAndGet() == 0) {
+        allFuturesDone();
+      }
+    }
+    
+    /**
+     * Invoked once all provided futures are done.  If futures are inspected once all have 
+     * completed, that is done here before the collection is completed.
+     */
+    private void allFuturesDone() {
+      List<ListenableFuture<? extends T>> futures = this.futures;
+      if (futures != null && inspectsFutures() && ! inspectsFuturesImmediately()) {
+        Iterator<ListenableFuture<? extends T>> it = futures.iterator();
+        while (it.hasNext()) {
+          handleFutureDone(it.next());
+        }
       }
+      
+      handleAllFuturesDone();
     }
     
     /**
@@ -290,6 +907,14 @@ public class FutureUtils {
       List<ListenableFuture<? extends T>> result = buildingResult.get();
       
       if (result == null) {
+        List<ListenableFuture<? extends T>> futures = this.futures;
+        if (futures != null && ! inspectsFuturesImmediately()) {
+          // only accessed by the thread which completed the last future
+          result = new ArrayList<ListenableFuture<? extends T>>(futures.size());
+          buildingResult.set(result);
+          return result;
+        }
+        
         int rearPadding = remainingResult.get();
         if (rearPadding < 0) {
           rearPadding *= -1;
@@ -319,37 +944,175 @@ public class FutureUtils {
      * @param f {@link ListenableFuture} that has completed
      */
     protected abstract void handleFutureDone(ListenableFuture<? extends T> f);
-
+    
     /**
-     * Will only be called once, and all allocated resources can be freed after this
-     * point.
+     * Invoked once every provided future has completed.  By default this completes this 
+     * future with the list of saved futures (unless it has already completed early).
      * 
-     * @return List to satisfy ListenableFuture result with
+     * @since 2.5.0
      */
-    private List<ListenableFuture<? extends T>> getFinalResultList() {
-      List<ListenableFuture<? extends T>> result;
-      if (buildingResult.get() == null) {
-        result = Collections.emptyList();
+    protected void handleAllFuturesDone() {
+      completeWithResult();
+    }
+    
+    /**
+     * Completes this future with the list of saved futures, unless this future has already 
+     * completed.
+     * 
+     * @since 2.5.0
+     * @return {@code true} if this future was completed by this call
+     */
+    protected boolean completeWithResult() {
+      if (completed.compareAndSet(false, true)) {
+        setResult(getFinalResultList());
+        return true;
       } else {
-        result = Collections.unmodifiableList(buildingResult.get());
-        buildingResult.set(null);
+        return false;
       }
-      
-      return result;
     }
-  }
-  
-  /**
-   * <p>A future implementation that will be satisfied till all provided futures 
-   * have completed.</p>
-   * 
-   * @author jent - Mike Jensn
-   * @since 1.2.0
+    
+    /**
+     * Completes this future with the provided failure, unless this future has already 
+     * completed.
+     * 
+     * @since 2.5.0
+     * @param failure cause of the failure
+     * @return {@code true} if this future was completed by this call
+     */
+    protected boolean completeWithFailure(Throwable failure) {
+      if (completed.compareAndSet(false, true)) {
+        setFailure(failure);
+        return true;
+      } else {
+        return false;
+      }
+    }
+    
+    /**
+     * Cancels all provided futures.  This has no effect unless this collection was 
+     * constructed to propagate cancels.  Futures which are already done are not 
+     * impacted.
+     * 
+     * @since 2.5.0
+     * @param mayInterruptIfRunning {@code true} to interrupt threads running the futures
+     */
+    protected void cancelFutures(boolean mayInterruptIfRunning) {
+      List<ListenableFuture<? extends T>> futures = this.futures;
+      if (propagateCancel && futures != null) {
+        Iterator<ListenableFuture<? extends T>> it = futures.iterator();
+        while (it.hasNext()) {
+          it.next().cancel(mayInterruptIfRunning);
+        }
+      }
+    }
+    
+    /**
+     * If constructed to propagate cancels, this future will be completed as canceled and the 
+     * cancel will be forwarded to all provided futures.  Otherwise this has no effect.
+     * 
+     * @param mayInterruptIfRunning {@code true} to interrupt threads running the futures
+     * @return {@code true} if this future was canceled
+     */
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+      if (! propagateCancel || ! completed.compareAndSet(false, true)) {
+        return false;
+      }
+      
+      canceled = true;
+      setFailure(new CancellationException());
+      cancelFutures(mayInterruptIfRunning);
+      
+      return true;
+    }
+    
+    @Override
+    public boolean isCancelled() {
+      return canceled;
+    }
+    
+    @Override
+    public List<ListenableFuture<? extends T>> get() throws InterruptedException, 
+                                                            ExecutionException {
+      try {
+        return super.get();
+      } catch (ExecutionException e) {
+        if (canceled) {
+          throw new CancellationException();
+        }
+        throw e;
+      }
+    }
+    
+    @Override
+    public List<ListenableFuture<? extends T>> get(long timeout, TimeUnit unit) 
+        throws InterruptedException, ExecutionException, TimeoutException {
+      try {
+        return super.get(timeout, unit);
+      } catch (ExecutionException e) {
+        if (canceled) {
+          throw new CancellationException();
+        }
+        throw e;
+      }
+    }
+
+    /**
+     * <p>Listener which is shared across all provided futures, so that only a single 
+     * listener is allocated no matter how many futures are provided.</p>
+     * 
+     * @author jent - Mike Jensen
+     * @since 2.5.0
+     */
+    private class FutureDoneListener implements Runnable {
+      @Override
+      public void run() {
+        futureDone();
+      }
+    }
+
+    /**
+     * Will only be called once, and all allocated resources can be freed after this
+     * point.
+     * 
+     * @return List to satisfy ListenableFuture result with
+     */
+    private List<ListenableFuture<? extends T>> getFinalResultList() {
+      List<ListenableFuture<? extends T>> result;
+      if (buildingResult.get() == null) {
+        result = Collections.emptyList();
+      } else {
+        result = Collections.unmodifiableList(buildingResult.get());
+        buildingResult.set(null);
+      }
+      
+      return result;
+    }
+  }
+  
+  /**
+   * <p>A future implementation that will be satisfied till all provided futures 
+   * have completed.</p>
+   * 
+   * @author jent - Mike Jensn
+   * @since 1.2.0
    */
   protected static class EmptyFutureCollection extends FutureCollection<Object> {
     protected EmptyFutureCollection(Iterable<? extends ListenableFuture<?>> source) {
       super(source);
     }
+    
+    protected EmptyFutureCollection(Iterable<? extends ListenableFuture<?>> source, 
+                                    boolean propagateCancel) {
+      super(propagateCancel);
+      
+      addFutures(source);
+    }
+
+    @Override
+    protected boolean inspectsFutures() {
+      return false;
+    }
 
     @Override
     protected void handleFutureDone(ListenableFuture<?> f) {
@@ -370,8 +1133,13 @@ public class FutureUtils {
   protected static class AllFutureCollection<T> extends FutureCollection<T> {
     protected AllFutureCollection(Iterable<? extends ListenableFuture<? extends T>> source) {
       super(source);
+    }
+    
+    protected AllFutureCollection(Iterable<? extends ListenableFuture<? extends T>> source, 
+                                  boolean propagateCancel) {
+      super(propagateCancel);
       
-      getBuildingResult();
+      addFutures(source);
     }
 
     @Override
@@ -396,6 +1164,11 @@ public class FutureUtils {
     protected SuccessFutureCollection(Iterable<? extends ListenableFuture<? extends T>> source) {
       super(source);
     }
+    
+    protected SuccessFutureCollection(Iterable<? extends ListenableFuture<? extends T>> source, 
+                                      boolean propagateCancel) {
+      super(source, propagateCancel);
+    }
 
     @Override
     protected void handleFutureDone(ListenableFuture<? extends T> f) {
@@ -432,6 +1205,11 @@ public class FutureUtils {
     protected FailureFutureCollection(Iterable<? extends ListenableFuture<? extends T>> source) {
       super(source);
     }
+    
+    protected FailureFutureCollection(Iterable<? extends ListenableFuture<? extends T>> source, 
+                                      boolean propagateCancel) {
+      super(source, propagateCancel);
+    }
 
     @Override
     protected void handleFutureDone(ListenableFuture<? extends T> f) {
@@ -451,4 +1229,523 @@ public class FutureUtils {
       }
     }
   }
+  
+  /**
+   * <p>A future implementation that will return a List of futures as the result.  The 
+   * future will be satisfied once all provided futures have completed successfully, or 
+   * will fail as soon as any provided future fails.</p>
+   * 
+   * <p>Once a failure is seen, all the other provided futures will be canceled, so that 
+   * they do not continue to consume resources once the outcome is known.</p>
+   * 
+   * @author jent - Mike Jensen
+   * @since 2.5.0
+   * @param <T> type of result returned from the futures
+   */
+  protected static class FailFastFutureCollection<T> extends FutureCollection<T> {
+    protected final boolean interruptOnFailure;
+    
+    protected FailFastFutureCollection(Iterable<? extends ListenableFuture<? extends T>> source, 
+                                       boolean interruptOnFailure) {
+      super(true);
+      
+      this.interruptOnFailure = interruptOnFailure;
+      
+      getBuildingResult();
+      addFutures(source);
+    }
+
+    @Override
+    protected boolean inspectsFuturesImmediately() {
+      return true;
+    }
+
+    @Override
+    protected void handleFutureDone(ListenableFuture<? extends T> f) {
+      try {
+        f.get();
+        
+        getBuildingResult().add(f);
+      } catch (InterruptedException e) {
+        /* should not be possible since this should only 
+         * be called once the future is already done
+         */
+        Thread.currentThread().interrupt();
+      } catch (ExecutionException e) {
+        if (completeWithFailure(e.getCause())) {
+          cancelFutures(interruptOnFailure);
+        }
+      } catch (CancellationException e) {
+        if (completeWithFailure(e)) {
+          cancelFutures(interruptOnFailure);
+        }
+      }
+    }
+  }
+  
+  /**
+   * <p>A future implementation that will return a List of futures as the result.  The 
+   * future will be satisfied as soon as the required quantity of provided futures have 
+   * completed successfully.  The resulting list will contain exactly that many futures.</p>
+   * 
+   * <p>Once satisfied, all the other provided futures will be canceled.  If there are not 
+   * enough successful futures once all provided futures have completed, this future will 
+   * fail with the last failure which was seen.</p>
+   * 
+   * @author jent - Mike Jensen
+   * @since 2.5.0
+   * @param <T> type of result returned from the futures
+   */
+  protected static class FirstSuccessesFutureCollection<T> extends FutureCollection<T> {
+    protected final int requiredSuccesses;
+    protected final boolean interruptRemaining;
+    private final AtomicInteger remainingSlots;
+    private final AtomicInteger addedSuccesses;
+    private volatile Throwable lastFailure;
+    
+    protected FirstSuccessesFutureCollection(Iterable<? extends ListenableFuture<? extends T>> source, 
+                                             int requiredSuccesses, boolean interruptRemaining) {
+      super(true);
+      
+      this.requiredSuccesses = requiredSuccesses;
+      this.interruptRemaining = interruptRemaining;
+      remainingSlots = new AtomicInteger(requiredSuccesses);
+      addedSuccesses = new AtomicInteger(0);
+      lastFailure = null;
+      
+      addFutures(source);
+    }
+
+    @Override
+    protected boolean inspectsFuturesImmediately() {
+      return true;
+    }
+
+    @Override
+    protected void handleFutureDone(ListenableFuture<? extends T> f) {
+      try {
+        f.get();
+        
+        if (remainingSlots.decrementAndGet() >= 0) {
+          getBuildingResult().add(f);
+          // only complete once all slots have been added to the list
+          if (addedSuccesses.incrementAndGet() == requiredSuccesses && completeWithResult()) {
+            cancelFutures(interruptRemaining);
+          }
+        }
+      } catch (InterruptedException e) {
+        /* should not be possible since this should only 
+         * be called once the future is already done
+         */
+        Thread.currentThread().interrupt();
+      } catch (ExecutionException e) {
+        lastFailure = e.getCause();
+      } catch (CancellationException e) {
+        lastFailure = e;
+      }
+    }
+    
+    @Override
+    protected void handleAllFuturesDone() {
+      Throwable failure = lastFailure;
+      if (failure == null) {
+        failure = new IllegalStateException("Only " + addedSuccesses.get() + 
+                                              " futures provided, " + requiredSuccesses + 
+                                              " successes required");
+      }
+      completeWithFailure(failure);
+    }
+  }
+  
+  /**
+   * <p>Future which is completed based off the result of a source future.  This is also the 
+   * listener for the source future, so that only a single object needs to be allocated for 
+   * each stage.</p>
+   * 
+   * @author jent - Mike Jensen
+   * @since 2.5.0
+   * @param <S> type of result from the source future
+   * @param <R> type of result from this future
+   */
+  protected abstract static class ChainedFuture<S, R> extends LockFreeSettableListenableFuture<R> 
+                                                      implements Runnable {
+    protected final ListenableFuture<? extends S> source;
+    
+    protected ChainedFuture(ListenableFuture<? extends S> source) {
+      this.source = source;
+    }
+    
+    @Override
+    public void run() {
+      S result;
+      try {
+        result = getDoneResult(source);
+      } catch (ExecutionException e) {
+        handleSourceFailure(e.getCause());
+        return;
+      }
+      handleSourceResult(result);
+    }
+    
+    /**
+     * Called once the source future has completed successfully.
+     * 
+     * @param result result from the source future
+     */
+    protected abstract void handleSourceResult(S result);
+    
+    /**
+     * Called once the source future has failed or was canceled.  By default this future will 
+     * fail with the same cause.
+     * 
+     * @param t cause of the failure
+     */
+    protected void handleSourceFailure(Throwable t) {
+      setFailure(t);
+    }
+  }
+  
+  /**
+   * <p>Future which completes with the transformed result of the source future.</p>
+   * 
+   * @author jent - Mike Jensen
+   * @since 2.5.0
+   * @param <S> type of result from the source future
+   * @param <R> type of result from this future
+   */
+  protected static class MapFuture<S, R> extends ChainedFuture<S, R> {
+    private final Transformer<? super S, ? extends R> transformer;
+    
+    protected MapFuture(ListenableFuture<? extends S> source, 
+                        Transformer<? super S, ? extends R> transformer) {
+      super(source);
+      
+      this.transformer = transformer;
+    }
+    
+    @Override
+    protected void handleSourceResult(S result) {
+      R transformedResult;
+      try {
+        transformedResult = transformer.transform(result);
+      } catch (Throwable t) {
+        setFailure(t);
+        return;
+      }
+      setResult(transformedResult);
+    }
+  }
+  
+  /**
+   * <p>Future which completes with the result of the future provided by the transformer.</p>
+   * 
+   * @author jent - Mike Jensen
+   * @since 2.5.0
+   * @param <S> type of result from the source future
+   * @param <R> type of result from this future
+   */
+  protected static class FlatMapFuture<S, R> extends ChainedFuture<S, R> {
+    private final Transformer<? super S, ? extends ListenableFuture<R>> transformer;
+    
+    protected FlatMapFuture(ListenableFuture<? extends S> source, 
+                            Transformer<? super S, ? extends ListenableFuture<R>> transformer) {
+      super(source);
+      
+      this.transformer = transformer;
+    }
+    
+    @Override
+    protected void handleSourceResult(S result) {
+      ListenableFuture<R> next;
+      try {
+        next = transformer.transform(result);
+      } catch (Throwable t) {
+        setFailure(t);
+        return;
+      }
+      if (next == null) {
+        setFailure(new NullPointerException("Transformer provided null future"));
+      } else {
+        next.addCallback(this);
+      }
+    }
+  }
+  
+  /**
+   * <p>Future which completes with the source result, or the transformed failure.</p>
+   * 
+   * @author jent - Mike Jensen
+   * @since 2.5.0
+   * @param <T> type of result from the futures
+   */
+  protected static class TransformFailureFuture<T> extends ChainedFuture<T, T> {
+    private final Transformer<? super Throwable, ? extends T> transformer;
+    
+    protected TransformFailureFuture(ListenableFuture<? extends T> source, 
+                                     Transformer<? super Throwable, ? extends T> transformer) {
+      super(source);
+      
+      this.transformer = transformer;
+    }
+    
+    @Override
+    protected void handleSourceResult(T result) {
+      setResult(result);
+    }
+    
+    @Override
+    protected void handleSourceFailure(Throwable t) {
+      T transformedResult;
+      try {
+        transformedResult = transformer.transform(t);
+      } catch (Throwable transformFailure) {
+        setFailure(transformFailure);
+        return;
+      }
+      setResult(transformedResult);
+    }
+  }
+  
+  /**
+   * <p>Future which runs a task after the source completes successfully, and then 
+   * completes with the source result.</p>
+   * 
+   * @author jent - Mike Jensen
+   * @since 2.5.0
+   * @param <T> type of result from the futures
+   */
+  protected static class ThenRunFuture<T> extends ChainedFuture<T, T> {
+    private final Runnable task;
+    
+    protected ThenRunFuture(ListenableFuture<? extends T> source, Runnable task) {
+      super(source);
+      
+      this.task = task;
+    }
+    
+    @Override
+    protected void handleSourceResult(T result) {
+      try {
+        task.run();
+      } catch (Throwable t) {
+        setFailure(t);
+        return;
+      }
+      setResult(result);
+    }
+  }
+  
+  /**
+   * <p>Weak reference to a scheduler, used as the key for its {@link TimeoutTimer}.  Keys are 
+   * compared by the identity of the scheduler.  Once the scheduler has been collected a key is 
+   * only equal to itself.</p>
+   * 
+   * @author jent - Mike Jensen
+   * @since 2.5.0
+   */
+  private static class SchedulerKey extends WeakReference<SimpleSchedulerInterface> {
+    private final int hashCode;
+    
+    private SchedulerKey(SimpleSchedulerInterface scheduler, 
+                         ReferenceQueue<SimpleSchedulerInterface> queue) {
+      super(scheduler, queue);
+      
+      this.hashCode = System.identityHashCode(scheduler);
+    }
+    
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+    
+    @Override
+    public boolean equals(Object o) {
+      if (o == this) {
+        return true;
+      } else if (o instanceof SchedulerKey) {
+        SimpleSchedulerInterface scheduler = get();
+        return scheduler != null && scheduler == ((SchedulerKey)o).get();
+      } else {
+        return false;
+      }
+    }
+  }
+  
+  /**
+   * <p>Tracks all pending timeouts for a single scheduler.  Timeouts are ordered by their 
+   * deadline, and only a single task is scheduled for the earliest deadline.  Timeouts are 
+   * removed as soon as their future completes, and if a new timeout requires an earlier check, 
+   * the superseded check is removed from the scheduler (if the scheduler supports removal).  
+   * So the scheduler is not left with dead tasks for futures which completed in time.</p>
+   * 
+   * @author jent - Mike Jensen
+   * @since 2.5.0
+   */
+  protected static class TimeoutTimer {
+    private final WeakReference<SimpleSchedulerInterface> schedulerReference;
+    private final ConcurrentSkipListSet<TimeoutFuture<?>> pendingTimeouts;
+    private final AtomicReference<TimeoutCheck> scheduledCheck;
+    
+    protected TimeoutTimer(WeakReference<SimpleSchedulerInterface> schedulerReference) {
+      this.schedulerReference = schedulerReference;
+      pendingTimeouts = new ConcurrentSkipListSet<TimeoutFuture<?>>();
+      scheduledCheck = new AtomicReference<TimeoutCheck>(null);
+    }
+    
+    /**
+     * Adds a timeout to be tracked, scheduling a check if this is now the earliest deadline.
+     * 
+     * @param tf future to time out
+     * @param scheduler scheduler to run timeout checks on
+     */
+    protected void add(TimeoutFuture<?> tf, SimpleSchedulerInterface scheduler) {
+      pendingTimeouts.add(tf);
+      
+      ensureCheckScheduled(tf.deadline, scheduler);
+    }
+    
+    /**
+     * Removes a timeout which is no longer needed.
+     * 
+     * @param tf future which has completed
+     */
+    protected void remove(TimeoutFuture<?> tf) {
+      pendingTimeouts.remove(tf);
+    }
+    
+    /**
+     * Makes sure that a check is scheduled to run no later than the provided time.  If a check 
+     * is already scheduled for a later time, it is replaced and removed from the scheduler.
+     * 
+     * @param checkTime absolute time in milliseconds a check must run by
+     * @param scheduler scheduler to run the check on
+     */
+    private void ensureCheckScheduled(long checkTime, SimpleSchedulerInterface scheduler) {
+      while (true) {
+        TimeoutCheck currentCheck = scheduledCheck.get();
+        if (currentCheck != null && currentCheck.checkTime <= checkTime) {
+          return;
+        }
+        TimeoutCheck newCheck = new TimeoutCheck(checkTime);
+        if (scheduledCheck.compareAndSet(currentCheck, newCheck)) {
+          scheduler.schedule(newCheck, Math.max(0, checkTime - Clock.accurateTimeMillis()));
+          if (scheduler instanceof SchedulerServiceInterface) {
+            SchedulerServiceInterface service = (SchedulerServiceInterface)scheduler;
+            if (currentCheck != null) {
+              service.remove(currentCheck);
+            }
+            if (scheduledCheck.get() != newCheck) {
+              // superseded before it was scheduled, so the other thread could not remove it
+              service.remove(newCheck);
+            }
+          }
+          return;
+        }
+      }
+    }
+    
+    /**
+     * <p>Task which times out all expired futures, and then schedules for the next deadline.  
+     * This does not reference the scheduler, so that the timer does not prevent the scheduler 
+     * from being collected.</p>
+     * 
+     * @author jent - Mike Jensen
+     * @since 2.5.0
+     */
+    private class TimeoutCheck implements Runnable {
+      private final long checkTime;
+      
+      private TimeoutCheck(long checkTime) {
+        this.checkTime = checkTime;
+      }
+      
+      @Override
+      public void run() {
+        // reset first so that any timeouts added while checking will be scheduled
+        scheduledCheck.compareAndSet(this, null);
+        
+        long now = Clock.accurateTimeMillis();
+        Iterator<TimeoutFuture<?>> it = pendingTimeouts.iterator();
+        while (it.hasNext()) {
+          TimeoutFuture<?> tf = it.next();
+          if (tf.deadline > now) {
+            // scheduler is running this task, so it can not have been collected
+            SimpleSchedulerInterface scheduler = schedulerReference.get();
+            if (scheduler != null) {
+              ensureCheckScheduled(tf.deadline, scheduler);
+            }
+            break;
+          } else if (pendingTimeouts.remove(tf)) {
+            tf.timeout();
+          }
+        }
+      }
+    }
+  }
+  
+  /**
+   * <p>Future which completes with the result of the source future, unless the deadline is 
+   * reached first.  This is also the listener for the source future, and the entry in the 
+   * {@link TimeoutTimer}.</p>
+   * 
+   * @author jent - Mike Jensen
+   * @since 2.5.0
+   * @param <T> type of result from the futures
+   */
+  protected static class TimeoutFuture<T> extends LockFreeSettableListenableFuture<T> 
+                                          implements Runnable, Comparable<TimeoutFuture<?>> {
+    protected final ListenableFuture<? extends T> source;
+    protected final long deadline;
+    protected final boolean interruptOnTimeout;
+    private final TimeoutTimer timer;
+    private final long sequence;
+    
+    protected TimeoutFuture(ListenableFuture<? extends T> source, TimeoutTimer timer, 
+                            long deadline, boolean interruptOnTimeout) {
+      this.source = source;
+      this.deadline = deadline;
+      this.interruptOnTimeout = interruptOnTimeout;
+      this.timer = timer;
+      this.sequence = TIMEOUT_SEQUENCE.getAndIncrement();
+    }
+    
+    @Override
+    public void run() {
+      timer.remove(this);
+      
+      T result;
+      try {
+        result = getDoneResult(source);
+      } catch (ExecutionException e) {
+        trySetFailure(e.getCause());
+        return;
+      }
+      trySetResult(result);
+    }
+    
+    /**
+     * Called once the deadline has passed.  Fails this future and cancels the source future 
+     * if the source future has not already completed.
+     */
+    protected void timeout() {
+      if (trySetFailure(new TimeoutException("Future did not complete within timeout"))) {
+        source.cancel(interruptOnTimeout);
+      }
+    }
+    
+    @Override
+    public int compareTo(TimeoutFuture<?> o) {
+      if (deadline < o.deadline) {
+        return -1;
+      } else if (deadline > o.deadline) {
+        return 1;
+      } else if (sequence < o.sequence) {
+        return -1;
+      } else if (sequence > o.sequence) {
+        return 1;
+      } else {
+        return 0;
+      }
+    }
+  }
 }
@@ -2,8 +2,11 @@ package org.threadly.concurrent.future;
 
 import java.util.concurrent.Callable;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executors;
 import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import org.threadly.concurrent.CallableContainerInterface;
 import org.threadly.concurrent.RunnableContainerInterface;
@@ -25,6 +28,7 @@ public class ListenableFutureTask<T> extends FutureTask<T>
   protected final boolean recurring;
   protected final Runnable runnable;
   protected final Callable<T> callable;
+  private volatile SpinWaitPolicy spinWaitPolicy;
   
   /**
    * Constructs a runnable future with a runnable work unit.
@@ -50,6 +54,7 @@ public class ListenableFutureTask<T> extends FutureTask<T>
     this.recurring = recurring;
     this.runnable = task;
     this.callable = null;
+    this.spinWaitPolicy = null;
   }
 
   /**
@@ -65,6 +70,7 @@ public class ListenableFutureTask<T> extends FutureTask<T>
     this.recurring = recurring;
     this.runnable = null;
     this.callable = task;
+    this.spinWaitPolicy = null;
   }
   
   @Override
@@ -96,6 +102,56 @@ public class ListenableFutureTask<T> extends FutureTask<T>
     FutureUtils.addCallback(this, callback, executor);
   }
   
+  /**
+   * Sets the policy for how long threads calling .get() should spin before blocking.  If not 
+   * set (or set to {@code null}) the global default from 
+   * {@link SpinWaitPolicy#getDefaultPolicy()} will be used.
+   * 
+   * @since 2.5.0
+   * @param policy policy to use for this future, or {@code null} to use the default
+   */
+  public void setSpinWaitPolicy(SpinWaitPolicy policy) {
+    spinWaitPolicy = policy;
+  }
+  
+  /**
+   * Returns the spin policy to use for this future.
+   * 
+   * @return policy set for this future, or the global default
+   */
+  private SpinWaitPolicy getSpinWaitPolicy() {
+    SpinWaitPolicy result = spinWaitPolicy;
+    if (result == null) {
+      return SpinWaitPolicy.getDefaultPolicy();
+    } else {
+      return result;
+    }
+  }
+  
+  @Override
+  public T get() throws InterruptedException, ExecutionException {
+    if (! isDone()) {
+      getSpinWaitPolicy().spinUntilDone(this);
+    }
+    
+    return super.get();
+  }
+  
+  @Override
+  public T get(long timeout, TimeUnit unit) throws InterruptedException, 
+                                                   ExecutionException, 
+                                                   TimeoutException {
+    long timeoutNanos = unit.toNanos(timeout);
+    if (! isDone()) {
+      long startNanos = System.nanoTime();
+      if (! getSpinWaitPolicy().spinUntilDone(this, startNanos + timeoutNanos)) {
+        timeoutNanos -= System.nanoTime() - startNanos;
+      }
+    }
+    
+    return super.get(timeoutNanos, TimeUnit.NANOSECONDS);
+  }
+  
   /**
    * Can not be overridden, please use addListener as an alternative.
    */
@@ -0,0 +1,450 @@
+package org.threadly.concurrent.future;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.concurrent.locks.LockSupport;
+
+import org.threadly.util.ArgumentVerifier;
+import org.threadly.util.ExceptionUtils;
+
+/**
+ * <p>An alternative to {@link SettableListenableFuture} which never blocks on a monitor.  The
+ * result is published through a single atomic field, listeners are pushed on to a lock free
+ * stack, and threads blocking in .get() are parked individually and unparked once the result
+ * is set.</p>
+ *
+ * <p>This has the same behavior as {@link SettableListenableFuture}, only one of setResult or
+ * setFailure may be called, and only once.  Listeners are called in the order they were added.
+ * Listeners added after the future has completed will be called immediately on the thread
+ * adding them (or submitted to their executor).</p>
+ *
+ * <p>This is most useful when futures are created and completed at a high rate, since it
+ * does not allocate a listener helper or lock for every future, and does not contend on a
+ * monitor between the completing thread and threads adding listeners.</p>
+ *
+ * @author jent - Mike Jensen
+ * @since 2.5.0
+ * @param <T> type of returned object
+ */
+public class LockFreeSettableListenableFuture<T> extends AbstractNoncancelableListenableFuture<T>
+                                                 implements ListenableFuture<T>, FutureCallback<T> {
+  @SuppressWarnings("rawtypes")
+  private static final AtomicReferenceFieldUpdater<LockFreeSettableListenableFuture, Object> VALUE_UPDATER =
+      AtomicReferenceFieldUpdater.newUpdater(LockFreeSettableListenableFuture.class, Object.class, "value");
+  @SuppressWarnings("rawtypes")
+  private static final AtomicReferenceFieldUpdater<LockFreeSettableListenableFuture, Node> STACK_UPDATER =
+      AtomicReferenceFieldUpdater.newUpdater(LockFreeSettableListenableFuture.class, Node.class, "stack");
+  private static final Object NULL_RESULT = new Object();
+  private static final Node DONE_STACK = new Node(null, null, null);
+
+  private volatile Object value;  // null until done, then the result, NULL_RESULT or a Failure
+  private volatile Node stack;    // listeners and waiters, DONE_STACK once done
+
+  /**
+   * Constructs a new {@link LockFreeSettableListenableFuture}.  You can return this
+   * immediately and provide a result to the object later when it is ready.
+   */
+  public LockFreeSettableListenableFuture() {
+    value = null;
+    stack = null;
+  }
+
+  @Override
+  public void addListener(Runnable listener) {
+    addListener(listener, null);
+  }
+
+  @Override
+  public void addListener(Runnable listener, Executor executor) {
+    ArgumentVerifier.assertNotNull(listener, "listener");
+
+    Node newNode = null;
+    while (true) {
+      Node head = stack;
+      if (head == DONE_STACK) {
+        runListener(listener, executor, true);
+        return;
+      }
+      if (newNode == null) {
+        newNode = new Node(listener, executor, null);
+      }
+      newNode.next = head;
+      if (STACK_UPDATER.compareAndSet(this, head, newNode)) {
+        return;
+      }
+    }
+  }
+
+  @Override
+  public void addCallback(FutureCallback<? super T> callback) {
+    addCallback(callback, null);
+  }
+
+  @Override
+  public void addCallback(FutureCallback<? super T> callback, Executor executor) {
+    FutureUtils.addCallback(this, callback, executor);
+  }
+
+  /**
+   * This call defers to setResult.  It is implemented so that you can construct this,
+   * return it immediately, but only later provide this as a callback to another
+   * ListenableFuture implementation.
+   *
+   * @param result Result object to provide to the future to be returned from .get() call
+   */
+  @Override
+  public void handleResult(T result) {
+    setResult(result);
+  }
+
+  /**
+   * This call defers to setFailure.  It is implemented so that you can construct this,
+   * return it immediately, but only later provide this as a callback to another
+   * ListenableFuture implementation.
+   *
+   * @param t exception to be provided as the cause from the ExecutionException thrown from .get() call
+   */
+  @Override
+  public void handleFailure(Throwable t) {
+    setFailure(t);
+  }
+
+  /**
+   * Call to indicate this future is done, and provide the given result.  It
+   * is expected that only this or setFailure are called, and only called
+   * once.
+   *
+   * @param result result to provide for future.get() calls, can be null
+   */
+  public void setResult(T result) {
+    if (! trySetResult(result)) {
+      throw new IllegalStateException("Already done");
+    }
+  }
+  
+  /**
+   * Attempts to complete this future with the given result.  Unlike 
+   * {@link #setResult(Object)} this will not throw if the future is already done.
+   * 
+   * @since 2.5.0
+   * @param result result to provide for future.get() calls, can be null
+   * @return {@code true} if this call completed the future
+   */
+  protected boolean trySetResult(T result) {
+    return complete(result == null ? NULL_RESULT : result);
+  }
+
+  /**
+   * Call to indicate this future is done, and provide the occurred failure.  It
+   * is expected that only this or setResult are called, and only called once.
+   * If the provided failure is null, a new exception will be created so that
+   * something is always provided in the ExecutionException on calls to 'get'.
+   *
+   * @param failure Throwable that caused failure during computation.
+   */
+  public void setFailure(Throwable failure) {
+    if (! trySetFailure(failure)) {
+      throw new IllegalStateException("Already done");
+    }
+  }
+  
+  /**
+   * Attempts to complete this future with the given failure.  Unlike 
+   * {@link #setFailure(Throwable)} this will not throw if the future is already done.
+   * 
+   * @since 2.5.0
+   * @param failure Throwable that caused failure during computation
+   * @return {@code true} if this call completed the future
+   */
+  protected boolean trySetFailure(Throwable failure) {
+    if (failure == null) {
+      failure = new Exception();
+    }
+    return complete(new Failure(failure, false));
+  }
+  
+  /**
+   * Attempts to complete this future as canceled.  Once canceled, {@link #isCancelled()} will 
+   * return {@code true} and calls to .get() will throw a {@link CancellationException}.  This 
+   * is only intended to be used by extending classes which support being canceled.
+   * 
+   * @since 2.5.0
+   * @return {@code true} if this call completed the future
+   */
+  protected boolean trySetCanceled() {
+    return complete(new Failure(new CancellationException(), true));
+  }
+
+  /**
+   * Publishes the final value, then wakes up any waiting threads and calls listeners in the
+   * order they were added.
+   *
+   * @param newValue value to set, can not be null
+   * @return {@code true} if the value was set, {@code false} if already done
+   */
+  private boolean complete(Object newValue) {
+    if (! VALUE_UPDATER.compareAndSet(this, null, newValue)) {
+      return false;
+    }
+
+    // after this swap any new listeners will be run by the thread adding them
+    Node head = STACK_UPDATER.getAndSet(this, DONE_STACK);
+    /* stack is in reverse order, so it is collected in a single pass to be run in the order 
+     * added.  Links are not modified, since cancelled waiters may still be unlinking themselves 
+     * concurrently, and any cancelled waiter which is still reachable is just skipped.
+     */
+    List<Node> nodes = new ArrayList<Node>();
+    Node current = head;
+    while (current != null) {
+      nodes.add(current);
+      current = current.next;
+    }
+
+    ListIterator<Node> it = nodes.listIterator(nodes.size());
+    while (it.hasPrevious()) {
+      Node node = it.previous();
+      Thread waiter = node.waiter;
+      if (waiter != null) {
+        LockSupport.unpark(waiter);
+      } else if (node.listener != null) {
+        runListener(node.listener, node.executor, false);
+      }
+    }
+    
+    return true;
+  }
+
+  /**
+   * Runs or submits the listener to its executor.
+   *
+   * @param listener listener to be invoked
+   * @param executor executor to run listener on, or null to run on this thread
+   * @param throwException true to throw exceptions, false to provide them to {@link ExceptionUtils}
+   */
+  private static void runListener(Runnable listener, Executor executor, boolean throwException) {
+    try {
+      if (executor != null) {
+        executor.execute(listener);
+      } else {
+        listener.run();
+      }
+    } catch (Throwable t) {
+      if (throwException) {
+        throw ExceptionUtils.makeRuntime(t);
+      } else {
+        ExceptionUtils.handleException(t);
+      }
+    }
+  }
+
+  @Override
+  public boolean isDone() {
+    return value != null;
+  }
+  
+  @Override
+  public boolean isCancelled() {
+    Object v = value;
+    return v instanceof Failure && ((Failure)v).canceled;
+  }
+
+  @Override
+  public T get() throws InterruptedException, ExecutionException {
+    Object v = value;
+    if (v == null) {
+      v = awaitValue(false, 0);
+    }
+
+    return reportValue(v);
+  }
+
+  @Override
+  public T get(long timeout, TimeUnit unit) throws InterruptedException,
+                                                   ExecutionException,
+                                                   TimeoutException {
+    Object v = value;
+    if (v == null) {
+      v = awaitValue(true, unit.toNanos(timeout));
+      if (v == null) {
+        throw new TimeoutException();
+      }
+    }
+
+    return reportValue(v);
+  }
+
+  /**
+   * Parks the current thread until the value has been set, or the timeout has elapsed.
+   *
+   * @param timed true if the timeout should be respected
+   * @param timeoutInNanos time to wait in nanoseconds if timed
+   * @return value once set, or null if the timeout elapsed first
+   * @throws InterruptedException thrown if the thread is interrupted while waiting
+   */
+  private Object awaitValue(boolean timed, long timeoutInNanos) throws InterruptedException {
+    long deadline = timed ? System.nanoTime() + timeoutInNanos : 0;
+    Node waiterNode = new Node(null, null, Thread.currentThread());
+    while (true) {
+      Node head = stack;
+      if (head == DONE_STACK) {
+        return value;
+      }
+      waiterNode.next = head;
+      if (STACK_UPDATER.compareAndSet(this, head, waiterNode)) {
+        break;
+      }
+    }
+
+    try {
+      while (true) {
+        Object v = value;
+        if (v != null) {
+          return v;
+        } else if (Thread.interrupted()) {
+          throw new InterruptedException();
+        }
+        if (timed) {
+          long remainingNanos = deadline - System.nanoTime();
+          if (remainingNanos <= 0) {
+            return null;
+          }
+          LockSupport.parkNanos(this, remainingNanos);
+        } else {
+          LockSupport.park(this);
+        }
+      }
+    } finally {
+      waiterNode.waiter = null;
+      if (value == null) {
+        // timed out or interrupted, unlink so the stack does not grow with each failed wait
+        removeCancelledWaiters();
+      }
+    }
+  }
+
+  /**
+   * Unlinks any nodes from the stack which are for waiters that have stopped waiting.  This is 
+   * only done while the future is incomplete, so the stack does not need to be traversed 
+   * again at completion.  Other threads may be pushing new nodes, or unlinking at the same 
+   * time, if the traversal is invalidated it will be started again.
+   */
+  private void removeCancelledWaiters() {
+    restart: while (true) {
+      Node head = stack;
+      if (head == DONE_STACK) {
+        return;
+      }
+      Node pred = null;
+      Node current = head;
+      while (current != null) {
+        Node next = current.next;
+        if (! current.isCancelledWaiter()) {
+          pred = current;
+        } else if (pred != null) {
+          pred.next = next;
+          if (pred.isCancelledWaiter()) {
+            // pred may have been unlinked by another thread, so our change may be lost
+            continue restart;
+          }
+        } else if (! STACK_UPDATER.compareAndSet(this, current, next)) {
+          continue restart;
+        }
+        current = next;
+      }
+      return;
+    }
+  }
+
+  /**
+   * Counts the nodes currently held in the stack (listeners and waiters).  Once done this will 
+   * always return zero.
+   *
+   * @return quantity of nodes on the stack
+   */
+  int getStackSize() {
+    int result = 0;
+    Node current = stack;
+    if (current == DONE_STACK) {
+      return 0;
+    }
+    while (current != null) {
+      result++;
+      current = current.next;
+    }
+    return result;
+  }
+
+  /**
+   * Converts the stored value into the result to return from .get().
+   *
+   * @param v value which has been set
+   * @return result of the future
+   * @throws ExecutionException thrown if the value represents a failure
+   */
+  @SuppressWarnings("unchecked")
+  private T reportValue(Object v) throws ExecutionException {
+    if (v == NULL_RESULT) {
+      return null;
+    } else if (v instanceof Failure) {
+      Failure f = (Failure)v;
+      if (f.canceled) {
+        throw (CancellationException)f.failure;
+      }
+      throw new ExecutionException(f.failure);
+    } else {
+      return (T)v;
+    }
+  }
+
+  /**
+   * <p>Entry in the stack, either a listener, or a thread waiting for the result.</p>
+   *
+   * @author jent - Mike Jensen
+   * @since 2.5.0
+   */
+  private static class Node {
+    private final Runnable listener;
+    private final Executor executor;
+    private volatile Thread waiter;
+    private volatile Node next;
+
+    private Node(Runnable listener, Executor executor, Thread waiter) {
+      this.listener = listener;
+      this.executor = executor;
+      this.waiter = waiter;
+      this.next = null;
+    }
+
+    /**
+     * Checks if this node was for a thread waiting for the result, which is no longer waiting.
+     *
+     * @return true if the node can be removed from the stack
+     */
+    private boolean isCancelledWaiter() {
+      return listener == null && waiter == null;
+    }
+  }
+
+  /**
+   * <p>Holder for a failure, so that it can be distinguished from a result.</p>
+   *
+   * @author jent - Mike Jensen
+   * @since 2.5.0
+   */
+  private static class Failure {
+    private final Throwable failure;
+    private final boolean canceled;
+
+    private Failure(Throwable failure, boolean canceled) {
+      this.failure = failure;
+      this.canceled = canceled;
+    }
+  }
+}
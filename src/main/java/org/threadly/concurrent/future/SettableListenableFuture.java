@@ -6,7 +6,6 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
 import org.threadly.concurrent.event.RunnableListenerHelper;
-import org.threadly.util.Clock;
 
 /**
  * <p>This class is designed to be a helper when returning a single 
@@ -23,6 +22,7 @@ public class SettableListenableFuture<T> extends AbstractNoncancelableListenable
   protected final RunnableListenerHelper listenerHelper;
   protected final Object resultLock;
   private volatile boolean done;
+  private volatile SpinWaitPolicy spinWaitPolicy;
   private T result;
   private Throwable failure;
   
@@ -34,6 +34,7 @@ public class SettableListenableFuture<T> extends AbstractNoncancelableListenable
     this.listenerHelper = new RunnableListenerHelper(true);
     resultLock = new Object();
     done = false;
+    spinWaitPolicy = null;
     result = null;
     failure = null;
   }
@@ -138,6 +139,32 @@ public class SettableListenableFuture<T> extends AbstractNoncancelableListenable
     listenerHelper.callListeners();
   }
   
+  /**
+   * Sets the policy for how long threads calling .get() should spin before blocking.  If not 
+   * set (or set to {@code null}) the global default from 
+   * {@link SpinWaitPolicy#getDefaultPolicy()} will be used.
+   * 
+   * @since 2.5.0
+   * @param policy policy to use for this future, or {@code null} to use the default
+   */
+  public void setSpinWaitPolicy(SpinWaitPolicy policy) {
+    spinWaitPolicy = policy;
+  }
+  
+  /**
+   * Returns the spin policy to use for this future.
+   * 
+   * @return policy set for this future, or the global default
+   */
+  private SpinWaitPolicy getSpinWaitPolicy() {
+    SpinWaitPolicy result = spinWaitPolicy;
+    if (result == null) {
+      return SpinWaitPolicy.getDefaultPolicy();
+    } else {
+      return result;
+    }
+  }
+  
   // should be synchronized on resultLock before calling
   private void setDone() {
     if (done) {
@@ -154,6 +181,9 @@ public class SettableListenableFuture<T> extends AbstractNoncancelableListenable
 
   @Override
   public T get() throws InterruptedException, ExecutionException {
+    if (! done) {
+      getSpinWaitPolicy().spinUntilDone(this);
+    }
     synchronized (resultLock) {
       while (! done) {
         resultLock.wait();
@@ -171,13 +201,14 @@ public class SettableListenableFuture<T> extends AbstractNoncancelableListenable
   public T get(long timeout, TimeUnit unit) throws InterruptedException, 
                                                    ExecutionException,
                                                    TimeoutException {
-    long startTime = Clock.accurateTimeMillis();
-    long timeoutInMs = unit.toMillis(timeout);
+    long deadlineNanos = System.nanoTime() + unit.toNanos(timeout);
+    if (! done) {
+      getSpinWaitPolicy().spinUntilDone(this, deadlineNanos);
+    }
     synchronized (resultLock) {
-      long remainingInMs;
-      while (! done && 
-             (remainingInMs = timeoutInMs - (Clock.accurateTimeMillis() - startTime)) > 0) {
-        resultLock.wait(remainingInMs);
+      long remainingNanos;
+      while (! done && (remainingNanos = deadlineNanos - System.nanoTime()) > 0) {
+        TimeUnit.NANOSECONDS.timedWait(resultLock, remainingNanos);
       }
       
       if (failure != null) {
@@ -0,0 +1,100 @@
+package org.threadly.concurrent.future;
+
+import java.util.concurrent.Future;
+
+import org.threadly.util.ArgumentVerifier;
+
+/**
+ * <p>Policy for how long a thread calling .get() on a future should busy spin before blocking.  
+ * When futures are expected to complete within microseconds, spinning for a short time can 
+ * avoid the latency of parking and being woken back up.  Spinning does consume CPU, so this 
+ * should only be used when completions are expected to be very quick, and the spin count 
+ * should be kept small.</p>
+ * 
+ * <p>A policy can be set per future (on {@link SettableListenableFuture} and 
+ * {@link ListenableFutureTask}), or a default can be set globally with 
+ * {@link #setDefaultPolicy(SpinWaitPolicy)}.  By default futures will not spin.</p>
+ * 
+ * @author jent - Mike Jensen
+ * @since 2.5.0
+ */
+public class SpinWaitPolicy {
+  /**
+   * Policy which will never spin, threads will block immediately.
+   */
+  public static final SpinWaitPolicy NO_SPIN = new SpinWaitPolicy(0);
+  private static final int TIME_CHECK_INTERVAL = 64;
+  private static volatile SpinWaitPolicy defaultPolicy = NO_SPIN;
+  
+  /**
+   * Returns the policy used by futures which have not been provided a specific policy.
+   * 
+   * @return the global default policy
+   */
+  public static SpinWaitPolicy getDefaultPolicy() {
+    return defaultPolicy;
+  }
+  
+  /**
+   * Sets the policy to be used by futures which have not been provided a specific policy.
+   * 
+   * @param policy new default policy, or {@code null} to not spin
+   */
+  public static void setDefaultPolicy(SpinWaitPolicy policy) {
+    if (policy == null) {
+      policy = NO_SPIN;
+    }
+    
+    defaultPolicy = policy;
+  }
+  
+  protected final int maxSpins;
+  
+  /**
+   * Constructs a new policy which will check for completion up to the provided number of 
+   * times before blocking.
+   * 
+   * @param maxSpins maximum number of times to check if the future is done before blocking
+   */
+  public SpinWaitPolicy(int maxSpins) {
+    ArgumentVerifier.assertNotNegative(maxSpins, "maxSpins");
+    
+    this.maxSpins = maxSpins;
+  }
+  
+  /**
+   * Spins until the future is done, or the maximum number of spins has been reached.
+   * 
+   * @param future future to check for completion
+   * @return {@code true} if the future is done
+   */
+  public boolean spinUntilDone(Future<?> future) {
+    for (int i = 0; i < maxSpins; i++) {
+      if (future.isDone()) {
+        return true;
+      }
+    }
+    
+    return future.isDone();
+  }
+  
+  /**
+   * Spins until the future is done, the maximum number of spins has been reached, or the 
+   * deadline has passed.
+   * 
+   * @param future future to check for completion
+   * @param deadlineNanos deadline as returned from {@link System#nanoTime()}
+   * @return {@code true} if the future is done
+   */
+  public boolean spinUntilDone(Future<?> future, long deadlineNanos) {
+    for (int i = 0; i < maxSpins; i++) {
+      if (future.isDone()) {
+        return true;
+      } else if (i % TIME_CHECK_INTERVAL == 0 && System.nanoTime() - deadlineNanos >= 0) {
+        break;
+      }
+    }
+    
+    return future.isDone();
+  }
+}
@@ -0,0 +1,22 @@
+package org.threadly.concurrent.future;
+
+/**
+ * <p>Transforms one value into another.  Used to compose {@link ListenableFuture}'s through
+ * calls like {@link FutureUtils#map(ListenableFuture, Transformer)}.</p>
+ *
+ * @author jent - Mike Jensen
+ * @since 2.5.0
+ * @param <I> type of input value
+ * @param <O> type of output value
+ */
+public interface Transformer<I, O> {
+  /**
+   * Called to transform the input value.  Any exception thrown will result in the
+   * resulting future failing with the thrown exception as the cause.
+   *
+   * @param input value to transform
+   * @return the transformed value
+   * @throws Exception thrown if the value can not be transformed
+   */
+  public O transform(I input) throws Exception;
+}
@@ -0,0 +1,345 @@
+package org.threadly.concurrent.limiter;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.threadly.concurrent.future.ListenableFuture;
+import org.threadly.concurrent.future.ListenableFutureTask;
+import org.threadly.util.ArgumentVerifier;
+import org.threadly.util.Clock;
+import org.threadly.util.ExceptionUtils;
+
+/**
+ * <p>An {@link ExecutorLimiter} which runs waiting tasks in earliest deadline first order.
+ * Tasks can be provided with a deadline, which is the time they must start running by.  Once
+ * the limiter is at its max concurrency, waiting tasks will be started in the order of their
+ * deadlines, rather than the order they were submitted in.  Tasks submitted without a deadline
+ * will run after all tasks with a deadline, in the order they were submitted.</p>
+ *
+ * <p>Using the {@link DeadlineMissPolicy} tasks which have missed their deadline can be
+ * dropped, or failed early through their future.  That way no threads are consumed for work
+ * which is already late.  Tasks are checked as they are taken from the queue, as well as just
+ * before they start on the executor.</p>
+ *
+ * @author jent - Mike Jensen
+ * @since 2.5.0
+ */
+public class DeadlineExecutorLimiter extends ExecutorLimiter {
+  private static final int INITIAL_QUEUE_CAPACITY = 16;
+
+  protected final DeadlineMissPolicy missPolicy;
+  private final AtomicLong sequence;
+  private final AtomicLong missedDeadlineCount;
+
+  /**
+   * Construct a new deadline limiter which will run tasks even if they missed their deadline.
+   *
+   * @param executor {@link Executor} to submit task executions to.
+   * @param maxConcurrency maximum quantity of runnables to run in parallel
+   */
+  public DeadlineExecutorLimiter(Executor executor, int maxConcurrency) {
+    this(executor, maxConcurrency, null, DeadlineMissPolicy.Run);
+  }
+
+  /**
+   * Construct a new deadline limiter with a provided policy for tasks which miss their deadline.
+   *
+   * @param executor {@link Executor} to submit task executions to.
+   * @param maxConcurrency maximum quantity of runnables to run in parallel
+   * @param missPolicy policy for handling tasks which missed their deadline
+   */
+  public DeadlineExecutorLimiter(Executor executor, int maxConcurrency,
+                                 DeadlineMissPolicy missPolicy) {
+    this(executor, maxConcurrency, null, missPolicy);
+  }
+
+  /**
+   * Construct a new deadline limiter with a provided policy for tasks which miss their deadline.
+   *
+   * @param executor {@link Executor} to submit task executions to.
+   * @param maxConcurrency maximum quantity of runnables to run in parallel
+   * @param subPoolName name to describe threads while tasks running in pool (null to not change thread names)
+   * @param missPolicy policy for handling tasks which missed their deadline
+   */
+  public DeadlineExecutorLimiter(Executor executor, int maxConcurrency,
+                                 String subPoolName, DeadlineMissPolicy missPolicy) {
+    super(executor, maxConcurrency, subPoolName,
+          new PriorityBlockingQueue<LimiterRunnableWrapper>(INITIAL_QUEUE_CAPACITY,
+                                                            new DeadlineComparator()));
+
+    ArgumentVerifier.assertNotNull(missPolicy, "missPolicy");
+
+    this.missPolicy = missPolicy;
+    sequence = new AtomicLong(0);
+    missedDeadlineCount = new AtomicLong(0);
+  }
+
+  /**
+   * Call to check how many tasks have missed their deadline and were dropped or failed.  If
+   * constructed with {@link DeadlineMissPolicy#Run} this will always be zero.
+   *
+   * @return total quantity of tasks which were not run due to missing their deadline
+   */
+  public long getMissedDeadlineCount() {
+    return missedDeadlineCount.get();
+  }
+
+  /**
+   * Executes a task which must start within the provided deadline.
+   *
+   * @param task runnable to be executed
+   * @param deadlineInMs time in milliseconds from now which the task must start by
+   */
+  public void executeWithDeadline(Runnable task, long deadlineInMs) {
+    ArgumentVerifier.assertNotNull(task, "task");
+    ArgumentVerifier.assertNotNegative(deadlineInMs, "deadlineInMs");
+
+    executeWrapper(new DeadlineWrapper(task, Clock.accurateTimeMillis() + deadlineInMs));
+  }
+
+  /**
+   * Submits a task which must start within the provided deadline.
+   *
+   * @param task runnable to be executed
+   * @param deadlineInMs time in milliseconds from now which the task must start by
+   * @return future to know when the task has completed, or if it missed its deadline
+   */
+  public ListenableFuture<?> submitWithDeadline(Runnable task, long deadlineInMs) {
+    return submitWithDeadline(task, null, deadlineInMs);
+  }
+
+  /**
+   * Submits a task which must start within the provided deadline.
+   *
+   * @param <T> type of result for future
+   * @param task runnable to be executed
+   * @param result result to be returned from the future when the task completes
+   * @param deadlineInMs time in milliseconds from now which the task must start by
+   * @return future to know when the task has completed, or if it missed its deadline
+   */
+  public <T> ListenableFuture<T> submitWithDeadline(Runnable task, T result, long deadlineInMs) {
+    ArgumentVerifier.assertNotNull(task, "task");
+    ArgumentVerifier.assertNotNegative(deadlineInMs, "deadlineInMs");
+
+    DeadlineFutureTask<T> dft = new DeadlineFutureTask<T>(task, result);
+
+    executeWrapper(new DeadlineWrapper(dft, Clock.accurateTimeMillis() + deadlineInMs));
+
+    return dft;
+  }
+
+  /**
+   * Submits a task which must start within the provided deadline.
+   *
+   * @param <T> type of result for future
+   * @param task callable to be executed
+   * @param deadlineInMs time in milliseconds from now which the task must start by
+   * @return future to get the result of the callable, or to know if it missed its deadline
+   */
+  public <T> ListenableFuture<T> submitWithDeadline(Callable<T> task, long deadlineInMs) {
+    ArgumentVerifier.assertNotNull(task, "task");
+    ArgumentVerifier.assertNotNegative(deadlineInMs, "deadlineInMs");
+
+    DeadlineFutureTask<T> dft = new DeadlineFutureTask<T>(task);
+
+    executeWrapper(new DeadlineWrapper(dft, Clock.accurateTimeMillis() + deadlineInMs));
+
+    return dft;
+  }
+
+  @Override
+  protected void doExecute(Runnable task) {
+    executeWrapper(new DeadlineWrapper(task, Long.MAX_VALUE));
+  }
+
+  @Override
+  protected void consumeAvailable() {
+    List<LimiterRunnableWrapper> missedTasks = null;
+    synchronized (this) {
+      long now = -1;
+      while (! waitingTasks.isEmpty()) {
+        if (missPolicy != DeadlineMissPolicy.Run) {
+          // queue is in deadline order, so only the head needs to be checked
+          long deadline = getDeadline(waitingTasks.peek());
+          if (deadline != Long.MAX_VALUE) {
+            if (now < 0) {
+              now = Clock.accurateTimeMillis();
+            }
+            if (deadline < now) {
+              if (missedTasks == null) {
+                missedTasks = new ArrayList<LimiterRunnableWrapper>();
+              }
+              missedTasks.add(waitingTasks.poll());
+              continue;
+            }
+          }
+        }
+        if (! canRunTask()) {
+          break;
+        }
+
+        // by entering loop we can now execute task
+        waitingTasks.poll().submitToExecutor();
+      }
+    }
+
+    if (missedTasks != null) {
+      // handle outside of lock since futures may call listeners
+      Iterator<LimiterRunnableWrapper> it = missedTasks.iterator();
+      while (it.hasNext()) {
+        handleMissedDeadline(it.next().getContainedRunnable());
+      }
+    }
+  }
+
+  /**
+   * Called when a task will not be run because it missed its deadline.  Depending on the
+   * {@link DeadlineMissPolicy} this will cancel or fail the future for the task.
+   *
+   * @param task task which missed its deadline
+   */
+  protected void handleMissedDeadline(Runnable task) {
+    missedDeadlineCount.incrementAndGet();
+
+    if (task instanceof DeadlineFutureTask) {
+      DeadlineFutureTask<?> dft = (DeadlineFutureTask<?>)task;
+      if (missPolicy == DeadlineMissPolicy.Fail) {
+        dft.missedDeadline(new DeadlineMissedException());
+      } else {
+        dft.cancel(false);
+      }
+    } else if (missPolicy == DeadlineMissPolicy.Fail) {
+      ExceptionUtils.handleException(new DeadlineMissedException());
+    }
+  }
+
+  /**
+   * Returns the deadline for a wrapper in the queue.  Wrappers which were not created by this
+   * class are treated as having no deadline.
+   *
+   * @param lrw wrapper to get deadline for
+   * @return absolute deadline in milliseconds, or {@code Long.MAX_VALUE} if there is no deadline
+   */
+  private static long getDeadline(LimiterRunnableWrapper lrw) {
+    if (lrw instanceof DeadlineWrapper) {
+      return ((DeadlineWrapper)lrw).deadline;
+    } else {
+      return Long.MAX_VALUE;
+    }
+  }
+
+  /**
+   * <p>Orders waiting tasks by their deadline.  Tasks with equal deadlines (including those
+   * without a deadline) are ordered by when they were submitted.</p>
+   *
+   * @author jent - Mike Jensen
+   * @since 2.5.0
+   */
+  protected static class DeadlineComparator implements Comparator<LimiterRunnableWrapper> {
+    @Override
+    public int compare(LimiterRunnableWrapper lrw1, LimiterRunnableWrapper lrw2) {
+      long deadline1 = getDeadline(lrw1);
+      long deadline2 = getDeadline(lrw2);
+      if (deadline1 < deadline2) {
+        return -1;
+      } else if (deadline1 > deadline2) {
+        return 1;
+      }
+      long sequence1 = lrw1 instanceof DeadlineWrapper ? ((DeadlineWrapper)lrw1).sequence : 0;
+      long sequence2 = lrw2 instanceof DeadlineWrapper ? ((DeadlineWrapper)lrw2).sequence : 0;
+      if (sequence1 < sequence2) {
+        return -1;
+      } else if (sequence1 > sequence2) {
+        return 1;
+      } else {
+        return 0;
+      }
+    }
+  }
+
+  /**
+   * <p>Wrapper which holds the deadline for a task.  If the task has missed its deadline by
+   * the time it starts on the executor, the {@link DeadlineMissPolicy} will be applied
+   * instead of running the task.</p>
+   *
+   * @author jent - Mike Jensen
+   * @since 2.5.0
+   */
+  protected class DeadlineWrapper extends LimiterRunnableWrapper {
+    protected final long deadline;
+    protected final long sequence;
+
+    protected DeadlineWrapper(Runnable runnable, long deadline) {
+      super(executor, runnable);
+
+      this.deadline = deadline;
+      this.sequence = DeadlineExecutorLimiter.this.sequence.getAndIncrement();
+    }
+
+    @Override
+    public void run() {
+      if (missPolicy != DeadlineMissPolicy.Run &&
+          deadline != Long.MAX_VALUE && deadline < Clock.accurateTimeMillis()) {
+        try {
+          handleMissedDeadline(getContainedRunnable());
+        } finally {
+          handleTaskFinished();
+        }
+      } else {
+        super.run();
+      }
+    }
+  }
+
+  /**
+   * <p>Future for tasks submitted with a deadline, which can be failed if the deadline is
+   * missed.</p>
+   *
+   * @author jent - Mike Jensen
+   * @since 2.5.0
+   * @param <T> type of result for future
+   */
+  protected static class DeadlineFutureTask<T> extends ListenableFutureTask<T> {
+    protected DeadlineFutureTask(Runnable task, T result) {
+      super(false, task, result);
+    }
+
+    protected DeadlineFutureTask(Callable<T> task) {
+      super(false, task);
+    }
+
+    /**
+     * Fails the future with the provided exception, without running the task.
+     *
+     * @param t exception to provide as the cause of the failure
+     */
+    protected void missedDeadline(Throwable t) {
+      setException(t);
+    }
+  }
+
+  /**
+   * <p>Exception provided to the future of a task which missed its deadline when using
+   * {@link DeadlineMissPolicy#Fail}.</p>
+   *
+   * @author jent - Mike Jensen
+   * @since 2.5.0
+   */
+  public static class DeadlineMissedException extends TimeoutException {
+    private static final long serialVersionUID = -2318428739418163285L;
+
+    /**
+     * Constructs a new {@link DeadlineMissedException}.
+     */
+    public DeadlineMissedException() {
+      super("Task missed its deadline before it could start");
+    }
+  }
+}
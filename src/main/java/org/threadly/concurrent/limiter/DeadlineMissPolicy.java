@@ -0,0 +1,29 @@
+package org.threadly.concurrent.limiter;
+
+/**
+ * <p>Policy for how a {@link DeadlineExecutorLimiter} should handle tasks which were not 
+ * able to start before their deadline.</p>
+ * 
+ * @author jent - Mike Jensen
+ * @since 2.5.0
+ */
+public enum DeadlineMissPolicy {
+  /**
+   * Tasks will be run even after their deadline has passed.  They will still be run in 
+   * deadline order, so a late task will run before tasks with a later deadline.
+   */
+  Run, 
+  /**
+   * Tasks which have missed their deadline will not be run.  If the task was submitted with 
+   * a future, the future will be canceled.
+   */
+  Drop, 
+  /**
+   * Tasks which have missed their deadline will not be run.  If the task was submitted with 
+   * a future, the future will fail with a 
+   * {@link DeadlineExecutorLimiter.DeadlineMissedException}.  If the task was executed 
+   * without a future the exception will be provided to 
+   * {@link org.threadly.util.ExceptionUtils#handleException(Throwable)}.
+   */
+  Fail;
+}
@@ -50,12 +50,28 @@ public class ExecutorLimiter extends AbstractThreadPoolLimiter
    * @param subPoolName name to describe threads while tasks running in pool (null to not change thread names)
    */
   public ExecutorLimiter(Executor executor, int maxConcurrency, String subPoolName) {
+    this(executor, maxConcurrency, subPoolName, 
+         new ConcurrentLinkedQueue<LimiterRunnableWrapper>());
+  }
+  
+  /**
+   * Constructs a new execution limiter with a provided queue for tasks waiting to run.  This 
+   * allows extending classes to change the order that waiting tasks will be executed in.  
+   * The provided queue must be thread safe for adding while it is being consumed from.
+   * 
+   * @param executor {@link Executor} to submit task executions to.
+   * @param maxConcurrency maximum quantity of runnables to run in parallel
+   * @param subPoolName name to describe threads while tasks running in pool (null to not change thread names)
+   * @param waitingTasks thread safe queue to hold tasks while they are waiting to run
+   */
+  protected ExecutorLimiter(Executor executor, int maxConcurrency, String subPoolName, 
+                            Queue<LimiterRunnableWrapper> waitingTasks) {
     super(maxConcurrency, subPoolName);
 
     ArgumentVerifier.assertNotNull(executor, "executor");
     
     this.executor = executor;
-    waitingTasks = new ConcurrentLinkedQueue<LimiterRunnableWrapper>();
+    this.waitingTasks = waitingTasks;
   }
   
   @Override
@@ -0,0 +1,340 @@
+package org.threadly.concurrent.limiter;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.threadly.concurrent.PrioritySchedulerInterface;
+import org.threadly.util.ArgumentVerifier;
+
+/**
+ * <p>A {@link PrioritySchedulerLimiter} which can be divided into a tree of sub pools.  Each
+ * sub pool has a guaranteed concurrency, and a max concurrency.  A sub pool can always run up
+ * to its guaranteed concurrency, even if its siblings are busy.  Once past its guarantee a
+ * sub pool can borrow capacity from its parent, up to its max concurrency, as long as that
+ * capacity is not guaranteed to another sub pool.</p>
+ *
+ * <p>This allows a busy sub pool to use spare threads that a hard limit would leave idle,
+ * while a sub pool with a guarantee will still get its share the moment it has work.  Tasks
+ * are never preempted, so borrowed capacity is only from capacity which is not guaranteed to
+ * any sibling (including siblings which are currently idle).</p>
+ *
+ * <p>A root limiter is constructed with a max concurrency, then sub pools are created by
+ * calling {@link #makeSubPool(int, int)}.  Sub pools can be nested to any depth.  The sum of
+ * guaranteed concurrency for all children can not exceed the guaranteed concurrency of the
+ * parent (for the root the guaranteed concurrency is equal to the max concurrency).  Tasks can
+ * be submitted to any node in the tree, tasks submitted directly to a node with children can
+ * only run with capacity not guaranteed to those children.</p>
+ *
+ * <p>Every node provides statistics for its current utilization, which can be useful for
+ * tuning the guaranteed and max concurrency of each sub pool.</p>
+ *
+ * @author jent - Mike Jensen
+ * @since 2.5.0
+ */
+public class HierarchicalPrioritySchedulerLimiter extends PrioritySchedulerLimiter {
+  protected final HierarchicalPrioritySchedulerLimiter parent;
+  protected final int guaranteedConcurrency;
+  protected final Object shareLock; // shared by all nodes in a tree
+  protected final List<HierarchicalPrioritySchedulerLimiter> children;
+  private int demand;  // locked around shareLock, running tasks plus unused guarantees of children
+  private int runningCount;  // locked around shareLock, includes tasks running in child pools
+  private int childGuaranteedTotal;  // locked around shareLock
+  private long totalStartedCount;  // locked around shareLock, only tasks run directly in this pool
+
+  /**
+   * Constructs a new root limiter that sub pools can be created from.
+   *
+   * @param scheduler {@link PrioritySchedulerInterface} implementation to submit task executions to.
+   * @param maxConcurrency maximum quantity of runnables to run in parallel for the entire tree
+   */
+  public HierarchicalPrioritySchedulerLimiter(PrioritySchedulerInterface scheduler,
+                                              int maxConcurrency) {
+    this(scheduler, maxConcurrency, null);
+  }
+
+  /**
+   * Constructs a new root limiter that sub pools can be created from.
+   *
+   * @param scheduler {@link PrioritySchedulerInterface} implementation to submit task executions to.
+   * @param maxConcurrency maximum quantity of runnables to run in parallel for the entire tree
+   * @param subPoolName name to describe threads while tasks running in pool (null to not change thread names)
+   */
+  public HierarchicalPrioritySchedulerLimiter(PrioritySchedulerInterface scheduler,
+                                              int maxConcurrency, String subPoolName) {
+    this(scheduler, null, maxConcurrency, maxConcurrency, subPoolName);
+  }
+
+  /**
+   * Constructs a new node in the tree, this is expected to be called from
+   * {@link #makeSubPool(int, int, String)} so that the parent has already been verified.
+   *
+   * @param scheduler {@link PrioritySchedulerInterface} implementation to submit task executions to.
+   * @param parent node which this node borrows capacity from, or null if the root
+   * @param guaranteedConcurrency concurrency which this node can always run at
+   * @param maxConcurrency maximum quantity of runnables to run in parallel
+   * @param subPoolName name to describe threads while tasks running in pool (null to not change thread names)
+   */
+  protected HierarchicalPrioritySchedulerLimiter(PrioritySchedulerInterface scheduler,
+                                                 HierarchicalPrioritySchedulerLimiter parent,
+                                                 int guaranteedConcurrency, int maxConcurrency,
+                                                 String subPoolName) {
+    super(scheduler, maxConcurrency, subPoolName);
+
+    this.parent = parent;
+    this.guaranteedConcurrency = guaranteedConcurrency;
+    if (parent == null) {
+      shareLock = new Object();
+    } else {
+      shareLock = parent.shareLock;
+    }
+    children = new CopyOnWriteArrayList<HierarchicalPrioritySchedulerLimiter>();
+    demand = 0;
+    runningCount = 0;
+    childGuaranteedTotal = 0;
+    totalStartedCount = 0;
+  }
+
+  /**
+   * Makes a new sub pool which will use capacity from this pool.  The sub pool can always run
+   * up to the guaranteed concurrency, and may borrow unused (and not guaranteed) capacity from
+   * this pool up to the max concurrency.
+   *
+   * @param guaranteedConcurrency concurrency the sub pool can always run at, may be zero
+   * @param maxConcurrency maximum number of threads to run in parallel in sub pool
+   * @return newly created sub pool that borrows capacity from this pool
+   */
+  public HierarchicalPrioritySchedulerLimiter makeSubPool(int guaranteedConcurrency,
+                                                          int maxConcurrency) {
+    return makeSubPool(guaranteedConcurrency, maxConcurrency, null);
+  }
+
+  /**
+   * Makes a new sub pool which will use capacity from this pool.  The sub pool can always run
+   * up to the guaranteed concurrency, and may borrow unused (and not guaranteed) capacity from
+   * this pool up to the max concurrency.
+   *
+   * If capacity is currently borrowed from this pool, the new guarantee will be available
+   * immediately, and may result in this pool temporarily running above its max concurrency
+   * until that borrowed capacity is returned.
+   *
+   * @param guaranteedConcurrency concurrency the sub pool can always run at, may be zero
+   * @param maxConcurrency maximum number of threads to run in parallel in sub pool
+   * @param subPoolName name to describe threads while running under this sub pool
+   * @return newly created sub pool that borrows capacity from this pool
+   */
+  public HierarchicalPrioritySchedulerLimiter makeSubPool(int guaranteedConcurrency,
+                                                          int maxConcurrency,
+                                                          String subPoolName) {
+    ArgumentVerifier.assertNotNegative(guaranteedConcurrency, "guaranteedConcurrency");
+    if (guaranteedConcurrency > maxConcurrency) {
+      throw new IllegalArgumentException("guaranteedConcurrency must be <= maxConcurrency");
+    } else if (maxConcurrency > this.maxConcurrency) {
+      throw new IllegalArgumentException("A sub pool should be smaller than the parent pool");
+    }
+
+    HierarchicalPrioritySchedulerLimiter result;
+    synchronized (shareLock) {
+      if (childGuaranteedTotal + guaranteedConcurrency > this.guaranteedConcurrency) {
+        throw new IllegalArgumentException("Can not guarantee more than parents guaranteed concurrency: " +
+                                             (this.guaranteedConcurrency - childGuaranteedTotal));
+      }
+
+      result = new HierarchicalPrioritySchedulerLimiter(scheduler, this,
+                                                        guaranteedConcurrency, maxConcurrency,
+                                                        subPoolName);
+      childGuaranteedTotal += guaranteedConcurrency;
+      // idle child reserves its guarantee from us
+      updateDemand(this, guaranteedConcurrency);
+      children.add(result);
+    }
+
+    return result;
+  }
+
+  /**
+   * Returns the concurrency a node will account for within its parent.  That is the larger of
+   * the guaranteed concurrency or the current demand for the node.
+   *
+   * @param node node to check footprint of
+   * @param demand demand to calculate footprint with
+   * @return concurrency accounted for in the parent
+   */
+  private static int footprint(HierarchicalPrioritySchedulerLimiter node, int demand) {
+    return Math.max(node.guaranteedConcurrency, demand);
+  }
+
+  /**
+   * Adjusts the demand starting at the provided node, propagating up the tree for as long as
+   * the footprint of a node is changed.  This REQUIRES that shareLock is held.
+   *
+   * @param node node to start adjusting demand at
+   * @param delta amount to change the demand by
+   * @return highest node in the tree which had its demand changed, or null if delta was zero
+   */
+  private static HierarchicalPrioritySchedulerLimiter updateDemand(HierarchicalPrioritySchedulerLimiter node, 
+                                                                   int delta) {
+    HierarchicalPrioritySchedulerLimiter lastChanged = null;
+    while (node != null && delta != 0) {
+      int oldFootprint = footprint(node, node.demand);
+      node.demand += delta;
+      delta = footprint(node, node.demand) - oldFootprint;
+      lastChanged = node;
+      node = node.parent;
+    }
+    return lastChanged;
+  }
+
+  @Override
+  protected boolean canRunTask() {
+    synchronized (shareLock) {
+      // first verify that no node in the path would exceed its max concurrency
+      HierarchicalPrioritySchedulerLimiter node = this;
+      int delta = 1;
+      while (node != null && delta > 0) {
+        int newDemand = node.demand + delta;
+        if (newDemand > node.maxConcurrency) {
+          return false;
+        }
+        delta = footprint(node, newDemand) - footprint(node, node.demand);
+        node = node.parent;
+      }
+
+      updateDemand(this, 1);
+      node = this;
+      while (node != null) {
+        node.runningCount++;
+        node = node.parent;
+      }
+      totalStartedCount++;
+
+      return true;
+    }
+  }
+
+  @Override
+  protected void handleTaskFinished() {
+    HierarchicalPrioritySchedulerLimiter highestChanged;
+    synchronized (shareLock) {
+      highestChanged = updateDemand(this, -1);
+      HierarchicalPrioritySchedulerLimiter node = this;
+      while (node != null) {
+        node.runningCount--;
+        node = node.parent;
+      }
+    }
+
+    /* capacity was only returned to nodes from this one up to the highest changed node, so 
+     * only tasks waiting within those nodes (or their other children) may now be able to run
+     */
+    HierarchicalPrioritySchedulerLimiter node = this;
+    HierarchicalPrioritySchedulerLimiter drainedChild = null;
+    while (true) {
+      node.consumeAvailable();
+      Iterator<HierarchicalPrioritySchedulerLimiter> it = node.children.iterator();
+      while (it.hasNext()) {
+        HierarchicalPrioritySchedulerLimiter child = it.next();
+        if (child != drainedChild) {
+          child.consumeAvailableInTree();
+        }
+      }
+      if (node == highestChanged || node.parent == null) {
+        break;
+      }
+      drainedChild = node;
+      node = node.parent;
+    }
+  }
+
+  /**
+   * Runs as many waiting tasks as possible from this node and all of its children.  Children 
+   * are only checked while this node is below its max concurrency, since otherwise any tasks 
+   * waiting in the children would still be limited by this node.
+   */
+  protected void consumeAvailableInTree() {
+    consumeAvailable();
+
+    synchronized (shareLock) {
+      if (demand >= maxConcurrency) {
+        return;
+      }
+    }
+    Iterator<HierarchicalPrioritySchedulerLimiter> it = children.iterator();
+    while (it.hasNext()) {
+      it.next().consumeAvailableInTree();
+    }
+  }
+
+  /**
+   * Returns the parent of this sub pool.
+   *
+   * @return parent pool, or null if this is the root of the tree
+   */
+  public HierarchicalPrioritySchedulerLimiter getParent() {
+    return parent;
+  }
+
+  /**
+   * Call to check the concurrency this sub pool can always run at.
+   *
+   * @return guaranteed concurrency for this pool
+   */
+  public int getGuaranteedConcurrency() {
+    return guaranteedConcurrency;
+  }
+
+  /**
+   * Call to check how many tasks are currently running in this pool, including
+   * tasks running in any child sub pools.
+   *
+   * @return current number of running tasks
+   */
+  public int getCurrentRunningCount() {
+    synchronized (shareLock) {
+      return runningCount;
+    }
+  }
+
+  /**
+   * Call to check how much capacity this pool is currently using beyond its guaranteed
+   * concurrency.  This includes capacity reserved for guarantees of child sub pools.
+   *
+   * @return current concurrency borrowed from the parent pool
+   */
+  public int getCurrentBorrowedCount() {
+    synchronized (shareLock) {
+      return Math.max(0, demand - guaranteedConcurrency);
+    }
+  }
+
+  /**
+   * Call to check the ratio of running tasks to max concurrency.  This includes tasks running
+   * in child sub pools.
+   *
+   * @return current utilization, between 0 and 1 unless above max from a newly added guarantee
+   */
+  public double getCurrentUtilization() {
+    return getCurrentRunningCount() / (double)maxConcurrency;
+  }
+
+  /**
+   * Call to check how many tasks are waiting for capacity directly in this pool.
+   *
+   * @return quantity of tasks waiting to run
+   */
+  public int getWaitingTaskCount() {
+    return waitingTasks.size() + lowPriorityWaitingTasks.size();
+  }
+
+  /**
+   * Call to get the total quantity of tasks which have been started directly in this pool.
+   * This does not include tasks started in child sub pools.
+   *
+   * @return total quantity of tasks started in this pool
+   */
+  public long getTotalStartedCount() {
+    synchronized (shareLock) {
+      return totalStartedCount;
+    }
+  }
+}
@@ -1,12 +1,18 @@
 package org.threadly.concurrent.limiter;
 
+import java.util.Queue;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
+import org.threadly.concurrent.CatchUpPolicy;
+import org.threadly.concurrent.ContainerHelper;
+import org.threadly.concurrent.FixedRateSchedule;
 import org.threadly.concurrent.PrioritySchedulerInterface;
 import org.threadly.concurrent.TaskPriority;
 import org.threadly.concurrent.future.ListenableFuture;
 import org.threadly.concurrent.future.ListenableFutureTask;
 import org.threadly.util.ArgumentVerifier;
+import org.threadly.util.Clock;
 
 /**
  * <p>This class is designed to limit how much parallel execution happens 
@@ -23,12 +29,24 @@ import org.threadly.util.ArgumentVerifier;
  * By using this you also are able to accomplish more efficiently thread use 
  * than multiple thread pools would.</p>
  * 
+ * <p>Tasks waiting for a slot in this limiter are held in separate high 
+ * and low priority queues.  High priority tasks will be consumed first, 
+ * unless a low priority task has been waiting longer than the set 
+ * maxWaitForLowPriorityInMs.  This is the same starvation guarantee 
+ * that {@link org.threadly.concurrent.PriorityScheduler} provides, so 
+ * a backlog of low priority tasks wont delay high priority tasks, but 
+ * low priority tasks will still never be starved.</p>
+ * 
  * @author jent - Mike Jensen
  * @since 1.0.0
  */
 public class PrioritySchedulerLimiter extends SchedulerServiceLimiter 
                                       implements PrioritySchedulerInterface {
+  protected static final int DEFAULT_LOW_PRIORITY_MAX_WAIT_IN_MS = 500;
+  
   protected final PrioritySchedulerInterface scheduler;
+  protected final Queue<PriorityWrapper> lowPriorityWaitingTasks;
+  private volatile long maxWaitForLowPriorityInMs;
   
   /**
    * Constructs a new limiter that implements the {@link PrioritySchedulerInterface}.
@@ -50,9 +68,123 @@ public class PrioritySchedulerLimiter extends SchedulerServiceLimiter
    */
   public PrioritySchedulerLimiter(PrioritySchedulerInterface scheduler, 
                                   int maxConcurrency, String subPoolName) {
+    this(scheduler, maxConcurrency, subPoolName, DEFAULT_LOW_PRIORITY_MAX_WAIT_IN_MS);
+  }
+  
+  /**
+   * Constructs a new limiter that implements the {@link PrioritySchedulerInterface}.  
+   * 
+   * The maxWaitForLowPriorityInMs is the longest a low priority task will wait in this 
+   * limiter behind waiting high priority tasks.  Once a low priority task has waited this 
+   * long it will be allowed to run before any waiting high priority tasks.
+   * 
+   * @param scheduler {@link PrioritySchedulerInterface} implementation to submit task executions to.
+   * @param maxConcurrency maximum quantity of runnables to run in parallel
+   * @param subPoolName name to describe threads while tasks running in pool (null to not change thread names)
+   * @param maxWaitForLowPriorityInMs time low priority tasks wait behind high priority tasks
+   */
+  public PrioritySchedulerLimiter(PrioritySchedulerInterface scheduler, 
+                                  int maxConcurrency, String subPoolName, 
+                                  long maxWaitForLowPriorityInMs) {
     super(scheduler, maxConcurrency, subPoolName);
     
     this.scheduler = scheduler;
+    lowPriorityWaitingTasks = new ConcurrentLinkedQueue<PriorityWrapper>();
+    setMaxWaitForLowPriority(maxWaitForLowPriorityInMs);
+  }
+  
+  /**
+   * Changes the max time a low priority task will wait in this limiter while high 
+   * priority tasks are waiting.  Changing this will take effect for any low priority 
+   * tasks currently waiting.
+   * 
+   * @param maxWaitForLowPriorityInMs new time low priority tasks may wait in milliseconds
+   */
+  public void setMaxWaitForLowPriority(long maxWaitForLowPriorityInMs) {
+    ArgumentVerifier.assertNotNegative(maxWaitForLowPriorityInMs, "maxWaitForLowPriorityInMs");
+    
+    this.maxWaitForLowPriorityInMs = maxWaitForLowPriorityInMs;
+  }
+  
+  /**
+   * Getter for the maximum amount of time a low priority task will wait 
+   * in this limiter while high priority tasks are waiting.
+   * 
+   * @return currently set max wait for low priority task
+   */
+  public long getMaxWaitForLowPriority() {
+    return maxWaitForLowPriorityInMs;
+  }
+  
+  @Override
+  protected void consumeAvailable() {
+    // must synchronize to avoid multiple threads consuming in parallel, see ExecutorLimiter
+    synchronized (this) {
+      long now = -1;
+      while ((! waitingTasks.isEmpty() || ! lowPriorityWaitingTasks.isEmpty()) && 
+             canRunTask()) {
+        // by entering loop we can now execute a task, now decide which queue to consume from
+        LimiterRunnableWrapper lrw;
+        PriorityWrapper lowPriorityTask = lowPriorityWaitingTasks.peek();
+        if (lowPriorityTask == null) {
+          lrw = waitingTasks.poll();
+        } else if (waitingTasks.isEmpty()) {
+          lrw = lowPriorityWaitingTasks.poll();
+        } else {
+          if (now < 0) {
+            now = Clock.accurateTimeMillis();
+          }
+          if (now - lowPriorityTask.queuedTime >= maxWaitForLowPriorityInMs) {
+            // low priority task has waited long enough, so it gets to run over high priority tasks
+            lrw = lowPriorityWaitingTasks.poll();
+          } else {
+            lrw = waitingTasks.poll();
+          }
+        }
+        
+        lrw.submitToExecutor();
+      }
+    }
+  }
+  
+  @Override
+  protected void executeWrapper(LimiterRunnableWrapper lrw) {
+    if (waitingTasks.isEmpty() && lowPriorityWaitingTasks.isEmpty() && canRunTask()) {
+      lrw.submitToExecutor();
+    } else {
+      addToQueue(lrw);
+    }
+  }
+  
+  @Override
+  protected void addToQueue(LimiterRunnableWrapper lrw) {
+    if (lrw instanceof PriorityWrapper && 
+        ((PriorityWrapper)lrw).priority == TaskPriority.Low) {
+      PriorityWrapper pw = (PriorityWrapper)lrw;
+      pw.queuedTime = Clock.accurateTimeMillis();
+      lowPriorityWaitingTasks.add(pw);
+      consumeAvailable(); // call to consume in case task finished after first check
+    } else {
+      super.addToQueue(lrw);
+    }
+  }
+
+  @Override
+  public boolean remove(Runnable task) {
+    // synchronize on this so that we don't consume tasks while trying to remove
+    synchronized (this) {
+      return super.remove(task) || 
+               ContainerHelper.remove(lowPriorityWaitingTasks, task);
+    }
+  }
+
+  @Override
+  public boolean remove(Callable<?> task) {
+    // synchronize on this so that we don't consume tasks while trying to remove
+    synchronized (this) {
+      return super.remove(task) || 
+               ContainerHelper.remove(lowPriorityWaitingTasks, task);
+    }
   }
 
   @Override
@@ -156,6 +288,37 @@ public class PrioritySchedulerLimiter extends SchedulerServiceLimiter
     }
   }
 
+  @Override
+  public void scheduleAtFixedRate(Runnable task, long initialDelay, long period, 
+                                  CatchUpPolicy catchUpPolicy) {
+    scheduleAtFixedRate(task, initialDelay, period, catchUpPolicy, null);
+  }
+
+  @Override
+  public void scheduleAtFixedRate(Runnable task, long initialDelay, long period, 
+                                  CatchUpPolicy catchUpPolicy, TaskPriority priority) {
+    ArgumentVerifier.assertNotNull(task, "task");
+    ArgumentVerifier.assertNotNegative(initialDelay, "initialDelay");
+    ArgumentVerifier.assertGreaterThanZero(period, "period");
+    if (catchUpPolicy == null) {
+      catchUpPolicy = CatchUpPolicy.RunAll;
+    }
+    if (priority == null) {
+      priority = scheduler.getDefaultPriority();
+    }
+    
+    RecurringRunnableWrapper rrw = new FixedRateRunnableWrapper(task, period, catchUpPolicy, 
+                                                                Clock.accurateTimeMillis() + initialDelay, 
+                                                                priority);
+    
+    if (initialDelay == 0) {
+      executeWrapper(rrw);
+    } else {
+      scheduler.schedule(new PriorityDelayedRunnable(rrw, priority), 
+                         initialDelay, TaskPriority.High);
+    }
+  }
+
   @Override
   public TaskPriority getDefaultPriority() {
     return scheduler.getDefaultPriority();
@@ -195,9 +358,43 @@ public class PrioritySchedulerLimiter extends SchedulerServiceLimiter
       delayRunnable = new PriorityDelayedRunnable(this, priority);
     }
     
+    /**
+     * Called after the task has completed to find the delay till the next execution.  By 
+     * default this is the recurring delay.
+     * 
+     * @return delay in milliseconds till the task should run again
+     */
+    protected long getNextDelay() {
+      return recurringDelay;
+    }
+    
     @Override
     protected void doAfterRunTasks() {
-      scheduler.schedule(delayRunnable, recurringDelay, TaskPriority.High);
+      scheduler.schedule(delayRunnable, getNextDelay(), TaskPriority.High);
+    }
+  }
+  
+  /**
+   * <p>Wrapper for tasks which run at a fixed rate, following a 
+   * {@link FixedRateSchedule}.</p>
+   * 
+   * @author jent - Mike Jensen
+   * @since 2.5.0
+   */
+  protected class FixedRateRunnableWrapper extends RecurringRunnableWrapper {
+    private final FixedRateSchedule schedule;
+    
+    protected FixedRateRunnableWrapper(Runnable runnable, long period, 
+                                       CatchUpPolicy catchUpPolicy, long firstRunTime, 
+                                       TaskPriority priority) {
+      super(runnable, period, priority);
+      
+      this.schedule = new FixedRateSchedule(firstRunTime, period, catchUpPolicy);
+    }
+    
+    @Override
+    protected long getNextDelay() {
+      return schedule.updateNextDelay(Clock.accurateTimeMillis());
     }
   }
 
@@ -209,7 +406,8 @@ public class PrioritySchedulerLimiter extends SchedulerServiceLimiter
    * @since 1.1.0
    */
   protected class PriorityWrapper extends LimiterRunnableWrapper {
-    private final TaskPriority priority;
+    protected final TaskPriority priority;
+    private long queuedTime; // only accessed while adding to, or consuming from the queue
     
     protected PriorityWrapper(Runnable runnable, TaskPriority priority) {
       super(scheduler, runnable);
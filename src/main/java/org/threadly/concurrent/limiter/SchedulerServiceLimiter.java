@@ -51,11 +51,25 @@ public class SchedulerServiceLimiter extends SimpleSchedulerLimiter
    */
   public SchedulerServiceLimiter(SchedulerServiceInterface scheduler, 
                                  int maxConcurrency, String subPoolName) {
-    super(scheduler, maxConcurrency, subPoolName);
+    this(scheduler, maxConcurrency, subPoolName, false);
+  }
+  
+  /**
+   * Constructs a new limiter that implements the {@link SchedulerServiceInterface}.
+   * 
+   * @param scheduler {@link SchedulerServiceInterface} implementation to submit task executions to.
+   * @param maxConcurrency maximum quantity of runnables to run in parallel
+   * @param subPoolName name to describe threads while tasks running in pool (null to not change thread names)
+   * @param useLocalDelayQueue true to hold delayed tasks in this limiter, scheduling only the earliest
+   */
+  public SchedulerServiceLimiter(SchedulerServiceInterface scheduler, 
+                                 int maxConcurrency, String subPoolName, 
+                                 boolean useLocalDelayQueue) {
+    super(scheduler, maxConcurrency, subPoolName, useLocalDelayQueue);
     
     this.scheduler = scheduler;
   }
-
+  
   @Override
   public boolean remove(Runnable task) {
     // synchronize on this so that we don't consume tasks while trying to remove
@@ -65,7 +79,8 @@ public class SchedulerServiceLimiter extends SimpleSchedulerLimiter
         return true;
       }
       
-      return ContainerHelper.remove(waitingTasks, task);
+      return ContainerHelper.remove(waitingTasks, task) || 
+               removeFromDelayQueue(task);
     }
   }
 
@@ -78,7 +93,8 @@ public class SchedulerServiceLimiter extends SimpleSchedulerLimiter
         return true;
       }
       
-      return ContainerHelper.remove(waitingTasks, task);
+      return ContainerHelper.remove(waitingTasks, task) || 
+               removeFromDelayQueue(task);
     }
   }
 
@@ -1,13 +1,20 @@
 package org.threadly.concurrent.limiter;
 
+import java.util.PriorityQueue;
+import java.util.Queue;
 import java.util.concurrent.Callable;
 
+import org.threadly.concurrent.CatchUpPolicy;
+import org.threadly.concurrent.ContainerHelper;
+import org.threadly.concurrent.FixedRateSchedule;
 import org.threadly.concurrent.RunnableContainerInterface;
+import org.threadly.concurrent.SchedulerServiceInterface;
 import org.threadly.concurrent.SimpleSchedulerInterface;
 import org.threadly.concurrent.SubmitterSchedulerInterface;
 import org.threadly.concurrent.future.ListenableFuture;
 import org.threadly.concurrent.future.ListenableFutureTask;
 import org.threadly.util.ArgumentVerifier;
+import org.threadly.util.Clock;
 
 /**
  * <p>This class is designed to limit how much parallel execution happens on a 
@@ -24,12 +31,24 @@ import org.threadly.util.ArgumentVerifier;
  * using this you also are able to accomplish more efficiently thread use than 
  * multiple thread pools would.</p>
  * 
+ * <p>By default delayed tasks are scheduled directly on the provided scheduler.  
+ * If constructed to use a local delay queue, delayed and recurring tasks will 
+ * instead be held in this limiter, ordered by their run time.  Then only the 
+ * earliest run time is scheduled on the provided scheduler.  This is useful for 
+ * limiters which hold many delayed tasks, since the scheduler's queue will not 
+ * grow with the number of tasks delayed in the limiter.  If the provided scheduler 
+ * is a {@link SchedulerServiceInterface}, checks which are superseded by an earlier 
+ * task are removed from it.  Otherwise a superseded check remains in the scheduler 
+ * (doing nothing once run) until its original run time.</p>
+ * 
  * @author jent - Mike Jensen
  * @since 2.0.0
  */
 public class SimpleSchedulerLimiter extends ExecutorLimiter 
                                     implements SubmitterSchedulerInterface {
   protected final SimpleSchedulerInterface scheduler;
+  protected final Queue<LocalDelayedTask> delayQueue;  // null if not using a local delay queue
+  private DelayQueueCheck nextDelayCheck;  // locked around delayQueue
   
   /**
    * Constructs a new limiter that implements the {@link SubmitterSchedulerInterface}.
@@ -51,9 +70,29 @@ public class SimpleSchedulerLimiter extends ExecutorLimiter
    */
   public SimpleSchedulerLimiter(SimpleSchedulerInterface scheduler, 
                                 int maxConcurrency, String subPoolName) {
+    this(scheduler, maxConcurrency, subPoolName, false);
+  }
+  
+  /**
+   * Constructs a new limiter that implements the {@link SubmitterSchedulerInterface}.
+   * 
+   * @param scheduler {@link SimpleSchedulerInterface} implementation to submit task executions to.
+   * @param maxConcurrency maximum quantity of runnables to run in parallel
+   * @param subPoolName name to describe threads while tasks running in pool (null to not change thread names)
+   * @param useLocalDelayQueue true to hold delayed tasks in this limiter, scheduling only the earliest
+   */
+  public SimpleSchedulerLimiter(SimpleSchedulerInterface scheduler, 
+                                int maxConcurrency, String subPoolName, 
+                                boolean useLocalDelayQueue) {
     super(scheduler, maxConcurrency, subPoolName);
     
     this.scheduler = scheduler;
+    if (useLocalDelayQueue) {
+      delayQueue = new PriorityQueue<LocalDelayedTask>();
+    } else {
+      delayQueue = null;
+    }
+    nextDelayCheck = null;
   }
 
   @Override
@@ -90,6 +129,8 @@ public class SimpleSchedulerLimiter extends ExecutorLimiter
     
     if (delayInMs == 0) {
       execute(task);
+    } else if (delayQueue != null) {
+      addToDelayQueue(new LimiterRunnableWrapper(executor, task), delayInMs);
     } else {
       scheduler.schedule(new DelayedExecutionRunnable(task), 
                          delayInMs);
@@ -107,11 +148,255 @@ public class SimpleSchedulerLimiter extends ExecutorLimiter
     
     if (initialDelay == 0) {
       executeWrapper(rrw);
+    } else if (delayQueue != null) {
+      addToDelayQueue(rrw, initialDelay);
     } else {
       scheduler.schedule(new DelayedExecutionRunnable(rrw), 
                          initialDelay);
     }
   }
+
+  @Override
+  public void scheduleAtFixedRate(Runnable task, long initialDelay, long period) {
+    scheduleAtFixedRate(task, initialDelay, period, null);
+  }
+
+  @Override
+  public void scheduleAtFixedRate(Runnable task, long initialDelay, long period, 
+                                  CatchUpPolicy catchUpPolicy) {
+    ArgumentVerifier.assertNotNull(task, "task");
+    ArgumentVerifier.assertNotNegative(initialDelay, "initialDelay");
+    ArgumentVerifier.assertGreaterThanZero(period, "period");
+    if (catchUpPolicy == null) {
+      catchUpPolicy = CatchUpPolicy.RunAll;
+    }
+    
+    RecurringRunnableWrapper rrw = new FixedRateRunnableWrapper(task, period, catchUpPolicy, 
+                                                                Clock.accurateTimeMillis() + initialDelay);
+    
+    if (initialDelay == 0) {
+      executeWrapper(rrw);
+    } else if (delayQueue != null) {
+      addToDelayQueue(rrw, initialDelay);
+    } else {
+      scheduler.schedule(new DelayedExecutionRunnable(rrw), 
+                         initialDelay);
+    }
+  }
+  
+  /**
+   * Adds a wrapper into the local delay queue.  If this is now the next task to run, 
+   * a check will be scheduled on the scheduler for when it is ready.  This should only 
+   * be called when constructed to use a local delay queue.
+   * 
+   * @param lrw Wrapper to execute once the delay has elapsed
+   * @param delayInMs time in milliseconds till the wrapper should be executed
+   */
+  protected void addToDelayQueue(LimiterRunnableWrapper lrw, long delayInMs) {
+    LocalDelayedTask ldt = new LocalDelayedTask(lrw, Clock.accurateTimeMillis() + delayInMs);
+    DelayQueueCheck replacedCheck;
+    DelayQueueCheck newCheck = null;
+    synchronized (delayQueue) {
+      delayQueue.add(ldt);
+      
+      replacedCheck = nextDelayCheck;
+      if (delayQueue.peek() == ldt) {
+        newCheck = updateDelayCheck(ldt.runTime);
+      }
+    }
+    
+    scheduleDelayCheck(replacedCheck, newCheck);
+  }
+  
+  /**
+   * Ensures that a check will be scheduled on the scheduler for no later than the provided 
+   * time.  If an earlier check is needed, the current check is marked as canceled, and a new 
+   * check is returned.  This REQUIRES that the delayQueue lock is held.  The returned check 
+   * must be provided to {@link #scheduleDelayCheck(DelayQueueCheck, DelayQueueCheck)} once 
+   * the lock has been released.
+   * 
+   * @param runTime absolute time in milliseconds that the queue must be checked by
+   * @return new check which needs to be scheduled, or null if the current check is sufficient
+   */
+  private DelayQueueCheck updateDelayCheck(long runTime) {
+    if (nextDelayCheck == null || nextDelayCheck.checkTime > runTime) {
+      if (nextDelayCheck != null) {
+        nextDelayCheck.canceled = true;
+      }
+      
+      nextDelayCheck = new DelayQueueCheck(runTime);
+      return nextDelayCheck;
+    } else {
+      return null;
+    }
+  }
+  
+  /**
+   * Schedules a new delay queue check, and removes the check it replaced from the scheduler.  
+   * This must be called without holding the delayQueue lock, so that the scheduler's locks are 
+   * never acquired while holding a lock in this limiter.
+   * 
+   * @param replacedCheck check which was current before the update, or null
+   * @param newCheck check returned from {@link #updateDelayCheck(long)}, or null
+   */
+  private void scheduleDelayCheck(DelayQueueCheck replacedCheck, DelayQueueCheck newCheck) {
+    if (newCheck == null) {
+      return;
+    }
+    if (replacedCheck != null && replacedCheck.canceled) {
+      cancelDelayCheck(replacedCheck);
+    }
+    
+    scheduler.schedule(newCheck, Math.max(0, newCheck.checkTime - Clock.accurateTimeMillis()));
+  }
+  
+  /**
+   * Invoked when a scheduled delay queue check is no longer needed because an earlier check 
+   * has been scheduled.  The check will do nothing if it runs, but if the scheduler supports 
+   * removal it is removed so that it is not held in the scheduler's queue.  This is invoked 
+   * without any locks in this limiter held.
+   * 
+   * @param check Runnable which was previously provided to the scheduler
+   */
+  protected void cancelDelayCheck(Runnable check) {
+    if (scheduler instanceof SchedulerServiceInterface) {
+      ((SchedulerServiceInterface)scheduler).remove(check);
+    }
+  }
+  
+  /**
+   * Removes a runnable from the local delay queue if it exists.
+   * 
+   * @param task Runnable to search for
+   * @return true if the task was found and removed
+   */
+  protected boolean removeFromDelayQueue(Runnable task) {
+    if (delayQueue == null) {
+      return false;
+    }
+    
+    synchronized (delayQueue) {
+      return ContainerHelper.remove(delayQueue, task);
+    }
+  }
+  
+  /**
+   * Removes a callable from the local delay queue if it exists.
+   * 
+   * @param task Callable to search for
+   * @return true if the task was found and removed
+   */
+  protected boolean removeFromDelayQueue(Callable<?> task) {
+    if (delayQueue == null) {
+      return false;
+    }
+    
+    synchronized (delayQueue) {
+      return ContainerHelper.remove(delayQueue, task);
+    }
+  }
+  
+  /**
+   * <p>Container for a task which is waiting in the local delay queue.  These are 
+   * ordered by the time they are ready to run.</p>
+   * 
+   * @author jent - Mike Jensen
+   * @since 2.5.0
+   */
+  protected static class LocalDelayedTask implements Comparable<LocalDelayedTask>, 
+                                                     RunnableContainerInterface {
+    protected final LimiterRunnableWrapper lrw;
+    protected final long runTime;
+    
+    protected LocalDelayedTask(LimiterRunnableWrapper lrw, long runTime) {
+      this.lrw = lrw;
+      this.runTime = runTime;
+    }
+
+    @Override
+    public int compareTo(LocalDelayedTask o) {
+      if (runTime == o.runTime) {
+        return 0;
+      } else if (runTime > o.runTime) {
+        return 1;
+      } else {
+        return -1;
+      }
+    }
+
+    @Override
+    public Runnable getContainedRunnable() {
+      return lrw.getContainedRunnable();
+    }
+  }
+  
+  /**
+   * <p>Runnable which is scheduled on the scheduler for the earliest task in the 
+   * local delay queue.  Once run it will execute all ready tasks, and schedule a new 
+   * check for the next task in the queue.</p>
+   * 
+   * @author jent - Mike Jensen
+   * @since 2.5.0
+   */
+  protected class DelayQueueCheck implements Runnable {
+    private final long checkTime;
+    private volatile boolean canceled;
+    
+    protected DelayQueueCheck(long checkTime) {
+      this.checkTime = checkTime;
+      canceled = false;
+    }
+    
+    @Override
+    public void run() {
+      if (canceled) {
+        return;
+      }
+      
+      long now = Clock.accurateTimeMillis();
+      LimiterRunnableWrapper runInThread = null;
+      while (true) {
+        LocalDelayedTask readyTask;
+        DelayQueueCheck replacedCheck;
+        DelayQueueCheck newCheck;
+        synchronized (delayQueue) {
+          if (nextDelayCheck == this) {
+            nextDelayCheck = null;
+          }
+          readyTask = delayQueue.peek();
+          replacedCheck = nextDelayCheck;
+          if (readyTask == null) {
+            break;
+          } else if (readyTask.runTime > now) {
+            newCheck = updateDelayCheck(readyTask.runTime);
+          } else {
+            newCheck = null;
+            delayQueue.poll();
+          }
+        }
+        
+        if (readyTask.runTime > now) {
+          scheduleDelayCheck(replacedCheck, newCheck);
+          break;
+        }
+        
+        if (canRunTask()) {
+          if (runInThread == null) {
+            // we can run one task in the thread we already have
+            runInThread = readyTask.lrw;
+          } else {
+            readyTask.lrw.submitToExecutor();
+          }
+        } else {
+          addToQueue(readyTask.lrw);
+        }
+      }
+      
+      if (runInThread != null) {
+        runInThread.run();
+      }
+    }
+  }
   
   /**
    * <p>Small runnable that allows scheduled tasks to pass through 
@@ -167,9 +452,47 @@ public class SimpleSchedulerLimiter extends ExecutorLimiter
       delayRunnable = new DelayedExecutionRunnable(this);
     }
     
+    /**
+     * Called after the task has completed to find the delay till the next execution.  By 
+     * default this is the recurring delay.
+     * 
+     * @return delay in milliseconds till the task should run again
+     */
+    protected long getNextDelay() {
+      return recurringDelay;
+    }
+    
     @Override
     protected void doAfterRunTasks() {
-      scheduler.schedule(delayRunnable, recurringDelay);
+      long nextDelay = getNextDelay();
+      if (delayQueue != null) {
+        addToDelayQueue(this, nextDelay);
+      } else {
+        scheduler.schedule(delayRunnable, nextDelay);
+      }
+    }
+  }
+  
+  /**
+   * <p>Wrapper for tasks which run at a fixed rate, following a 
+   * {@link FixedRateSchedule}.</p>
+   * 
+   * @author jent - Mike Jensen
+   * @since 2.5.0
+   */
+  protected class FixedRateRunnableWrapper extends RecurringRunnableWrapper {
+    private final FixedRateSchedule schedule;
+    
+    public FixedRateRunnableWrapper(Runnable runnable, long period, 
+                                    CatchUpPolicy catchUpPolicy, long firstRunTime) {
+      super(runnable, period);
+      
+      this.schedule = new FixedRateSchedule(firstRunTime, period, catchUpPolicy);
+    }
+    
+    @Override
+    protected long getNextDelay() {
+      return schedule.updateNextDelay(Clock.accurateTimeMillis());
     }
   }
 }
@@ -49,6 +49,12 @@ public class BlockingQueueConsumerTest {
     } catch (IllegalArgumentException e) {
       // expected
     }
+    try {
+      new BlockingQueueConsumer<Object>(new SynchronousQueue<Object>(), new TestAcceptor(), null);
+      fail("Exception should have been thrown");
+    } catch (IllegalArgumentException e) {
+      // expected
+    }
   }
   
   @Test
@@ -93,6 +99,46 @@ public class BlockingQueueConsumerTest {
     assertTrue(acceptor.acceptedItems.get(0) == item);
   }
   
+  @Test
+  public void busySpinConsumeTest() throws InterruptedException {
+    idleStrategyConsumeTest(IdleStrategy.BUSY_SPIN);
+  }
+  
+  @Test
+  public void spinYieldConsumeTest() throws InterruptedException {
+    idleStrategyConsumeTest(new IdleStrategy(100, 100, 0));
+  }
+  
+  @Test
+  public void spinParkConsumeTest() throws InterruptedException {
+    idleStrategyConsumeTest(new IdleStrategy(100, 100, 1000 * 1000));
+  }
+  
+  private void idleStrategyConsumeTest(IdleStrategy idleStrategy) throws InterruptedException {
+    final BlockingQueueConsumer<Object> queueConsumer = 
+        new BlockingQueueConsumer<Object>(queue, acceptor, idleStrategy);
+    queueConsumer.maybeStart(new ConfigurableThreadFactory());
+    try {
+      Object item = new Object();
+      queue.put(item);
+      
+      acceptor.blockTillTrue(); // will throw exception if never got item
+      
+      assertTrue(acceptor.acceptedItems.get(0) == item);
+    } finally {
+      final Thread runningThread = queueConsumer.runningThread;
+      queueConsumer.stop();
+      
+      // thread should exit, even though it was not blocked
+      new TestCondition() {
+        @Override
+        public boolean get() {
+          return ! runningThread.isAlive();
+        }
+      }.blockTillTrue();
+    }
+  }
+  
   @Test
   public void consumeExceptionTest() throws InterruptedException {
     UncaughtExceptionHandler ueh = Thread.getDefaultUncaughtExceptionHandler();
@@ -0,0 +1,58 @@
+package org.threadly.concurrent;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+@SuppressWarnings("javadoc")
+public class CatchUpPolicyTest {
+  private static final long PERIOD = 100;
+  private static final long PREVIOUS_RUN_TIME = 1000;
+  
+  @Test
+  public void onScheduleTest() {
+    long now = PREVIOUS_RUN_TIME + 10;
+    for (CatchUpPolicy cup : CatchUpPolicy.values()) {
+      assertEquals(PREVIOUS_RUN_TIME + PERIOD, cup.getNextRunTime(PREVIOUS_RUN_TIME, PERIOD, now));
+    }
+  }
+  
+  @Test
+  public void exactlyOnTimeTest() {
+    long now = PREVIOUS_RUN_TIME + PERIOD;
+    for (CatchUpPolicy cup : CatchUpPolicy.values()) {
+      assertEquals(now, cup.getNextRunTime(PREVIOUS_RUN_TIME, PERIOD, now));
+    }
+  }
+  
+  @Test
+  public void runAllLateTest() {
+    long now = PREVIOUS_RUN_TIME + (PERIOD * 3) + 10;
+    
+    assertEquals(PREVIOUS_RUN_TIME + PERIOD, 
+                 CatchUpPolicy.RunAll.getNextRunTime(PREVIOUS_RUN_TIME, PERIOD, now));
+  }
+  
+  @Test
+  public void skipMissedLateTest() {
+    long now = PREVIOUS_RUN_TIME + (PERIOD * 3) + 10;
+    
+    assertEquals(PREVIOUS_RUN_TIME + (PERIOD * 4), 
+                 CatchUpPolicy.SkipMissed.getNextRunTime(PREVIOUS_RUN_TIME, PERIOD, now));
+    // landing on a boundary should run at that boundary
+    now = PREVIOUS_RUN_TIME + (PERIOD * 3);
+    assertEquals(now, CatchUpPolicy.SkipMissed.getNextRunTime(PREVIOUS_RUN_TIME, PERIOD, now));
+  }
+  
+  @Test
+  public void coalesceLateTest() {
+    long now = PREVIOUS_RUN_TIME + (PERIOD * 3) + 10;
+    
+    assertEquals(PREVIOUS_RUN_TIME + (PERIOD * 3), 
+                 CatchUpPolicy.Coalesce.getNextRunTime(PREVIOUS_RUN_TIME, PERIOD, now));
+    // next run after coalesced execution should be back on schedule
+    long coalescedRunTime = PREVIOUS_RUN_TIME + (PERIOD * 3);
+    assertEquals(coalescedRunTime + PERIOD, 
+                 CatchUpPolicy.Coalesce.getNextRunTime(coalescedRunTime, PERIOD, now + 10));
+  }
+}
@@ -0,0 +1,76 @@
+package org.threadly.concurrent;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+@SuppressWarnings("javadoc")
+public class ExponentialBackoffPolicyTest {
+  @SuppressWarnings("unused")
+  @Test
+  public void constructorFail() {
+    try {
+      new ExponentialBackoffPolicy(-1, 1, 1);
+      fail("Exception should have thrown");
+    } catch (IllegalArgumentException e) {
+      // expected
+    }
+    try {
+      new ExponentialBackoffPolicy(10, .5, 1);
+      fail("Exception should have thrown");
+    } catch (IllegalArgumentException e) {
+      // expected
+    }
+    try {
+      new ExponentialBackoffPolicy(10, 1, 0);
+      fail("Exception should have thrown");
+    } catch (IllegalArgumentException e) {
+      // expected
+    }
+    try {
+      new ExponentialBackoffPolicy(10, 1, 10, 1, 10, 2);
+      fail("Exception should have thrown");
+    } catch (IllegalArgumentException e) {
+      // expected
+    }
+  }
+  
+  @Test
+  public void fixedDelayTest() {
+    ExponentialBackoffPolicy policy = new ExponentialBackoffPolicy(10, 1, 3);
+    
+    assertEquals(10, policy.getRetryDelay(1, 0, null));
+    assertEquals(10, policy.getRetryDelay(2, 0, null));
+    assertTrue(policy.getRetryDelay(3, 0, null) < 0);
+  }
+  
+  @Test
+  public void exponentialDelayTest() {
+    ExponentialBackoffPolicy policy = new ExponentialBackoffPolicy(10, 2, 35, 10, Long.MAX_VALUE, 0);
+    
+    assertEquals(10, policy.getRetryDelay(1, 0, null));
+    assertEquals(20, policy.getRetryDelay(2, 0, null));
+    assertEquals(35, policy.getRetryDelay(3, 0, null));
+    assertEquals(35, policy.getRetryDelay(9, 0, null));
+    assertTrue(policy.getRetryDelay(10, 0, null) < 0);
+  }
+  
+  @Test
+  public void maxDurationTest() {
+    ExponentialBackoffPolicy policy = new ExponentialBackoffPolicy(10, 1, 10, 10, 100, 0);
+    
+    assertEquals(10, policy.getRetryDelay(1, 90, null));
+    assertTrue(policy.getRetryDelay(1, 91, null) < 0);
+  }
+  
+  @Test
+  public void jitterTest() {
+    ExponentialBackoffPolicy policy = new ExponentialBackoffPolicy(100, 1, 100, 10, Long.MAX_VALUE, .5);
+    
+    for (int i = 0; i < 100; i++) {
+      long delay = policy.getRetryDelay(1, 0, null);
+      assertTrue(delay >= 50);
+      assertTrue(delay <= 100);
+    }
+  }
+}
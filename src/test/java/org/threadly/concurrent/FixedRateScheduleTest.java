@@ -0,0 +1,76 @@
+package org.threadly.concurrent;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+@SuppressWarnings("javadoc")
+public class FixedRateScheduleTest {
+  private static final long PERIOD = 100;
+  private static final long FIRST_RUN_TIME = 1000;
+  
+  @Test
+  @SuppressWarnings("unused")
+  public void constructorFail() {
+    try {
+      new FixedRateSchedule(FIRST_RUN_TIME, 0, CatchUpPolicy.RunAll);
+      fail("Exception should have thrown");
+    } catch (IllegalArgumentException e) {
+      // expected
+    }
+    try {
+      new FixedRateSchedule(FIRST_RUN_TIME, PERIOD, null);
+      fail("Exception should have thrown");
+    } catch (IllegalArgumentException e) {
+      // expected
+    }
+  }
+  
+  @Test
+  public void getNextRunTimeTest() {
+    FixedRateSchedule frs = new FixedRateSchedule(FIRST_RUN_TIME, PERIOD, CatchUpPolicy.RunAll);
+    
+    assertEquals(FIRST_RUN_TIME, frs.getNextRunTime());
+  }
+  
+  @Test
+  public void updateOnScheduleTest() {
+    FixedRateSchedule frs = new FixedRateSchedule(FIRST_RUN_TIME, PERIOD, CatchUpPolicy.RunAll);
+    
+    assertEquals(PERIOD - 10, frs.updateNextDelay(FIRST_RUN_TIME + 10));
+    assertEquals(FIRST_RUN_TIME + PERIOD, frs.getNextRunTime());
+    assertEquals(PERIOD - 10, frs.updateNextDelay(FIRST_RUN_TIME + PERIOD + 10));
+    assertEquals(FIRST_RUN_TIME + (PERIOD * 2), frs.getNextRunTime());
+  }
+  
+  @Test
+  public void updateRunAllLateTest() {
+    FixedRateSchedule frs = new FixedRateSchedule(FIRST_RUN_TIME, PERIOD, CatchUpPolicy.RunAll);
+    long now = FIRST_RUN_TIME + (PERIOD * 3) + 10;
+    
+    // each missed execution should run immediately, without losing its place in the schedule
+    for (int i = 1; i <= 3; i++) {
+      assertEquals(0, frs.updateNextDelay(now));
+      assertEquals(FIRST_RUN_TIME + (PERIOD * i), frs.getNextRunTime());
+    }
+    assertEquals(PERIOD - 10, frs.updateNextDelay(now));
+  }
+  
+  @Test
+  public void updateSkipMissedLateTest() {
+    FixedRateSchedule frs = new FixedRateSchedule(FIRST_RUN_TIME, PERIOD, CatchUpPolicy.SkipMissed);
+    long now = FIRST_RUN_TIME + (PERIOD * 3) + 10;
+    
+    assertEquals(PERIOD - 10, frs.updateNextDelay(now));
+    assertEquals(FIRST_RUN_TIME + (PERIOD * 4), frs.getNextRunTime());
+  }
+  
+  @Test
+  public void updateNextRunTimeTest() {
+    FixedRateSchedule frs = new FixedRateSchedule(FIRST_RUN_TIME, PERIOD, CatchUpPolicy.Coalesce);
+    long now = FIRST_RUN_TIME + (PERIOD * 3) + 10;
+    
+    assertEquals(FIRST_RUN_TIME + (PERIOD * 3), frs.updateNextRunTime(now));
+    assertEquals(FIRST_RUN_TIME + (PERIOD * 4), frs.updateNextRunTime(now));
+  }
+}
@@ -0,0 +1,86 @@
+package org.threadly.concurrent;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+@SuppressWarnings("javadoc")
+public class IdleStrategyTest {
+  @SuppressWarnings("unused")
+  @Test
+  public void constructorFail() {
+    try {
+      new IdleStrategy(-1, 0, 0);
+      fail("Exception should have thrown");
+    } catch (IllegalArgumentException e) {
+      // expected
+    }
+    try {
+      new IdleStrategy(0, -1, 0);
+      fail("Exception should have thrown");
+    } catch (IllegalArgumentException e) {
+      // expected
+    }
+    try {
+      new IdleStrategy(0, 0, -1);
+      fail("Exception should have thrown");
+    } catch (IllegalArgumentException e) {
+      // expected
+    }
+  }
+  
+  @Test
+  public void blockTest() {
+    assertTrue(IdleStrategy.BLOCK.blocksImmediately());
+    assertFalse(IdleStrategy.BLOCK.mayPark());
+    assertTrue(IdleStrategy.BLOCK.mayBlock());
+    assertFalse(IdleStrategy.BLOCK.idle(0));
+  }
+  
+  @Test
+  public void busySpinTest() {
+    assertFalse(IdleStrategy.BUSY_SPIN.blocksImmediately());
+    assertFalse(IdleStrategy.BUSY_SPIN.mayPark());
+    assertFalse(IdleStrategy.BUSY_SPIN.mayBlock());
+    assertTrue(IdleStrategy.BUSY_SPIN.idle(0));
+    assertTrue(IdleStrategy.BUSY_SPIN.idle(Integer.MAX_VALUE * 2L));
+  }
+  
+  @Test
+  public void busyYieldTest() {
+    assertFalse(IdleStrategy.BUSY_YIELD.blocksImmediately());
+    assertFalse(IdleStrategy.BUSY_YIELD.mayPark());
+    assertFalse(IdleStrategy.BUSY_YIELD.mayBlock());
+    assertTrue(IdleStrategy.BUSY_YIELD.idle(0));
+    assertTrue(IdleStrategy.BUSY_YIELD.idle(Integer.MAX_VALUE * 2L));
+  }
+  
+  @Test
+  public void spinYieldTest() {
+    IdleStrategy is = new IdleStrategy(2, 2, 0);
+    assertFalse(is.blocksImmediately());
+    assertFalse(is.mayPark());
+    assertTrue(is.mayBlock());
+    
+    for (int i = 0; i < 4; i++) {
+      assertTrue(is.idle(i));
+    }
+    assertFalse(is.idle(4));
+  }
+  
+  @Test
+  public void parkTest() {
+    long maxParkNanos = 1000 * 1000;
+    IdleStrategy is = new IdleStrategy(0, 0, maxParkNanos);
+    assertFalse(is.blocksImmediately());
+    assertTrue(is.mayPark());
+    assertFalse(is.mayBlock());
+    
+    assertTrue(is.idle(0));
+    // large idle counts should park for the max time, and never block
+    long start = System.nanoTime();
+    assertTrue(is.idle(Long.MAX_VALUE));
+    // should not park for longer than the max park time
+    assertTrue(System.nanoTime() - start < 1000L * 1000 * 1000);
+  }
+}
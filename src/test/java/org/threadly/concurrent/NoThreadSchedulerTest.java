@@ -3,6 +3,8 @@ package org.threadly.concurrent;
 import static org.junit.Assert.*;
 import static org.threadly.TestConstants.*;
 
+import java.io.IOException;
+import java.nio.channels.Selector;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
@@ -10,6 +12,8 @@ import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.After;
 import org.junit.Before;
@@ -18,6 +22,7 @@ import org.threadly.concurrent.NoThreadScheduler;
 import org.threadly.concurrent.future.ListenableFuture;
 import org.threadly.test.concurrent.AsyncVerifier;
 import org.threadly.test.concurrent.TestRunnable;
+import org.threadly.test.concurrent.TestUtils;
 
 @SuppressWarnings("javadoc")
 public class NoThreadSchedulerTest {
@@ -561,4 +566,304 @@ public class NoThreadSchedulerTest {
     assertEquals(0, blockingScheduler.taskQueue.size());
     assertEquals(0, nonblockingScheduler.taskQueue.size());
   }
+  
+  private static void tickInParallel(final NoThreadScheduler scheduler, 
+                                     final AtomicInteger tickRunCount, 
+                                     final int expectedRuns) throws InterruptedException, 
+                                                                    TimeoutException {
+    final AsyncVerifier av = new AsyncVerifier();
+    for (int i = 0; i < TEST_QTY; i++) {
+      new Thread(new Runnable() {
+        @Override
+        public void run() {
+          try {
+            while (tickRunCount.get() < expectedRuns) {
+              tickRunCount.addAndGet(scheduler.tick());
+            }
+            av.signalComplete();
+          } catch (Throwable t) {
+            av.fail(t);
+          }
+        }
+      }).start();
+    }
+    
+    av.waitForTest(1000 * 10, TEST_QTY);
+  }
+  
+  @Test
+  public void parallelTickTest() throws InterruptedException, TimeoutException {
+    NoThreadScheduler scheduler = new NoThreadScheduler(false, true);
+    List<TestRunnable> runnables = new ArrayList<TestRunnable>(TEST_QTY * 10);
+    for (int i = 0; i < TEST_QTY * 10; i++) {
+      TestRunnable tr = new TestRunnable();
+      runnables.add(tr);
+      scheduler.execute(tr);
+    }
+    
+    AtomicInteger tickRunCount = new AtomicInteger(0);
+    tickInParallel(scheduler, tickRunCount, runnables.size());
+    
+    assertEquals(runnables.size(), tickRunCount.get());
+    Iterator<TestRunnable> it = runnables.iterator();
+    while (it.hasNext()) {
+      assertEquals(1, it.next().getRunCount());
+    }
+    assertFalse(scheduler.hasTaskReadyToRun());
+  }
+  
+  @Test
+  public void parallelTickRecurringTest() throws InterruptedException, TimeoutException {
+    final NoThreadScheduler scheduler = new NoThreadScheduler(false, true);
+    final int runsPerTask = 10;
+    final AtomicBoolean concurrentRun = new AtomicBoolean(false);
+    for (int i = 0; i < TEST_QTY; i++) {
+      scheduler.scheduleWithFixedDelay(new Runnable() {
+        private final AtomicBoolean running = new AtomicBoolean(false);
+        private int runCount = 0;
+        
+        @Override
+        public void run() {
+          if (! running.compareAndSet(false, true)) {
+            concurrentRun.set(true);
+          }
+          try {
+            if (++runCount == runsPerTask) {
+              scheduler.remove(this);
+            }
+          } finally {
+            running.set(false);
+          }
+        }
+      }, 0, 0);
+    }
+    
+    AtomicInteger tickRunCount = new AtomicInteger(0);
+    tickInParallel(scheduler, tickRunCount, TEST_QTY * runsPerTask);
+    
+    assertFalse(concurrentRun.get());
+    assertEquals(TEST_QTY * runsPerTask, tickRunCount.get());
+    assertEquals(0, scheduler.taskQueue.size());
+  }
+  
+  @Test
+  public void parallelTickRecurringClaimTest() throws InterruptedException, TimeoutException {
+    final NoThreadScheduler scheduler = new NoThreadScheduler(false, true);
+    final int runs = TEST_QTY * 2;
+    final AtomicBoolean concurrentRun = new AtomicBoolean(false);
+    Runnable task = new Runnable() {
+      private final AtomicBoolean running = new AtomicBoolean(false);
+      private int runCount = 0;
+      
+      @Override
+      public void run() {
+        if (! running.compareAndSet(false, true)) {
+          concurrentRun.set(true);
+        }
+        try {
+          // run long enough that another tick has a chance to claim this task
+          TestUtils.sleep(DELAY_TIME);
+          if (++runCount >= runs) {
+            scheduler.remove(this);
+          }
+        } finally {
+          running.set(false);
+        }
+      }
+    };
+    scheduler.add(scheduler.new RecurringTask(task, 0, 0) {
+      @Override
+      public void runComplete() {
+        super.runComplete();
+        
+        /* once repositioned another tick may claim and run this task, nothing done by this 
+         * thread after that point should allow a third tick to claim it as well
+         */
+        TestUtils.sleep(DELAY_TIME / 2);
+      }
+    });
+    
+    AtomicInteger tickRunCount = new AtomicInteger(0);
+    tickInParallel(scheduler, tickRunCount, runs);
+    
+    assertFalse(concurrentRun.get());
+  }
+  
+  @Test
+  public void parallelBlockingTickTest() throws InterruptedException, TimeoutException {
+    NoThreadScheduler scheduler = new NoThreadScheduler(true, true);
+    List<TestRunnable> runnables = getRunnableList();
+    Iterator<TestRunnable> it = runnables.iterator();
+    while (it.hasNext()) {
+      scheduler.schedule(it.next(), DELAY_TIME);
+    }
+    // recurring task so that every blocked tick has something to run once the others finish
+    TestRunnable recurringTask = new TestRunnable();
+    scheduler.scheduleWithFixedDelay(recurringTask, DELAY_TIME, 1);
+    
+    AtomicInteger tickRunCount = new AtomicInteger(0);
+    tickInParallel(scheduler, tickRunCount, TEST_QTY);
+    
+    it = runnables.iterator();
+    while (it.hasNext()) {
+      TestRunnable tr = it.next();
+      assertEquals(1, tr.getRunCount());
+      assertTrue(tr.getDelayTillFirstRun() >= DELAY_TIME);
+    }
+    assertTrue(scheduler.remove(recurringTask));
+  }
+  
+  @Test
+  public void tickNonBlockingTest() {
+    TestRunnable tr = new TestRunnable();
+    blockingScheduler.execute(tr);
+    
+    assertEquals(1, blockingScheduler.tickNonBlocking());
+    // should return immediately despite there being nothing to run
+    assertEquals(0, blockingScheduler.tickNonBlocking());
+    assertTrue(tr.ranOnce());
+  }
+  
+  @Test
+  public void getDelayTillNextTaskTest() {
+    assertEquals(Long.MAX_VALUE, nonblockingScheduler.getDelayTillNextTask());
+    
+    nonblockingScheduler.schedule(new TestRunnable(), 1000 * 15);
+    long delay = nonblockingScheduler.getDelayTillNextTask();
+    assertTrue(delay > 0);
+    assertTrue(delay <= 1000 * 15);
+    
+    nonblockingScheduler.execute(new TestRunnable());
+    assertEquals(0, nonblockingScheduler.getDelayTillNextTask());
+    
+    nonblockingScheduler.tickNonBlocking();
+    assertTrue(nonblockingScheduler.getDelayTillNextTask() > 0);
+  }
+  
+  @Test
+  public void wakeupTaskTest() {
+    TestRunnable wakeupTask = new TestRunnable();
+    nonblockingScheduler.setWakeupTask(wakeupTask);
+    
+    nonblockingScheduler.schedule(new TestRunnable(), 1000 * 15);
+    assertEquals(1, wakeupTask.getRunCount());
+    
+    // later than existing task, no need to wakeup
+    nonblockingScheduler.schedule(new TestRunnable(), 1000 * 20);
+    assertEquals(1, wakeupTask.getRunCount());
+    
+    nonblockingScheduler.schedule(new TestRunnable(), 1000 * 10);
+    assertEquals(2, wakeupTask.getRunCount());
+    
+    // tasks without a delay always wakeup
+    nonblockingScheduler.execute(new TestRunnable());
+    assertEquals(3, wakeupTask.getRunCount());
+    nonblockingScheduler.execute(new TestRunnable());
+    assertEquals(4, wakeupTask.getRunCount());
+    
+    nonblockingScheduler.setWakeupTask(null);
+    nonblockingScheduler.clearTasks();
+    nonblockingScheduler.execute(new TestRunnable());
+    nonblockingScheduler.schedule(new TestRunnable(), 1000 * 10);
+    assertEquals(4, wakeupTask.getRunCount());
+  }
+  
+  @Test
+  public void selectorLoopTest() throws IOException, InterruptedException, TimeoutException {
+    final Selector selector = Selector.open();
+    try {
+      final AsyncVerifier av = new AsyncVerifier();
+      final TestRunnable tr = new TestRunnable();
+      nonblockingScheduler.setWakeupTask(new Runnable() {
+        @Override
+        public void run() {
+          selector.wakeup();
+        }
+      });
+      Thread loopThread = new Thread(new Runnable() {
+        @Override
+        public void run() {
+          try {
+            while (true) {
+              nonblockingScheduler.tickNonBlocking();
+              if (tr.ranOnce()) {
+                break;
+              }
+              long delay = nonblockingScheduler.getDelayTillNextTask();
+              if (delay > 0) {
+                // zero would mean wait forever for select
+                selector.select(delay == Long.MAX_VALUE ? 0 : delay);
+              }
+            }
+            av.signalComplete();
+          } catch (Throwable t) {
+            av.fail(t);
+          }
+        }
+      });
+      loopThread.start();
+      
+      // loop thread should be blocked in select with nothing to run
+      nonblockingScheduler.schedule(tr, DELAY_TIME);
+      
+      av.waitForTest();
+      assertTrue(tr.getDelayTillFirstRun() >= DELAY_TIME);
+    } finally {
+      selector.close();
+    }
+  }
+  
+  @Test
+  public void executeQueueTest() throws InterruptedException {
+    final List<Integer> runOrder = new ArrayList<Integer>(TEST_QTY);
+    for (int i = 0; i < TEST_QTY; i++) {
+      final int value = i;
+      nonblockingScheduler.execute(new Runnable() {
+        @Override
+        public void run() {
+          runOrder.add(value);
+        }
+      });
+    }
+    
+    // tasks without a delay should not have been inserted into the delayed queue
+    assertEquals(0, nonblockingScheduler.taskQueue.size());
+    assertEquals(TEST_QTY, nonblockingScheduler.executeQueue.size());
+    assertTrue(nonblockingScheduler.hasTaskReadyToRun());
+    
+    assertEquals(TEST_QTY, nonblockingScheduler.tick());
+    
+    for (int i = 0; i < TEST_QTY; i++) {
+      assertEquals(i, runOrder.get(i).intValue());
+    }
+    assertTrue(nonblockingScheduler.executeQueue.isEmpty());
+  }
+  
+  @Test
+  public void executeQueueBatchTest() throws InterruptedException {
+    final List<Integer> runOrder = new ArrayList<Integer>();
+    // delayed tasks should still be run while there are many tasks without a delay
+    nonblockingScheduler.schedule(new Runnable() {
+      @Override
+      public void run() {
+        runOrder.add(-1);
+      }
+    }, 1);
+    TestUtils.blockTillClockAdvances();
+    int executeCount = NoThreadScheduler.EXECUTE_QUEUE_BATCH_SIZE * 2;
+    for (int i = 0; i < executeCount; i++) {
+      final int value = i;
+      nonblockingScheduler.execute(new Runnable() {
+        @Override
+        public void run() {
+          runOrder.add(value);
+        }
+      });
+    }
+    
+    assertEquals(executeCount + 1, nonblockingScheduler.tick());
+    
+    // should have run after the first batch, before the second
+    assertEquals(-1, runOrder.get(NoThreadScheduler.EXECUTE_QUEUE_BATCH_SIZE).intValue());
+  }
 }
@@ -180,6 +180,24 @@ public class PrioritySchedulerWrapperTest {
     psw.scheduleWithFixedDelay(new TestRunnable(), 10, 10, TaskPriority.High);
     assertTrue(testScheduler.scheduleWithFixedDelayCalled);
   }
+
+  @Test
+  public void scheduleAtFixedRateTest() {
+    TestPriorityScheduler testScheduler = new TestPriorityScheduler();
+    PrioritySchedulerWrapper psw = new PrioritySchedulerWrapper(testScheduler, TaskPriority.Low);
+    psw.scheduleAtFixedRate(new TestRunnable(), 10, 10);
+    assertTrue(testScheduler.scheduleAtFixedRateCalled);
+    
+    // reset and try with policy
+    testScheduler.scheduleAtFixedRateCalled = false;
+    psw.scheduleAtFixedRate(new TestRunnable(), 10, 10, CatchUpPolicy.SkipMissed);
+    assertTrue(testScheduler.scheduleAtFixedRateCalled);
+    
+    // reset and try with priority
+    testScheduler.scheduleAtFixedRateCalled = false;
+    psw.scheduleAtFixedRate(new TestRunnable(), 10, 10, CatchUpPolicy.SkipMissed, TaskPriority.High);
+    assertTrue(testScheduler.scheduleAtFixedRateCalled);
+  }
   
   @Test
   public void removeRunnableTest() {
@@ -213,6 +231,7 @@ public class PrioritySchedulerWrapperTest {
     private boolean submitScheduledRunnableResultCalled = false;
     private boolean submitScheduledCallableCalled = false;
     private boolean scheduleWithFixedDelayCalled = false;
+    private boolean scheduleAtFixedRateCalled = false;
     private boolean removeRunnableCalled = false;
     private boolean removeCallableCalled = false;
 
@@ -276,6 +295,12 @@ public class PrioritySchedulerWrapperTest {
       scheduleWithFixedDelayCalled = true;
     }
 
+    @Override
+    public void scheduleAtFixedRate(Runnable task, long initialDelay, long period, 
+                                    CatchUpPolicy catchUpPolicy, TaskPriority priority) {
+      scheduleAtFixedRateCalled = true;
+    }
+
     @Override
     public boolean remove(Runnable task) {
       removeRunnableCalled = true;
@@ -319,6 +344,17 @@ public class PrioritySchedulerWrapperTest {
       throw new UnsupportedOperationException();
     }
 
+    @Override
+    public void scheduleAtFixedRate(Runnable task, long initialDelay, long period) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void scheduleAtFixedRate(Runnable task, long initialDelay, long period, 
+                                    CatchUpPolicy catchUpPolicy) {
+      throw new UnsupportedOperationException();
+    }
+
     @Override
     public void execute(Runnable command) {
       throw new UnsupportedOperationException();
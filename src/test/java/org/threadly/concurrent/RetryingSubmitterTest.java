@@ -0,0 +1,146 @@
+package org.threadly.concurrent;
+
+import static org.junit.Assert.*;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.threadly.concurrent.future.ListenableFuture;
+
+@SuppressWarnings("javadoc")
+public class RetryingSubmitterTest {
+  private static final BackoffPolicy NO_DELAY_POLICY = new ExponentialBackoffPolicy(0, 1, 5);
+  
+  private PriorityScheduler scheduler;
+  
+  @Before
+  public void setup() {
+    scheduler = new StrictPriorityScheduler(1, 1, 1000);
+  }
+  
+  @After
+  public void tearDown() {
+    scheduler.shutdownNow();
+    scheduler = null;
+  }
+  
+  @SuppressWarnings("unused")
+  @Test (expected = IllegalArgumentException.class)
+  public void constructorFail() {
+    new RetryingSubmitter(null);
+  }
+  
+  @Test
+  public void submitFail() {
+    RetryingSubmitter rs = new RetryingSubmitter(scheduler);
+    try {
+      rs.submit(null, NO_DELAY_POLICY);
+      fail("Exception should have thrown");
+    } catch (IllegalArgumentException e) {
+      // expected
+    }
+    try {
+      rs.submit(new FailingCallable(0), null);
+      fail("Exception should have thrown");
+    } catch (IllegalArgumentException e) {
+      // expected
+    }
+    try {
+      rs.submit(new FailingCallable(0));
+      fail("Exception should have thrown");
+    } catch (IllegalStateException e) {
+      // expected
+    }
+  }
+  
+  @Test
+  public void submitSuccessTest() throws InterruptedException, ExecutionException {
+    RetryingSubmitter rs = new RetryingSubmitter(scheduler, NO_DELAY_POLICY);
+    FailingCallable fc = new FailingCallable(0);
+    
+    assertEquals("foo", rs.submit(fc).get());
+    assertEquals(1, fc.callCount.get());
+  }
+  
+  @Test
+  public void submitRetriesTest() throws InterruptedException, ExecutionException {
+    RetryingSubmitter rs = new RetryingSubmitter(scheduler);
+    FailingCallable fc = new FailingCallable(3);
+    
+    assertEquals("foo", rs.submit(fc, new ExponentialBackoffPolicy(1, 2, 5)).get());
+    assertEquals(4, fc.callCount.get());
+  }
+  
+  @Test
+  public void submitMaxAttemptsTest() throws InterruptedException {
+    RetryingSubmitter rs = new RetryingSubmitter(scheduler);
+    FailingCallable fc = new FailingCallable(10);
+    
+    ListenableFuture<String> f = rs.submit(fc, NO_DELAY_POLICY);
+    try {
+      f.get();
+      fail("Exception should have thrown");
+    } catch (ExecutionException e) {
+      assertTrue(e.getCause() == fc.failure);
+    }
+    assertEquals(5, fc.callCount.get());
+  }
+  
+  @Test
+  public void submitPolicyStopsTest() throws InterruptedException {
+    RetryingSubmitter rs = new RetryingSubmitter(scheduler);
+    FailingCallable fc = new FailingCallable(10);
+    
+    ListenableFuture<String> f = rs.submit(fc, new BackoffPolicy() {
+      @Override
+      public long getRetryDelay(int failedAttempts, long elapsedInMs, Throwable lastFailure) {
+        return failedAttempts < 2 ? 0 : -1;
+      }
+    });
+    try {
+      f.get();
+      fail("Exception should have thrown");
+    } catch (ExecutionException e) {
+      assertTrue(e.getCause() == fc.failure);
+    }
+    assertEquals(2, fc.callCount.get());
+  }
+  
+  @Test
+  public void retryDoesNotBlockThreadTest() throws InterruptedException, ExecutionException {
+    // with a single thread a blocking retry would prevent the second task from running
+    RetryingSubmitter rs = new RetryingSubmitter(scheduler);
+    FailingCallable slowRetry = new FailingCallable(1);
+    
+    ListenableFuture<String> retryFuture = rs.submit(slowRetry, new ExponentialBackoffPolicy(1000 * 10, 1, 2));
+    ListenableFuture<String> otherFuture = rs.submit(new FailingCallable(0), NO_DELAY_POLICY);
+    
+    assertEquals("foo", otherFuture.get());
+    assertFalse(retryFuture.isDone());
+    assertEquals(1, slowRetry.callCount.get());
+  }
+  
+  private static class FailingCallable implements Callable<String> {
+    private final int failCount;
+    private final AtomicInteger callCount;
+    private final RuntimeException failure;
+    
+    private FailingCallable(int failCount) {
+      this.failCount = failCount;
+      callCount = new AtomicInteger(0);
+      failure = new RuntimeException();
+    }
+    
+    @Override
+    public String call() {
+      if (callCount.incrementAndGet() <= failCount) {
+        throw failure;
+      }
+      return "foo";
+    }
+  }
+}
@@ -0,0 +1,225 @@
+package org.threadly.concurrent;
+
+import static org.junit.Assert.*;
+import static org.threadly.TestConstants.*;
+
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+
+import org.junit.Test;
+import org.threadly.BlockingTestRunnable;
+import org.threadly.test.concurrent.TestCondition;
+import org.threadly.test.concurrent.TestRunnable;
+
+@SuppressWarnings("javadoc")
+public class SingleThreadSchedulerGroupTest extends SubmitterSchedulerInterfaceTest {
+  @Override
+  protected SubmitterSchedulerFactory getSubmitterSchedulerFactory() {
+    return new SingleThreadSchedulerGroupFactory();
+  }
+  
+  @SuppressWarnings("unused")
+  @Test
+  public void constructorFail() {
+    try {
+      new SingleThreadSchedulerGroup(0);
+      fail("Exception should have thrown");
+    } catch (IllegalArgumentException e) {
+      // expected
+    }
+    try {
+      new SingleThreadSchedulerGroup(1, null);
+      fail("Exception should have thrown");
+    } catch (IllegalArgumentException e) {
+      // expected
+    }
+  }
+  
+  @Test
+  public void getSchedulerTest() {
+    SingleThreadSchedulerGroup group = new SingleThreadSchedulerGroup(TEST_QTY);
+    try {
+      assertEquals(TEST_QTY, group.getSchedulerCount());
+      for (int i = 0; i < TEST_QTY; i++) {
+        assertNotNull(group.getScheduler(i));
+        assertTrue(group.getScheduler(i) == group.getScheduler(i));
+      }
+      try {
+        group.getScheduler(TEST_QTY);
+        fail("Exception should have thrown");
+      } catch (IllegalArgumentException e) {
+        // expected
+      }
+      try {
+        group.getScheduler(-1);
+        fail("Exception should have thrown");
+      } catch (IllegalArgumentException e) {
+        // expected
+      }
+    } finally {
+      group.shutdownNow();
+    }
+  }
+  
+  @Test
+  public void getSchedulerForKeyTest() {
+    SingleThreadSchedulerGroup group = new SingleThreadSchedulerGroup(TEST_QTY);
+    try {
+      for (int i = 0; i < TEST_QTY * 2; i++) {
+        Object key = "key" + i;
+        assertTrue(group.getSchedulerForKey(key) == group.getSchedulerForKey(key));
+      }
+      assertTrue(group.getSchedulerForKey(Integer.MIN_VALUE) != null);
+      
+      try {
+        group.getSchedulerForKey(null);
+        fail("Exception should have thrown");
+      } catch (IllegalArgumentException e) {
+        // expected
+      }
+    } finally {
+      group.shutdownNow();
+    }
+  }
+  
+  @Test
+  public void keyAffinityTest() {
+    SingleThreadSchedulerGroup group = new SingleThreadSchedulerGroup(TEST_QTY);
+    try {
+      final List<Thread> runThreads = new LinkedList<Thread>();
+      SubmitterSchedulerInterface scheduler = group.getSchedulerForKey(this);
+      TestRunnable lastRunnable = null;
+      for (int i = 0; i < TEST_QTY; i++) {
+        lastRunnable = new TestRunnable() {
+          @Override
+          public void handleRunStart() {
+            synchronized (runThreads) {
+              runThreads.add(Thread.currentThread());
+            }
+          }
+        };
+        assertTrue(group.getSchedulerForKey(this) == scheduler);
+        scheduler.execute(lastRunnable);
+      }
+      lastRunnable.blockTillFinished();
+      
+      synchronized (runThreads) {
+        Thread expectedThread = runThreads.get(0);
+        Iterator<Thread> it = runThreads.iterator();
+        while (it.hasNext()) {
+          assertTrue(it.next() == expectedThread);
+        }
+      }
+    } finally {
+      group.shutdownNow();
+    }
+  }
+  
+  @Test
+  public void leastLoadedAndStatisticsTest() {
+    SingleThreadSchedulerGroup group = new SingleThreadSchedulerGroup(2);
+    BlockingTestRunnable btr = new BlockingTestRunnable();
+    try {
+      group.getScheduler(0).execute(btr);
+      btr.blockTillStarted();
+      
+      assertEquals(1, group.getQueuedTaskCount(0));
+      assertEquals(0, group.getQueuedTaskCount(1));
+      // least loaded should always be the idle scheduler
+      for (int i = 0; i < TEST_QTY; i++) {
+        assertTrue(group.getLeastLoadedScheduler() == group.getScheduler(1));
+      }
+      
+      group.getScheduler(0).execute(new TestRunnable());
+      assertEquals(2, group.getQueuedTaskCount());
+      assertEquals(0, group.getCompletedTaskCount());
+    } finally {
+      btr.unblock();
+    }
+    
+    final SingleThreadSchedulerGroup fGroup = group;
+    new TestCondition() {
+      @Override
+      public boolean get() {
+        return fGroup.getQueuedTaskCount() == 0;
+      }
+    }.blockTillTrue();
+    assertEquals(2, group.getCompletedTaskCount(0));
+    assertEquals(2, group.getCompletedTaskCount());
+    group.shutdown();
+  }
+  
+  @Test
+  public void shutdownNowTest() {
+    SingleThreadSchedulerGroup group = new SingleThreadSchedulerGroup(2);
+    BlockingTestRunnable btr = new BlockingTestRunnable();
+    try {
+      group.getScheduler(0).execute(btr);
+      btr.blockTillStarted();
+      TestRunnable tr = new TestRunnable();
+      group.getScheduler(0).execute(tr);
+      
+      List<Runnable> canceled = group.shutdownNow();
+      
+      assertTrue(group.isShutdown());
+      assertEquals(1, canceled.size());
+      assertTrue(canceled.get(0) == tr);
+      assertEquals(1, group.getQueuedTaskCount());  // only blocking task still queued
+      try {
+        group.getScheduler(1).execute(new TestRunnable());
+        fail("Exception should have thrown");
+      } catch (IllegalStateException e) {
+        // expected
+      }
+    } finally {
+      btr.unblock();
+    }
+  }
+  
+  @Test
+  public void shutdownNowRecurringTaskTest() {
+    SingleThreadSchedulerGroup group = new SingleThreadSchedulerGroup(1);
+    TestRunnable recurringTask = new TestRunnable();
+    group.getScheduler(0).scheduleWithFixedDelay(recurringTask, 1000 * 10, 1000 * 10);
+    TestRunnable tr = new TestRunnable();
+    group.getScheduler(0).schedule(tr, 1000 * 10);
+    assertEquals(1, group.getQueuedTaskCount());
+    
+    List<Runnable> canceled = group.shutdownNow();
+    
+    assertEquals(2, canceled.size());
+    assertTrue(canceled.contains(recurringTask));
+    assertTrue(canceled.contains(tr));
+    // recurring tasks are not counted, so should not reduce the count below zero
+    assertEquals(0, group.getQueuedTaskCount());
+  }
+  
+  private class SingleThreadSchedulerGroupFactory implements SubmitterSchedulerFactory {
+    private final List<SingleThreadSchedulerGroup> groups = new LinkedList<SingleThreadSchedulerGroup>();
+    
+    @Override
+    public SubmitterExecutorInterface makeSubmitterExecutor(int poolSize, 
+                                                            boolean prestartIfAvailable) {
+      return makeSubmitterScheduler(poolSize, prestartIfAvailable);
+    }
+    
+    @Override
+    public SubmitterSchedulerInterface makeSubmitterScheduler(int poolSize, 
+                                                              boolean prestartIfAvailable) {
+      SingleThreadSchedulerGroup group = new SingleThreadSchedulerGroup(poolSize);
+      groups.add(group);
+      
+      return group.getSchedulerForKey(this);
+    }
+    
+    @Override
+    public void shutdown() {
+      Iterator<SingleThreadSchedulerGroup> it = groups.iterator();
+      while (it.hasNext()) {
+        it.next().shutdownNow();
+        it.remove();
+      }
+    }
+  }
+}
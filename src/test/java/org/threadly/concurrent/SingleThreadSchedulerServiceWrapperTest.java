@@ -20,28 +20,4 @@ public class SingleThreadSchedulerServiceWrapperTest extends ScheduledExecutorSe
     new SingleThreadSchedulerServiceWrapper(null);
     fail("Exception should have thrown");
   }
-
-  @Override
-  @Test (expected = UnsupportedOperationException.class)
-  public void scheduleAtFixedRateTest() {
-    super.scheduleAtFixedRateTest();
-  }
-  
-  @Override
-  @Test (expected = UnsupportedOperationException.class)
-  public void scheduleAtFixedRateConcurrentTest() {
-    super.scheduleAtFixedRateConcurrentTest();
-  }
-  
-  @Override
-  @Test (expected = UnsupportedOperationException.class)
-  public void scheduleAtFixedRateExceptionTest() {
-    super.scheduleAtFixedRateExceptionTest();
-  }
-  
-  @Override
-  @Test (expected = UnsupportedOperationException.class)
-  public void scheduleAtFixedRateFail() {
-    super.scheduleAtFixedRateFail();
-  }
 }
@@ -4,14 +4,18 @@ import static org.junit.Assert.*;
 import static org.threadly.TestConstants.*;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.TimeoutException;
 
 import org.junit.Test;
 import org.threadly.BlockingTestRunnable;
+import org.threadly.test.concurrent.AsyncVerifier;
 import org.threadly.test.concurrent.TestCondition;
 import org.threadly.test.concurrent.TestRunnable;
+import org.threadly.test.concurrent.TestUtils;
 
 @SuppressWarnings("javadoc")
 public class SingleThreadSchedulerTest extends SchedulerServiceInterfaceTest {
@@ -112,6 +116,141 @@ public class SingleThreadSchedulerTest extends SchedulerServiceInterfaceTest {
     }
   }
   
+  @Test
+  public void shutdownWithReadyDelayedTaskTest() {
+    SingleThreadScheduler sts = new SingleThreadScheduler();
+    BlockingTestRunnable btr = new BlockingTestRunnable();
+    TestRunnable delayedRunnable = new TestRunnable();
+    List<TestRunnable> executedRunnables = new ArrayList<TestRunnable>(TEST_QTY);
+    try {
+      sts.execute(btr);
+      btr.blockTillStarted();
+      
+      sts.schedule(delayedRunnable, DELAY_TIME);
+      for (int i = 0; i < TEST_QTY; i++) {
+        TestRunnable tr = new TestRunnable();
+        executedRunnables.add(tr);
+        sts.execute(tr);
+      }
+      TestUtils.sleep(DELAY_TIME);
+      
+      sts.shutdown();
+    } finally {
+      btr.unblock();
+    }
+    
+    // both the ready delayed task, and executed tasks should run before shutdown finishes
+    delayedRunnable.blockTillFinished();
+    Iterator<TestRunnable> it = executedRunnables.iterator();
+    while (it.hasNext()) {
+      it.next().blockTillFinished();
+    }
+  }
+  
+  @Test
+  public void multipleProducerExecuteTest() throws InterruptedException, TimeoutException {
+    final SingleThreadScheduler sts = new SingleThreadScheduler();
+    try {
+      final int producerCount = TEST_QTY / 2;
+      final List<List<Integer>> results = new ArrayList<List<Integer>>(producerCount);
+      final AsyncVerifier av = new AsyncVerifier();
+      for (int i = 0; i < producerCount; i++) {
+        final List<Integer> producerResults = Collections.synchronizedList(new ArrayList<Integer>());
+        results.add(producerResults);
+        new Thread(new Runnable() {
+          @Override
+          public void run() {
+            for (int i = 0; i < TEST_QTY * 10; i++) {
+              final int value = i;
+              sts.execute(new Runnable() {
+                @Override
+                public void run() {
+                  producerResults.add(value);
+                }
+              });
+            }
+            sts.execute(new Runnable() {
+              @Override
+              public void run() {
+                av.signalComplete();
+              }
+            });
+          }
+        }).start();
+      }
+      
+      av.waitForTest(1000 * 10, producerCount);
+      
+      // each producer's tasks should run in the order they were executed
+      Iterator<List<Integer>> it = results.iterator();
+      while (it.hasNext()) {
+        List<Integer> producerResults = it.next();
+        assertEquals(TEST_QTY * 10, producerResults.size());
+        for (int i = 0; i < TEST_QTY * 10; i++) {
+          assertEquals(i, producerResults.get(i).intValue());
+        }
+      }
+    } finally {
+      sts.shutdownNow();
+    }
+  }
+  
+  @Test
+  public void busySpinIdleStrategyTest() {
+    idleStrategyTest(IdleStrategy.BUSY_SPIN);
+  }
+  
+  @Test
+  public void spinYieldIdleStrategyTest() {
+    idleStrategyTest(new IdleStrategy(100, 100, 0));
+  }
+  
+  @Test
+  public void spinParkIdleStrategyTest() {
+    idleStrategyTest(new IdleStrategy(100, 100, 1000 * 1000));
+  }
+  
+  private static void idleStrategyTest(IdleStrategy idleStrategy) {
+    final SingleThreadScheduler sts = 
+        new SingleThreadScheduler(new ConfigurableThreadFactory(), idleStrategy);
+    try {
+      TestRunnable scheduledRunnable = new TestRunnable();
+      sts.schedule(scheduledRunnable, DELAY_TIME);
+      List<TestRunnable> runnables = new ArrayList<TestRunnable>(TEST_QTY);
+      for (int i = 0; i < TEST_QTY; i++) {
+        TestRunnable tr = new TestRunnable();
+        runnables.add(tr);
+        sts.execute(tr);
+        // give scheduler time to go idle between some tasks
+        if (i % 2 == 0) {
+          TestUtils.sleep(1);
+        }
+      }
+      
+      Iterator<TestRunnable> it = runnables.iterator();
+      while (it.hasNext()) {
+        it.next().blockTillFinished();
+      }
+      scheduledRunnable.blockTillFinished();
+      assertTrue(scheduledRunnable.getDelayTillFirstRun() >= DELAY_TIME);
+    } finally {
+      sts.shutdown();
+    }
+    
+    new TestCondition() {
+      @Override
+      public boolean get() {
+        return ! sts.sManager.get().execThread.isAlive();
+      }
+    }.blockTillTrue();
+  }
+  
+  @SuppressWarnings("unused")
+  @Test (expected = IllegalArgumentException.class)
+  public void idleStrategyConstructorFail() {
+    new SingleThreadScheduler(new ConfigurableThreadFactory(), null);
+  }
+  
   @Test (expected = IllegalStateException.class)
   public void shutdownExecutionFail() {
     SingleThreadScheduler sts = new SingleThreadScheduler();
@@ -198,6 +198,86 @@ public abstract class SubmitterSchedulerInterfaceTest extends SubmitterExecutorI
     }
   }
   
+  @Test
+  public void fixedRateExecutionTest() {
+    SubmitterSchedulerFactory factory = getSubmitterSchedulerFactory();
+    try {
+      SimpleSchedulerInterface scheduler = factory.makeSubmitterScheduler(TEST_QTY, true);
+  
+      List<TestRunnable> runnables = new ArrayList<TestRunnable>(TEST_QTY);
+      for (int i = 0; i < TEST_QTY; i++) {
+        TestRunnable tr = new TestRunnable();
+        scheduler.scheduleAtFixedRate(tr, 0, SCHEDULE_DELAY);
+        runnables.add(tr);
+      }
+      
+      // verify execution and execution times
+      Iterator<TestRunnable> it = runnables.iterator();
+      while (it.hasNext()) {
+        TestRunnable tr = it.next();
+        tr.blockTillFinished((TEST_QTY * (SCHEDULE_DELAY * (CYCLE_COUNT + 1))) + 2000, CYCLE_COUNT);
+        
+        long executionDelay = tr.getDelayTillRun(CYCLE_COUNT);
+        assertTrue(executionDelay >= SCHEDULE_DELAY * (CYCLE_COUNT - 1));
+        // should be very timely with a core pool size that matches runnable count
+        assertTrue(executionDelay <= (SCHEDULE_DELAY * (CYCLE_COUNT - 1)) + 2000);
+      }
+    } finally {
+      factory.shutdown();
+    }
+  }
+  
+  @Test
+  public void fixedRateNotConcurrentTest() {
+    fixedRateNotConcurrentTest(CatchUpPolicy.RunAll);
+    fixedRateNotConcurrentTest(CatchUpPolicy.SkipMissed);
+    fixedRateNotConcurrentTest(CatchUpPolicy.Coalesce);
+  }
+  
+  private void fixedRateNotConcurrentTest(CatchUpPolicy catchUpPolicy) {
+    SubmitterSchedulerFactory factory = getSubmitterSchedulerFactory();
+    try {
+      SimpleSchedulerInterface scheduler = factory.makeSubmitterScheduler(2, false);
+      // task runs longer than the period, so every execution is late
+      TestRunnable tr = new TestRunnable(SCHEDULE_DELAY * 2);
+      scheduler.scheduleAtFixedRate(tr, 0, SCHEDULE_DELAY, catchUpPolicy);
+      
+      tr.blockTillFinished(1000 * 10, CYCLE_COUNT);
+      
+      assertFalse(tr.ranConcurrently());
+    } finally {
+      factory.shutdown();
+    }
+  }
+  
+  @Test
+  public void fixedRateFail() {
+    SubmitterSchedulerFactory factory = getSubmitterSchedulerFactory();
+    try {
+      SimpleSchedulerInterface scheduler = factory.makeSubmitterScheduler(1, false);
+      try {
+        scheduler.scheduleAtFixedRate(null, 1000, 1000);
+        fail("Exception should have been thrown");
+      } catch (IllegalArgumentException e) {
+        // expected
+      }
+      try {
+        scheduler.scheduleAtFixedRate(new TestRunnable(), -1, 1000);
+        fail("Exception should have been thrown");
+      } catch (IllegalArgumentException e) {
+        // expected
+      }
+      try {
+        scheduler.scheduleAtFixedRate(new TestRunnable(), 1000, 0);
+        fail("Exception should have been thrown");
+      } catch (IllegalArgumentException e) {
+        // expected
+      }
+    } finally {
+      factory.shutdown();
+    }
+  }
+  
   @Test
   public void submitScheduledRunnableTest() throws InterruptedException, ExecutionException, TimeoutException {
     SubmitterSchedulerFactory factory = getSubmitterSchedulerFactory();
@@ -0,0 +1,226 @@
+package org.threadly.concurrent;
+
+import static org.junit.Assert.*;
+import static org.threadly.TestConstants.*;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.threadly.BlockingTestRunnable;
+import org.threadly.concurrent.future.ListenableFuture;
+import org.threadly.test.concurrent.TestRunnable;
+
+@SuppressWarnings("javadoc")
+public class TaskGroupTest {
+  private PriorityScheduler scheduler;
+
+  @Before
+  public void setup() {
+    scheduler = new StrictPriorityScheduler(TEST_QTY, TEST_QTY, 1000);
+  }
+
+  @After
+  public void tearDown() {
+    scheduler.shutdownNow();
+    scheduler = null;
+  }
+
+  @SuppressWarnings("unused")
+  @Test
+  public void constructorFail() {
+    try {
+      new TaskGroup<Object>(null);
+      fail("Exception should have thrown");
+    } catch (IllegalArgumentException e) {
+      // expected
+    }
+    try {
+      new TaskGroup<Object>(scheduler, 0);
+      fail("Exception should have thrown");
+    } catch (IllegalArgumentException e) {
+      // expected
+    }
+  }
+
+  @Test
+  public void addAfterStartFail() {
+    TaskGroup<Object> group = new TaskGroup<Object>(scheduler);
+    group.start();
+    try {
+      group.add(new TestRunnable(), null);
+      fail("Exception should have thrown");
+    } catch (IllegalStateException e) {
+      // expected
+    }
+    try {
+      group.start();
+      fail("Exception should have thrown");
+    } catch (IllegalStateException e) {
+      // expected
+    }
+  }
+
+  @Test
+  public void emptyGroupTest() throws InterruptedException, ExecutionException {
+    ListenableFuture<List<Object>> f = new TaskGroup<Object>(scheduler).start();
+
+    assertTrue(f.isDone());
+    assertTrue(f.get().isEmpty());
+  }
+
+  @Test
+  public void resultOrderTest() throws InterruptedException, ExecutionException {
+    TaskGroup<Integer> group = new TaskGroup<Integer>(scheduler, 2);
+    for (int i = 0; i < TEST_QTY * 2; i++) {
+      final int value = i;
+      group.add(new Callable<Integer>() {
+        @Override
+        public Integer call() {
+          return value;
+        }
+      });
+    }
+    assertEquals(TEST_QTY * 2, group.getChildCount());
+
+    List<Integer> result = group.start().get();
+
+    assertEquals(TEST_QTY * 2, result.size());
+    for (int i = 0; i < TEST_QTY * 2; i++) {
+      assertEquals(i, result.get(i).intValue());
+    }
+  }
+
+  @Test
+  public void maxConcurrencyTest() throws InterruptedException, ExecutionException {
+    final AtomicInteger running = new AtomicInteger(0);
+    final AtomicInteger maxRunning = new AtomicInteger(0);
+    TaskGroup<Object> group = new TaskGroup<Object>(scheduler, 2);
+    for (int i = 0; i < TEST_QTY * 2; i++) {
+      group.add(new TestRunnable(1) {
+        @Override
+        public void handleRunStart() {
+          int current = running.incrementAndGet();
+          while (true) {
+            int max = maxRunning.get();
+            if (current <= max || maxRunning.compareAndSet(max, current)) {
+              break;
+            }
+          }
+        }
+
+        @Override
+        public void handleRunFinish() {
+          running.decrementAndGet();
+        }
+      }, null);
+    }
+
+    group.start().get();
+
+    assertTrue(maxRunning.get() <= 2);
+  }
+
+  @Test
+  public void childFailureTest() throws InterruptedException {
+    final Exception failure = new Exception();
+    BlockingTestRunnable btr = new BlockingTestRunnable();
+    TestRunnable notRun = new TestRunnable();
+    TaskGroup<Object> group = new TaskGroup<Object>(scheduler, 2);
+    group.add(btr, null);
+    group.add(new Callable<Object>() {
+      @Override
+      public Object call() throws Exception {
+        throw failure;
+      }
+    });
+    group.add(notRun, null);
+    try {
+      ListenableFuture<List<Object>> f = group.start();
+      try {
+        f.get();
+        fail("Exception should have thrown");
+      } catch (ExecutionException e) {
+        assertTrue(e.getCause() == failure);
+      }
+    } finally {
+      btr.unblock();
+    }
+
+    assertEquals(0, notRun.getRunCount());
+  }
+
+  @Test
+  public void cancelTest() throws InterruptedException, ExecutionException {
+    BlockingTestRunnable btr = new BlockingTestRunnable();
+    TestRunnable notRun = new TestRunnable();
+    TaskGroup<Object> group = new TaskGroup<Object>(scheduler, 1);
+    group.add(btr, null);
+    group.add(notRun, null);
+    try {
+      ListenableFuture<List<Object>> f = group.start();
+      btr.blockTillStarted();
+
+      assertTrue(f.cancel(false));
+      assertTrue(f.isCancelled());
+      try {
+        f.get();
+        fail("Exception should have thrown");
+      } catch (CancellationException e) {
+        // expected
+      }
+    } finally {
+      btr.unblock();
+    }
+    btr.blockTillFinished();
+
+    assertEquals(0, notRun.getRunCount());
+  }
+
+  @Test
+  public void timeoutTest() throws InterruptedException {
+    BlockingTestRunnable btr = new BlockingTestRunnable();
+    TaskGroup<Object> group = new TaskGroup<Object>(scheduler, 1);
+    group.add(btr, null);
+    try {
+      ListenableFuture<List<Object>> f = group.start(DELAY_TIME, scheduler);
+      try {
+        f.get();
+        fail("Exception should have thrown");
+      } catch (ExecutionException e) {
+        assertTrue(e.getCause() instanceof TimeoutException);
+      }
+    } finally {
+      btr.unblock();
+    }
+  }
+
+  @Test
+  public void cancelWithTimeoutTest() throws InterruptedException, ExecutionException {
+    BlockingTestRunnable btr = new BlockingTestRunnable();
+    TestRunnable notRun = new TestRunnable();
+    TaskGroup<Object> group = new TaskGroup<Object>(scheduler, 1);
+    group.add(btr, null);
+    group.add(notRun, null);
+    try {
+      ListenableFuture<List<Object>> f = group.start(1000 * 10, scheduler);
+      btr.blockTillStarted();
+
+      assertTrue(f.cancel(false));
+      assertTrue(f.isCancelled());
+    } finally {
+      btr.unblock();
+    }
+    btr.blockTillFinished();
+
+    assertEquals(0, notRun.getRunCount());
+    // timeout check should be removed once the group is done
+    assertEquals(0, scheduler.getScheduledTaskCount());
+  }
+}
@@ -1,11 +1,18 @@
 package org.threadly.concurrent.event;
 
-import static org.junit.Assert.fail;
+import static org.junit.Assert.*;
+import static org.threadly.TestConstants.*;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
 
 import org.junit.Test;
+import org.threadly.concurrent.PriorityScheduler;
 import org.threadly.concurrent.SameThreadSubmitterExecutor;
+import org.threadly.concurrent.StrictPriorityScheduler;
+import org.threadly.test.concurrent.TestCondition;
 
 @SuppressWarnings("javadoc")
 public class AsyncCallListenerHelperTest extends ListenerHelperTest {
@@ -36,5 +43,119 @@ public class AsyncCallListenerHelperTest extends ListenerHelperTest {
     } catch (IllegalArgumentException e) {
       // expected
     }
+    try {
+      new AsyncCallListenerHelper(TestInterface.class, SameThreadSubmitterExecutor.instance(), 
+                                  false, true);
+      fail("Exception should have thrown");
+    } catch (IllegalArgumentException e) {
+      // expected
+    }
+  }
+  
+  @Test
+  public void batchedCallOrderTest() {
+    PriorityScheduler scheduler = new StrictPriorityScheduler(TEST_QTY, TEST_QTY, 1000);
+    try {
+      ListenerHelper<TestInterface> ch = AsyncCallListenerHelper.build(TestInterface.class, scheduler, 
+                                                                       true, false);
+      final List<Integer> calls = Collections.synchronizedList(new ArrayList<Integer>());
+      ch.addListener(new TestInterface() {
+        @Override
+        public void call(int i, String s) {
+          calls.add(i);
+        }
+      });
+      
+      for (int i = 0; i < TEST_QTY * 10; i++) {
+        ch.call().call(i, null);
+      }
+      
+      new TestCondition() {
+        @Override
+        public boolean get() {
+          return calls.size() == TEST_QTY * 10;
+        }
+      }.blockTillTrue();
+      
+      for (int i = 0; i < TEST_QTY * 10; i++) {
+        assertEquals(i, calls.get(i).intValue());
+      }
+    } finally {
+      scheduler.shutdownNow();
+    }
+  }
+  
+  @Test
+  public void batchedSingleSubmissionTest() {
+    QueuingExecutor executor = new QueuingExecutor();
+    ListenerHelper<TestInterface> ch = AsyncCallListenerHelper.build(TestInterface.class, executor, 
+                                                                     true, false);
+    final List<Integer> calls = new ArrayList<Integer>();
+    ch.addListener(new TestInterface() {
+      @Override
+      public void call(int i, String s) {
+        calls.add(i);
+      }
+    });
+    
+    for (int i = 0; i < TEST_QTY; i++) {
+      ch.call().call(i, null);
+    }
+    
+    assertEquals(1, executor.tasks.size());
+    
+    executor.runTasks();
+    
+    assertEquals(TEST_QTY, calls.size());
+    
+    // new calls should submit a new task once drained
+    ch.call().call(-10, null);
+    
+    assertEquals(1, executor.tasks.size());
+  }
+  
+  @Test
+  public void conflatedCallsTest() {
+    QueuingExecutor executor = new QueuingExecutor();
+    ListenerHelper<TestMultipleFunctionInterface> ch = 
+        AsyncCallListenerHelper.build(TestMultipleFunctionInterface.class, executor, true, true);
+    final List<Object> calls = new ArrayList<Object>();
+    ch.addListener(new TestMultipleFunctionInterface() {
+      @Override
+      public void call1(int i) {
+        calls.add(i);
+      }
+
+      @Override
+      public void call2(String s) {
+        calls.add(s);
+      }
+    });
+    
+    for (int i = 0; i < TEST_QTY; i++) {
+      ch.call().call1(i);
+      ch.call().call2("foo" + i);
+    }
+    
+    executor.runTasks();
+    
+    assertEquals(2, calls.size());
+    assertEquals(TEST_QTY - 1, calls.get(0));
+    assertEquals("foo" + (TEST_QTY - 1), calls.get(1));
+  }
+  
+  private static class QueuingExecutor implements Executor {
+    private final List<Runnable> tasks = new ArrayList<Runnable>();
+    
+    @Override
+    public void execute(Runnable command) {
+      tasks.add(command);
+    }
+    
+    public void runTasks() {
+      while (! tasks.isEmpty()) {
+        tasks.remove(0).run();
+      }
+    }
   }
 }
@@ -1,10 +1,11 @@
 package org.threadly.concurrent.event;
 
-import static org.junit.Assert.fail;
+import static org.junit.Assert.*;
 
 import java.util.ArrayList;
 
 import org.junit.Test;
+import org.threadly.concurrent.NoThreadScheduler;
 import org.threadly.concurrent.SameThreadSubmitterExecutor;
 
 @SuppressWarnings("javadoc")
@@ -37,4 +38,76 @@ public class DefaultExecutorListenerHelperTest extends ListenerHelperTest {
       // expected
     }
   }
+  
+  @Test
+  public void removeAndAddWhileDrainingTest() throws InterruptedException {
+    NoThreadScheduler scheduler = new NoThreadScheduler(false);
+    DefaultExecutorListenerHelper<TestInterface> ch = 
+        new DefaultExecutorListenerHelper<TestInterface>(TestInterface.class, scheduler);
+    final int[] callCount = new int[1];
+    TestInterface listener = new TestInterface() {
+      @Override
+      public void call(int i, String s) {
+        callCount[0]++;
+      }
+    };
+    ch.addListener(listener);
+    ch.call().call(1, "foo");
+    assertTrue(ch.removeListener(listener));
+    ch.addListener(listener);
+    ch.call().call(2, "bar");
+    
+    // same mailbox should be reused, so only a single drain task
+    assertEquals(1, ch.mailboxes.getMailboxCount());
+    assertEquals(1, scheduler.tick());
+    assertEquals(2, callCount[0]);
+  }
+  
+  @Test
+  public void mailboxReleasedAfterDrainTest() throws InterruptedException {
+    NoThreadScheduler scheduler = new NoThreadScheduler(false);
+    DefaultExecutorListenerHelper<TestInterface> ch = 
+        new DefaultExecutorListenerHelper<TestInterface>(TestInterface.class, scheduler);
+    TestImp listener = new TestImp();
+    ch.addListener(listener);
+    ch.call().call(1, "foo");
+    assertTrue(ch.removeListener(listener));
+    
+    // still held while draining
+    assertEquals(1, ch.mailboxes.getMailboxCount());
+    
+    scheduler.tick();
+    
+    assertEquals(0, ch.mailboxes.getMailboxCount());
+  }
+  
+  @Test
+  public void equalListenersShareMailboxTest() {
+    DefaultExecutorListenerHelper<TestInterface> ch = 
+        new DefaultExecutorListenerHelper<TestInterface>(TestInterface.class, 
+                                                         SameThreadSubmitterExecutor.instance());
+    EqualTestImp listener1 = new EqualTestImp();
+    EqualTestImp listener2 = new EqualTestImp();
+    ch.addListener(listener1);
+    ch.addListener(listener2);
+    
+    assertEquals(1, ch.registeredListenerCount());
+    assertEquals(1, ch.mailboxes.getMailboxCount());
+    
+    assertTrue(ch.removeListener(listener1));
+    
+    assertEquals(0, ch.mailboxes.getMailboxCount());
+  }
+  
+  private static class EqualTestImp extends TestImp {
+    @Override
+    public boolean equals(Object o) {
+      return o instanceof EqualTestImp;
+    }
+    
+    @Override
+    public int hashCode() {
+      return 1;
+    }
+  }
 }
@@ -1,8 +1,15 @@
 package org.threadly.concurrent.event;
 
+import static org.junit.Assert.*;
+
+import java.util.Map;
+import java.util.concurrent.Executor;
+
 import org.junit.Before;
 import org.junit.Test;
+import org.threadly.concurrent.NoThreadScheduler;
 import org.threadly.concurrent.SameThreadSubmitterExecutor;
+import org.threadly.test.concurrent.TestRunnable;
 
 @SuppressWarnings("javadoc")
 public class DefaultExecutorRunnableListenerHelperTest extends RunnableListenerHelperTest {
@@ -24,4 +31,56 @@ public class DefaultExecutorRunnableListenerHelperTest extends RunnableListenerH
   public void listenerExceptionAfterCallTest() {
     // This does not make sense for this type, since listeners are executed asynchronously
   }
+  
+  @Test
+  @Override
+  public void getListenerMapTest() {
+    TestRunnable inlineListener = new TestRunnable();
+    repeatedHelper.addListener(inlineListener);
+    TestRunnable executorListener = new TestRunnable();
+    repeatedHelper.addListener(executorListener, SameThreadSubmitterExecutor.instance());
+    
+    Map<Runnable, Executor> listenerMap = repeatedHelper.getListenerMap();
+    assertEquals(2, listenerMap.size());
+    // listeners without an executor are held with the mailbox for the default executor
+    assertTrue(listenerMap.get(inlineListener) instanceof ListenerMailbox);
+    assertTrue(listenerMap.get(executorListener) == SameThreadSubmitterExecutor.instance());
+  }
+  
+  @Test
+  public void removeAndAddWhileDrainingTest() throws InterruptedException {
+    NoThreadScheduler scheduler = new NoThreadScheduler(false);
+    DefaultExecutorRunnableListenerHelper helper = 
+        new DefaultExecutorRunnableListenerHelper(false, scheduler);
+    TestRunnable listener = new TestRunnable();
+    helper.addListener(listener);
+    helper.callListeners();
+    assertTrue(helper.removeListener(listener));
+    helper.addListener(listener);
+    helper.callListeners();
+    
+    // same mailbox should be reused, so only a single drain task
+    assertEquals(1, helper.mailboxes.getMailboxCount());
+    assertEquals(1, scheduler.tick());
+    assertEquals(2, listener.getRunCount());
+  }
+  
+  @Test
+  public void mailboxReleasedAfterCallOnceTest() throws InterruptedException {
+    NoThreadScheduler scheduler = new NoThreadScheduler(false);
+    DefaultExecutorRunnableListenerHelper helper = 
+        new DefaultExecutorRunnableListenerHelper(true, scheduler);
+    TestRunnable listener = new TestRunnable();
+    helper.addListener(listener);
+    helper.callListeners();
+    helper.addListener(new TestRunnable());
+    
+    // still held while draining
+    assertEquals(2, helper.mailboxes.getMailboxCount());
+    
+    scheduler.tick();
+    
+    assertEquals(0, helper.mailboxes.getMailboxCount());
+    assertEquals(1, listener.getRunCount());
+  }
 }
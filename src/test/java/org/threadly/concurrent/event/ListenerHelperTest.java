@@ -4,12 +4,14 @@ import static org.junit.Assert.*;
 import static org.threadly.TestConstants.*;
 
 import java.lang.Thread.UncaughtExceptionHandler;
+import java.lang.reflect.Proxy;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.Executor;
 
 import org.junit.Test;
+import org.threadly.BlockingTestRunnable;
 import org.threadly.concurrent.SameThreadSubmitterExecutor;
 import org.threadly.concurrent.TestUncaughtExceptionHandler;
 import org.threadly.util.StringUtils;
@@ -280,6 +282,114 @@ public class ListenerHelperTest {
     }
   }
   
+  @Test
+  public void addListenerWhileCallingTest() {
+    final BlockingTestRunnable btr = new BlockingTestRunnable();
+    final ListenerHelper<TestInterface> ch = ListenerHelper.build(TestInterface.class);
+    ch.addListener(new TestInterface() {
+      @Override
+      public void call(int i, String s) {
+        btr.run();
+      }
+    });
+    new Thread(new Runnable() {
+      @Override
+      public void run() {
+        ch.call().call(10, "foo");
+      }
+    }).start();
+    try {
+      btr.blockTillStarted();
+      
+      // should not block while the listener is running
+      TestImp ti = new TestImp();
+      ch.addListener(ti);
+      assertEquals(2, ch.registeredListenerCount());
+      assertTrue(ch.removeListener(ti));
+    } finally {
+      btr.unblock();
+    }
+  }
+  
+  @Test (expected = IllegalArgumentException.class)
+  public void constructorNullDispatcherFactoryFail() {
+    ListenerHelper.buildWithDispatcher(TestInterface.class, null);
+  }
+  
+  @Test
+  public void getListenersTest() {
+    ListenerHelper<TestInterface> ch = ListenerHelper.build(TestInterface.class);
+    assertTrue(ch.getListeners().isEmpty());
+    
+    TestImp ti = new TestImp();
+    ch.addListener(ti);
+    List<TestInterface> listeners = ch.getListeners();
+    
+    assertEquals(1, listeners.size());
+    assertTrue(listeners.get(0) == ti);
+    // snapshot should be cached till modified
+    assertTrue(listeners == ch.getListeners());
+    
+    ch.removeListener(ti);
+    
+    assertTrue(ch.getListeners().isEmpty());
+  }
+  
+  @Test
+  public void getListenersWithExecutorTest() {
+    ListenerHelper<TestInterface> ch = makeListenerHelper(TestInterface.class);
+    TestImp ti = new TestImp();
+    ch.addListener(ti, SameThreadSubmitterExecutor.instance());
+    List<TestInterface> listeners = ch.getListeners();
+    
+    assertEquals(1, listeners.size());
+    assertFalse(listeners.get(0) == ti);
+    
+    listeners.get(0).call(10, "foo");
+    
+    assertEquals(10, ti.lastInt);
+    assertEquals("foo", ti.lastString);
+  }
+  
+  @Test
+  public void dispatcherFactoryCallTest() {
+    int testInt = 10;
+    String testStr = StringUtils.randomString(10);
+    ListenerHelper<TestInterface> ch = ListenerHelper.buildWithDispatcher(TestInterface.class, 
+                                                                         new TestDispatcherFactory());
+    TestImp directListener = new TestImp();
+    ch.addListener(directListener);
+    TestImp executorListener = new TestImp();
+    ch.addListener(executorListener, SameThreadSubmitterExecutor.instance());
+    
+    assertTrue(ch.call() instanceof TestDispatcher);
+    
+    ch.call().call(testInt, testStr);
+    
+    assertEquals(testInt, directListener.lastInt);
+    assertEquals(testStr, directListener.lastString);
+    assertEquals(testInt, executorListener.lastInt);
+    assertEquals(testStr, executorListener.lastString);
+  }
+  
+  @Test
+  public void dispatcherFactoryExecutorListenerNotProxyTest() {
+    ListenerHelper<TestInterface> ch = ListenerHelper.buildWithDispatcher(TestInterface.class, 
+                                                                         new TestDispatcherFactory());
+    TestImp ti = new TestImp();
+    ch.addListener(ti, SameThreadSubmitterExecutor.instance());
+    List<TestInterface> listeners = ch.getListeners();
+    
+    assertEquals(1, listeners.size());
+    assertFalse(listeners.get(0) == ti);
+    assertFalse(Proxy.isProxyClass(listeners.get(0).getClass()));
+    
+    listeners.get(0).call(10, "foo");
+    
+    assertEquals(10, ti.lastInt);
+    assertEquals("foo", ti.lastString);
+  }
+  
   @Test (expected = RuntimeException.class)
   public void callFail() {
     @SuppressWarnings("rawtypes")
@@ -307,6 +417,45 @@ public class ListenerHelperTest {
     }
   }
   
+  protected static class TestDispatcherFactory implements ListenerDispatcherFactory<TestInterface> {
+    @Override
+    public TestInterface makeDispatcher(ListenerHelper<TestInterface> helper) {
+      return new TestDispatcher(helper);
+    }
+    
+    @Override
+    public TestInterface makeExecutorListener(final TestInterface listener, 
+                                              final Executor executor) {
+      return new TestInterface() {
+        @Override
+        public void call(final int i, final String s) {
+          executor.execute(new Runnable() {
+            @Override
+            public void run() {
+              listener.call(i, s);
+            }
+          });
+        }
+      };
+    }
+  }
+  
+  protected static class TestDispatcher implements TestInterface {
+    private final ListenerHelper<TestInterface> helper;
+    
+    protected TestDispatcher(ListenerHelper<TestInterface> helper) {
+      this.helper = helper;
+    }
+    
+    @Override
+    public void call(int i, String s) {
+      List<TestInterface> listeners = helper.getListeners();
+      for (int j = 0; j < listeners.size(); j++) {
+        listeners.get(j).call(i, s);
+      }
+    }
+  }
+  
   protected static class TestMultipleFunctionImp implements TestMultipleFunctionInterface {
     private int lastCall1Int = -1;
     private String lastCall2String = null;
@@ -0,0 +1,140 @@
+package org.threadly.concurrent.event;
+
+import static org.junit.Assert.*;
+import static org.threadly.TestConstants.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.threadly.ThreadlyTestUtil;
+import org.threadly.concurrent.NoThreadScheduler;
+import org.threadly.concurrent.PriorityScheduler;
+import org.threadly.concurrent.StrictPriorityScheduler;
+import org.threadly.test.concurrent.TestCondition;
+import org.threadly.test.concurrent.TestRunnable;
+
+@SuppressWarnings("javadoc")
+public class ListenerMailboxTest {
+  @BeforeClass
+  public static void setupClass() {
+    ThreadlyTestUtil.setDefaultUncaughtExceptionHandler();
+  }
+  
+  @SuppressWarnings("unused")
+  @Test (expected = IllegalArgumentException.class)
+  public void constructorFail() {
+    new ListenerMailbox(null);
+  }
+  
+  @Test
+  public void orderedExecutionTest() {
+    PriorityScheduler scheduler = new StrictPriorityScheduler(TEST_QTY, TEST_QTY, 1000);
+    try {
+      ListenerMailbox mailbox = new ListenerMailbox(scheduler);
+      final List<Integer> runOrder = Collections.synchronizedList(new ArrayList<Integer>());
+      for (int i = 0; i < TEST_QTY * 10; i++) {
+        final int index = i;
+        mailbox.execute(new Runnable() {
+          @Override
+          public void run() {
+            runOrder.add(index);
+          }
+        });
+      }
+      
+      new TestCondition() {
+        @Override
+        public boolean get() {
+          return runOrder.size() == TEST_QTY * 10;
+        }
+      }.blockTillTrue();
+      
+      for (int i = 0; i < TEST_QTY * 10; i++) {
+        assertEquals(i, runOrder.get(i).intValue());
+      }
+    } finally {
+      scheduler.shutdownNow();
+    }
+  }
+  
+  @Test
+  public void singleDrainTaskTest() {
+    final List<Runnable> submitted = new ArrayList<Runnable>();
+    ListenerMailbox mailbox = new ListenerMailbox(new Executor() {
+      @Override
+      public void execute(Runnable command) {
+        submitted.add(command);
+      }
+    });
+    List<TestRunnable> runnables = new ArrayList<TestRunnable>(TEST_QTY);
+    for (int i = 0; i < TEST_QTY; i++) {
+      TestRunnable tr = new TestRunnable();
+      runnables.add(tr);
+      mailbox.execute(tr);
+    }
+    
+    assertEquals(1, submitted.size());
+    
+    submitted.remove(0).run();
+    
+    for (int i = 0; i < TEST_QTY; i++) {
+      assertTrue(runnables.get(i).ranOnce());
+    }
+    
+    // once drained a new task should be submitted
+    mailbox.execute(new TestRunnable());
+    
+    assertEquals(1, submitted.size());
+  }
+  
+  @Test
+  public void taskExceptionTest() {
+    final List<Runnable> submitted = new ArrayList<Runnable>();
+    ListenerMailbox mailbox = new ListenerMailbox(new Executor() {
+      @Override
+      public void execute(Runnable command) {
+        submitted.add(command);
+      }
+    });
+    mailbox.execute(new TestRunnable() {
+      @Override
+      public void handleRunFinish() {
+        throw new RuntimeException();
+      }
+    });
+    TestRunnable tr = new TestRunnable();
+    mailbox.execute(tr);
+    
+    submitted.remove(0).run();
+    
+    assertTrue(tr.ranOnce());
+  }
+  
+  @Test
+  public void releasedMailboxForwardsTest() throws InterruptedException {
+    NoThreadScheduler scheduler = new NoThreadScheduler(false);
+    ListenerMailboxRegistry registry = new ListenerMailboxRegistry(scheduler);
+    Object listener = new Object();
+    ListenerMailbox releasedMailbox = registry.register(listener);
+    registry.unregister(listener);
+    assertEquals(0, registry.getMailboxCount());
+    
+    ListenerMailbox mailbox = registry.register(listener);
+    assertTrue(releasedMailbox != mailbox);
+    
+    // a stale reference to the released mailbox must not drain concurrently with the new one
+    TestRunnable tr1 = new TestRunnable();
+    TestRunnable tr2 = new TestRunnable();
+    releasedMailbox.execute(tr1);
+    mailbox.execute(tr2);
+    
+    assertEquals(1, scheduler.tick());
+    assertTrue(tr1.ranOnce());
+    assertTrue(tr2.ranOnce());
+    assertEquals(1, registry.getMailboxCount());
+  }
+}
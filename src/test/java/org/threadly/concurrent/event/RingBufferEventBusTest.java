@@ -0,0 +1,289 @@
+package org.threadly.concurrent.event;
+
+import static org.junit.Assert.*;
+import static org.threadly.TestConstants.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.threadly.ThreadlyTestUtil;
+import org.threadly.concurrent.IdleStrategy;
+import org.threadly.concurrent.PriorityScheduler;
+import org.threadly.concurrent.StrictPriorityScheduler;
+import org.threadly.test.concurrent.TestCondition;
+
+@SuppressWarnings("javadoc")
+public class RingBufferEventBusTest {
+  private static final EventFactory<LongEvent> EVENT_FACTORY = new EventFactory<LongEvent>() {
+    @Override
+    public LongEvent newInstance() {
+      return new LongEvent();
+    }
+  };
+
+  private PriorityScheduler scheduler;
+
+  @BeforeClass
+  public static void setupClass() {
+    ThreadlyTestUtil.setDefaultUncaughtExceptionHandler();
+  }
+
+  @Before
+  public void setup() {
+    scheduler = new StrictPriorityScheduler(TEST_QTY, TEST_QTY, 1000);
+  }
+
+  @After
+  public void tearDown() {
+    scheduler.shutdownNow();
+    scheduler = null;
+  }
+
+  private static void publish(RingBufferEventBus<LongEvent> bus, long value) {
+    long sequence = bus.next();
+    if (sequence >= 0) {
+      bus.get(sequence).value = value;
+      bus.publish(sequence);
+    }
+  }
+
+  @SuppressWarnings("unused")
+  @Test
+  public void constructorFail() {
+    try {
+      new RingBufferEventBus<LongEvent>(3, EVENT_FACTORY, IdleStrategy.BLOCK, BackpressurePolicy.Block);
+      fail("Exception should have thrown");
+    } catch (IllegalArgumentException e) {
+      // expected
+    }
+    try {
+      new RingBufferEventBus<LongEvent>(4, null, IdleStrategy.BLOCK, BackpressurePolicy.Block);
+      fail("Exception should have thrown");
+    } catch (IllegalArgumentException e) {
+      // expected
+    }
+    try {
+      new RingBufferEventBus<LongEvent>(4, EVENT_FACTORY, null, BackpressurePolicy.Block);
+      fail("Exception should have thrown");
+    } catch (IllegalArgumentException e) {
+      // expected
+    }
+    try {
+      new RingBufferEventBus<LongEvent>(4, EVENT_FACTORY, IdleStrategy.BLOCK, null);
+      fail("Exception should have thrown");
+    } catch (IllegalArgumentException e) {
+      // expected
+    }
+  }
+
+  @Test
+  public void startFail() {
+    RingBufferEventBus<LongEvent> bus =
+        new RingBufferEventBus<LongEvent>(4, EVENT_FACTORY, IdleStrategy.BLOCK, BackpressurePolicy.Block);
+    try {
+      bus.next();
+      fail("Exception should have thrown");
+    } catch (IllegalStateException e) {
+      // expected
+    }
+    try {
+      bus.start(scheduler);
+      fail("Exception should have thrown");
+    } catch (IllegalStateException e) {
+      // expected
+    }
+    bus.addConsumer(new CollectingConsumer());
+    bus.start(scheduler);
+    try {
+      bus.addConsumer(new CollectingConsumer());
+      fail("Exception should have thrown");
+    } catch (IllegalStateException e) {
+      // expected
+    } finally {
+      bus.stop();
+    }
+  }
+
+  @Test
+  public void spinPublishTest() {
+    publishTest(IdleStrategy.BUSY_SPIN);
+  }
+
+  @Test
+  public void yieldPublishTest() {
+    publishTest(IdleStrategy.BUSY_YIELD);
+  }
+
+  @Test
+  public void parkPublishTest() {
+    publishTest(IdleStrategy.BLOCK);
+  }
+
+  @Test
+  public void spinYieldParkPublishTest() {
+    publishTest(new IdleStrategy(100, 100, 1000 * 1000));
+  }
+
+  @Test
+  public void spinYieldBlockPublishTest() {
+    publishTest(new IdleStrategy(100, 100, 0));
+  }
+
+  private void publishTest(IdleStrategy idleStrategy) {
+    final int eventCount = TEST_QTY * 100;
+    RingBufferEventBus<LongEvent> bus =
+        new RingBufferEventBus<LongEvent>(16, EVENT_FACTORY, idleStrategy, BackpressurePolicy.Block);
+    final CollectingConsumer consumer1 = new CollectingConsumer();
+    final CollectingConsumer consumer2 = new CollectingConsumer();
+    bus.addConsumer(consumer1);
+    bus.addConsumer(consumer2);
+    bus.start(scheduler);
+    try {
+      for (int i = 0; i < eventCount; i++) {
+        publish(bus, i);
+      }
+
+      new TestCondition() {
+        @Override
+        public boolean get() {
+          return consumer1.values.size() == eventCount && consumer2.values.size() == eventCount;
+        }
+      }.blockTillTrue();
+
+      for (int i = 0; i < eventCount; i++) {
+        assertEquals(i, consumer1.values.get(i).longValue());
+        assertEquals(i, consumer2.values.get(i).longValue());
+      }
+      assertEquals(0, bus.getDroppedEventCount());
+    } finally {
+      bus.stop();
+    }
+  }
+
+  @Test
+  public void dropWhenFullTest() {
+    final BlockingConsumer consumer = new BlockingConsumer();
+    RingBufferEventBus<LongEvent> bus =
+        new RingBufferEventBus<LongEvent>(4, EVENT_FACTORY, IdleStrategy.BLOCK, BackpressurePolicy.Drop);
+    bus.addConsumer(consumer);
+    bus.start(scheduler);
+    try {
+      for (int i = 0; i < 4; i++) {
+        assertTrue(bus.next() >= 0);
+        bus.publish(i);
+      }
+
+      assertEquals(-1, bus.next());
+      assertEquals(1, bus.getDroppedEventCount());
+    } finally {
+      consumer.unblock();
+      bus.stop();
+    }
+  }
+
+  @Test
+  public void blockWhenFullTest() {
+    final BlockingConsumer consumer = new BlockingConsumer();
+    final RingBufferEventBus<LongEvent> bus =
+        new RingBufferEventBus<LongEvent>(4, EVENT_FACTORY, IdleStrategy.BLOCK, BackpressurePolicy.Block);
+    bus.addConsumer(consumer);
+    bus.start(scheduler);
+    try {
+      for (int i = 0; i < 4; i++) {
+        publish(bus, i);
+      }
+
+      final List<Long> claimed = Collections.synchronizedList(new ArrayList<Long>());
+      Thread t = new Thread(new Runnable() {
+        @Override
+        public void run() {
+          claimed.add(bus.next());
+        }
+      });
+      t.start();
+
+      // should not be able to claim while consumer is blocked
+      try {
+        t.join(DELAY_TIME);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      assertTrue(claimed.isEmpty());
+
+      consumer.unblock();
+      new TestCondition() {
+        @Override
+        public boolean get() {
+          return ! claimed.isEmpty();
+        }
+      }.blockTillTrue();
+
+      assertEquals(4, claimed.get(0).longValue());
+    } finally {
+      consumer.unblock();
+      bus.stop();
+    }
+  }
+
+  @Test
+  public void consumerExceptionTest() {
+    final CollectingConsumer consumer = new CollectingConsumer() {
+      @Override
+      public void handleEvent(LongEvent event, long sequence, boolean endOfBatch) {
+        super.handleEvent(event, sequence, endOfBatch);
+        throw new RuntimeException();
+      }
+    };
+    RingBufferEventBus<LongEvent> bus =
+        new RingBufferEventBus<LongEvent>(4, EVENT_FACTORY, IdleStrategy.BLOCK, BackpressurePolicy.Block);
+    bus.addConsumer(consumer);
+    bus.start(scheduler);
+    try {
+      for (int i = 0; i < TEST_QTY; i++) {
+        publish(bus, i);
+      }
+
+      new TestCondition() {
+        @Override
+        public boolean get() {
+          return consumer.values.size() == TEST_QTY;
+        }
+      }.blockTillTrue();
+    } finally {
+      bus.stop();
+    }
+  }
+
+  private static class LongEvent {
+    private long value;
+  }
+
+  private static class CollectingConsumer implements EventConsumer<LongEvent> {
+    protected final List<Long> values = Collections.synchronizedList(new ArrayList<Long>());
+
+    @Override
+    public void handleEvent(LongEvent event, long sequence, boolean endOfBatch) {
+      values.add(event.value);
+    }
+  }
+
+  private static class BlockingConsumer implements EventConsumer<LongEvent> {
+    private volatile boolean blocked = true;
+
+    public void unblock() {
+      blocked = false;
+    }
+
+    @Override
+    public void handleEvent(LongEvent event, long sequence, boolean endOfBatch) {
+      while (blocked) {
+        Thread.yield();
+      }
+    }
+  }
+}
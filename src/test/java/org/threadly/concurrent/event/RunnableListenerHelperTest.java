@@ -1,13 +1,22 @@
 package org.threadly.concurrent.event;
 
 import static org.junit.Assert.*;
+import static org.threadly.TestConstants.*;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
 
 import org.junit.After;
 import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.Test;
+import org.threadly.BlockingTestRunnable;
 import org.threadly.ThreadlyTestUtil;
 import org.threadly.concurrent.PriorityScheduler;
+import org.threadly.concurrent.SameThreadSubmitterExecutor;
 import org.threadly.concurrent.StrictPriorityScheduler;
 import org.threadly.concurrent.TestRuntimeFailureRunnable;
 
@@ -100,6 +109,43 @@ public class RunnableListenerHelperTest {
     assertEquals(1, repeatedHelper.registeredListenerCount());
   }
   
+  @Test
+  public void getListenerMapTest() {
+    assertTrue(repeatedHelper.getListenerMap().isEmpty());
+    
+    TestRunnable inlineListener = new TestRunnable();
+    repeatedHelper.addListener(inlineListener);
+    Map<Runnable, Executor> listenerMap = repeatedHelper.getListenerMap();
+    assertEquals(1, listenerMap.size());
+    assertTrue(listenerMap.containsKey(inlineListener));
+    assertNull(listenerMap.get(inlineListener));
+    
+    Executor executor = new SameThreadSubmitterExecutor();
+    List<TestRunnable> listeners = new ArrayList<TestRunnable>(TEST_QTY);
+    listeners.add(inlineListener);
+    for (int i = 1; i < TEST_QTY; i++) {
+      TestRunnable tr = new TestRunnable();
+      listeners.add(tr);
+      repeatedHelper.addListener(tr, executor);
+    }
+    
+    listenerMap = repeatedHelper.getListenerMap();
+    assertEquals(TEST_QTY, listenerMap.size());
+    Iterator<Map.Entry<Runnable, Executor>> it = listenerMap.entrySet().iterator();
+    for (int i = 0; i < TEST_QTY; i++) {
+      Map.Entry<Runnable, Executor> entry = it.next();
+      assertTrue(listeners.get(i) == entry.getKey());
+      assertTrue(i == 0 ? entry.getValue() == null : entry.getValue() == executor);
+    }
+  }
+  
+  @Test (expected = UnsupportedOperationException.class)
+  public void getListenerMapUnmodifiableTest() {
+    repeatedHelper.addListener(new TestRunnable());
+    
+    repeatedHelper.getListenerMap().clear();
+  }
+  
   @Test
   public void addAndCallListenersTest() {
     TestRunnable onceTR = new TestRunnable();
@@ -260,6 +306,114 @@ public class RunnableListenerHelperTest {
     assertEquals(1, addedTR.getRunCount());
   }
   
+  @Test
+  public void addListenerFromCallingThreadSingleListenerTest() {
+    final TestRunnable addedTR = new TestRunnable();
+    TestRunnable tr = new TestRunnable() {
+      @Override
+      public void handleRunFinish() {
+        if (addedTR.getRunCount() == 0) {
+          repeatedHelper.addListener(addedTR);
+        }
+      }
+    };
+    repeatedHelper.addListener(tr);
+    
+    repeatedHelper.callListeners();
+    
+    assertTrue(tr.ranOnce());
+    assertEquals(0, addedTR.getRunCount());
+    assertEquals(2, repeatedHelper.registeredListenerCount());
+    
+    repeatedHelper.callListeners();
+    
+    assertEquals(2, tr.getRunCount());
+    assertEquals(1, addedTR.getRunCount());
+  }
+  
+  @Test
+  public void multipleListenersTest() {
+    TestRunnable tr1 = new TestRunnable();
+    TestRunnable tr2 = new TestRunnable();
+    TestRunnable tr3 = new TestRunnable();
+    repeatedHelper.addListener(tr1);
+    repeatedHelper.addListener(tr2);
+    repeatedHelper.addListener(tr3);
+    assertEquals(3, repeatedHelper.registeredListenerCount());
+    
+    repeatedHelper.callListeners();
+    assertTrue(tr1.ranOnce());
+    assertTrue(tr2.ranOnce());
+    assertTrue(tr3.ranOnce());
+    
+    assertTrue(repeatedHelper.removeListener(tr2));
+    assertEquals(2, repeatedHelper.registeredListenerCount());
+    repeatedHelper.callListeners();
+    assertEquals(2, tr1.getRunCount());
+    assertEquals(1, tr2.getRunCount());
+    assertEquals(2, tr3.getRunCount());
+  }
+  
+  @Test
+  public void removeSingleListenerTest() {
+    TestRunnable tr = new TestRunnable();
+    repeatedHelper.addListener(tr);
+    
+    assertFalse(repeatedHelper.removeListener(new TestRunnable()));
+    assertEquals(1, repeatedHelper.registeredListenerCount());
+    assertTrue(repeatedHelper.removeListener(tr));
+    assertEquals(0, repeatedHelper.registeredListenerCount());
+    
+    // should be able to add again after removal
+    repeatedHelper.addListener(tr);
+    repeatedHelper.callListeners();
+    assertTrue(tr.ranOnce());
+  }
+  
+  @Test
+  public void addListenerWhileCallingTest() {
+    final BlockingTestRunnable btr = new BlockingTestRunnable();
+    repeatedHelper.addListener(btr);
+    new Thread(new Runnable() {
+      @Override
+      public void run() {
+        repeatedHelper.callListeners();
+      }
+    }).start();
+    try {
+      btr.blockTillStarted();
+      
+      // should not block while the listener is running
+      TestRunnable tr = new TestRunnable();
+      repeatedHelper.addListener(tr);
+      assertEquals(2, repeatedHelper.registeredListenerCount());
+      assertTrue(repeatedHelper.removeListener(tr));
+    } finally {
+      btr.unblock();
+    }
+  }
+  
+  @Test
+  public void listenerOrderTest() {
+    final List<Integer> runOrder = new ArrayList<Integer>(TEST_QTY);
+    for (int i = 0; i < TEST_QTY; i++) {
+      final int index = i;
+      repeatedHelper.addListener(new Runnable() {
+        @Override
+        public void run() {
+          runOrder.add(index);
+        }
+      });
+    }
+    
+    repeatedHelper.callListeners();
+    
+    assertEquals(TEST_QTY, runOrder.size());
+    for (int i = 0; i < TEST_QTY; i++) {
+      assertEquals(i, runOrder.get(i).intValue());
+    }
+  }
+  
   private static class TestRunnable extends org.threadly.test.concurrent.TestRunnable {
     private volatile Thread lastRanThread = null;
     
@@ -0,0 +1,129 @@
+package org.threadly.concurrent.future;
+
+import static org.junit.Assert.*;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.threadly.test.concurrent.TestRunnable;
+
+@SuppressWarnings("javadoc")
+public class CancelableSettableListenableFutureTest {
+  private ListenableFutureTask<String> source;
+  private CancelableSettableListenableFuture<String> cslf;
+
+  @Before
+  public void setup() {
+    source = new ListenableFutureTask<String>(false, new TestRunnable(), null);
+    cslf = new CancelableSettableListenableFuture<String>(source);
+  }
+
+  @After
+  public void tearDown() {
+    source = null;
+    cslf = null;
+  }
+
+  @Test
+  public void handleResultTest() throws InterruptedException, ExecutionException {
+    String result = "foo";
+    cslf.handleResult(result);
+
+    assertTrue(cslf.isDone());
+    assertFalse(cslf.isCancelled());
+    assertEquals(result, cslf.get());
+  }
+
+  @Test
+  public void handleFailureTest() throws InterruptedException {
+    Exception failure = new Exception();
+    cslf.handleFailure(failure);
+
+    assertTrue(cslf.isDone());
+    assertFalse(cslf.isCancelled());
+    try {
+      cslf.get();
+      fail("Exception should have thrown");
+    } catch (ExecutionException e) {
+      assertTrue(e.getCause() == failure);
+    }
+  }
+
+  @Test
+  public void handleCancellationFailureTest() throws InterruptedException, ExecutionException {
+    cslf.handleFailure(new CancellationException());
+
+    assertTrue(cslf.isDone());
+    assertTrue(cslf.isCancelled());
+    try {
+      cslf.get();
+      fail("Exception should have thrown");
+    } catch (CancellationException e) {
+      // expected
+    }
+  }
+
+  @Test
+  public void cancelTest() throws InterruptedException, ExecutionException {
+    TestRunnable listener = new TestRunnable();
+    cslf.addListener(listener);
+
+    assertTrue(cslf.cancel(false));
+
+    assertTrue(cslf.isDone());
+    assertTrue(cslf.isCancelled());
+    assertTrue(source.isCancelled());
+    assertTrue(listener.ranOnce());
+    try {
+      cslf.get();
+      fail("Exception should have thrown");
+    } catch (CancellationException e) {
+      // expected
+    }
+  }
+
+  @Test
+  public void cancelWithoutSourceTest() {
+    cslf = new CancelableSettableListenableFuture<String>();
+
+    assertTrue(cslf.cancel(true));
+    assertTrue(cslf.isCancelled());
+  }
+
+  @Test
+  public void cancelAfterDoneTest() {
+    cslf.handleResult(null);
+
+    assertFalse(cslf.cancel(false));
+    assertFalse(cslf.isCancelled());
+    assertFalse(source.isCancelled());
+  }
+
+  @Test
+  public void completeAfterCancelTest() {
+    cslf.cancel(false);
+
+    // should be ignored rather than throwing back to the source
+    cslf.handleResult("foo");
+    cslf.handleFailure(new Exception());
+
+    assertTrue(cslf.isCancelled());
+  }
+
+  @Test
+  public void sourceCallbackTest() throws InterruptedException, ExecutionException {
+    String result = "foo";
+    ListenableFutureTask<String> lft =
+        new ListenableFutureTask<String>(false, new TestRunnable(), result);
+    cslf = new CancelableSettableListenableFuture<String>(lft);
+    lft.addCallback(cslf);
+
+    lft.run();
+
+    assertTrue(cslf.isDone());
+    assertEquals(result, cslf.get());
+  }
+}
@@ -4,6 +4,7 @@ import static org.junit.Assert.*;
 import static org.threadly.TestConstants.*;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
@@ -16,6 +17,7 @@ import org.junit.AfterClass;
 import org.junit.BeforeClass;
 import org.junit.Test;
 import org.threadly.ThreadlyTestUtil;
+import org.threadly.concurrent.NoThreadScheduler;
 import org.threadly.concurrent.PriorityScheduler;
 import org.threadly.concurrent.StrictPriorityScheduler;
 import org.threadly.concurrent.TestRuntimeFailureRunnable;
@@ -503,6 +505,248 @@ public class FutureUtilsTest {
     verifyNoneIncluded(futures, f.get(), cancelFuture);
   }
   
+  @Test
+  public void makeListFutureLargeCollectionTest() throws InterruptedException, ExecutionException {
+    int futureCount = TEST_QTY * 100;
+    List<SettableListenableFuture<Integer>> futures = 
+        new ArrayList<SettableListenableFuture<Integer>>(futureCount);
+    for (int i = 0; i < futureCount; i++) {
+      futures.add(new SettableListenableFuture<Integer>());
+    }
+    ListenableFuture<?> completeFuture = FutureUtils.makeCompleteFuture(futures);
+    ListenableFuture<List<ListenableFuture<? extends Integer>>> allFuture = 
+        FutureUtils.makeCompleteListFuture(futures);
+    ListenableFuture<List<ListenableFuture<? extends Integer>>> successFuture = 
+        FutureUtils.makeSuccessListFuture(futures);
+    ListenableFuture<List<ListenableFuture<? extends Integer>>> failureFuture = 
+        FutureUtils.makeFailureListFuture(futures);
+    
+    for (int i = 0; i < futureCount; i++) {
+      assertFalse(completeFuture.isDone());
+      if (i % 2 == 0) {
+        futures.get(i).setResult(i);
+      } else {
+        futures.get(i).setFailure(null);
+      }
+    }
+    
+    assertTrue(completeFuture.isDone());
+    assertEquals(futureCount, allFuture.get().size());
+    assertEquals(futureCount / 2, successFuture.get().size());
+    assertEquals(futureCount / 2, failureFuture.get().size());
+    Iterator<ListenableFuture<? extends Integer>> it = successFuture.get().iterator();
+    while (it.hasNext()) {
+      assertEquals(0, it.next().get() % 2);
+    }
+  }
+  
+  private static List<ListenableFutureTask<?>> makePendingFutures(int count) {
+    List<ListenableFutureTask<?>> result = new ArrayList<ListenableFutureTask<?>>(count);
+    
+    for (int i = 0; i < count; i++) {
+      result.add(new ListenableFutureTask<Object>(false, new TestRunnable()));
+    }
+    
+    return result;
+  }
+  
+  private static void verifyAllCanceled(List<ListenableFutureTask<?>> futures) {
+    Iterator<ListenableFutureTask<?>> it = futures.iterator();
+    while (it.hasNext()) {
+      assertTrue(it.next().isCancelled());
+    }
+  }
+  
+  @Test
+  public void makeCompleteFutureNotCancelableTest() {
+    List<ListenableFutureTask<?>> futures = makePendingFutures(TEST_QTY);
+    ListenableFuture<?> f = FutureUtils.makeCompleteFuture(futures, false);
+    
+    assertFalse(f.cancel(false));
+    assertFalse(f.isCancelled());
+    assertFalse(futures.get(0).isCancelled());
+  }
+  
+  @Test
+  public void makeCompleteFuturePropagateCancelTest() throws InterruptedException, ExecutionException {
+    List<ListenableFutureTask<?>> futures = makePendingFutures(TEST_QTY);
+    ListenableFuture<?> f = FutureUtils.makeCompleteFuture(futures, true);
+    
+    assertTrue(f.cancel(false));
+    assertTrue(f.isDone());
+    assertTrue(f.isCancelled());
+    assertFalse(f.cancel(false));
+    verifyAllCanceled(futures);
+    try {
+      f.get();
+      fail("Exception should have thrown");
+    } catch (CancellationException e) {
+      // expected
+    }
+  }
+  
+  @Test
+  public void makeCompleteFuturePropagateCancelDoneTest() throws InterruptedException, ExecutionException {
+    List<ListenableFutureTask<?>> futures = makePendingFutures(TEST_QTY);
+    ListenableFuture<?> f = FutureUtils.makeCompleteFuture(futures, true);
+    Iterator<ListenableFutureTask<?>> it = futures.iterator();
+    while (it.hasNext()) {
+      it.next().run();
+    }
+    
+    assertTrue(f.isDone());
+    assertFalse(f.cancel(false));
+    assertFalse(f.isCancelled());
+    f.get();  // should not throw
+  }
+  
+  @Test
+  public void makeCompleteListFuturePropagateCancelTest() {
+    List<ListenableFutureTask<?>> futures = makePendingFutures(TEST_QTY);
+    futures.get(0).run();
+    ListenableFuture<?> f = FutureUtils.makeCompleteListFuture(futures, true);
+    
+    assertTrue(f.cancel(false));
+    assertFalse(futures.get(0).isCancelled());
+    verifyAllCanceled(futures.subList(1, futures.size()));
+  }
+  
+  @Test
+  public void makeSuccessListFuturePropagateCancelTest() {
+    List<ListenableFutureTask<?>> futures = makePendingFutures(TEST_QTY);
+    ListenableFuture<?> f = FutureUtils.makeSuccessListFuture(futures, true);
+    
+    assertTrue(f.cancel(false));
+    verifyAllCanceled(futures);
+  }
+  
+  @Test
+  public void makeFailureListFuturePropagateCancelTest() {
+    List<ListenableFutureTask<?>> futures = makePendingFutures(TEST_QTY);
+    ListenableFuture<?> f = FutureUtils.makeFailureListFuture(futures, true);
+    
+    assertTrue(f.cancel(false));
+    verifyAllCanceled(futures);
+  }
+  
+  @Test
+  public void makeFailFastListFutureTest() throws InterruptedException, ExecutionException {
+    List<ListenableFutureTask<?>> futures = makePendingFutures(TEST_QTY);
+    ListenableFuture<List<ListenableFuture<?>>> f = 
+        FutureUtils.<Object>makeFailFastListFuture(futures, false);
+    
+    Iterator<ListenableFutureTask<?>> it = futures.iterator();
+    while (it.hasNext()) {
+      assertFalse(f.isDone());
+      it.next().run();
+    }
+    
+    assertTrue(f.isDone());
+    assertEquals(TEST_QTY, f.get().size());
+  }
+  
+  @Test
+  public void makeFailFastListFutureFailureTest() throws InterruptedException {
+    RuntimeException failure = new RuntimeException();
+    List<ListenableFutureTask<?>> futures = makePendingFutures(TEST_QTY);
+    futures.get(0).run();
+    ListenableFutureTask<?> failingFuture = 
+        new ListenableFutureTask<Object>(false, new TestRuntimeFailureRunnable(failure));
+    futures.add(failingFuture);
+    ListenableFuture<List<ListenableFuture<?>>> f = 
+        FutureUtils.<Object>makeFailFastListFuture(futures, false);
+    
+    assertFalse(f.isDone());
+    failingFuture.run();
+    assertTrue(f.isDone());
+    try {
+      f.get();
+      fail("Exception should have thrown");
+    } catch (ExecutionException e) {
+      assertTrue(failure == e.getCause());
+    }
+    assertFalse(futures.get(0).isCancelled());
+    verifyAllCanceled(futures.subList(1, TEST_QTY));
+  }
+  
+  @Test
+  public void makeFailFastListFutureAlreadyFailedTest() throws InterruptedException {
+    List<ListenableFutureTask<?>> futures = makePendingFutures(TEST_QTY);
+    futures.get(TEST_QTY / 2).cancel(false);
+    ListenableFuture<List<ListenableFuture<?>>> f = 
+        FutureUtils.<Object>makeFailFastListFuture(futures, false);
+    
+    assertTrue(f.isDone());
+    assertFalse(f.isCancelled());
+    try {
+      f.get();
+      fail("Exception should have thrown");
+    } catch (ExecutionException e) {
+      assertTrue(e.getCause() instanceof CancellationException);
+    }
+    verifyAllCanceled(futures);
+  }
+  
+  @Test (expected = IllegalArgumentException.class)
+  public void makeFirstSuccessesListFutureFail() {
+    FutureUtils.makeFirstSuccessesListFuture(makePendingFutures(TEST_QTY), 0, false);
+  }
+  
+  @Test
+  public void makeFirstSuccessesListFutureTest() throws InterruptedException, ExecutionException {
+    List<ListenableFutureTask<?>> futures = makePendingFutures(TEST_QTY);
+    ListenableFuture<List<ListenableFuture<?>>> f = 
+        FutureUtils.<Object>makeFirstSuccessesListFuture(futures, 2, false);
+    
+    futures.get(3).run();
+    assertFalse(f.isDone());
+    futures.get(1).run();
+    assertTrue(f.isDone());
+    
+    List<ListenableFuture<?>> result = f.get();
+    assertEquals(2, result.size());
+    assertTrue(result.contains(futures.get(1)));
+    assertTrue(result.contains(futures.get(3)));
+    assertFalse(futures.get(1).isCancelled());
+    assertFalse(futures.get(3).isCancelled());
+    assertTrue(futures.get(0).isCancelled());
+    assertTrue(futures.get(2).isCancelled());
+  }
+  
+  @Test
+  public void makeFirstSuccessesListFutureNotEnoughTest() throws InterruptedException {
+    RuntimeException failure = new RuntimeException();
+    List<ListenableFutureTask<?>> futures = makePendingFutures(2);
+    ListenableFutureTask<?> failingFuture = 
+        new ListenableFutureTask<Object>(false, new TestRuntimeFailureRunnable(failure));
+    futures.add(failingFuture);
+    ListenableFuture<List<ListenableFuture<?>>> f = 
+        FutureUtils.<Object>makeFirstSuccessesListFuture(futures, 3, false);
+    
+    futures.get(0).run();
+    futures.get(1).run();
+    assertFalse(f.isDone());
+    failingFuture.run();
+    assertTrue(f.isDone());
+    try {
+      f.get();
+      fail("Exception should have thrown");
+    } catch (ExecutionException e) {
+      assertTrue(failure == e.getCause());
+    }
+  }
+  
+  @Test
+  public void makeFirstSuccessesListFutureCancelTest() {
+    List<ListenableFutureTask<?>> futures = makePendingFutures(TEST_QTY);
+    ListenableFuture<List<ListenableFuture<?>>> f = 
+        FutureUtils.<Object>makeFirstSuccessesListFuture(futures, 1, false);
+    
+    assertTrue(f.cancel(true));
+    assertTrue(f.isCancelled());
+    verifyAllCanceled(futures);
+  }
+  
   @Test
   public void immediateResultFutureNullResultTest() throws InterruptedException, ExecutionException, TimeoutException {
     ListenableFuture<?> testFuture = FutureUtils.immediateResultFuture(null);
@@ -569,4 +813,364 @@ public class FutureUtilsTest {
     
     ImmediateListenableFutureTest.failureAddCallbackTest(testFuture, failure);
   }
+  
+  @Test
+  public void withTimeoutFail() {
+    try {
+      FutureUtils.withTimeout(null, 10, scheduler);
+      fail("Exception should have thrown");
+    } catch (IllegalArgumentException e) {
+      // expected
+    }
+    try {
+      FutureUtils.withTimeout(new SettableListenableFuture<Object>(), -1, scheduler);
+      fail("Exception should have thrown");
+    } catch (IllegalArgumentException e) {
+      // expected
+    }
+    try {
+      FutureUtils.withTimeout(new SettableListenableFuture<Object>(), 10, null);
+      fail("Exception should have thrown");
+    } catch (IllegalArgumentException e) {
+      // expected
+    }
+  }
+  
+  @Test
+  public void withTimeoutAlreadyDoneTest() {
+    ListenableFuture<String> future = FutureUtils.immediateResultFuture("foo");
+    
+    assertTrue(future == FutureUtils.withTimeout(future, 10, scheduler));
+  }
+  
+  @Test
+  public void withTimeoutCompletesTest() throws InterruptedException, ExecutionException {
+    SettableListenableFuture<String> source = new SettableListenableFuture<String>();
+    ListenableFuture<String> f = FutureUtils.withTimeout(source, 1000 * 10, scheduler);
+    
+    assertFalse(f.isDone());
+    source.setResult("foo");
+    assertTrue(f.isDone());
+    assertEquals("foo", f.get());
+  }
+  
+  @Test
+  public void withTimeoutFailureTest() throws InterruptedException {
+    Exception failure = new Exception();
+    SettableListenableFuture<String> source = new SettableListenableFuture<String>();
+    ListenableFuture<String> f = FutureUtils.withTimeout(source, 1000 * 10, scheduler);
+    
+    source.setFailure(failure);
+    try {
+      f.get();
+      fail("Exception should have thrown");
+    } catch (ExecutionException e) {
+      assertTrue(failure == e.getCause());
+    }
+  }
+  
+  @Test
+  public void withTimeoutTimesOutTest() throws InterruptedException, ExecutionException {
+    ListenableFutureTask<?> source = new ListenableFutureTask<Object>(false, new TestRunnable());
+    ListenableFuture<?> f = FutureUtils.withTimeout(source, DELAY_TIME, scheduler);
+    
+    try {
+      f.get();
+      fail("Exception should have thrown");
+    } catch (ExecutionException e) {
+      assertTrue(e.getCause() instanceof TimeoutException);
+    }
+    // source is canceled after the returned future is failed
+    try {
+      source.get();
+      fail("Exception should have thrown");
+    } catch (CancellationException e) {
+      // expected
+    }
+    assertTrue(source.isCancelled());
+  }
+  
+  @Test
+  public void withTimeoutCoalescedTest() throws InterruptedException {
+    NoThreadScheduler nts = new NoThreadScheduler(false);
+    List<SettableListenableFuture<?>> sources = new ArrayList<SettableListenableFuture<?>>();
+    List<ListenableFuture<?>> futures = new ArrayList<ListenableFuture<?>>();
+    for (int i = 0; i < TEST_QTY; i++) {
+      SettableListenableFuture<?> source = new SettableListenableFuture<Object>();
+      sources.add(source);
+      futures.add(FutureUtils.withTimeout(source, 1000 * 10 + i, nts));
+    }
+    // a later timeout should not schedule another check
+    assertEquals(1, nts.clearTasks().size());
+    
+    // earlier timeout should schedule a new check
+    ListenableFutureTask<?> earlyFuture = new ListenableFutureTask<Object>(false, new TestRunnable());
+    ListenableFuture<?> f = FutureUtils.withTimeout(earlyFuture, 0, nts);
+    assertEquals(1, nts.tick());
+    assertTrue(f.isDone());
+    assertTrue(earlyFuture.isCancelled());
+    
+    Iterator<ListenableFuture<?>> it = futures.iterator();
+    while (it.hasNext()) {
+      assertFalse(it.next().isDone());
+    }
+  }
+  
+  @Test
+  public void withTimeoutSupersededCheckRemovedTest() {
+    NoThreadScheduler nts = new NoThreadScheduler(false);
+    // each timeout is earlier than the last, so each supersedes the previous check
+    for (int i = 0; i < TEST_QTY; i++) {
+      FutureUtils.withTimeout(new SettableListenableFuture<Object>(), 1000 * 10 - i, nts);
+    }
+    
+    assertEquals(1, nts.clearTasks().size());
+  }
+  
+  private static final Transformer<String, Integer> LENGTH_TRANSFORMER = 
+      new Transformer<String, Integer>() {
+        @Override
+        public Integer transform(String input) {
+          return input.length();
+        }
+      };
+  
+  @Test (expected = IllegalArgumentException.class)
+  public void mapNullSourceFail() {
+    FutureUtils.map(null, LENGTH_TRANSFORMER);
+  }
+  
+  @Test (expected = IllegalArgumentException.class)
+  public void mapNullTransformerFail() {
+    FutureUtils.map(FutureUtils.immediateResultFuture("foo"), null);
+  }
+  
+  @Test
+  public void mapDoneResultTest() throws InterruptedException, ExecutionException {
+    ListenableFuture<Integer> f = FutureUtils.map(FutureUtils.immediateResultFuture("foo"), 
+                                                  LENGTH_TRANSFORMER);
+    
+    assertTrue(f.isDone());
+    assertTrue(f instanceof ImmediateResultListenableFuture);
+    assertEquals(3, f.get().intValue());
+  }
+  
+  @Test
+  public void mapDoneFailureTest() throws InterruptedException {
+    Exception failure = new Exception();
+    ListenableFuture<Integer> f = 
+        FutureUtils.map(FutureUtils.<String>immediateFailureFuture(failure), LENGTH_TRANSFORMER);
+    
+    assertTrue(f.isDone());
+    try {
+      f.get();
+      fail("Exception should have thrown");
+    } catch (ExecutionException e) {
+      assertTrue(failure == e.getCause());
+    }
+  }
+  
+  @Test
+  public void mapPendingResultTest() throws InterruptedException, ExecutionException {
+    SettableListenableFuture<String> source = new SettableListenableFuture<String>();
+    ListenableFuture<Integer> f = FutureUtils.map(source, LENGTH_TRANSFORMER);
+    
+    assertFalse(f.isDone());
+    source.setResult("foobar");
+    assertTrue(f.isDone());
+    assertEquals(6, f.get().intValue());
+  }
+  
+  @Test
+  public void mapPendingCanceledTest() throws InterruptedException {
+    ListenableFutureTask<String> source = 
+        new ListenableFutureTask<String>(false, new TestRunnable(), "foo");
+    ListenableFuture<Integer> f = FutureUtils.map(source, LENGTH_TRANSFORMER);
+    
+    source.cancel(false);
+    try {
+      f.get();
+      fail("Exception should have thrown");
+    } catch (ExecutionException e) {
+      assertTrue(e.getCause() instanceof CancellationException);
+    }
+  }
+  
+  @Test
+  public void mapTransformerFailureTest() throws InterruptedException {
+    final RuntimeException failure = new RuntimeException();
+    Transformer<String, Integer> transformer = new Transformer<String, Integer>() {
+      @Override
+      public Integer transform(String input) {
+        throw failure;
+      }
+    };
+    SettableListenableFuture<String> source = new SettableListenableFuture<String>();
+    ListenableFuture<Integer> pendingFuture = FutureUtils.map(source, transformer);
+    source.setResult("foo");
+    ListenableFuture<Integer> doneFuture = FutureUtils.map(source, transformer);
+    
+    Iterator<ListenableFuture<Integer>> it = 
+        Arrays.asList(pendingFuture, doneFuture).iterator();
+    while (it.hasNext()) {
+      try {
+        it.next().get();
+        fail("Exception should have thrown");
+      } catch (ExecutionException e) {
+        assertTrue(failure == e.getCause());
+      }
+    }
+  }
+  
+  @Test
+  public void mapExecutorTest() throws InterruptedException, ExecutionException, TimeoutException {
+    final AsyncVerifier av = new AsyncVerifier();
+    final Thread testThread = Thread.currentThread();
+    Transformer<String, Integer> transformer = new Transformer<String, Integer>() {
+      @Override
+      public Integer transform(String input) {
+        av.assertTrue(Thread.currentThread() != testThread);
+        av.signalComplete();
+        return input.length();
+      }
+    };
+    ListenableFuture<Integer> f = 
+        FutureUtils.map(FutureUtils.immediateResultFuture("foo"), transformer, scheduler);
+    
+    assertEquals(3, f.get().intValue());
+    av.waitForTest();
+  }
+  
+  @Test
+  public void flatMapDoneResultTest() {
+    final ListenableFuture<Integer> next = new SettableListenableFuture<Integer>();
+    ListenableFuture<Integer> f = 
+        FutureUtils.flatMap(FutureUtils.immediateResultFuture("foo"), 
+                            new Transformer<String, ListenableFuture<Integer>>() {
+                              @Override
+                              public ListenableFuture<Integer> transform(String input) {
+                                return next;
+                              }
+                            });
+    
+    assertTrue(next == f);
+  }
+  
+  @Test
+  public void flatMapPendingResultTest() throws InterruptedException, ExecutionException {
+    final SettableListenableFuture<Integer> next = new SettableListenableFuture<Integer>();
+    SettableListenableFuture<String> source = new SettableListenableFuture<String>();
+    ListenableFuture<Integer> f = 
+        FutureUtils.flatMap(source, new Transformer<String, ListenableFuture<Integer>>() {
+          @Override
+          public ListenableFuture<Integer> transform(String input) {
+            return next;
+          }
+        });
+    
+    source.setResult("foo");
+    assertFalse(f.isDone());
+    next.setResult(10);
+    assertTrue(f.isDone());
+    assertEquals(10, f.get().intValue());
+  }
+  
+  @Test
+  public void flatMapNullFutureTest() throws InterruptedException {
+    SettableListenableFuture<String> source = new SettableListenableFuture<String>();
+    ListenableFuture<Integer> f = 
+        FutureUtils.flatMap(source, new Transformer<String, ListenableFuture<Integer>>() {
+          @Override
+          public ListenableFuture<Integer> transform(String input) {
+            return null;
+          }
+        });
+    
+    source.setResult("foo");
+    try {
+      f.get();
+      fail("Exception should have thrown");
+    } catch (ExecutionException e) {
+      assertTrue(e.getCause() instanceof NullPointerException);
+    }
+  }
+  
+  @Test
+  public void transformFailureTest() throws InterruptedException, ExecutionException {
+    Transformer<Throwable, String> transformer = new Transformer<Throwable, String>() {
+      @Override
+      public String transform(Throwable input) {
+        return input.getMessage();
+      }
+    };
+    SettableListenableFuture<String> source = new SettableListenableFuture<String>();
+    ListenableFuture<String> pendingFuture = FutureUtils.transformFailure(source, transformer);
+    source.setFailure(new Exception("foo"));
+    ListenableFuture<String> doneFuture = FutureUtils.transformFailure(source, transformer);
+    
+    assertEquals("foo", pendingFuture.get());
+    assertEquals("foo", doneFuture.get());
+  }
+  
+  @Test
+  public void transformFailureResultTest() throws InterruptedException, ExecutionException {
+    Transformer<Throwable, String> transformer = new Transformer<Throwable, String>() {
+      @Override
+      public String transform(Throwable input) {
+        throw new RuntimeException();
+      }
+    };
+    SettableListenableFuture<String> source = new SettableListenableFuture<String>();
+    ListenableFuture<String> f = FutureUtils.transformFailure(source, transformer);
+    source.setResult("bar");
+    
+    assertEquals("bar", f.get());
+    assertEquals("bar", FutureUtils.transformFailure(source, transformer).get());
+  }
+  
+  @Test
+  public void thenRunTest() throws InterruptedException, ExecutionException {
+    TestRunnable tr = new TestRunnable();
+    SettableListenableFuture<String> source = new SettableListenableFuture<String>();
+    ListenableFuture<String> f = FutureUtils.thenRun(source, tr);
+    
+    assertFalse(tr.ranOnce());
+    source.setResult("foo");
+    assertTrue(tr.ranOnce());
+    assertEquals("foo", f.get());
+    
+    assertEquals("foo", FutureUtils.thenRun(source, tr).get());
+    assertEquals(2, tr.getRunCount());
+  }
+  
+  @Test
+  public void thenRunSourceFailureTest() throws InterruptedException {
+    TestRunnable tr = new TestRunnable();
+    Exception failure = new Exception();
+    SettableListenableFuture<String> source = new SettableListenableFuture<String>();
+    ListenableFuture<String> f = FutureUtils.thenRun(source, tr);
+    source.setFailure(failure);
+    
+    try {
+      f.get();
+      fail("Exception should have thrown");
+    } catch (ExecutionException e) {
+      assertTrue(failure == e.getCause());
+    }
+    assertEquals(0, tr.getRunCount());
+  }
+  
+  @Test
+  public void thenRunTaskFailureTest() throws InterruptedException {
+    SettableListenableFuture<String> source = new SettableListenableFuture<String>();
+    ListenableFuture<String> f = FutureUtils.thenRun(source, new TestRuntimeFailureRunnable());
+    source.setResult("foo");
+    
+    try {
+      f.get();
+      fail("Exception should have thrown");
+    } catch (ExecutionException e) {
+      // expected
+    }
+  }
 }
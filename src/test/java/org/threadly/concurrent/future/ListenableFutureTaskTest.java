@@ -186,6 +186,32 @@ public class ListenableFutureTaskTest extends RunnableFutureTest {
     future.get(100, TimeUnit.MILLISECONDS);
   }
   
+  @Test
+  public void spinGetTest() throws InterruptedException, ExecutionException, TimeoutException {
+    final ListenableFutureTask<String> future = 
+        new ListenableFutureTask<String>(false, new TestRunnable(), "foo");
+    future.setSpinWaitPolicy(new SpinWaitPolicy(1000 * 1000));
+    
+    new Thread(future).start();
+    
+    assertEquals("foo", future.get());
+    assertEquals("foo", future.get(1, TimeUnit.MILLISECONDS));
+  }
+  
+  @Test
+  public void spinGetTimeoutTest() throws InterruptedException, ExecutionException {
+    ListenableFutureTask<String> future = 
+        new ListenableFutureTask<String>(false, new TestRunnable(), "foo");
+    future.setSpinWaitPolicy(new SpinWaitPolicy(Integer.MAX_VALUE));
+    
+    try {
+      future.get(10, TimeUnit.MILLISECONDS);
+      fail("Exception should have thrown");
+    } catch (TimeoutException e) {
+      // expected
+    }
+  }
+  
   private class Factory implements FutureFactory {
     @Override
     public RunnableFuture<?> make(Runnable run) {
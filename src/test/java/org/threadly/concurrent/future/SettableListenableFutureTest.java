@@ -205,6 +205,42 @@ public class SettableListenableFutureTest {
     assertTrue(endTime - startTime >= DELAY_TIME);
   }
   
+  @Test
+  public void spinGetResultTest() throws InterruptedException, ExecutionException {
+    final String testResult = "spinGetResultTest";
+    slf.setSpinWaitPolicy(new SpinWaitPolicy(1000 * 1000));
+    
+    PriorityScheduler scheduler = new StrictPriorityScheduler(1, 1, 100);
+    try {
+      scheduler.execute(new Runnable() {
+        @Override
+        public void run() {
+          slf.setResult(testResult);
+        }
+      });
+      
+      assertTrue(slf.get() == testResult);
+    } finally {
+      scheduler.shutdownNow();
+    }
+  }
+
+  @Test
+  public void spinGetTimeoutTest() throws InterruptedException, 
+                                          ExecutionException {
+    slf.setSpinWaitPolicy(new SpinWaitPolicy(Integer.MAX_VALUE));
+    long startTime = System.currentTimeMillis();
+    try {
+      slf.get(DELAY_TIME, TimeUnit.MILLISECONDS);
+      fail("Exception should have thrown");
+    } catch (TimeoutException e) {
+      // expected
+    }
+    long endTime = System.currentTimeMillis();
+    
+    assertTrue(endTime - startTime >= DELAY_TIME);
+  }
+  
   @Test (expected = ExecutionException.class)
   public void getNullExceptionTest() throws InterruptedException, 
                                             ExecutionException {
@@ -0,0 +1,50 @@
+package org.threadly.concurrent.future;
+
+import static org.junit.Assert.*;
+
+import org.junit.After;
+import org.junit.Test;
+
+@SuppressWarnings("javadoc")
+public class SpinWaitPolicyTest {
+  @After
+  public void tearDown() {
+    SpinWaitPolicy.setDefaultPolicy(null);
+  }
+  
+  @SuppressWarnings("unused")
+  @Test (expected = IllegalArgumentException.class)
+  public void constructorFail() {
+    new SpinWaitPolicy(-1);
+  }
+  
+  @Test
+  public void defaultPolicyTest() {
+    assertTrue(SpinWaitPolicy.getDefaultPolicy() == SpinWaitPolicy.NO_SPIN);
+    
+    SpinWaitPolicy policy = new SpinWaitPolicy(10);
+    SpinWaitPolicy.setDefaultPolicy(policy);
+    assertTrue(SpinWaitPolicy.getDefaultPolicy() == policy);
+    
+    SpinWaitPolicy.setDefaultPolicy(null);
+    assertTrue(SpinWaitPolicy.getDefaultPolicy() == SpinWaitPolicy.NO_SPIN);
+  }
+  
+  @Test
+  public void spinUntilDoneTest() {
+    SpinWaitPolicy policy = new SpinWaitPolicy(100);
+    
+    assertTrue(policy.spinUntilDone(FutureUtils.immediateResultFuture(null)));
+    assertFalse(policy.spinUntilDone(new SettableListenableFuture<Object>()));
+  }
+  
+  @Test
+  public void spinUntilDoneDeadlineTest() {
+    SpinWaitPolicy policy = new SpinWaitPolicy(Integer.MAX_VALUE);
+    long start = System.nanoTime();
+    
+    // should return once the deadline is reached rather than spinning for every iteration
+    assertFalse(policy.spinUntilDone(new SettableListenableFuture<Object>(), start + 1000 * 1000));
+    assertTrue(System.nanoTime() - start >= 1000 * 1000);
+  }
+}
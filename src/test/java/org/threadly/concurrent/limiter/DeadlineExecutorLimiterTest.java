@@ -0,0 +1,157 @@
+package org.threadly.concurrent.limiter;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+
+import org.junit.Test;
+import org.threadly.BlockingTestRunnable;
+import org.threadly.concurrent.future.ListenableFuture;
+import org.threadly.concurrent.limiter.DeadlineExecutorLimiter.DeadlineMissedException;
+import org.threadly.test.concurrent.TestRunnable;
+import org.threadly.test.concurrent.TestUtils;
+
+@SuppressWarnings("javadoc")
+public class DeadlineExecutorLimiterTest extends ExecutorLimiterTest {
+  @Override
+  protected DeadlineExecutorLimiter getLimiter(int parallelCount) {
+    return new DeadlineExecutorLimiter(scheduler, parallelCount);
+  }
+
+  @Test
+  @SuppressWarnings("unused")
+  public void constructorMissPolicyFail() {
+    try {
+      new DeadlineExecutorLimiter(scheduler, 1, null);
+      fail("Exception should have thrown");
+    } catch (IllegalArgumentException e) {
+      // expected
+    }
+  }
+
+  @Test
+  public void executeWithDeadlineFail() {
+    DeadlineExecutorLimiter limiter = getLimiter(1);
+    try {
+      limiter.executeWithDeadline(null, 10);
+      fail("Exception should have thrown");
+    } catch (IllegalArgumentException e) {
+      // expected
+    }
+    try {
+      limiter.submitWithDeadline(new TestRunnable(), -1);
+      fail("Exception should have thrown");
+    } catch (IllegalArgumentException e) {
+      // expected
+    }
+  }
+
+  @Test
+  public void deadlineOrderTest() {
+    DeadlineExecutorLimiter limiter = getLimiter(1);
+    final List<Integer> runOrder = Collections.synchronizedList(new ArrayList<Integer>());
+    BlockingTestRunnable btr = new BlockingTestRunnable();
+    try {
+      limiter.execute(btr);
+      btr.blockTillStarted();
+
+      List<TestRunnable> runnables = new ArrayList<TestRunnable>();
+      int[] deadlines = new int[] { 1000 * 30, -1, 1000 * 10, 1000 * 20 };
+      for (int i = 0; i < deadlines.length; i++) {
+        final int deadline = deadlines[i];
+        TestRunnable tr = new TestRunnable() {
+          @Override
+          public void handleRunStart() {
+            runOrder.add(deadline);
+          }
+        };
+        runnables.add(tr);
+        if (deadline < 0) {
+          limiter.execute(tr);
+        } else {
+          limiter.executeWithDeadline(tr, deadline);
+        }
+      }
+
+      btr.unblock();
+      Iterator<TestRunnable> it = runnables.iterator();
+      while (it.hasNext()) {
+        it.next().blockTillFinished();
+      }
+
+      assertEquals(4, runOrder.size());
+      assertEquals(1000 * 10, runOrder.get(0).intValue());
+      assertEquals(1000 * 20, runOrder.get(1).intValue());
+      assertEquals(1000 * 30, runOrder.get(2).intValue());
+      assertEquals(-1, runOrder.get(3).intValue());
+    } finally {
+      btr.unblock();
+    }
+  }
+
+  @Test
+  public void dropMissedDeadlineTest() throws InterruptedException, ExecutionException {
+    DeadlineExecutorLimiter limiter = new DeadlineExecutorLimiter(scheduler, 1,
+                                                                  DeadlineMissPolicy.Drop);
+    BlockingTestRunnable btr = new BlockingTestRunnable();
+    try {
+      limiter.execute(btr);
+      btr.blockTillStarted();
+
+      TestRunnable missedRunnable = new TestRunnable();
+      ListenableFuture<?> missedFuture = limiter.submitWithDeadline(missedRunnable, 0);
+      TestRunnable onTimeRunnable = new TestRunnable();
+      ListenableFuture<?> onTimeFuture = limiter.submitWithDeadline(onTimeRunnable, 1000 * 10);
+
+      TestUtils.sleep(10);
+      btr.unblock();
+
+      onTimeFuture.get();
+      try {
+        missedFuture.get();
+        fail("Exception should have thrown");
+      } catch (CancellationException e) {
+        // expected
+      }
+      assertTrue(missedFuture.isCancelled());
+      assertEquals(0, missedRunnable.getRunCount());
+      assertEquals(1, onTimeRunnable.getRunCount());
+      assertEquals(1, limiter.getMissedDeadlineCount());
+    } finally {
+      btr.unblock();
+    }
+  }
+
+  @Test
+  public void failMissedDeadlineTest() throws InterruptedException {
+    DeadlineExecutorLimiter limiter = new DeadlineExecutorLimiter(scheduler, 1,
+                                                                  DeadlineMissPolicy.Fail);
+    BlockingTestRunnable btr = new BlockingTestRunnable();
+    try {
+      limiter.execute(btr);
+      btr.blockTillStarted();
+
+      TestRunnable missedRunnable = new TestRunnable();
+      ListenableFuture<?> missedFuture = limiter.submitWithDeadline(missedRunnable, 0);
+
+      TestUtils.sleep(10);
+      btr.unblock();
+
+      try {
+        missedFuture.get();
+        fail("Exception should have thrown");
+      } catch (ExecutionException e) {
+        assertTrue(e.getCause() instanceof DeadlineMissedException);
+      }
+      assertEquals(0, missedRunnable.getRunCount());
+      assertEquals(1, limiter.getMissedDeadlineCount());
+    } finally {
+      btr.unblock();
+    }
+  }
+}
@@ -0,0 +1,207 @@
+package org.threadly.concurrent.limiter;
+
+import static org.junit.Assert.*;
+import static org.threadly.TestConstants.*;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.Test;
+import org.threadly.BlockingTestRunnable;
+import org.threadly.concurrent.PriorityScheduler;
+import org.threadly.concurrent.StrictPriorityScheduler;
+import org.threadly.concurrent.TaskPriority;
+import org.threadly.test.concurrent.TestRunnable;
+
+@SuppressWarnings("javadoc")
+public class HierarchicalPrioritySchedulerLimiterTest extends PrioritySchedulerLimiterTest {
+  @Override
+  protected HierarchicalPrioritySchedulerLimiter getLimiter(int parallelCount) {
+    return new HierarchicalPrioritySchedulerLimiter(scheduler, parallelCount).makeSubPool(0, parallelCount);
+  }
+
+  @Test
+  public void makeSubPoolFail() {
+    HierarchicalPrioritySchedulerLimiter root = new HierarchicalPrioritySchedulerLimiter(scheduler, 4);
+    try {
+      root.makeSubPool(-1, 1);
+      fail("Exception should have thrown");
+    } catch (IllegalArgumentException e) {
+      // expected
+    }
+    try {
+      root.makeSubPool(2, 1);
+      fail("Exception should have thrown");
+    } catch (IllegalArgumentException e) {
+      // expected
+    }
+    try {
+      root.makeSubPool(1, 5);
+      fail("Exception should have thrown");
+    } catch (IllegalArgumentException e) {
+      // expected
+    }
+    root.makeSubPool(3, 4);
+    try {
+      root.makeSubPool(2, 4);
+      fail("Exception should have thrown");
+    } catch (IllegalArgumentException e) {
+      // expected
+    }
+  }
+
+  @Test
+  public void getterTest() {
+    HierarchicalPrioritySchedulerLimiter root = new HierarchicalPrioritySchedulerLimiter(scheduler, 4);
+    HierarchicalPrioritySchedulerLimiter child = root.makeSubPool(1, 2);
+
+    assertNull(root.getParent());
+    assertTrue(child.getParent() == root);
+    assertEquals(4, root.getGuaranteedConcurrency());
+    assertEquals(1, child.getGuaranteedConcurrency());
+    assertEquals(2, child.getMaxConcurrency());
+    assertEquals(0, child.getCurrentRunningCount());
+    assertEquals(0, child.getWaitingTaskCount());
+    assertEquals(0, child.getTotalStartedCount());
+  }
+
+  @Test
+  public void borrowUnguaranteedCapacityTest() {
+    HierarchicalPrioritySchedulerLimiter root = new HierarchicalPrioritySchedulerLimiter(scheduler, 4);
+    HierarchicalPrioritySchedulerLimiter guaranteed = root.makeSubPool(2, 4);
+    HierarchicalPrioritySchedulerLimiter borrower = root.makeSubPool(0, 4);
+
+    // borrower can only use capacity not guaranteed to its sibling
+    assertTrue(borrower.canRunTask());
+    assertTrue(borrower.canRunTask());
+    assertFalse(borrower.canRunTask());
+    assertEquals(2, borrower.getCurrentBorrowedCount());
+
+    // guaranteed pool can always run up to its guarantee
+    assertTrue(guaranteed.canRunTask());
+    assertTrue(guaranteed.canRunTask());
+    assertFalse(guaranteed.canRunTask());
+    assertEquals(4, root.getCurrentRunningCount());
+    assertEquals(1d, root.getCurrentUtilization(), 0);
+
+    // once the borrower releases, the guaranteed pool can borrow
+    borrower.handleTaskFinished();
+    assertTrue(guaranteed.canRunTask());
+    assertEquals(1, guaranteed.getCurrentBorrowedCount());
+    assertEquals(3, guaranteed.getTotalStartedCount());
+    assertFalse(borrower.canRunTask());
+  }
+
+  @Test
+  public void nestedGuaranteeTest() {
+    HierarchicalPrioritySchedulerLimiter root = new HierarchicalPrioritySchedulerLimiter(scheduler, 8);
+    HierarchicalPrioritySchedulerLimiter parent = root.makeSubPool(4, 8);
+    HierarchicalPrioritySchedulerLimiter guaranteedChild = parent.makeSubPool(2, 4);
+    HierarchicalPrioritySchedulerLimiter borrowingChild = parent.makeSubPool(0, 8);
+    HierarchicalPrioritySchedulerLimiter sibling = root.makeSubPool(0, 8);
+
+    for (int i = 0; i < 4; i++) {
+      assertTrue(sibling.canRunTask());
+    }
+    // sibling can not use capacity guaranteed to parent
+    assertFalse(sibling.canRunTask());
+
+    // borrowing child is limited by its siblings guarantee
+    assertTrue(borrowingChild.canRunTask());
+    assertTrue(borrowingChild.canRunTask());
+    assertFalse(borrowingChild.canRunTask());
+
+    // guarantee is still available for the nested child
+    assertTrue(guaranteedChild.canRunTask());
+    assertTrue(guaranteedChild.canRunTask());
+    assertFalse(guaranteedChild.canRunTask());
+
+    assertEquals(4, parent.getCurrentRunningCount());
+    assertEquals(8, root.getCurrentRunningCount());
+  }
+
+  @Test
+  public void waitingTasksConsumedFromSiblingCapacityTest() {
+    PriorityScheduler executor = new StrictPriorityScheduler(TEST_QTY * 2, TEST_QTY * 2, 1000);
+    List<BlockingTestRunnable> blockingRunnables = new ArrayList<BlockingTestRunnable>(TEST_QTY);
+    try {
+      HierarchicalPrioritySchedulerLimiter root = new HierarchicalPrioritySchedulerLimiter(executor, TEST_QTY);
+      HierarchicalPrioritySchedulerLimiter first = root.makeSubPool(0, TEST_QTY);
+      HierarchicalPrioritySchedulerLimiter second = root.makeSubPool(0, TEST_QTY);
+
+      for (int i = 0; i < TEST_QTY; i++) {
+        BlockingTestRunnable btr = new BlockingTestRunnable();
+        blockingRunnables.add(btr);
+        first.execute(btr, TaskPriority.High);
+      }
+
+      List<TestRunnable> waitingRunnables = new ArrayList<TestRunnable>(TEST_QTY);
+      for (int i = 0; i < TEST_QTY; i++) {
+        TestRunnable tr = new TestRunnable();
+        waitingRunnables.add(tr);
+        second.execute(tr, TaskPriority.High);
+      }
+      assertEquals(TEST_QTY, second.getWaitingTaskCount());
+
+      // unblocking the first pool should allow the second pool to run its tasks
+      Iterator<BlockingTestRunnable> btrIt = blockingRunnables.iterator();
+      while (btrIt.hasNext()) {
+        btrIt.next().unblock();
+      }
+      Iterator<TestRunnable> it = waitingRunnables.iterator();
+      while (it.hasNext()) {
+        it.next().blockTillFinished();
+      }
+      assertEquals(0, second.getWaitingTaskCount());
+    } finally {
+      Iterator<BlockingTestRunnable> it = blockingRunnables.iterator();
+      while (it.hasNext()) {
+        it.next().unblock();
+      }
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void waitingTasksConsumedInNestedSiblingTest() {
+    PriorityScheduler executor = new StrictPriorityScheduler(TEST_QTY * 2, TEST_QTY * 2, 1000);
+    List<BlockingTestRunnable> blockingRunnables = new ArrayList<BlockingTestRunnable>(TEST_QTY);
+    try {
+      HierarchicalPrioritySchedulerLimiter root = new HierarchicalPrioritySchedulerLimiter(executor, TEST_QTY);
+      HierarchicalPrioritySchedulerLimiter first = root.makeSubPool(0, TEST_QTY).makeSubPool(0, TEST_QTY);
+      HierarchicalPrioritySchedulerLimiter second = root.makeSubPool(0, TEST_QTY).makeSubPool(0, TEST_QTY);
+
+      for (int i = 0; i < TEST_QTY; i++) {
+        BlockingTestRunnable btr = new BlockingTestRunnable();
+        blockingRunnables.add(btr);
+        first.execute(btr, TaskPriority.High);
+      }
+
+      List<TestRunnable> waitingRunnables = new ArrayList<TestRunnable>(TEST_QTY);
+      for (int i = 0; i < TEST_QTY; i++) {
+        TestRunnable tr = new TestRunnable();
+        waitingRunnables.add(tr);
+        second.execute(tr, TaskPriority.High);
+      }
+      assertEquals(TEST_QTY, second.getWaitingTaskCount());
+
+      // capacity returned at the root should reach the nested pool in the other branch
+      Iterator<BlockingTestRunnable> btrIt = blockingRunnables.iterator();
+      while (btrIt.hasNext()) {
+        btrIt.next().unblock();
+      }
+      Iterator<TestRunnable> it = waitingRunnables.iterator();
+      while (it.hasNext()) {
+        it.next().blockTillFinished();
+      }
+      assertEquals(0, second.getWaitingTaskCount());
+    } finally {
+      Iterator<BlockingTestRunnable> it = blockingRunnables.iterator();
+      while (it.hasNext()) {
+        it.next().unblock();
+      }
+      executor.shutdownNow();
+    }
+  }
+}
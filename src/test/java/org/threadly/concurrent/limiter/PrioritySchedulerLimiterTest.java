@@ -4,11 +4,13 @@ import static org.junit.Assert.*;
 import static org.threadly.TestConstants.*;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 
 import org.junit.Test;
+import org.threadly.BlockingTestRunnable;
 import org.threadly.concurrent.PriorityScheduler;
 import org.threadly.concurrent.PrioritySchedulerWrapper;
 import org.threadly.concurrent.SchedulerServiceInterface;
@@ -48,6 +50,125 @@ public class PrioritySchedulerLimiterTest extends SchedulerServiceLimiterTest {
     } catch (IllegalArgumentException e) {
       // expected
     }
+    try {
+      new PrioritySchedulerLimiter(scheduler, 1, null, -1);
+      fail("Exception should have thrown");
+    } catch (IllegalArgumentException e) {
+      // expected
+    }
+  }
+  
+  @Test
+  public void getAndSetMaxWaitForLowPriorityTest() {
+    PrioritySchedulerLimiter psl = new PrioritySchedulerLimiter(scheduler, 1, null, 100);
+    assertEquals(100, psl.getMaxWaitForLowPriority());
+    
+    psl.setMaxWaitForLowPriority(10);
+    assertEquals(10, psl.getMaxWaitForLowPriority());
+  }
+  
+  @Test (expected = IllegalArgumentException.class)
+  public void setMaxWaitForLowPriorityFail() {
+    getLimiter(1).setMaxWaitForLowPriority(-1);
+  }
+  
+  @Test
+  public void makeSubPoolMaxWaitForLowPriorityTest() {
+    PriorityScheduler executor = new StrictPriorityScheduler(1, 1, 10, TaskPriority.High, 100);
+    try {
+      PrioritySchedulerLimiter psl = (PrioritySchedulerLimiter)executor.makeSubPool(1);
+      
+      assertEquals(executor.getMaxWaitForLowPriority(), psl.getMaxWaitForLowPriority());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+  
+  private static TestRunnable makeOrderRecordingRunnable(final List<TestRunnable> runOrder) {
+    return new TestRunnable() {
+      @Override
+      public void handleRunStart() {
+        runOrder.add(this);
+      }
+    };
+  }
+  
+  @Test
+  public void highPriorityBeforeLowPriorityBacklogTest() {
+    PrioritySchedulerLimiter psl = new PrioritySchedulerLimiter(scheduler, 1, null, 1000 * 10);
+    List<TestRunnable> runOrder = Collections.synchronizedList(new ArrayList<TestRunnable>());
+    BlockingTestRunnable btr = new BlockingTestRunnable();
+    TestRunnable highPriorityRunnable = makeOrderRecordingRunnable(runOrder);
+    List<TestRunnable> lowPriorityRunnables = new ArrayList<TestRunnable>(TEST_QTY);
+    try {
+      psl.execute(btr, TaskPriority.High);
+      btr.blockTillStarted();
+      
+      for (int i = 0; i < TEST_QTY; i++) {
+        TestRunnable tr = makeOrderRecordingRunnable(runOrder);
+        lowPriorityRunnables.add(tr);
+        psl.execute(tr, TaskPriority.Low);
+      }
+      psl.execute(highPriorityRunnable, TaskPriority.High);
+      
+      assertEquals(1, psl.waitingTasks.size());
+      assertEquals(TEST_QTY, psl.lowPriorityWaitingTasks.size());
+    } finally {
+      btr.unblock();
+    }
+    
+    highPriorityRunnable.blockTillFinished();
+    Iterator<TestRunnable> it = lowPriorityRunnables.iterator();
+    while (it.hasNext()) {
+      it.next().blockTillFinished();
+    }
+    
+    assertEquals(TEST_QTY + 1, runOrder.size());
+    assertTrue(runOrder.get(0) == highPriorityRunnable);
+  }
+  
+  @Test
+  public void lowPriorityNotStarvedTest() {
+    PrioritySchedulerLimiter psl = new PrioritySchedulerLimiter(scheduler, 1, null, 0);
+    List<TestRunnable> runOrder = Collections.synchronizedList(new ArrayList<TestRunnable>());
+    BlockingTestRunnable btr = new BlockingTestRunnable();
+    TestRunnable lowPriorityRunnable = makeOrderRecordingRunnable(runOrder);
+    TestRunnable highPriorityRunnable = makeOrderRecordingRunnable(runOrder);
+    try {
+      psl.execute(btr, TaskPriority.High);
+      btr.blockTillStarted();
+      
+      psl.execute(lowPriorityRunnable, TaskPriority.Low);
+      psl.execute(highPriorityRunnable, TaskPriority.High);
+    } finally {
+      btr.unblock();
+    }
+    
+    lowPriorityRunnable.blockTillFinished();
+    highPriorityRunnable.blockTillFinished();
+    
+    // low priority task has exceeded its max wait, so it should run first
+    assertTrue(runOrder.get(0) == lowPriorityRunnable);
+    assertTrue(runOrder.get(1) == highPriorityRunnable);
+  }
+  
+  @Test
+  public void removeLowPriorityWaitingTaskTest() {
+    PrioritySchedulerLimiter psl = getLimiter(1);
+    BlockingTestRunnable btr = new BlockingTestRunnable();
+    try {
+      psl.execute(btr, TaskPriority.High);
+      btr.blockTillStarted();
+      
+      TestRunnable tr = new TestRunnable();
+      psl.execute(tr, TaskPriority.Low);
+      
+      assertTrue(psl.remove(tr));
+      assertEquals(0, psl.lowPriorityWaitingTasks.size());
+      assertFalse(psl.remove(tr));
+    } finally {
+      btr.unblock();
+    }
   }
   
   @Test
@@ -73,7 +194,7 @@ public class PrioritySchedulerLimiterTest extends SchedulerServiceLimiterTest {
         psl.waitingTasks.add(psl.new PriorityWrapper(tr, TaskPriority.High));
         flip = false;
       } else {
-        psl.waitingTasks.add(psl.new PriorityWrapper(tr, TaskPriority.High));
+        psl.lowPriorityWaitingTasks.add(psl.new PriorityWrapper(tr, TaskPriority.Low));
         flip = true;
       }
     }
@@ -82,6 +203,7 @@ public class PrioritySchedulerLimiterTest extends SchedulerServiceLimiterTest {
     
     // should be fully consumed
     assertEquals(0, psl.waitingTasks.size());
+    assertEquals(0, psl.lowPriorityWaitingTasks.size());
     
     Iterator<TestRunnable> it = runnables.iterator();
     while (it.hasNext()) {
@@ -1,6 +1,7 @@
 package org.threadly.concurrent.limiter;
 
 import static org.junit.Assert.*;
+import static org.threadly.TestConstants.*;
 
 import java.util.Iterator;
 import java.util.LinkedList;
@@ -89,6 +90,41 @@ public class SchedulerServiceLimiterTest extends SimpleSchedulerLimiterTest {
     }
   }
   
+  @Test
+  public void removeFromLocalDelayQueueTest() {
+    SchedulerServiceLimiter limiter = new SchedulerServiceLimiter(scheduler, 1, null, true);
+    
+    TestRunnable tr = new TestRunnable();
+    limiter.schedule(tr, 1000 * 10);
+    assertEquals(1, limiter.delayQueue.size());
+    
+    assertTrue(limiter.remove(tr));
+    assertEquals(0, limiter.delayQueue.size());
+    assertFalse(limiter.remove(tr));
+    
+    TestCallable tc = new TestCallable();
+    limiter.submitScheduled(tc, 1000 * 10);
+    assertTrue(limiter.remove(tc));
+    assertEquals(0, limiter.delayQueue.size());
+  }
+  
+  @Test
+  public void localDelayQueueEarlierTaskRemovesCheckTest() {
+    PriorityScheduler executor = new StrictPriorityScheduler(1, 1, 1000);
+    try {
+      SchedulerServiceLimiter limiter = new SchedulerServiceLimiter(executor, 1, null, true);
+      for (int i = TEST_QTY; i > 0; i--) {
+        // each task is earlier than the last, so the check must be moved each time
+        limiter.schedule(new TestRunnable(), 1000 * 10 + i);
+      }
+      
+      assertEquals(TEST_QTY, limiter.delayQueue.size());
+      assertEquals(1, executor.getScheduledTaskCount());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+  
   @Test
   public void isShutdownTest() {
     PriorityScheduler executor = new StrictPriorityScheduler(1, 1, 100);
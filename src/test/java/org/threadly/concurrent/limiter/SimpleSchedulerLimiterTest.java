@@ -1,7 +1,9 @@
 package org.threadly.concurrent.limiter;
 
 import static org.junit.Assert.*;
+import static org.threadly.TestConstants.*;
 
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
@@ -12,6 +14,7 @@ import org.threadly.concurrent.StrictPriorityScheduler;
 import org.threadly.concurrent.SubmitterExecutorInterface;
 import org.threadly.concurrent.SubmitterSchedulerInterface;
 import org.threadly.concurrent.SubmitterSchedulerInterfaceTest.SubmitterSchedulerFactory;
+import org.threadly.test.concurrent.TestRunnable;
 
 @SuppressWarnings("javadoc")
 public class SimpleSchedulerLimiterTest extends ExecutorLimiterTest {
@@ -42,14 +45,87 @@ public class SimpleSchedulerLimiterTest extends ExecutorLimiterTest {
       // expected
     }
   }
+  
+  @Test
+  public void localDelayQueueScheduleTest() {
+    SimpleSchedulerLimiter limiter = new SimpleSchedulerLimiter(scheduler, 1, null, true);
+    List<TestRunnable> runnables = new ArrayList<TestRunnable>(TEST_QTY);
+    for (int i = 0; i < TEST_QTY; i++) {
+      TestRunnable tr = new TestRunnable();
+      runnables.add(tr);
+      limiter.schedule(tr, SCHEDULE_DELAY);
+    }
+    
+    Iterator<TestRunnable> it = runnables.iterator();
+    while (it.hasNext()) {
+      TestRunnable tr = it.next();
+      assertTrue(tr.getDelayTillFirstRun() >= SCHEDULE_DELAY);
+    }
+    assertEquals(0, limiter.delayQueue.size());
+  }
+  
+  @Test
+  public void localDelayQueueRecurringTest() {
+    PriorityScheduler executor = new StrictPriorityScheduler(1, 1, 1000);
+    try {
+      SimpleSchedulerLimiter limiter = new SimpleSchedulerLimiter(executor, 1, null, true);
+      TestRunnable tr = new TestRunnable();
+      limiter.scheduleWithFixedDelay(tr, SCHEDULE_DELAY, SCHEDULE_DELAY);
+      
+      tr.blockTillFinished(1000 * 10, CYCLE_COUNT);
+      assertTrue(tr.getDelayTillRun(CYCLE_COUNT) >= SCHEDULE_DELAY * CYCLE_COUNT);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+  
+  @Test
+  public void localDelayQueueSingleSchedulerTaskTest() {
+    PriorityScheduler executor = new StrictPriorityScheduler(1, 1, 1000);
+    try {
+      SimpleSchedulerLimiter limiter = new SimpleSchedulerLimiter(executor, 1, null, true);
+      for (int i = 0; i < TEST_QTY; i++) {
+        limiter.schedule(new TestRunnable(), 1000 * 10 + i);
+      }
+      
+      assertEquals(TEST_QTY, limiter.delayQueue.size());
+      // only the earliest task should be scheduled on the scheduler
+      assertEquals(1, executor.getScheduledTaskCount());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
 
+  @Test
+  public void localDelayQueueSupersededCheckRemovedTest() {
+    PriorityScheduler executor = new StrictPriorityScheduler(1, 1, 1000);
+    try {
+      SimpleSchedulerLimiter limiter = new SimpleSchedulerLimiter(executor, 1, null, true);
+      // each task is earlier than the last, so each one supersedes the previous check
+      for (int i = 0; i < TEST_QTY; i++) {
+        limiter.schedule(new TestRunnable(), 1000 * 10 - i);
+      }
+      
+      assertEquals(TEST_QTY, limiter.delayQueue.size());
+      assertEquals(1, executor.getScheduledTaskCount());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+  
   protected static class SchedulerLimiterFactory implements SubmitterSchedulerFactory {
     private final List<PriorityScheduler> executors;
     private final boolean addSubPoolName;
+    private final boolean useLocalDelayQueue;
     
     public SchedulerLimiterFactory(boolean addSubPoolName) {
+      this(addSubPoolName, false);
+    }
+    
+    public SchedulerLimiterFactory(boolean addSubPoolName, boolean useLocalDelayQueue) {
       executors = new LinkedList<PriorityScheduler>();
       this.addSubPoolName = addSubPoolName;
+      this.useLocalDelayQueue = useLocalDelayQueue;
     }
     
     @Override
@@ -77,7 +153,10 @@ public class SimpleSchedulerLimiterTest extends ExecutorLimiterTest {
       }
       executors.add(executor);
       
-      if (addSubPoolName) {
+      if (useLocalDelayQueue) {
+        return new SimpleSchedulerLimiter(executor, poolSize, 
+                                          addSubPoolName ? "TestSubPool" : null, true);
+      } else if (addSubPoolName) {
         return new SimpleSchedulerLimiter(executor, poolSize, "TestSubPool");
       } else {
         return new SimpleSchedulerLimiter(executor, poolSize);